@@ -95,8 +95,9 @@ public class JetJoinInfo implements DataSerializable {
 
     /**
      * The indices of the fields from the right side of a join which are
-     * equi-join keys. The indices refer to fields of right table before
-     * applying projection or before joining.
+     * equi-join keys. For a nested-loop join the indices refer to fields of
+     * right table before applying projection or before joining, for a hash
+     * join they refer to fields of the right input rows.
      */
     public int[] rightEquiJoinIndices() {
         return rightEquiJoinIndices;
@@ -45,11 +45,11 @@ import com.hazelcast.sql.impl.exec.scan.MapIndexScanMetadata;
 import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.extract.QueryPath;
-import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.MappingField;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import com.hazelcast.sql.impl.schema.map.MapTableStatistics;
 import com.hazelcast.sql.impl.schema.map.MapTableUtils;
 import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 
@@ -66,7 +66,6 @@ import static com.hazelcast.jet.core.processor.SinkProcessors.updateMapP;
 import static com.hazelcast.jet.core.processor.SinkProcessors.writeMapP;
 import static com.hazelcast.jet.sql.impl.connector.map.MapIndexScanP.readMapIndexSupplier;
 import static com.hazelcast.jet.sql.impl.connector.map.RowProjectorProcessorSupplier.rowProjector;
-import static com.hazelcast.sql.impl.schema.map.MapTableUtils.estimatePartitionedMapRowCount;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
@@ -82,6 +81,7 @@ public class IMapSqlConnector implements SqlConnector {
     private static final KvMetadataResolvers METADATA_RESOLVERS = new KvMetadataResolvers(
             KvMetadataJavaResolver.INSTANCE,
             MetadataPortableResolver.INSTANCE,
+            MetadataCompactResolver.INSTANCE,
             MetadataJsonResolver.INSTANCE
     );
 
@@ -126,7 +126,6 @@ public class IMapSqlConnector implements SqlConnector {
         MapServiceContext context = service.getMapServiceContext();
         MapContainer container = context.getExistingMapContainer(externalName);
 
-        long estimatedRowCount = estimatePartitionedMapRowCount(nodeEngine, context, externalName);
         boolean hd = container != null && container.getMapConfig().getInMemoryFormat() == InMemoryFormat.NATIVE;
         List<MapTableIndex> indexes = container != null
                 ? MapTableUtils.getPartitionedMapIndexes(container, fields)
@@ -137,7 +136,7 @@ public class IMapSqlConnector implements SqlConnector {
                 mappingName,
                 externalName,
                 fields,
-                new ConstantTableStatistics(estimatedRowCount),
+                MapTableStatistics.create(nodeEngine, context, externalName, fields),
                 keyMetadata.getQueryTargetDescriptor(),
                 valueMetadata.getQueryTargetDescriptor(),
                 keyMetadata.getUpsertTargetDescriptor(),
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvMetadata;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvMetadataResolver;
+import com.hazelcast.jet.sql.impl.extract.CompactQueryTargetDescriptor;
+import com.hazelcast.jet.sql.impl.inject.CompactUpsertTargetDescriptor;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.MappingField;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Stream;
+
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.COMPACT_FORMAT;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_KEY_COMPACT_TYPE_NAME;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_VALUE_COMPACT_TYPE_NAME;
+import static com.hazelcast.jet.sql.impl.connector.keyvalue.KvMetadataResolver.extractFields;
+import static com.hazelcast.jet.sql.impl.connector.keyvalue.KvMetadataResolver.maybeAddDefaultField;
+
+/**
+ * Resolves mappings of Compact keys or values without a Java class. As there
+ * is no class to resolve the fields from, they must be declared.
+ */
+final class MetadataCompactResolver implements KvMetadataResolver {
+
+    static final MetadataCompactResolver INSTANCE = new MetadataCompactResolver();
+
+    private MetadataCompactResolver() {
+    }
+
+    @Override
+    public Stream<String> supportedFormats() {
+        return Stream.of(COMPACT_FORMAT);
+    }
+
+    @Override
+    public Stream<MappingField> resolveAndValidateFields(
+            boolean isKey,
+            List<MappingField> userFields,
+            Map<String, String> options,
+            InternalSerializationService serializationService
+    ) {
+        if (userFields.isEmpty()) {
+            throw QueryException.error("Column list is required for Compact format");
+        }
+        resolveTypeName(isKey, options);
+
+        return extractFields(userFields, isKey).entrySet().stream()
+                .map(entry -> {
+                    QueryPath path = entry.getKey();
+                    if (path.getPath() == null) {
+                        throw QueryException.error("Cannot use the '" + path + "' field with Compact serialization");
+                    }
+                    return entry.getValue();
+                });
+    }
+
+    @Override
+    public KvMetadata resolveMetadata(
+            boolean isKey,
+            List<MappingField> resolvedFields,
+            Map<String, String> options,
+            InternalSerializationService serializationService
+    ) {
+        Map<QueryPath, MappingField> fieldsByPath = extractFields(resolvedFields, isKey);
+
+        List<TableField> fields = new ArrayList<>();
+        for (Entry<QueryPath, MappingField> entry : fieldsByPath.entrySet()) {
+            QueryPath path = entry.getKey();
+            QueryDataType type = entry.getValue().type();
+            String name = entry.getValue().name();
+
+            fields.add(new MapTableField(name, type, false, path));
+        }
+        maybeAddDefaultField(isKey, resolvedFields, fields);
+
+        return new KvMetadata(
+                fields,
+                CompactQueryTargetDescriptor.INSTANCE,
+                new CompactUpsertTargetDescriptor(resolveTypeName(isKey, options))
+        );
+    }
+
+    private static String resolveTypeName(boolean isKey, Map<String, String> options) {
+        String typeNameProperty = isKey ? OPTION_KEY_COMPACT_TYPE_NAME : OPTION_VALUE_COMPACT_TYPE_NAME;
+        String typeName = options.get(typeNameProperty);
+        if (typeName == null) {
+            throw QueryException.error("Unable to resolve table metadata. Missing '" + typeNameProperty + "' option");
+        }
+        return typeName;
+    }
+}
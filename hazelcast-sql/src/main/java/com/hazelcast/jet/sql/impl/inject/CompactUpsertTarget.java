@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.inject;
+
+import com.hazelcast.nio.serialization.GenericRecord;
+import com.hazelcast.nio.serialization.GenericRecordBuilder;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+import static com.hazelcast.jet.sql.impl.inject.UpsertInjector.FAILING_TOP_LEVEL_INJECTOR;
+
+@NotThreadSafe
+class CompactUpsertTarget implements UpsertTarget {
+
+    private final String typeName;
+
+    private GenericRecordBuilder builder;
+
+    CompactUpsertTarget(@Nonnull String typeName) {
+        this.typeName = typeName;
+    }
+
+    @Override
+    @SuppressWarnings({"checkstyle:ReturnCount", "checkstyle:CyclomaticComplexity"})
+    public UpsertInjector createInjector(@Nullable String path, QueryDataType type) {
+        if (path == null) {
+            return FAILING_TOP_LEVEL_INJECTOR;
+        }
+
+        switch (type.getTypeFamily()) {
+            case BOOLEAN:
+                return value -> builder.setBoolean(path, (boolean) ensureNotNull(value));
+            case TINYINT:
+                return value -> builder.setByte(path, (byte) ensureNotNull(value));
+            case SMALLINT:
+                return value -> builder.setShort(path, (short) ensureNotNull(value));
+            case INTEGER:
+                return value -> builder.setInt(path, (int) ensureNotNull(value));
+            case BIGINT:
+                return value -> builder.setLong(path, (long) ensureNotNull(value));
+            case REAL:
+                return value -> builder.setFloat(path, (float) ensureNotNull(value));
+            case DOUBLE:
+                return value -> builder.setDouble(path, (double) ensureNotNull(value));
+            case DECIMAL:
+                return value -> builder.setDecimal(path, (BigDecimal) value);
+            case VARCHAR:
+                return value -> builder.setString(path, (String) QueryDataType.VARCHAR.convert(value));
+            case TIME:
+                return value -> builder.setTime(path, (LocalTime) value);
+            case DATE:
+                return value -> builder.setDate(path, (LocalDate) value);
+            case TIMESTAMP:
+                return value -> builder.setTimestamp(path, (LocalDateTime) value);
+            case TIMESTAMP_WITH_TIME_ZONE:
+                return value -> builder.setTimestampWithTimezone(path, (OffsetDateTime) value);
+            case OBJECT:
+                return value -> {
+                    if (value != null && !(value instanceof GenericRecord)) {
+                        throw QueryException.error("Cannot set value of type " + value.getClass().getName()
+                                + " to field \"" + path + "\" of a Compact object, only GenericRecord is supported");
+                    }
+                    builder.setGenericRecord(path, (GenericRecord) value);
+                };
+            default:
+                throw QueryException.error("Unsupported type: " + type);
+        }
+    }
+
+    @Override
+    public void init() {
+        builder = GenericRecordBuilder.compact(typeName);
+    }
+
+    @Override
+    public Object conclude() {
+        GenericRecord record = builder.build();
+        builder = null;
+        return record;
+    }
+
+    private static Object ensureNotNull(Object value) {
+        if (value == null) {
+            throw QueryException.error("Cannot set NULL to a primitive field");
+        }
+        return value;
+    }
+}
@@ -31,11 +31,15 @@ import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.core.processor.Processors;
 import com.hazelcast.jet.pipeline.ServiceFactories;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext;
+import com.hazelcast.jet.sql.impl.aggregate.ObjectArrayKey;
 import com.hazelcast.jet.sql.impl.connector.SqlConnector.VertexWithInputConfig;
 import com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil;
 import com.hazelcast.jet.sql.impl.connector.map.IMapSqlConnector;
 import com.hazelcast.jet.sql.impl.opt.ExpressionValues;
+import com.hazelcast.jet.sql.impl.processors.ColumnarBatch;
+import com.hazelcast.jet.sql.impl.processors.SqlHashJoinP;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
@@ -57,13 +61,17 @@ import java.util.function.Predicate;
 
 import static com.hazelcast.function.Functions.entryKey;
 import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.core.Edge.from;
 import static com.hazelcast.jet.core.processor.Processors.filterUsingServiceP;
 import static com.hazelcast.jet.core.processor.Processors.mapP;
 import static com.hazelcast.jet.core.processor.Processors.mapUsingServiceP;
 import static com.hazelcast.jet.core.processor.Processors.sortP;
 import static com.hazelcast.jet.core.processor.SourceProcessors.convenientSourceP;
 import static com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil.getJetSqlConnector;
+import static com.hazelcast.jet.sql.impl.processors.ColumnarFilterP.columnarFilterP;
+import static com.hazelcast.jet.sql.impl.processors.ColumnarProjectP.columnarProjectP;
 import static com.hazelcast.jet.sql.impl.processors.RootResultConsumerSink.rootResultConsumerSink;
+import static com.hazelcast.spi.properties.ClusterProperty.SQL_VECTORIZED_EXECUTION_ENABLED;
 import static java.util.Collections.singletonList;
 
 public class CreateDagVisitor {
@@ -73,11 +81,21 @@ public class CreateDagVisitor {
     private final NodeEngine nodeEngine;
     private final Address localMemberAddress;
     private final QueryParameterMetadata parameterMetadata;
+    private final boolean vectorizedExecution;
+
+    /**
+     * Whether the vertex being created is connected to a vectorized vertex
+     * over a local edge, so it can emit {@link ColumnarBatch}es. Set by
+     * {@link #connectInput} before visiting the input, and read by the
+     * vectorized vertices before they visit their own input.
+     */
+    private boolean outputBatchesAccepted;
 
     public CreateDagVisitor(NodeEngine nodeEngine, QueryParameterMetadata parameterMetadata) {
         this.nodeEngine = nodeEngine;
         this.localMemberAddress = nodeEngine.getThisAddress();
         this.parameterMetadata = parameterMetadata;
+        this.vectorizedExecution = nodeEngine.getProperties().getBoolean(SQL_VECTORIZED_EXECUTION_ENABLED);
     }
 
     public Vertex onValues(ValuesPhysicalRel rel) {
@@ -161,24 +179,29 @@ public class CreateDagVisitor {
     }
 
     public Vertex onFilter(FilterPhysicalRel rel) {
+        boolean emitBatches = consumeOutputBatchesAccepted();
         Expression<Boolean> filter = rel.filter(parameterMetadata);
 
-        Vertex vertex = dag.newUniqueVertex("Filter", filterUsingServiceP(
-                ServiceFactories.nonSharedService(ctx ->
-                        ExpressionUtil.filterFn(filter, SimpleExpressionEvalContext.from(ctx))),
-                (BiPredicateEx<Predicate<Object[]>, Object[]>) Predicate::test));
+        Vertex vertex = dag.newUniqueVertex("Filter", vectorizedExecution
+                ? columnarFilterP(filter, emitBatches)
+                : filterUsingServiceP(
+                        ServiceFactories.nonSharedService(ctx ->
+                                ExpressionUtil.filterFn(filter, SimpleExpressionEvalContext.from(ctx))),
+                        (BiPredicateEx<Predicate<Object[]>, Object[]>) Predicate::test));
         connectInputPreserveCollation(rel, vertex);
         return vertex;
     }
 
     public Vertex onProject(ProjectPhysicalRel rel) {
+        boolean emitBatches = consumeOutputBatchesAccepted();
         List<Expression<?>> projection = rel.projection(parameterMetadata);
 
-        Vertex vertex = dag.newUniqueVertex("Project", mapUsingServiceP(
-                ServiceFactories.nonSharedService(ctx ->
-                        ExpressionUtil.projectionFn(projection, SimpleExpressionEvalContext.from(ctx))),
-                (BiFunctionEx<Function<Object[], Object[]>, Object[], Object[]>) Function::apply
-        ));
+        Vertex vertex = dag.newUniqueVertex("Project", vectorizedExecution
+                ? columnarProjectP(projection, emitBatches)
+                : mapUsingServiceP(
+                        ServiceFactories.nonSharedService(ctx ->
+                                ExpressionUtil.projectionFn(projection, SimpleExpressionEvalContext.from(ctx))),
+                        (BiFunctionEx<Function<Object[], Object[]>, Object[], Object[]>) Function::apply));
         connectInputPreserveCollation(rel, vertex);
         return vertex;
     }
@@ -300,6 +323,25 @@ public class CreateDagVisitor {
         return vertex;
     }
 
+    public Vertex onHashJoin(JoinHashPhysicalRel rel) {
+        JetJoinInfo joinInfo = rel.joinInfo(parameterMetadata);
+
+        Vertex vertex = dag.newUniqueVertex(
+                rel.isBroadcast() ? "Join(Hash-broadcast)" : "Join(Hash-partitioned)",
+                SqlHashJoinP.supplier(joinInfo, rel.rightColumnCount())
+        );
+        FunctionEx<Object[], ObjectArrayKey> leftKeyFn = ObjectArrayKey.projectFn(joinInfo.leftEquiJoinIndices());
+        FunctionEx<Object[], ObjectArrayKey> rightKeyFn = ObjectArrayKey.projectFn(joinInfo.rightEquiJoinIndices());
+        // the build side (ordinal 1) must be fully received before the probe side
+        connectInput(rel.getRight(), vertex, 1, rel.isBroadcast()
+                ? edge -> edge.distributed().broadcast().priority(-1)
+                : edge -> edge.distributed().partitioned(rightKeyFn).priority(-1));
+        connectInput(rel.getLeft(), vertex, 0, rel.isBroadcast()
+                ? null
+                : edge -> edge.distributed().partitioned(leftKeyFn));
+        return vertex;
+    }
+
     public Vertex onRoot(JetRootRel rootRel) {
         RelNode input = rootRel.getInput();
         Expression<?> fetch;
@@ -362,6 +404,16 @@ public class CreateDagVisitor {
             Vertex thisVertex,
             @Nullable Consumer<Edge> configureEdgeFn
     ) {
+        return connectInput(inputRel, thisVertex, configureEdgeFn, false);
+    }
+
+    private Vertex connectInput(
+            RelNode inputRel,
+            Vertex thisVertex,
+            @Nullable Consumer<Edge> configureEdgeFn,
+            boolean acceptsBatches
+    ) {
+        outputBatchesAccepted = acceptsBatches;
         Vertex inputVertex = ((PhysicalRel) inputRel).accept(this);
         Edge edge = between(inputVertex, thisVertex);
         if (configureEdgeFn != null) {
@@ -371,6 +423,26 @@ public class CreateDagVisitor {
         return inputVertex;
     }
 
+    /**
+     * Same as {@link #connectInput(RelNode, Vertex, Consumer)}, but connects
+     * the input to the given ordinal of {@code thisVertex}.
+     */
+    private Vertex connectInput(
+            RelNode inputRel,
+            Vertex thisVertex,
+            int destOrdinal,
+            @Nullable Consumer<Edge> configureEdgeFn
+    ) {
+        outputBatchesAccepted = false;
+        Vertex inputVertex = ((PhysicalRel) inputRel).accept(this);
+        Edge edge = from(inputVertex).to(thisVertex, destOrdinal);
+        if (configureEdgeFn != null) {
+            configureEdgeFn.accept(edge);
+        }
+        dag.edge(edge);
+        return inputVertex;
+    }
+
     /**
      * Same as {@link #connectInput(RelNode, Vertex, Consumer)}, but used for
      * vertices normally connected by an unicast or isolated edge, depending on
@@ -381,8 +453,9 @@ public class CreateDagVisitor {
      */
     private void connectInputPreserveCollation(SingleRel rel, Vertex vertex) {
         boolean preserveCollation = rel.getTraitSet().getCollation().getFieldCollations().size() > 0;
+        // the edge is local, with vectorized filter and project the input can emit batches
         Vertex inputVertex = connectInput(rel.getInput(), vertex,
-                preserveCollation ? Edge::isolated : null);
+                preserveCollation ? Edge::isolated : null, vectorizedExecution);
 
         if (preserveCollation) {
             int cooperativeThreadCount = nodeEngine.getConfig().getJetConfig()
@@ -395,6 +468,12 @@ public class CreateDagVisitor {
         }
     }
 
+    private boolean consumeOutputBatchesAccepted() {
+        boolean result = outputBatchesAccepted;
+        outputBatchesAccepted = false;
+        return result;
+    }
+
     private void collectObjectKeys(Table table) {
         PlanObjectKey objectKey = table.getObjectKey();
         if (objectKey != null) {
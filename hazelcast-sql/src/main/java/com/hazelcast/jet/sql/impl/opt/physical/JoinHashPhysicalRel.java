@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.opt.physical;
+
+import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
+import org.apache.calcite.plan.HazelcastRelOptCluster;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+
+/**
+ * Equi-join executed by building a hash table from the right input and
+ * probing it with the rows of the left input, see {@link
+ * com.hazelcast.jet.sql.impl.processors.SqlHashJoinP}. Unlike the
+ * nested-loop join, the right input is read only once.
+ * <p>
+ * If {@code broadcast} is true, the right input is sent to all processors
+ * and the left input stays local. Otherwise both inputs are partitioned by
+ * the join key. The planner chooses between them and the nested-loop join
+ * by cost: the broadcast join replicates the build side, the partitioned
+ * one shuffles both sides over the network.
+ */
+public class JoinHashPhysicalRel extends Join implements PhysicalRel {
+
+    private final boolean broadcast;
+
+    JoinHashPhysicalRel(
+            RelOptCluster cluster,
+            RelTraitSet traitSet,
+            RelNode left,
+            RelNode right,
+            RexNode condition,
+            JoinRelType joinType,
+            boolean broadcast
+    ) {
+        super(cluster, traitSet, emptyList(), left, right, condition, emptySet(), joinType);
+        this.broadcast = broadcast;
+    }
+
+    public boolean isBroadcast() {
+        return broadcast;
+    }
+
+    /**
+     * Returns the join info. Unlike in the nested-loop join, the right
+     * equi-join indices refer to the rows of the right input.
+     */
+    public JetJoinInfo joinInfo(QueryParameterMetadata parameterMetadata) {
+        int[] leftKeys = analyzeCondition().leftKeys.toIntArray();
+        int[] rightKeys = analyzeCondition().rightKeys.toIntArray();
+
+        Expression<Boolean> nonEquiCondition = filter(
+                schema(parameterMetadata),
+                analyzeCondition().getRemaining(getCluster().getRexBuilder()),
+                parameterMetadata
+        );
+
+        Expression<Boolean> condition = filter(schema(parameterMetadata), getCondition(), parameterMetadata);
+
+        return new JetJoinInfo(getJoinType(), leftKeys, rightKeys, nonEquiCondition, condition);
+    }
+
+    public int rightColumnCount() {
+        return getRight().getRowType().getFieldCount();
+    }
+
+    @Override
+    public PlanNodeSchema schema(QueryParameterMetadata parameterMetadata) {
+        PlanNodeSchema leftSchema = ((PhysicalRel) getLeft()).schema(parameterMetadata);
+        PlanNodeSchema rightSchema = ((PhysicalRel) getRight()).schema(parameterMetadata);
+        return PlanNodeSchema.combine(leftSchema, rightSchema);
+    }
+
+    @Override
+    public Vertex accept(CreateDagVisitor visitor) {
+        return visitor.onHashJoin(this);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double leftRowCount = mq.getRowCount(getLeft());
+        double rightRowCount = mq.getRowCount(getRight());
+        HazelcastRelOptCluster cluster = (HazelcastRelOptCluster) getCluster();
+        int memberCount = cluster.getDistributionTraitDef().getMemberCount();
+
+        double cpu;
+        double network;
+        if (broadcast) {
+            // the build side is replicated to each processor
+            cpu = leftRowCount + rightRowCount * memberCount * cluster.getDefaultLocalParallelism();
+            network = rightRowCount * CostUtils.getEstimatedRowWidth(getRight()) * (memberCount - 1);
+        } else {
+            cpu = leftRowCount + rightRowCount;
+            // a row stays on the local member with the probability of 1/memberCount
+            network = (leftRowCount * CostUtils.getEstimatedRowWidth(getLeft())
+                    + rightRowCount * CostUtils.getEstimatedRowWidth(getRight())) * (memberCount - 1) / memberCount;
+        }
+        return planner.getCostFactory().makeCost(mq.getRowCount(this), cpu, network);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw).item("broadcast", broadcast);
+    }
+
+    @Override
+    public Join copy(
+            RelTraitSet traitSet,
+            RexNode conditionExpr,
+            RelNode left,
+            RelNode right,
+            JoinRelType joinType,
+            boolean semiJoinDone
+    ) {
+        return new JoinHashPhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType, broadcast);
+    }
+}
@@ -19,14 +19,23 @@ package com.hazelcast.jet.sql.impl.opt.physical;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
 import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
+import com.hazelcast.sql.impl.schema.Table;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import org.apache.calcite.plan.HazelcastRelOptCluster;
 import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelTraitSet;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.Join;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 
 import java.util.Arrays;
@@ -86,6 +95,46 @@ public class JoinNestedLoopPhysicalRel extends Join implements PhysicalRel {
         return visitor.onNestedLoopJoin(this);
     }
 
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double leftRowCount = mq.getRowCount(getLeft());
+        double rightRowCount = mq.getRowCount(getRight());
+        int memberCount = ((HazelcastRelOptCluster) getCluster()).getDistributionTraitDef().getMemberCount();
+        double requestNetwork = leftRowCount * CostUtils.getEstimatedRowWidth(getLeft());
+
+        double cpu;
+        double network;
+        if (isRightKeyLookup()) {
+            // one lookup by key for each left row
+            cpu = leftRowCount;
+            network = requestNetwork + mq.getRowCount(this) * CostUtils.getEstimatedRowWidth(getRight());
+        } else {
+            // the right table is scanned, or queried by a predicate, for each left row
+            cpu = leftRowCount * rightRowCount;
+            network = requestNetwork * memberCount;
+        }
+        return planner.getCostFactory().makeCost(mq.getRowCount(this), cpu, network);
+    }
+
+    /**
+     * Returns true, if there's an equi-join condition on the entire key of
+     * the right-side map, in which case the rows are looked up by the key.
+     */
+    private boolean isRightKeyLookup() {
+        Table table = getRight().getTable().unwrap(HazelcastTable.class).getTarget();
+        if (!(table instanceof PartitionedMapTable)) {
+            return false;
+        }
+        List<Integer> projects = getRight().getTable().unwrap(HazelcastTable.class).getProjects();
+        for (int rightKey : analyzeCondition().rightKeys) {
+            QueryPath path = table.<MapTableField>getField(projects.get(rightKey)).getPath();
+            if (path.isTop() && path.isKey()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public Join copy(
             RelTraitSet traitSet,
@@ -18,12 +18,21 @@ package com.hazelcast.jet.sql.impl.opt.physical;
 
 import com.hazelcast.jet.sql.impl.opt.OptUtils;
 import com.hazelcast.jet.sql.impl.opt.logical.JoinLogicalRel;
+import com.hazelcast.jet.sql.impl.schema.JetTable;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.Table;
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptRuleCall;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.sql.type.SqlTypeName;
 
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 import static com.hazelcast.jet.sql.impl.opt.JetConventions.LOGICAL;
 
@@ -31,6 +40,25 @@ public final class JoinPhysicalRule extends RelOptRule {
 
     static final RelOptRule INSTANCE = new JoinPhysicalRule();
 
+    /**
+     * Types whose {@code equals()} matches the SQL equality. Not included
+     * are e.g. DECIMAL ({@code 1.0} doesn't equal {@code 1.00}), the
+     * floating-point types ({@code -0.0} doesn't equal {@code 0.0}) or
+     * OBJECT.
+     */
+    private static final Set<SqlTypeName> HASH_JOIN_KEY_TYPES = EnumSet.of(
+            SqlTypeName.BOOLEAN,
+            SqlTypeName.TINYINT,
+            SqlTypeName.SMALLINT,
+            SqlTypeName.INTEGER,
+            SqlTypeName.BIGINT,
+            SqlTypeName.CHAR,
+            SqlTypeName.VARCHAR,
+            SqlTypeName.DATE,
+            SqlTypeName.TIME,
+            SqlTypeName.TIMESTAMP
+    );
+
     private JoinPhysicalRule() {
         super(
                 operand(JoinLogicalRel.class, LOGICAL, some(operand(RelNode.class, any()), operand(RelNode.class, any()))),
@@ -61,7 +89,48 @@ public final class JoinPhysicalRule extends RelOptRule {
                         logicalJoin.getJoinType()
                 );
                 call.transformTo(rel);
+
+                if (isHashJoinApplicable(logicalJoin, right)) {
+                    for (boolean broadcast : new boolean[]{true, false}) {
+                        call.transformTo(new JoinHashPhysicalRel(
+                                logicalJoin.getCluster(),
+                                OptUtils.toPhysicalConvention(logicalJoin.getTraitSet()),
+                                left,
+                                right,
+                                logicalJoin.getCondition(),
+                                logicalJoin.getJoinType(),
+                                broadcast
+                        ));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true, if the join can be executed as a hash join. It needs an
+     * equi-join condition and a bounded right side to build the hash table
+     * from. The keys are compared using {@code equals()}, therefore we only
+     * accept key types where that's equivalent to the SQL equality.
+     */
+    private static boolean isHashJoinApplicable(JoinLogicalRel join, RelNode right) {
+        JoinInfo joinInfo = join.analyzeCondition();
+        if (joinInfo.leftKeys.isEmpty() || right.getTable() == null) {
+            return false;
+        }
+        Table table = right.getTable().unwrap(HazelcastTable.class).getTarget();
+        if (table instanceof JetTable && ((JetTable) table).isStream()) {
+            return false;
+        }
+        List<RelDataTypeField> leftFields = join.getLeft().getRowType().getFieldList();
+        List<RelDataTypeField> rightFields = join.getRight().getRowType().getFieldList();
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            SqlTypeName leftType = leftFields.get(joinInfo.leftKeys.get(i)).getType().getSqlTypeName();
+            SqlTypeName rightType = rightFields.get(joinInfo.rightKeys.get(i)).getType().getSqlTypeName();
+            if (leftType != rightType || !HASH_JOIN_KEY_TYPES.contains(leftType)) {
+                return false;
             }
         }
+        return true;
     }
 }
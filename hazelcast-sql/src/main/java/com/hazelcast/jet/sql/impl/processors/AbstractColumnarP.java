@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
+import com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+
+/**
+ * Base class for the vectorized SQL processors. The input items are either
+ * {@link ColumnarBatch}es or {@code Object[]} rows. Consecutive rows in the
+ * inbox are collected into a batch before they are transformed. The output
+ * is either a batch, if the downstream processor is vectorized too, or the
+ * individual rows. Batches without selected rows are not emitted.
+ * <p>
+ * The items are removed from the inbox only after the transformed batch is
+ * fully emitted.
+ */
+abstract class AbstractColumnarP extends AbstractProcessor {
+
+    static final int MAX_BATCH_SIZE = 1024;
+
+    private final boolean emitBatches;
+
+    private ExpressionEvalContext evalContext;
+    private Traverser<?> traverser;
+    private int consumedCount;
+
+    AbstractColumnarP(boolean emitBatches) {
+        this.emitBatches = emitBatches;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        evalContext = SimpleExpressionEvalContext.from(context);
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return true;
+    }
+
+    @Override
+    public void process(int ordinal, @Nonnull Inbox inbox) {
+        for (;;) {
+            if (traverser == null) {
+                if (inbox.isEmpty()) {
+                    return;
+                }
+                ColumnarBatch batch = transform(nextBatch(inbox));
+                if (!emitBatches) {
+                    traverser = batch.rowTraverser();
+                } else if (batch.selectedCount() > 0) {
+                    traverser = Traversers.singleton(batch);
+                } else {
+                    traverser = Traversers.empty();
+                }
+            }
+            if (!emitFromTraverser(traverser)) {
+                return;
+            }
+            for (int i = 0; i < consumedCount; i++) {
+                inbox.remove();
+            }
+            traverser = null;
+        }
+    }
+
+    private ColumnarBatch nextBatch(Inbox inbox) {
+        Object first = inbox.peek();
+        if (first instanceof ColumnarBatch) {
+            consumedCount = 1;
+            return (ColumnarBatch) first;
+        }
+        int count = 0;
+        for (Object item : inbox) {
+            if (!(item instanceof Object[]) || count == MAX_BATCH_SIZE) {
+                break;
+            }
+            count++;
+        }
+        assert count > 0 : "unexpected item: " + first;
+        consumedCount = count;
+        return ColumnarBatch.fromRows(inbox.iterator(), count);
+    }
+
+    ExpressionEvalContext evalContext() {
+        return evalContext;
+    }
+
+    /**
+     * Transforms the batch. The input batch can be modified and returned.
+     */
+    abstract ColumnarBatch transform(ColumnarBatch batch);
+}
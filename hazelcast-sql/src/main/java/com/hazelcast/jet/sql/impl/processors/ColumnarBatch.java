@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.sql.impl.row.Row;
+
+import java.util.Iterator;
+
+/**
+ * A batch of rows passed between the vectorized SQL processors instead of
+ * individual {@code Object[]} rows. The values are stored by column and
+ * the rows that passed the filters so far are listed in the selection
+ * vector, so that filtering doesn't copy any values and projecting a plain
+ * column reuses the column vector.
+ * <p>
+ * The batches are never serialized, they are only sent over local edges.
+ */
+public final class ColumnarBatch {
+
+    private final Object[][] columns;
+    private final int rowCount;
+    private final int[] selection;
+    private int selectedCount;
+
+    ColumnarBatch(Object[][] columns, int rowCount, int[] selection, int selectedCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.selection = selection;
+        this.selectedCount = selectedCount;
+    }
+
+    /**
+     * Creates a batch from the first {@code count} rows returned by the
+     * iterator, all rows are selected. All rows must have the same number
+     * of columns.
+     */
+    static ColumnarBatch fromRows(Iterator<Object> rows, int count) {
+        Object[][] columns = null;
+        int[] selection = new int[count];
+        for (int i = 0; i < count; i++) {
+            Object[] row = (Object[]) rows.next();
+            if (columns == null) {
+                columns = new Object[row.length][count];
+            }
+            for (int column = 0; column < row.length; column++) {
+                columns[column][i] = row[column];
+            }
+            selection[i] = i;
+        }
+        return new ColumnarBatch(columns == null ? new Object[0][] : columns, count, selection, count);
+    }
+
+    int columnCount() {
+        return columns.length;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    Object[] column(int index) {
+        return columns[index];
+    }
+
+    int selectedCount() {
+        return selectedCount;
+    }
+
+    /**
+     * Returns the index of the {@code i}-th selected row.
+     */
+    int selectedRow(int i) {
+        return selection[i];
+    }
+
+    /**
+     * Returns a batch with the given columns and the same selection, for
+     * columns computed from this batch. This batch must not be used after
+     * that.
+     */
+    ColumnarBatch withColumns(Object[][] newColumns) {
+        return new ColumnarBatch(newColumns, rowCount, selection, selectedCount);
+    }
+
+    /**
+     * Keeps in the selection only the rows for which {@code flags} is
+     * {@code true}. The flags are indexed by the position in the selection.
+     */
+    void retain(boolean[] flags) {
+        int retained = 0;
+        for (int i = 0; i < selectedCount; i++) {
+            if (flags[i]) {
+                selection[retained++] = selection[i];
+            }
+        }
+        selectedCount = retained;
+    }
+
+    /**
+     * Returns a traverser over the selected rows, converted back to {@code
+     * Object[]}.
+     */
+    Traverser<Object[]> rowTraverser() {
+        return new Traverser<Object[]>() {
+            private int position;
+
+            @Override
+            public Object[] next() {
+                if (position == selectedCount) {
+                    return null;
+                }
+                int row = selection[position++];
+                Object[] result = new Object[columns.length];
+                for (int column = 0; column < columns.length; column++) {
+                    result[column] = columns[column][row];
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * A {@link Row} view over one row of the batch, used to evaluate the
+     * expressions without converting the row to {@code Object[]}.
+     */
+    final class RowCursor implements Row {
+        private int row;
+
+        void moveTo(int row) {
+            this.row = row;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T get(int index) {
+            return (T) columns[index][row];
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.sql.impl.processors.ColumnarBatch.RowCursor;
+import com.hazelcast.sql.impl.expression.Expression;
+
+/**
+ * Vectorized filter, evaluates the predicate for all selected rows of a
+ * batch and narrows the selection.
+ */
+public final class ColumnarFilterP extends AbstractColumnarP {
+
+    private final Expression<Boolean> predicate;
+
+    private boolean[] flags = new boolean[0];
+
+    private ColumnarFilterP(Expression<Boolean> predicate, boolean emitBatches) {
+        super(emitBatches);
+        this.predicate = predicate;
+    }
+
+    @Override
+    ColumnarBatch transform(ColumnarBatch batch) {
+        int selectedCount = batch.selectedCount();
+        if (flags.length < selectedCount) {
+            flags = new boolean[Math.max(selectedCount, MAX_BATCH_SIZE)];
+        }
+        RowCursor cursor = batch.new RowCursor();
+        for (int i = 0; i < selectedCount; i++) {
+            cursor.moveTo(batch.selectedRow(i));
+            flags[i] = Boolean.TRUE.equals(predicate.eval(cursor, evalContext()));
+        }
+        batch.retain(flags);
+        return batch;
+    }
+
+    /**
+     * Returns a supplier of vectorized filter processors.
+     *
+     * @param emitBatches whether to emit {@link ColumnarBatch}es or {@code
+     *                    Object[]} rows
+     */
+    public static ProcessorSupplier columnarFilterP(Expression<Boolean> predicate, boolean emitBatches) {
+        return ProcessorSupplier.of(() -> new ColumnarFilterP(predicate, emitBatches));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.sql.impl.processors.ColumnarBatch.RowCursor;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.List;
+
+/**
+ * Vectorized projection, evaluates each projected expression for all
+ * selected rows of a batch into a new column vector. A column reference
+ * reuses the input column vector, unless its values may need to be
+ * deserialized.
+ */
+public final class ColumnarProjectP extends AbstractColumnarP {
+
+    private final List<Expression<?>> projection;
+
+    private ColumnarProjectP(List<Expression<?>> projection, boolean emitBatches) {
+        super(emitBatches);
+        this.projection = projection;
+    }
+
+    @Override
+    ColumnarBatch transform(ColumnarBatch batch) {
+        Object[][] columns = new Object[projection.size()][];
+        RowCursor cursor = null;
+        for (int column = 0; column < columns.length; column++) {
+            Expression<?> expression = projection.get(column);
+            if (expression instanceof ColumnExpression && !QueryDataType.OBJECT.equals(expression.getType())) {
+                columns[column] = batch.column(((ColumnExpression<?>) expression).getIndex());
+                continue;
+            }
+            if (cursor == null) {
+                cursor = batch.new RowCursor();
+            }
+            Object[] values = new Object[batch.rowCount()];
+            for (int i = 0; i < batch.selectedCount(); i++) {
+                int row = batch.selectedRow(i);
+                cursor.moveTo(row);
+                values[row] = expression.eval(cursor, evalContext());
+            }
+            columns[column] = values;
+        }
+        return batch.withColumns(columns);
+    }
+
+    /**
+     * Returns a supplier of vectorized projection processors.
+     *
+     * @param emitBatches whether to emit {@link ColumnarBatch}es or {@code
+     *                    Object[]} rows
+     */
+    public static ProcessorSupplier columnarProjectP(List<Expression<?>> projection, boolean emitBatches) {
+        return ProcessorSupplier.of(() -> new ColumnarProjectP(projection, emitBatches));
+    }
+}
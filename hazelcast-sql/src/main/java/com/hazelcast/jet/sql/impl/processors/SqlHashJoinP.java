@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext;
+import com.hazelcast.jet.sql.impl.aggregate.ObjectArrayKey;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.jet.Traversers.empty;
+import static com.hazelcast.jet.Traversers.singleton;
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.impl.util.Util.extendArray;
+
+/**
+ * Hash join of SQL rows. The right side (ordinal 1) is the build side: its
+ * rows are collected into a hash table by the equi-join key. The edge from
+ * it must have a higher priority than the edge from the left side (ordinal
+ * 0), whose rows then probe the table.
+ * <p>
+ * The right side is either broadcast to all processors, or both sides are
+ * partitioned by the join key; the processor works the same in both cases.
+ * <p>
+ * The equi-join indices in the {@link JetJoinInfo} refer to the left and
+ * right rows as they are received, the right rows are emitted as they are.
+ * <p>
+ * The hash table isn't saved to the snapshot. The processor relies on the
+ * build side being a bounded source, which is read again after the job
+ * restarts.
+ */
+public final class SqlHashJoinP extends AbstractProcessor {
+
+    private final JetJoinInfo joinInfo;
+    private final int rightColumnCount;
+    private final FunctionEx<Object[], ObjectArrayKey> leftKeyFn;
+    private final FunctionEx<Object[], ObjectArrayKey> rightKeyFn;
+    private final Map<ObjectArrayKey, List<Object[]>> hashTable = new HashMap<>();
+    private final FlatMapper<Object[], Object[]> joiner = flatMapper(this::join);
+
+    private ExpressionEvalContext evalContext;
+
+    private SqlHashJoinP(JetJoinInfo joinInfo, int rightColumnCount) {
+        assert joinInfo.isEquiJoin() && (joinInfo.isInner() || joinInfo.isLeftOuter());
+
+        this.joinInfo = joinInfo;
+        this.rightColumnCount = rightColumnCount;
+        this.leftKeyFn = ObjectArrayKey.projectFn(joinInfo.leftEquiJoinIndices());
+        this.rightKeyFn = ObjectArrayKey.projectFn(joinInfo.rightEquiJoinIndices());
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        evalContext = SimpleExpressionEvalContext.from(context);
+    }
+
+    @Override
+    protected boolean tryProcess1(@Nonnull Object item) {
+        Object[] row = (Object[]) item;
+        // a NULL key doesn't equal anything, such a row can't ever be joined
+        if (!hasNullKey(row, joinInfo.rightEquiJoinIndices())) {
+            hashTable.computeIfAbsent(rightKeyFn.apply(row), k -> new ArrayList<>(1)).add(row);
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean tryProcess0(@Nonnull Object item) {
+        return joiner.tryProcess((Object[]) item);
+    }
+
+    private Traverser<Object[]> join(Object[] left) {
+        List<Object[]> matches = hasNullKey(left, joinInfo.leftEquiJoinIndices())
+                ? Collections.emptyList()
+                : hashTable.getOrDefault(leftKeyFn.apply(left), Collections.emptyList());
+
+        List<Object[]> joined = new ArrayList<>(matches.size());
+        for (Object[] right : matches) {
+            Object[] row = ExpressionUtil.join(left, right, joinInfo.nonEquiCondition(), evalContext);
+            if (row != null) {
+                joined.add(row);
+            }
+        }
+        if (joined.isEmpty()) {
+            return joinInfo.isLeftOuter() ? singleton(extendArray(left, rightColumnCount)) : empty();
+        }
+        return traverseIterable(joined);
+    }
+
+    private static boolean hasNullKey(Object[] row, int[] keyIndices) {
+        for (int index : keyIndices) {
+            if (row[index] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static ProcessorSupplier supplier(JetJoinInfo joinInfo, int rightColumnCount) {
+        return new Supplier(joinInfo, rightColumnCount);
+    }
+
+    @SuppressFBWarnings(
+            value = {"SE_BAD_FIELD", "SE_NO_SERIALVERSIONID"},
+            justification = "the class is never java-serialized"
+    )
+    private static final class Supplier implements ProcessorSupplier, DataSerializable {
+
+        private JetJoinInfo joinInfo;
+        private int rightColumnCount;
+
+        @SuppressWarnings("unused")
+        private Supplier() {
+        }
+
+        private Supplier(JetJoinInfo joinInfo, int rightColumnCount) {
+            this.joinInfo = joinInfo;
+            this.rightColumnCount = rightColumnCount;
+        }
+
+        @Nonnull
+        @Override
+        public Collection<? extends Processor> get(int count) {
+            List<Processor> processors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                processors.add(new SqlHashJoinP(joinInfo, rightColumnCount));
+            }
+            return processors;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(joinInfo);
+            out.writeInt(rightColumnCount);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            joinInfo = in.readObject();
+            rightColumnCount = in.readInt();
+        }
+    }
+}
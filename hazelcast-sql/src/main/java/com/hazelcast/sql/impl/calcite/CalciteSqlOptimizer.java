@@ -122,6 +122,8 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
                 sqlBackend,
                 jetSqlBackend
         );
+        context.setDefaultLocalParallelism(
+                nodeEngine.getConfig().getJetConfig().getInstanceConfig().getCooperativeThreadCount());
 
         // 2. Parse SQL string and validate it.
         QueryParseResult parseResult = context.parse(task.getSql());
@@ -21,7 +21,9 @@ import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.calcite.opt.QueryPlanner;
 import com.hazelcast.sql.impl.calcite.opt.cost.CostFactory;
 import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.metadata.HazelcastRelMdDistinctRowCount;
 import com.hazelcast.sql.impl.calcite.opt.metadata.HazelcastRelMdRowCount;
+import com.hazelcast.sql.impl.calcite.opt.metadata.HazelcastRelMdSelectivity;
 import com.hazelcast.sql.impl.calcite.parse.QueryConvertResult;
 import com.hazelcast.sql.impl.calcite.parse.QueryConverter;
 import com.hazelcast.sql.impl.calcite.parse.QueryParseResult;
@@ -62,6 +64,8 @@ public final class OptimizerContext {
 
     private static final RelMetadataProvider METADATA_PROVIDER = ChainedRelMetadataProvider.of(ImmutableList.of(
             HazelcastRelMdRowCount.SOURCE,
+            HazelcastRelMdSelectivity.SOURCE,
+            HazelcastRelMdDistinctRowCount.SOURCE,
             DefaultRelMetadataProvider.INSTANCE
     ));
 
@@ -159,6 +163,10 @@ public final class OptimizerContext {
         cluster.setRequiresJob(requiresJob);
     }
 
+    public void setDefaultLocalParallelism(int defaultLocalParallelism) {
+        cluster.setDefaultLocalParallelism(defaultLocalParallelism);
+    }
+
     // For unit testing only
     public HazelcastRelOptCluster getCluster() {
         return cluster;
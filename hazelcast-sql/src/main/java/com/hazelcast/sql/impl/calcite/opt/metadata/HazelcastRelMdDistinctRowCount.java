@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.metadata;
+
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdDistinctRowCount;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.BuiltInMethod;
+import org.apache.calcite.util.ImmutableBitSet;
+
+/**
+ * Metadata which provides the number of distinct values of columns of Hazelcast tables, based on the column
+ * statistics of the table. It is used to estimate the row count of aggregations and joins.
+ */
+public final class HazelcastRelMdDistinctRowCount extends RelMdDistinctRowCount {
+    /** Do not change the name (see {@code RelMetadataQueryBase} JavaDoc). */
+    public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(
+            BuiltInMethod.DISTINCT_ROW_COUNT.method,
+            new HazelcastRelMdDistinctRowCount()
+    );
+
+    private HazelcastRelMdDistinctRowCount() {
+        // No-op.
+    }
+
+    public Double getDistinctRowCount(TableScan rel, RelMetadataQuery mq, ImmutableBitSet groupKey, RexNode predicate) {
+        HazelcastTable table = rel.getTable().unwrap(HazelcastTable.class);
+
+        if (table == null || groupKey.isEmpty()) {
+            return super.getDistinctRowCount((RelNode) rel, mq, groupKey, predicate);
+        }
+
+        // Columns are assumed to be independent.
+        double distinctCount = 1.0d;
+
+        for (int index : groupKey) {
+            ColumnStatistics columnStatistics = table.getColumnStatistics(index);
+
+            if (columnStatistics == null) {
+                return super.getDistinctRowCount((RelNode) rel, mq, groupKey, predicate);
+            }
+
+            distinctCount *= columnStatistics.getDistinctCount();
+        }
+
+        Double rowCount = mq.getRowCount(rel);
+        Double selectivity = mq.getSelectivity(rel, predicate);
+
+        if (rowCount == null || selectivity == null) {
+            return null;
+        }
+
+        return RelMdUtil.numDistinctVals(distinctCount, rowCount * selectivity);
+    }
+}
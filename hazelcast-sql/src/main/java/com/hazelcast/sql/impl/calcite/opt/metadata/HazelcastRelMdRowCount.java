@@ -16,10 +16,16 @@
 
 package com.hazelcast.sql.impl.calcite.opt.metadata;
 
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdRowCount;
+import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.util.BuiltInMethod;
+import org.apache.calcite.util.ImmutableBitSet;
 
 /**
  * Metadata which provides row count estimates.
@@ -33,6 +39,35 @@ public final class HazelcastRelMdRowCount extends RelMdRowCount {
         // No-op.
     }
 
-    // Empty at the moment, will be extended in the future.
-    // Now it serves as an example of how to wire up a metadata handler into Calcite.
+    /**
+     * Estimates the row count of an inner or left equi-join from the number of distinct values of the join keys: every
+     * key value of the side with fewer of them is assumed to have a match on the other side. Falls back to the default
+     * estimate when the number of distinct values is not known.
+     */
+    @Override
+    public Double getRowCount(Join rel, RelMetadataQuery mq) {
+        JoinInfo joinInfo = rel.analyzeCondition();
+        JoinRelType joinType = rel.getJoinType();
+
+        if (joinInfo.leftKeys.isEmpty() || (joinType != JoinRelType.INNER && joinType != JoinRelType.LEFT)) {
+            return super.getRowCount(rel, mq);
+        }
+
+        Double leftRowCount = mq.getRowCount(rel.getLeft());
+        Double rightRowCount = mq.getRowCount(rel.getRight());
+        Double leftDistinctCount = mq.getDistinctRowCount(rel.getLeft(), ImmutableBitSet.of(joinInfo.leftKeys), null);
+        Double rightDistinctCount = mq.getDistinctRowCount(rel.getRight(), ImmutableBitSet.of(joinInfo.rightKeys), null);
+
+        if (leftRowCount == null || rightRowCount == null || leftDistinctCount == null || rightDistinctCount == null) {
+            return super.getRowCount(rel, mq);
+        }
+
+        double rowCount = leftRowCount * rightRowCount / Math.max(Math.max(leftDistinctCount, rightDistinctCount), 1.0d);
+
+        if (!joinInfo.isEqui()) {
+            rowCount *= RelMdUtil.guessSelectivity(joinInfo.getRemaining(rel.getCluster().getRexBuilder()));
+        }
+
+        return joinType == JoinRelType.LEFT ? Math.max(rowCount, leftRowCount) : rowCount;
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.metadata;
+
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdSelectivity;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.BuiltInMethod;
+
+import java.math.BigDecimal;
+import java.util.function.IntFunction;
+
+/**
+ * Metadata which provides selectivity estimates of predicates on Hazelcast tables, based on the column statistics
+ * of the table. Predicates which cannot be estimated from the statistics are guessed as usual.
+ */
+public final class HazelcastRelMdSelectivity extends RelMdSelectivity {
+    /** Do not change the name (see {@code RelMetadataQueryBase} JavaDoc). */
+    public static final RelMetadataProvider SOURCE =
+            ReflectiveRelMetadataProvider.reflectiveSource(BuiltInMethod.SELECTIVITY.method, new HazelcastRelMdSelectivity());
+
+    private HazelcastRelMdSelectivity() {
+        // No-op.
+    }
+
+    public Double getSelectivity(TableScan rel, RelMetadataQuery mq, RexNode predicate) {
+        HazelcastTable table = rel.getTable().unwrap(HazelcastTable.class);
+
+        if (table == null) {
+            return super.getSelectivity((RelNode) rel, mq, predicate);
+        }
+
+        return estimateSelectivity(predicate, table::getColumnStatistics);
+    }
+
+    /**
+     * Estimates the selectivity of the given predicate.
+     *
+     * @param predicate Predicate, {@code null} if there is none.
+     * @param statistics Function returning the statistics of the column referenced by the given input index or
+     *                   {@code null} if they are not available.
+     * @return Selectivity.
+     */
+    public static double estimateSelectivity(RexNode predicate, IntFunction<ColumnStatistics> statistics) {
+        double selectivity = 1.0d;
+
+        for (RexNode conjunction : RelOptUtil.conjunctions(predicate)) {
+            Double conjunctionSelectivity = estimateComparisonSelectivity(conjunction, statistics);
+
+            if (conjunctionSelectivity == null) {
+                conjunctionSelectivity = RelMdUtil.guessSelectivity(conjunction);
+            }
+
+            selectivity *= conjunctionSelectivity;
+        }
+
+        return selectivity;
+    }
+
+    /**
+     * Estimates the selectivity of a comparison of a column with a constant.
+     *
+     * @return Selectivity or {@code null} if the node is not such comparison or the column has no suitable statistics.
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private static Double estimateComparisonSelectivity(RexNode node, IntFunction<ColumnStatistics> statistics) {
+        if (!node.isA(SqlKind.COMPARISON) || ((RexCall) node).getOperands().size() != 2) {
+            return null;
+        }
+
+        RexCall call = (RexCall) node;
+        SqlKind kind = call.getKind();
+        RexNode column = removeCast(call.getOperands().get(0));
+        RexNode constant = removeCast(call.getOperands().get(1));
+
+        if (!(column instanceof RexInputRef)) {
+            RexNode tmp = column;
+            column = constant;
+            constant = tmp;
+            kind = kind.reverse();
+        }
+
+        if (!(column instanceof RexInputRef) || !(constant instanceof RexLiteral || constant instanceof RexDynamicParam)) {
+            return null;
+        }
+
+        ColumnStatistics columnStatistics = statistics.apply(((RexInputRef) column).getIndex());
+
+        if (columnStatistics == null) {
+            return null;
+        }
+
+        switch (kind) {
+            case EQUALS:
+                return columnStatistics.getEqualsSelectivity();
+
+            case NOT_EQUALS:
+                return 1.0d - columnStatistics.getEqualsSelectivity();
+
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                return rangeSelectivity(columnStatistics, null, numericValue(constant));
+
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                return rangeSelectivity(columnStatistics, numericValue(constant), null);
+
+            default:
+                return null;
+        }
+    }
+
+    private static Double rangeSelectivity(ColumnStatistics columnStatistics, Double lower, Double upper) {
+        if (lower == null && upper == null) {
+            // Not a numeric literal, e.g. a dynamic parameter.
+            return null;
+        }
+
+        return columnStatistics.getRangeSelectivity(lower, upper);
+    }
+
+    private static Double numericValue(RexNode constant) {
+        if (constant instanceof RexLiteral) {
+            Comparable<?> value = ((RexLiteral) constant).getValue();
+
+            if (value instanceof BigDecimal) {
+                return ((BigDecimal) value).doubleValue();
+            }
+        }
+
+        return null;
+    }
+
+    private static RexNode removeCast(RexNode node) {
+        while (node.getKind() == SqlKind.CAST) {
+            node = ((RexCall) node).getOperands().get(0);
+        }
+
+        return node;
+    }
+}
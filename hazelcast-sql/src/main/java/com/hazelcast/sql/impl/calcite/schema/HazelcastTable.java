@@ -19,14 +19,15 @@ package com.hazelcast.sql.impl.calcite.schema;
 import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
 import com.hazelcast.sql.impl.calcite.opt.logical.FilterIntoScanLogicalRule;
 import com.hazelcast.sql.impl.calcite.opt.logical.ProjectIntoScanLogicalRule;
+import com.hazelcast.sql.impl.calcite.opt.metadata.HazelcastRelMdSelectivity;
 import com.hazelcast.sql.impl.calcite.validate.types.HazelcastTypeUtils;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelDistribution;
 import org.apache.calcite.rel.RelReferentialConstraint;
-import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
@@ -174,7 +175,11 @@ public class HazelcastTable extends AbstractTable {
         if (filter == null) {
             return statistic;
         } else {
-            Double selectivity = RelMdUtil.guessSelectivity(filter);
+            // The filter references the fields by their original indexes.
+            Double selectivity = HazelcastRelMdSelectivity.estimateSelectivity(
+                    filter,
+                    target.getStatistics()::getColumnStatistics
+            );
 
             Double rowCount = CostUtils.adjustFilteredRowCount(statistic.getRowCount(), selectivity);
 
@@ -182,6 +187,14 @@ public class HazelcastTable extends AbstractTable {
         }
     }
 
+    /**
+     * @param index Index of the field in the row type of this table, i.e. after the projection.
+     * @return Statistics of the field or {@code null} if not available.
+     */
+    public ColumnStatistics getColumnStatistics(int index) {
+        return target.getStatistics().getColumnStatistics(getProjects().get(index));
+    }
+
     public double getTotalRowCount() {
         return statistic.getRowCount();
     }
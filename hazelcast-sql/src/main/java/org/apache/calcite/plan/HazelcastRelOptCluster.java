@@ -41,6 +41,9 @@ public final class HazelcastRelOptCluster extends RelOptCluster {
     /** Whether 'CREATE JOB' is used */
     private boolean requiresJob;
 
+    /** Default number of processors of a vertex on each member. */
+    private int defaultLocalParallelism = 1;
+
     private HazelcastRelOptCluster(
             RelOptPlanner planner,
             RelDataTypeFactory typeFactory,
@@ -89,6 +92,14 @@ public final class HazelcastRelOptCluster extends RelOptCluster {
         this.requiresJob = requiresJob;
     }
 
+    public int getDefaultLocalParallelism() {
+        return defaultLocalParallelism;
+    }
+
+    public void setDefaultLocalParallelism(int defaultLocalParallelism) {
+        this.defaultLocalParallelism = defaultLocalParallelism;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "{distributionTraitDef=" + distributionTraitDef + '}';
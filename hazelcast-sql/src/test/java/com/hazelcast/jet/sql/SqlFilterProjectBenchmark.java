@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.properties.ClusterProperty.SQL_VECTORIZED_EXECUTION_ENABLED;
+
+/**
+ * Compares a query with a chain of filters and projections executed row by
+ * row and executed over columnar batches, see {@link
+ * com.hazelcast.spi.properties.ClusterProperty#SQL_VECTORIZED_EXECUTION_ENABLED}.
+ * The filters let a third of the rows through, so the batches are sparse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlFilterProjectBenchmark {
+
+    private static final String QUERY = "SELECT v, w + 1 FROM ("
+            + "SELECT v, v * 2 AS w FROM TABLE (generate_series(1, 1000000)) WHERE v % 3 = 0"
+            + ") WHERE w % 4 <> 1";
+
+    @Param({"false", "true"})
+    public boolean vectorized;
+
+    private HazelcastInstance instance;
+
+    @Setup
+    public void setup() {
+        Config config = new Config()
+                .setProperty(SQL_VECTORIZED_EXECUTION_ENABLED.getName(), String.valueOf(vectorized));
+        config.getJetConfig().setEnabled(true);
+        instance = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public long query() {
+        long sum = 0;
+        try (SqlResult result = instance.getSql().execute(QUERY)) {
+            for (SqlRow row : result) {
+                sum += row.<Integer>getObject(0);
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SqlFilterProjectBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
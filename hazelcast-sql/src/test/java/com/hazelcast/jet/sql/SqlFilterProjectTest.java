@@ -25,6 +25,9 @@ import com.hazelcast.sql.SqlService;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.hazelcast.jet.core.TestUtil.createMap;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -198,6 +201,22 @@ public class SqlFilterProjectTest extends SqlTestSupport {
         );
     }
 
+    @Test
+    public void test_filterProjectFilter_multipleBatches() {
+        // the projection reuses the column of v and computes w, the outer filter narrows the selection of the batch
+        List<Row> expected = new ArrayList<>();
+        for (int v = 6; v <= 3000; v += 6) {
+            expected.add(new Row(v));
+        }
+
+        assertRowsAnyOrder(
+                "SELECT v FROM ("
+                        + "SELECT v, v * 2 AS w FROM TABLE (generate_series(1, 3000)) WHERE v % 3 = 0"
+                        + ") WHERE w % 4 = 0",
+                expected
+        );
+    }
+
     @Test
     public void test_starProjectFilterExpressionProjectFilter() {
         TestBatchSqlConnector.create(sqlService, "t", 2);
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql;
+
+import com.hazelcast.config.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.spi.properties.ClusterProperty.SQL_VECTORIZED_EXECUTION_ENABLED;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+public class SqlVectorizedFilterProjectTest extends SqlTestSupport {
+
+    @BeforeClass
+    public static void setUpClass() {
+        Config config = smallInstanceConfig()
+                .setProperty(SQL_VECTORIZED_EXECUTION_ENABLED.getName(), "true");
+        initialize(2, config);
+    }
+
+    @Test
+    public void test_filterProjectFilter_multipleBatches() {
+        // the projection reuses the column of v and computes w, the outer filter narrows the selection of the batch
+        List<Row> expected = new ArrayList<>();
+        for (int v = 6; v <= 3000; v += 6) {
+            expected.add(new Row(v));
+        }
+
+        assertRowsAnyOrder(
+                "SELECT v FROM ("
+                        + "SELECT v, v * 2 AS w FROM TABLE (generate_series(1, 3000)) WHERE v % 3 = 0"
+                        + ") WHERE w % 4 = 0",
+                expected
+        );
+    }
+
+    @Test
+    public void test_filterMatchingNothing() {
+        assertRowsAnyOrder(
+                "SELECT v FROM ("
+                        + "SELECT v, v * 2 AS w FROM TABLE (generate_series(1, 3000)) WHERE v < 0"
+                        + ") WHERE w > 0",
+                emptyList()
+        );
+    }
+
+    @Test
+    public void test_projectWithNulls() {
+        assertRowsAnyOrder(
+                "SELECT v, NULLIF(v, 2) FROM TABLE (generate_series(1, 3)) WHERE v <> 3",
+                asList(new Row(1, 1), new Row(2, null))
+        );
+    }
+}
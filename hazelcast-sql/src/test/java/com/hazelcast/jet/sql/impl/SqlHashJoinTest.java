@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl;
+
+import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.JetPlan.SelectPlan;
+import com.hazelcast.jet.sql.impl.connector.map.model.Person;
+import com.hazelcast.map.IMap;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the hash join chosen by the planner for equi-joins on a field that
+ * isn't the key of the right map. A map entry with the key {@code i} has the
+ * id {@code i}, or a NULL id if {@code i} is a multiple of the map's {@code
+ * nullEvery}.
+ */
+public class SqlHashJoinTest extends SqlTestSupport {
+
+    private static final String BROADCAST = "Join(Hash-broadcast)";
+    private static final String PARTITIONED = "Join(Hash-partitioned)";
+
+    @BeforeClass
+    public static void setUpClass() {
+        initialize(2, null);
+    }
+
+    @Before
+    public void before() {
+        // each test checks the plan of its single query
+        planCache(instance()).clear();
+    }
+
+    @Test
+    public void test_smallRight_innerJoin_broadcast() {
+        String left = createMap(1000, 50);
+        String right = createMap(10, 5);
+
+        assertRowsAnyOrder(
+                "SELECT l.__key, r.__key FROM " + left + " l JOIN " + right + " r ON l.id = r.id",
+                expectedRows(1000, 50, 10, 5, false, (l, r) -> true)
+        );
+        assertJoinVertex(BROADCAST);
+    }
+
+    @Test
+    public void test_smallRight_innerJoinNonEqui_broadcast() {
+        String left = createMap(1000, 50);
+        String right = createMap(10, 5);
+
+        assertRowsAnyOrder(
+                "SELECT l.__key, r.__key FROM " + left + " l JOIN " + right + " r "
+                        + "ON l.id = r.id AND l.name <> 'name-3' AND r.__key > 1",
+                expectedRows(1000, 50, 10, 5, false, (l, r) -> l != 3 && r > 1)
+        );
+        assertJoinVertex(BROADCAST);
+    }
+
+    @Test
+    public void test_smallRight_leftJoinNonEqui_broadcast() {
+        String left = createMap(1000, 50);
+        String right = createMap(10, 5);
+
+        assertRowsAnyOrder(
+                "SELECT l.__key, r.__key FROM " + left + " l LEFT JOIN " + right + " r "
+                        + "ON l.id = r.id AND r.__key < 4",
+                expectedRows(1000, 50, 10, 5, true, (l, r) -> r < 4)
+        );
+        assertJoinVertex(BROADCAST);
+    }
+
+    @Test
+    public void test_largeRight_innerJoin_partitioned() {
+        String left = createMap(1000, 50);
+        String right = createMap(1000, 30);
+
+        assertRowsAnyOrder(
+                "SELECT l.__key, r.__key FROM " + left + " l JOIN " + right + " r ON l.id = r.id",
+                expectedRows(1000, 50, 1000, 30, false, (l, r) -> true)
+        );
+        assertJoinVertex(PARTITIONED);
+    }
+
+    @Test
+    public void test_largeRight_leftJoinNonEqui_partitioned() {
+        String left = createMap(1000, 50);
+        String right = createMap(1000, 30);
+
+        assertRowsAnyOrder(
+                "SELECT l.__key, r.__key FROM " + left + " l LEFT JOIN " + right + " r "
+                        + "ON l.id = r.id AND r.name <> 'name-7' AND l.__key < 500",
+                expectedRows(1000, 50, 1000, 30, true, (l, r) -> r != 7 && l < 500)
+        );
+        assertJoinVertex(PARTITIONED);
+    }
+
+    private static String createMap(int size, int nullEvery) {
+        String name = randomName();
+        IMap<Integer, Person> map = instance().getMap(name);
+        for (int i = 0; i < size; i++) {
+            map.put(i, new Person(i % nullEvery == 0 ? null : i, "name-" + i));
+        }
+        return name;
+    }
+
+    /**
+     * Returns the rows of the join of the maps created by {@link
+     * #createMap}, on equal ids and the given additional condition.
+     */
+    private static List<Row> expectedRows(
+            int leftSize,
+            int leftNullEvery,
+            int rightSize,
+            int rightNullEvery,
+            boolean leftJoin,
+            Condition condition
+    ) {
+        List<Row> rows = new ArrayList<>();
+        for (int l = 0; l < leftSize; l++) {
+            // the ids are equal to the keys, a NULL id never matches
+            int r = l;
+            boolean matched = l % leftNullEvery != 0 && r < rightSize && r % rightNullEvery != 0
+                    && condition.test(l, r);
+            if (matched) {
+                rows.add(new Row(l, r));
+            } else if (leftJoin) {
+                rows.add(new Row(l, null));
+            }
+        }
+        return rows;
+    }
+
+    private static void assertJoinVertex(String expectedName) {
+        List<SelectPlan> plans = planCache(instance()).getPlans().values().stream()
+                .filter(SelectPlan.class::isInstance)
+                .map(SelectPlan.class::cast)
+                .collect(toList());
+        assertThat(plans).hasSize(1);
+
+        List<String> vertexNames = new ArrayList<>();
+        for (Vertex vertex : plans.get(0).getDag()) {
+            vertexNames.add(vertex.getName());
+        }
+        assertThat(vertexNames)
+                .anyMatch(name -> name.startsWith(expectedName))
+                .noneMatch(name -> name.startsWith(expectedName.equals(BROADCAST) ? PARTITIONED : BROADCAST));
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean test(int leftKey, int rightKey);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.nio.serialization.GenericRecord;
+import com.hazelcast.nio.serialization.GenericRecordBuilder;
+import com.hazelcast.sql.SqlService;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Objects;
+
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.COMPACT_FORMAT;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.JAVA_FORMAT;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_KEY_CLASS;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_KEY_FORMAT;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_VALUE_CLASS;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_VALUE_COMPACT_TYPE_NAME;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_VALUE_FORMAT;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public class SqlCompactTest extends SqlTestSupport {
+
+    private static SqlService sqlService;
+
+    @BeforeClass
+    public static void setUpClass() {
+        Config config = smallInstanceConfig();
+        config.getSerializationConfig().getCompactSerializationConfig().setEnabled(true);
+        initialize(1, config);
+        sqlService = instance().getSql();
+    }
+
+    @Test
+    public void test_compactMappingWithoutClass_readsFieldsInPlace() {
+        String name = randomName();
+        sqlService.execute(compactMappingDdl(name));
+
+        instance().getMap(name).put(1, GenericRecordBuilder.compact("person")
+                .setInt("id", 10)
+                .setString("name", "Alice")
+                .build());
+        sqlService.execute("SINK INTO " + name + " VALUES (2, 20, 'Bob')");
+        sqlService.execute("SINK INTO " + name + " VALUES (3, 30, null)");
+
+        assertRowsAnyOrder(
+                "SELECT __key, id, name FROM " + name + " WHERE id > 5",
+                asList(
+                        new Row(1, 10, "Alice"),
+                        new Row(2, 20, "Bob"),
+                        new Row(3, 30, null)
+                )
+        );
+        assertRowsAnyOrder(
+                "SELECT __key FROM " + name + " WHERE name = 'Bob'",
+                singletonList(new Row(2))
+        );
+    }
+
+    @Test
+    public void test_compactMappingWithoutClass_insertedValueIsGenericRecord() {
+        String name = randomName();
+        sqlService.execute(compactMappingDdl(name));
+
+        sqlService.execute("SINK INTO " + name + " VALUES (1, 10, 'Alice')");
+
+        Object value = instance().getMap(name).get(1);
+        assertThat(value).isInstanceOf(GenericRecord.class);
+        assertEquals(10, ((GenericRecord) value).getInt("id"));
+        assertEquals("Alice", ((GenericRecord) value).getString("name"));
+    }
+
+    @Test
+    public void when_compactMappingWithoutFields_then_fails() {
+        String name = randomName();
+        assertThatThrownBy(() -> sqlService.execute("CREATE MAPPING " + name + ' '
+                + "TYPE " + IMapSqlConnector.TYPE_NAME + ' '
+                + "OPTIONS ("
+                + '\'' + OPTION_KEY_FORMAT + "'='" + JAVA_FORMAT + '\''
+                + ", '" + OPTION_KEY_CLASS + "'='" + Integer.class.getName() + '\''
+                + ", '" + OPTION_VALUE_FORMAT + "'='" + COMPACT_FORMAT + '\''
+                + ", '" + OPTION_VALUE_COMPACT_TYPE_NAME + "'='person'"
+                + ")"
+        )).hasMessageContaining("Column list is required for Compact format");
+    }
+
+    @Test
+    public void test_javaMappingOfCompactClass_readsFieldsFromObject() {
+        String name = randomName();
+        sqlService.execute("CREATE MAPPING " + name + ' '
+                + "TYPE " + IMapSqlConnector.TYPE_NAME + ' '
+                + "OPTIONS ("
+                + '\'' + OPTION_KEY_FORMAT + "'='" + JAVA_FORMAT + '\''
+                + ", '" + OPTION_KEY_CLASS + "'='" + Integer.class.getName() + '\''
+                + ", '" + OPTION_VALUE_FORMAT + "'='" + JAVA_FORMAT + '\''
+                + ", '" + OPTION_VALUE_CLASS + "'='" + CompactOuter.class.getName() + '\''
+                + ")"
+        );
+
+        // the classes are not Serializable, they are serialized with zero-config Compact
+        instance().getMap(name).put(1, new CompactOuter(10, new CompactInner("Alice")));
+        instance().getMap(name).put(2, new CompactOuter(20, null));
+
+        // a nested object must be returned as an instance of its class, not as a GenericRecord
+        assertRowsAnyOrder(
+                "SELECT __key, id, owner FROM " + name,
+                asList(
+                        new Row(1, 10, new CompactInner("Alice")),
+                        new Row(2, 20, null)
+                )
+        );
+        assertRowsAnyOrder(
+                "SELECT __key FROM " + name + " WHERE id = 20",
+                singletonList(new Row(2))
+        );
+    }
+
+    private static String compactMappingDdl(String name) {
+        return "CREATE MAPPING " + name + " ("
+                + "__key INT"
+                + ", id INT"
+                + ", name VARCHAR"
+                + ") TYPE " + IMapSqlConnector.TYPE_NAME + ' '
+                + "OPTIONS ("
+                + '\'' + OPTION_KEY_FORMAT + "'='" + JAVA_FORMAT + '\''
+                + ", '" + OPTION_KEY_CLASS + "'='" + Integer.class.getName() + '\''
+                + ", '" + OPTION_VALUE_FORMAT + "'='" + COMPACT_FORMAT + '\''
+                + ", '" + OPTION_VALUE_COMPACT_TYPE_NAME + "'='person'"
+                + ")";
+    }
+
+    @SuppressWarnings("unused")
+    public static class CompactOuter {
+
+        public int id;
+        public CompactInner owner;
+
+        public CompactOuter() {
+        }
+
+        CompactOuter(int id, CompactInner owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class CompactInner {
+
+        public String name;
+
+        public CompactInner() {
+        }
+
+        CompactInner(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return Objects.equals(name, ((CompactInner) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name);
+        }
+    }
+}
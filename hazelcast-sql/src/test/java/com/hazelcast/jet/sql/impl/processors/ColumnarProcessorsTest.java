@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
+import static com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext.SQL_ARGUMENTS_KEY_NAME;
+import static com.hazelcast.jet.sql.impl.processors.ColumnarFilterP.columnarFilterP;
+import static com.hazelcast.jet.sql.impl.processors.ColumnarProjectP.columnarProjectP;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+public class ColumnarProcessorsTest extends SqlTestSupport {
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void test_filter() {
+        Expression<Boolean> predicate = ComparisonPredicate.create(
+                ColumnExpression.create(0, INT),
+                ConstantExpression.create(1, INT),
+                ComparisonMode.GREATER_THAN
+        );
+
+        verify(
+                columnarFilterP(predicate, false),
+                asList(new Object[]{0, "a"}, new Object[]{1, "b"}, new Object[]{2, "c"}, new Object[]{3, null}),
+                asList(new Object[]{2, "c"}, new Object[]{3, null})
+        );
+    }
+
+    @Test
+    public void test_project() {
+        List<Expression<?>> projection = asList(
+                ColumnExpression.create(1, VARCHAR),
+                PlusFunction.create(ColumnExpression.create(0, INT), ConstantExpression.create(1, INT), INT)
+        );
+
+        verify(
+                columnarProjectP(projection, false),
+                asList(new Object[]{0, "a"}, new Object[]{1, "b"}),
+                asList(new Object[]{"a", 1}, new Object[]{"b", 2})
+        );
+    }
+
+    @Test
+    public void test_projectBatchWithSelection() {
+        ColumnarBatch batch = ColumnarBatch.fromRows(
+                asList((Object) new Object[]{0, "a"}, new Object[]{1, "b"}, new Object[]{2, "c"}).iterator(), 3);
+        batch.retain(new boolean[]{true, false, true});
+        List<Expression<?>> projection = singletonList(ColumnExpression.create(1, VARCHAR));
+
+        verify(
+                columnarProjectP(projection, false),
+                singletonList(batch),
+                asList(new Object[]{"a"}, new Object[]{"c"})
+        );
+    }
+
+    @Test
+    public void test_filterEmitBatches() {
+        verifyBatches(
+                columnarFilterP(greaterThanOne(), true),
+                asList(new Object[]{0, "a"}, new Object[]{1, "b"}, new Object[]{2, "c"}, new Object[]{3, null}),
+                asList(new Object[]{2, "c"}, new Object[]{3, null})
+        );
+    }
+
+    @Test
+    public void test_filterEmitBatches_forwardedBatchWithSelection() {
+        // the filter narrows the selection of the forwarded batch in place
+        ColumnarBatch batch = ColumnarBatch.fromRows(
+                asList((Object) new Object[]{0, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}).iterator(), 3);
+        batch.retain(new boolean[]{true, true, false});
+
+        verifyBatches(
+                columnarFilterP(greaterThanOne(), true),
+                singletonList(batch),
+                singletonList(new Object[]{2, "b"})
+        );
+    }
+
+    @Test
+    public void test_projectEmitBatches_reusedColumnAfterFilter() {
+        // the projected batch shares the column vector and the selection with the input batch
+        ColumnarBatch batch = ColumnarBatch.fromRows(
+                asList((Object) new Object[]{0, "a"}, new Object[]{1, "b"}, new Object[]{2, "c"}).iterator(), 3);
+        batch.retain(new boolean[]{true, false, true});
+        List<Expression<?>> projection = asList(
+                ColumnExpression.create(1, VARCHAR),
+                PlusFunction.create(ColumnExpression.create(0, INT), ConstantExpression.create(1, INT), INT)
+        );
+
+        verifyBatches(
+                columnarProjectP(projection, true),
+                singletonList(batch),
+                asList(new Object[]{"a", 1}, new Object[]{"c", 3})
+        );
+    }
+
+    @Test
+    public void test_filterEmitBatches_batchWithoutSelectedRowsNotEmitted() {
+        TestSupport
+                .verifyProcessor(adaptSupplier(columnarFilterP(greaterThanOne(), true)))
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .hazelcastInstance(instance())
+                .input(asList(new Object[]{0, "a"}, new Object[]{1, "b"}))
+                .outputChecker((expected, actual) -> actual.isEmpty())
+                .expectOutput(emptyList());
+    }
+
+    @Test
+    public void test_emptyInput() {
+        verify(
+                columnarProjectP(singletonList(ColumnExpression.create(0, INT)), false),
+                emptyList(),
+                emptyList()
+        );
+    }
+
+    private static Expression<Boolean> greaterThanOne() {
+        return ComparisonPredicate.create(
+                ColumnExpression.create(0, INT),
+                ConstantExpression.create(1, INT),
+                ComparisonMode.GREATER_THAN
+        );
+    }
+
+    private static void verify(ProcessorSupplier supplier, List<?> input, List<Object[]> expectedOutput) {
+        TestSupport
+                .verifyProcessor(adaptSupplier(supplier))
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .hazelcastInstance(instance())
+                .input(input)
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .expectOutput(expectedOutput);
+    }
+
+    private static void verifyBatches(ProcessorSupplier supplier, List<?> input, List<Object[]> expectedOutput) {
+        TestSupport
+                .verifyProcessor(adaptSupplier(supplier))
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .hazelcastInstance(instance())
+                .input(input)
+                .outputChecker((expected, actual) -> SqlTestSupport.compareRowLists(expected, toRows(actual)))
+                .expectOutput(expectedOutput);
+    }
+
+    private static List<Object[]> toRows(List<?> batches) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Object batch : batches) {
+            Traverser<Object[]> traverser = ((ColumnarBatch) batch).rowTraverser();
+            for (Object[] row; (row = traverser.next()) != null; ) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
+import static com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext.SQL_ARGUMENTS_KEY_NAME;
+import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.apache.calcite.rel.core.JoinRelType.INNER;
+import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+
+public class SqlHashJoinPTest extends SqlTestSupport {
+
+    @SuppressWarnings("unchecked")
+    private static final Expression<Boolean> TRUE_PREDICATE =
+            (Expression<Boolean>) ConstantExpression.create(true, BOOLEAN);
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void test_innerJoin() {
+        runTest(INNER, TRUE_PREDICATE,
+                asList(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}),
+                asList(new Object[]{1, "x"}, new Object[]{1, "y"}, new Object[]{3, "z"}, new Object[]{4, "w"}),
+                asList(
+                        new Object[]{1, "a", 1, "x"},
+                        new Object[]{1, "a", 1, "y"},
+                        new Object[]{3, "c", 3, "z"}
+                ));
+    }
+
+    @Test
+    public void test_leftJoin() {
+        runTest(LEFT, TRUE_PREDICATE,
+                asList(new Object[]{1, "a"}, new Object[]{2, "b"}),
+                asList(new Object[]{1, "x"}, new Object[]{3, "z"}),
+                asList(new Object[]{1, "a", 1, "x"}, new Object[]{2, "b", null, null}));
+    }
+
+    @Test
+    public void when_nullKey_then_notJoined() {
+        runTest(LEFT, TRUE_PREDICATE,
+                asList(new Object[]{null, "a"}, new Object[]{1, "b"}),
+                asList(new Object[]{null, "x"}, new Object[]{1, "y"}),
+                asList(new Object[]{null, "a", null, null}, new Object[]{1, "b", 1, "y"}));
+    }
+
+    @Test
+    public void when_nonEquiConditionFalse_then_filteredOut() {
+        // joined row: [leftKey, leftValue, rightKey, rightValue], condition: leftValue < rightValue
+        Expression<Boolean> condition = ComparisonPredicate.create(
+                ColumnExpression.create(1, INT),
+                ColumnExpression.create(3, INT),
+                ComparisonMode.LESS_THAN
+        );
+
+        runTest(LEFT, condition,
+                asList(new Object[]{1, 10}, new Object[]{2, 20}),
+                asList(new Object[]{1, 15}, new Object[]{1, 5}, new Object[]{2, 5}),
+                asList(new Object[]{1, 10, 1, 15}, new Object[]{2, 20, null, null}));
+    }
+
+    @Test
+    public void when_emptyRightInput_then_leftJoinPadsWithNulls() {
+        runTest(LEFT, TRUE_PREDICATE,
+                asList(new Object[]{1, "a"}),
+                emptyList(),
+                asList(new Object[]{1, "a", null, null}));
+    }
+
+    private static void runTest(
+            JoinRelType joinType,
+            Expression<Boolean> nonEquiCondition,
+            List<Object[]> left,
+            List<Object[]> right,
+            List<Object[]> expectedOutput
+    ) {
+        JetJoinInfo joinInfo = new JetJoinInfo(joinType, new int[]{0}, new int[]{0}, nonEquiCondition, null);
+
+        TestSupport
+                .verifyProcessor(adaptSupplier(SqlHashJoinP.supplier(joinInfo, 2)))
+                .disableSnapshots()
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .hazelcastInstance(instance())
+                .inputs(asList(left, right), new int[]{1, 0})
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .expectOutput(expectedOutput);
+    }
+}
@@ -21,6 +21,7 @@ import com.hazelcast.client.impl.protocol.codec.ClientFetchSchemaCodec;
 import com.hazelcast.client.impl.protocol.codec.ClientSendAllSchemasCodec;
 import com.hazelcast.client.impl.protocol.codec.ClientSendSchemaCodec;
 import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.internal.serialization.impl.compact.PersistentSchemaCache;
 import com.hazelcast.internal.serialization.impl.compact.Schema;
 import com.hazelcast.internal.serialization.impl.compact.SchemaService;
 import com.hazelcast.logging.ILogger;
@@ -29,20 +30,36 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static com.hazelcast.client.properties.ClientProperty.COMPACT_SCHEMA_CACHE_DIRECTORY;
+
 public class ClientSchemaService implements SchemaService {
 
     private final Map<Long, Schema> schemas = new ConcurrentHashMap<>();
+    // schemas loaded from the local schema cache, they are only used for
+    // reads since they are not necessarily known by the cluster
+    private final Map<Long, Schema> cachedSchemas = new ConcurrentHashMap<>();
     private final HazelcastClientInstanceImpl client;
     private final ILogger logger;
+    private final PersistentSchemaCache schemaCache;
 
     public ClientSchemaService(HazelcastClientInstanceImpl client, ILogger logger) {
         this.client = client;
         this.logger = logger;
+        this.schemaCache = PersistentSchemaCache.create(
+                client.getProperties().getString(COMPACT_SCHEMA_CACHE_DIRECTORY), logger);
+        if (schemaCache != null) {
+            for (Schema schema : schemaCache.load()) {
+                cachedSchemas.put(schema.getSchemaId(), schema);
+            }
+        }
     }
 
     @Override
     public Schema get(long schemaId) {
         Schema schema = schemas.get(schemaId);
+        if (schema == null) {
+            schema = cachedSchemas.get(schemaId);
+        }
         if (schema != null) {
             return schema;
         }
@@ -53,7 +70,7 @@ public class ClientSchemaService implements SchemaService {
         ClientMessage message = invocation.invoke().joinInternal();
         schema = ClientFetchSchemaCodec.decodeResponse(message);
         if (schema != null) {
-            schemas.put(schemaId, schema);
+            putIfAbsent(schema);
         }
         return schema;
     }
@@ -82,6 +99,10 @@ public class ClientSchemaService implements SchemaService {
         long schemaId = schema.getSchemaId();
         Schema existingSchema = schemas.putIfAbsent(schemaId, schema);
         if (existingSchema == null) {
+            if (schemaCache != null && !cachedSchemas.containsKey(schemaId)) {
+                // keep the disk I/O off the user and the response threads
+                client.getTaskScheduler().execute(() -> schemaCache.store(schema));
+            }
             return true;
         }
         if (!schema.equals(existingSchema)) {
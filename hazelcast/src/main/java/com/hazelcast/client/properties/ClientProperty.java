@@ -310,6 +310,15 @@ public final class ClientProperty {
     public static final HazelcastProperty METRICS_COLLECTION_FREQUENCY
             = new HazelcastProperty("hazelcast.client.metrics.collection.frequency", 5);
 
+    /**
+     * Directory in which the Compact serialization schemas known to the client
+     * are cached. The cached schemas are loaded when the client starts, so the
+     * first reads of Compact data after a restart don't have to fetch their
+     * schemas from the cluster. Schema caching is disabled if not set.
+     */
+    public static final HazelcastProperty COMPACT_SCHEMA_CACHE_DIRECTORY
+            = new HazelcastProperty("hazelcast.client.compact.schema.cache.directory");
+
 
     private ClientProperty() {
     }
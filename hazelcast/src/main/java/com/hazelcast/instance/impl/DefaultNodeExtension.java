@@ -79,6 +79,8 @@ import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketCompressionStats;
+import com.hazelcast.internal.nio.PacketCompressor;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
@@ -107,6 +109,7 @@ import com.hazelcast.spi.impl.NodeEngineImpl.JetPacketConsumer;
 import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceManager;
 import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.version.MemberVersion;
 import com.hazelcast.version.Version;
 import com.hazelcast.wan.impl.WanReplicationService;
@@ -126,10 +129,13 @@ import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProper
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.PRODUCT;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.START_TIMESTAMP;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.VERSION;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_COMPRESSION;
 import static com.hazelcast.internal.util.InstanceTrackingUtil.writeInstanceTrackingFile;
 import static com.hazelcast.jet.impl.util.Util.JET_IS_DISABLED_MESSAGE;
 import static com.hazelcast.jet.impl.util.Util.checkJetIsEnabled;
 import static com.hazelcast.map.impl.MapServiceConstructor.getDefaultMapServiceConstructor;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_COMPRESSION_THRESHOLD_BYTES;
 
 @SuppressWarnings({"checkstyle:methodcount", "checkstyle:classfanoutcomplexity", "checkstyle:classdataabstractioncoupling"})
 public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
@@ -151,6 +157,7 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
     protected JetExtension jetExtension;
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private final PacketCompressionStats packetCompressionStats = new PacketCompressionStats();
 
     public DefaultNodeExtension(Node node) {
         this.node = node;
@@ -284,6 +291,9 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
         if (jetExtension != null) {
             jetExtension.afterStart();
         }
+        if (node.getProperties().getBoolean(IO_COMPRESSION_ENABLED)) {
+            node.nodeEngine.getMetricsRegistry().registerStaticMetrics(packetCompressionStats, TCP_PREFIX_COMPRESSION);
+        }
     }
 
     @Override
@@ -400,14 +410,27 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
     public InboundHandler[] createInboundHandlers(EndpointQualifier qualifier,
                                                   ServerConnection connection, ServerContext serverContext) {
         NodeEngineImpl nodeEngine = node.nodeEngine;
-        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher(), newPacketCompressor());
         return new InboundHandler[]{decoder};
     }
 
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        return new OutboundHandler[]{new PacketEncoder(newPacketCompressor())};
+    }
+
+    /**
+     * Creates a new {@link PacketCompressor} for a single packet handler.
+     *
+     * @return the compressor, or {@code null} if packet compression is disabled.
+     */
+    protected PacketCompressor newPacketCompressor() {
+        HazelcastProperties properties = node.getProperties();
+        if (!properties.getBoolean(IO_COMPRESSION_ENABLED)) {
+            return null;
+        }
+        return new PacketCompressor(properties.getInteger(IO_COMPRESSION_THRESHOLD_BYTES), packetCompressionStats);
     }
 
     @Override
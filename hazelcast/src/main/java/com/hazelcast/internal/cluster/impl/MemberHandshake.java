@@ -60,6 +60,7 @@ public class MemberHandshake
 
     public static final String OPTION_PLANE_COUNT = "planeCount";
     public static final String OPTION_PLANE_INDEX = "planeIndex";
+    public static final String OPTION_COMPRESSION = "compression";
 
     private byte schemaVersion;
     private Map<ProtocolType, Collection<Address>> localAddresses;
@@ -93,6 +94,11 @@ public class MemberHandshake
         return value == null ? defaultValue : Integer.parseInt(value);
     }
 
+    public boolean getBooleanOption(String key, boolean defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
     public int getPlaneCount() {
         return getIntOption(OPTION_PLANE_COUNT, 1);
     }
@@ -101,6 +107,14 @@ public class MemberHandshake
         return getIntOption(OPTION_PLANE_INDEX, 0);
     }
 
+    /**
+     * Checks if the sender of this handshake supports packet compression.
+     * Members that don't know about compression never send this option.
+     */
+    public boolean isCompressionEnabled() {
+        return getBooleanOption(OPTION_COMPRESSION, false);
+    }
+
     byte getSchemaVersion() {
         return schemaVersion;
     }
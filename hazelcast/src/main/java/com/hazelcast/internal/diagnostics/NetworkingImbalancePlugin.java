@@ -19,6 +19,7 @@ package com.hazelcast.internal.diagnostics;
 import com.hazelcast.internal.networking.Networking;
 import com.hazelcast.internal.networking.nio.NioNetworking;
 import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.internal.server.Server;
 import com.hazelcast.internal.server.tcp.TcpServer;
@@ -98,6 +99,8 @@ public class NetworkingImbalancePlugin extends DiagnosticsPlugin {
         render(writer, networking.getOutputThreads());
         writer.endSection();
 
+        render(writer, networking.getIOBalancer());
+
         writer.endSection();
     }
 
@@ -142,6 +145,21 @@ public class NetworkingImbalancePlugin extends DiagnosticsPlugin {
         }
     }
 
+    private void render(DiagnosticsLogWriter writer, IOBalancer ioBalancer) {
+        if (ioBalancer == null) {
+            // the networking hasn't been started yet
+            return;
+        }
+
+        writer.startSection("IOBalancer");
+        writer.writeKeyValueEntry("strategy", ioBalancer.strategyName());
+        writer.writeKeyValueEntry("imbalance-detected-count", ioBalancer.imbalanceDetectedCount());
+        writer.writeKeyValueEntry("migration-completed-count", ioBalancer.migrationCompletedCount());
+        writer.writeKeyValueEntry("last-inbound-migration", String.valueOf(ioBalancer.lastInboundMigration()));
+        writer.writeKeyValueEntry("last-outbound-migration", String.valueOf(ioBalancer.lastOutboundMigration()));
+        writer.endSection();
+    }
+
     private String toPercentage(long amount, long total) {
         final double percentage;
         if (amount == 0L) {
@@ -231,6 +231,7 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_BACKUP_COUNT = "backupCount";
     public static final String MAP_METRIC_QUERY_COUNT = "queryCount";
     public static final String MAP_METRIC_INDEXED_QUERY_COUNT = "indexedQueryCount";
+    public static final String MAP_METRIC_VALUE_COMPRESSION_RATIO = "valueCompressionRatio";
     public static final String MAP_METRIC_TOTAL_PUT_LATENCY = "totalPutLatency";
     public static final String MAP_METRIC_TOTAL_SET_LATENCY = "totalSetLatency";
     public static final String MAP_METRIC_TOTAL_GET_LATENCY = "totalGetLatency";
@@ -337,6 +338,7 @@ public final class MetricDescriptorConstants {
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS = "idleTimeMillis";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED = "scheduled";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT = "processCount";
+    public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS = "processTimeNanos";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID = "ownerId";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS = "startedMigrations";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_COMPLETED_MIGRATIONS = "completedMigrations";
@@ -352,6 +354,7 @@ public final class MetricDescriptorConstants {
     public static final String NETWORKING_METRIC_NIO_THREAD_SELECTOR_IO_EXCEPTION_COUNT = "selectorIOExceptionCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_COMPLETED_TASK_COUNT = "completedTaskCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT = "selectorRebuildCount";
+    public static final String NETWORKING_METRIC_NIO_THREAD_SELECTOR_WAKEUP_COUNT = "selectorWakeupCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_IDLE_TIME_MILLIS = "idleTimeMillis";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_IMBALANCE_DETECTED_COUNT = "imbalanceDetectedCount";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_MIGRATION_COMPLETED_COUNT = "migrationCompletedCount";
@@ -527,6 +530,7 @@ public final class MetricDescriptorConstants {
     public static final String TCP_PREFIX_CONNECTION = "tcp.connection";
     public static final String TCP_PREFIX_CONNECTION_IN = "tcp.connection.in";
     public static final String TCP_PREFIX_CONNECTION_OUT = "tcp.connection.out";
+    public static final String TCP_PREFIX_COMPRESSION = "tcp.compression";
     public static final String TCP_PREFIX_INPUTTHREAD = "tcp.inputThread";
     public static final String TCP_PREFIX_OUTPUTTHREAD = "tcp.outputThread";
     public static final String TCP_DISCRIMINATOR_BINDADDRESS = "bindAddress";
@@ -534,6 +538,14 @@ public final class MetricDescriptorConstants {
     public static final String TCP_DISCRIMINATOR_PIPELINEID = "pipelineId";
     public static final String TCP_DISCRIMINATOR_THREAD = "thread";
     public static final String TCP_TAG_ENDPOINT = "endpoint";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS = "compressedPackets";
+    public static final String TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES = "uncompressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_BYTES = "compressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_SKIPPED_PACKETS = "skippedPackets";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESS_TIME_NANOS = "compressTimeNanos";
+    public static final String TCP_METRIC_COMPRESSION_DECOMPRESSED_PACKETS = "decompressedPackets";
+    public static final String TCP_METRIC_COMPRESSION_DECOMPRESS_TIME_NANOS = "decompressTimeNanos";
+    public static final String TCP_METRIC_COMPRESSION_RATIO = "compressionRatio";
     public static final String TCP_METRIC_ACCEPTOR_EVENT_COUNT = "eventCount";
     public static final String TCP_METRIC_ACCEPTOR_EXCEPTION_COUNT = "exceptionCount";
     public static final String TCP_METRIC_ACCEPTOR_SELECTOR_RECREATE_COUNT = "selectorRecreateCount";
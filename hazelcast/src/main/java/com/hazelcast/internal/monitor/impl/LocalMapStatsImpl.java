@@ -57,6 +57,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_PUT_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_REMOVE_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_SET_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_VALUE_COMPRESSION_RATIO;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.util.ConcurrencyUtil.setMax;
@@ -167,6 +168,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long queryCount;
     @Probe(name = MAP_METRIC_INDEXED_QUERY_COUNT)
     private volatile long indexedQueryCount;
+    @Probe(name = MAP_METRIC_VALUE_COMPRESSION_RATIO)
+    private volatile double valueCompressionRatio = 1;
 
     private final boolean ignoreMemoryCosts;
 
@@ -421,6 +424,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.indexedQueryCount = indexedQueryCount;
     }
 
+    @Override
+    public double getValueCompressionRatio() {
+        return valueCompressionRatio;
+    }
+
+    public void setValueCompressionRatio(double valueCompressionRatio) {
+        this.valueCompressionRatio = valueCompressionRatio;
+    }
+
     @Override
     public Map<String, LocalIndexStats> getIndexStats() {
         return indexStats;
@@ -539,6 +551,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", nearCacheStats=" + (nearCacheStats != null ? nearCacheStats : "")
                 + ", queryCount=" + queryCount
                 + ", indexedQueryCount=" + indexedQueryCount
+                + ", valueCompressionRatio=" + valueCompressionRatio
                 + ", indexStats=" + indexStats
                 + ", replicationStats=" + replicationStats
                 + '}';
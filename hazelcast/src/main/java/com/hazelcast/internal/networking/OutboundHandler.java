@@ -51,6 +51,14 @@ import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
  * in reading mode and it is the responsibility of the OutboundHandler
  * in front to put that buffer in reading mode.
  *
+ * <h1>Payload pass-through</h1>
+ * The last OutboundHandler in the pipeline can hand out a
+ * {@link #passThroughPayload() payload buffer} that is written to the socket
+ * directly after the destination buffer using a gathering write. This
+ * prevents large frames from being copied into the destination buffer first.
+ * The pipeline tells a handler if it is allowed to do so using
+ * {@link #setPayloadPassThrough(boolean)}.
+ *
  * @param <S> the type of the source. E.g. a ByteBuffer or a
  *            {@link java.util.function.Supplier}.
  * @param <D> the type of the destination. E.g. a ByteBuffer or a
@@ -63,6 +71,8 @@ import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
  */
 public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandler, S, D> {
 
+    private boolean payloadPassThrough;
+
     /**
      * A callback to indicate that this OutboundHandler should be
      * processed.
@@ -122,4 +132,46 @@ public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandl
         buffer.flip();
         dst = (D) buffer;
     }
+
+    /**
+     * Sets if this handler is allowed to pass payloads to the socket
+     * using {@link #passThroughPayload()}. This is only the case for the
+     * last handler in the pipeline since its dst buffer is written to the
+     * socket directly.
+     *
+     * This method should only be called by the pipeline.
+     *
+     * @param payloadPassThrough true if payload pass-through is allowed.
+     */
+    public final void setPayloadPassThrough(boolean payloadPassThrough) {
+        this.payloadPassThrough = payloadPassThrough;
+    }
+
+    /**
+     * Checks if this handler is allowed to pass payloads to the socket.
+     *
+     * @return true if payload pass-through is allowed.
+     * @see #setPayloadPassThrough(boolean)
+     */
+    protected final boolean isPayloadPassThrough() {
+        return payloadPassThrough;
+    }
+
+    /**
+     * Returns the payload buffer that should be written to the socket
+     * directly after the dst buffer. While this buffer has remaining bytes,
+     * the handler should not add any bytes to its dst buffer, since they
+     * would otherwise be written before the payload.
+     *
+     * The returned buffer is expected to be in reading mode.
+     *
+     * This method should only be called from the thread that owns this
+     * handler.
+     *
+     * @return the payload buffer or null if there is no payload to pass
+     * through.
+     */
+    public ByteBuffer passThroughPayload() {
+        return null;
+    }
 }
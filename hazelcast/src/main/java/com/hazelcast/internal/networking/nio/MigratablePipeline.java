@@ -51,4 +51,14 @@ public interface MigratablePipeline {
      * @return total load recorded by this pipeline
      */
     long load();
+
+    /**
+     * Get the time spent by the owning {@link NioThread} processing this pipeline.
+     * Together with {@link #load()} it can be used to determine how much of the
+     * capacity of a {@link NioThread} is consumed by this pipeline. The time is
+     * only measured if the adaptive I/O balancer is enabled, otherwise it's 0.
+     *
+     * @return total time in nanoseconds spent processing this pipeline
+     */
+    long processTimeNanos();
 }
@@ -210,6 +210,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return t;
         });
 
+        boolean processTimeTracked = balancerIntervalSeconds > 0 && IOBalancer.isAdaptive();
         NioThread[] inThreads = new NioThread[inputThreadCount];
         for (int i = 0; i < inThreads.length; i++) {
             NioThread thread = new NioThread(
@@ -220,6 +221,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     idleStrategy);
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
+            thread.setProcessTimeTracked(processTimeTracked);
             thread.setThreadAffinity(inputThreadAffinity);
             inThreads[i] = thread;
             thread.start();
@@ -236,6 +238,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     idleStrategy);
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
+            thread.setProcessTimeTracked(processTimeTracked);
             thread.setThreadAffinity(outputThreadAffinity);
             outThreads[i] = thread;
             thread.start();
@@ -115,6 +115,8 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    private OutboundHandler lastHandler;
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES)
@@ -330,7 +332,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (sendBuffer.remaining() > 0 || hasPassThroughPayloadRemaining()) {
             pipelineStatus = DIRTY;
         }
 
@@ -387,7 +389,7 @@ public final class NioOutboundPipeline
             // if we don't wake up the selector explicitly, only after the selector.select(timeout)
             // has expired the selectionKey will be seen. For more info see:
             // https://stackoverflow.com/questions/11523471/java-selectionkey-interestopsint-not-thread-safe
-            owner.getSelector().wakeup();
+            owner.wakeup();
             concurrencyDetection.onDetected();
         }
     }
@@ -436,11 +438,31 @@ public final class NioOutboundPipeline
 
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        ByteBuffer payload = lastHandler == null ? null : lastHandler.passThroughPayload();
+        long written;
+        if (payload == null) {
+            written = socketChannel.write(sendBuffer);
+        } else {
+            // the payload of a large frame bypasses the sendBuffer; the sendBuffer
+            // still needs to go first since it contains the header of the frame.
+            gatheringBuffers[0] = sendBuffer;
+            gatheringBuffers[1] = payload;
+            try {
+                written = socketChannel.write(gatheringBuffers);
+            } finally {
+                gatheringBuffers[0] = null;
+                gatheringBuffers[1] = null;
+            }
+        }
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
 
+    private boolean hasPassThroughPayloadRemaining() {
+        ByteBuffer payload = lastHandler == null ? null : lastHandler.passThroughPayload();
+        return payload != null && payload.hasRemaining();
+    }
+
     void drainWriteQueues() {
         writeQueue.clear();
         priorityWriteQueue.clear();
@@ -512,10 +534,13 @@ public final class NioOutboundPipeline
 
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
-        this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        this.lastHandler = newHandlers.length == 0 ? null : newHandlers[newHandlers.length - 1];
+        this.sendBuffer = lastHandler == null ? null : (ByteBuffer) lastHandler.dst();
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
+            // only the dst buffer of the last handler is written to the socket directly
+            handler.setPayloadPassThrough(handler == lastHandler);
             if (prev == null) {
                 handler.src(this);
             } else {
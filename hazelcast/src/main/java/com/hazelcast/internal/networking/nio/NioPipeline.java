@@ -35,8 +35,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_OPS_READY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Thread.currentThread;
 
@@ -52,6 +54,10 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
     // the number of time the NioPipeline.process() method has been called.
     @Probe(name = NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT)
     protected final SwCounter processCount = newSwCounter();
+    // the total time spent in NioPipeline.process() when triggered by a selection key.
+    // Only the owning NioThread updates this counter.
+    @Probe(name = NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS, unit = NS, level = DEBUG)
+    final SwCounter processTimeNanos = newSwCounter();
     protected final ILogger logger;
     protected final NioChannel channel;
     protected final SocketChannel socketChannel;
@@ -120,6 +126,11 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
         return owner;
     }
 
+    @Override
+    public long processTimeNanos() {
+        return processTimeNanos.get();
+    }
+
     void start() {
         owner.addTaskAndWakeup(() -> {
             try {
@@ -20,6 +20,7 @@ import com.hazelcast.internal.metrics.ExcludedMetricTargets;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.internal.util.executor.HazelcastManagedThread;
 import com.hazelcast.logging.ILogger;
@@ -34,6 +35,7 @@ import java.util.Iterator;
 import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_BYTES_TRANSCEIVED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_COMPLETED_TASK_COUNT;
@@ -45,6 +47,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_PROCESS_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_SELECTOR_IO_EXCEPTION_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_SELECTOR_WAKEUP_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_TASK_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
@@ -52,9 +55,11 @@ import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW;
 import static com.hazelcast.internal.networking.nio.SelectorOptimizer.newSelector;
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 
 @ExcludedMetricTargets(MANAGEMENT_CENTER)
 public class NioThread extends HazelcastManagedThread implements OperationHostileThread {
@@ -98,6 +103,14 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     // count number of times the selector was rebuilt (if selectWorkaround is enabled)
     @Probe(name = NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT)
     private final SwCounter selectorRebuildCount = newSwCounter();
+    // count number of times the selector was actually woken up; is updated by other threads
+    @Probe(name = NETWORKING_METRIC_NIO_THREAD_SELECTOR_WAKEUP_COUNT)
+    private final MwCounter selectorWakeupCount = newMwCounter();
+
+    // false while this thread is blocked in (or about to block in) Selector.select and no
+    // wakeup has been issued yet. It is used to coalesce wakeups since every
+    // Selector.wakeup call that reaches the selector is a syscall.
+    private final AtomicBoolean awake = new AtomicBoolean(true);
 
     private final ILogger logger;
 
@@ -117,6 +130,9 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     // set to true while testing
     private boolean selectorWorkaroundTest;
 
+    // set to true if the I/O balancer takes the processing time of the pipelines into account
+    private boolean processTimeTracked;
+
     public NioThread(String threadName,
                      ILogger logger,
                      ChannelErrorHandler errorHandler) {
@@ -150,6 +166,10 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         this.selectorWorkaroundTest = selectorWorkaroundTest;
     }
 
+    void setProcessTimeTracked(boolean processTimeTracked) {
+        this.processTimeTracked = processTimeTracked;
+    }
+
     public long bytesTransceived() {
         return bytesTransceived;
     }
@@ -174,6 +194,10 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         return completedTaskCount.get();
     }
 
+    public long selectorWakeupCount() {
+        return selectorWakeupCount.get();
+    }
+
     /**
      * Gets the Selector
      *
@@ -222,6 +246,19 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     public void addTaskAndWakeup(Runnable task) {
         taskQueue.add(task);
         if (selectMode != SELECT_NOW) {
+            wakeup();
+        }
+    }
+
+    /**
+     * Wakes up the selector if this thread is blocked in a select. If the
+     * thread isn't blocked, or a wakeup is already pending, nothing is done;
+     * the thread will pick up any new tasks and interest ops before it blocks
+     * again.
+     */
+    public void wakeup() {
+        if (awake.compareAndSet(false, true)) {
+            selectorWakeupCount.inc();
             selector.wakeup();
         }
     }
@@ -289,7 +326,7 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         while (!stop) {
             processTaskQueue();
 
-            int selectedKeys = selector.select(SELECT_WAIT_TIME_MILLIS);
+            int selectedKeys = select();
             if (selectedKeys > 0) {
                 processSelectionKeys();
             }
@@ -302,7 +339,7 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
             processTaskQueue();
 
             long before = currentTimeMillis();
-            int selectedKeys = selector.select(SELECT_WAIT_TIME_MILLIS);
+            int selectedKeys = select();
             if (selectedKeys > 0) {
                 idleCount = 0;
                 processSelectionKeys();
@@ -321,6 +358,20 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         }
     }
 
+    private int select() throws IOException {
+        awake.set(false);
+        // a task added before the awake flag was cleared didn't trigger a wakeup,
+        // so we need to check the task queue before we block.
+        if (!taskQueue.isEmpty()) {
+            awake.set(true);
+            return selector.selectNow();
+        }
+
+        int selectedKeys = selector.select(SELECT_WAIT_TIME_MILLIS);
+        awake.set(true);
+        return selectedKeys;
+    }
+
     private boolean selectorBugDetected(int idleCount) {
         return idleCount > SELECT_IDLE_COUNT_THRESHOLD
                 || (selectorWorkaroundTest && RANDOM.nextInt(TEST_SELECTOR_BUG_PROBABILITY) == 1);
@@ -380,7 +431,13 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
             // we don't need to check for sk.isReadable/sk.isWritable since the pipeline has only registered
             // for events it can handle.
             eventCount.inc();
-            pipeline.process();
+            if (processTimeTracked) {
+                long startNanos = nanoTime();
+                pipeline.process();
+                pipeline.processTimeNanos.inc(nanoTime() - startNanos);
+            } else {
+                pipeline.process();
+            }
         } catch (Throwable t) {
              pipeline.onError(t);
         }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+
+import java.util.Set;
+
+/**
+ * A {@link MigrationStrategy} meant to be used with a {@link LoadTracker} running
+ * in adaptive mode. The load of a pipeline is then its smoothed share of the bytes
+ * and of the processing time of all pipelines, so a few heavy connections are
+ * detected even when they produce few events.
+ *
+ * It attempts to trigger a migration if a ratio between least busy and most
+ * busy IOThreads exceeds {@link #MIN_MAX_RATIO_MIGRATION_THRESHOLD}.
+ *
+ * To prevent pipelines from ping-ponging between IOThreads, it selects the pipeline
+ * which brings the load of {@link LoadImbalance#srcOwner} and {@link LoadImbalance#dstOwner}
+ * closest together, provided that it reduces the difference between them by at least
+ * {@link #MIN_IMPROVEMENT_RATIO}. A pipeline that has recently been migrated isn't
+ * considered until {@link #MIGRATION_COOLDOWN_ROUNDS} imbalance calculations have passed.
+ */
+class AdaptiveLoadMigrationStrategy implements MigrationStrategy {
+
+    /**
+     * Try to schedule a migration if the least busy NioThread receives less load
+     * then (MIN_MAX_RATIO_MIGRATION_THRESHOLD * load received by the busiest NioThread)
+     */
+    static final double MIN_MAX_RATIO_MIGRATION_THRESHOLD = 0.8;
+
+    /**
+     * The minimum relative reduction of the difference between the busiest and least
+     * busy NioThread a migration must result in.
+     */
+    static final double MIN_IMPROVEMENT_RATIO = 0.2;
+
+    /**
+     * The number of imbalance calculations a pipeline needs to stay with its NioThread
+     * after a migration before it can be migrated again.
+     */
+    static final int MIGRATION_COOLDOWN_ROUNDS = 5;
+
+    @Override
+    public boolean imbalanceDetected(LoadImbalance imbalance) {
+        long min = imbalance.minimumLoad;
+        long max = imbalance.maximumLoad;
+
+        if (min == Long.MIN_VALUE || max == Long.MAX_VALUE) {
+            return false;
+        }
+        long lowerBound = (long) (MIN_MAX_RATIO_MIGRATION_THRESHOLD * max);
+        return min < lowerBound;
+    }
+
+    @Override
+    public MigratablePipeline findPipelineToMigrate(LoadImbalance imbalance) {
+        Set<? extends MigratablePipeline> candidates = imbalance.getPipelinesOwnedBy(imbalance.srcOwner);
+        long difference = imbalance.maximumLoad - imbalance.minimumLoad;
+        long maxDifferenceAfterMigration = (long) (difference * (1 - MIN_IMPROVEMENT_RATIO));
+
+        MigratablePipeline candidate = null;
+        long differenceWithCandidate = Long.MAX_VALUE;
+        for (MigratablePipeline pipeline : candidates) {
+            if (imbalance.getRoundsSinceLastMigration(pipeline) < MIGRATION_COOLDOWN_ROUNDS) {
+                continue;
+            }
+
+            long load = imbalance.getLoad(pipeline);
+            if (load <= 0) {
+                continue;
+            }
+
+            // the difference between the 2 threads after migrating this pipeline
+            long differenceAfterMigration = Math.abs(difference - 2 * load);
+            if (differenceAfterMigration <= maxDifferenceAfterMigration
+                    && differenceAfterMigration < differenceWithCandidate) {
+                differenceWithCandidate = differenceAfterMigration;
+                candidate = pipeline;
+            }
+        }
+        return candidate;
+    }
+}
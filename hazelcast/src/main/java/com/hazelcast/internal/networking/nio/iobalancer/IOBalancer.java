@@ -54,6 +54,9 @@ import static com.hazelcast.spi.properties.ClusterProperty.IO_THREAD_COUNT;
  * if imbalance is detected then it schedules pipeline migration to fix the situation.
  * The exact migration strategy can be customized via
  * {@link com.hazelcast.internal.networking.nio.iobalancer.MigrationStrategy}.
+ * Setting the system property {@code hazelcast.io.balancer.adaptive} to {@code true}
+ * enables the {@link AdaptiveLoadMigrationStrategy} which takes both the load and the
+ * processing time of the pipelines into account.
  *
  * Measuring interval can be customized via {@link ClusterProperty#IO_BALANCER_INTERVAL_SECONDS}
  *
@@ -65,6 +68,7 @@ import static com.hazelcast.spi.properties.ClusterProperty.IO_THREAD_COUNT;
  */
 public class IOBalancer {
     private static final String PROP_MONKEY_BALANCER = "hazelcast.io.balancer.monkey";
+    private static final String PROP_ADAPTIVE_BALANCER = "hazelcast.io.balancer.adaptive";
     private final ILogger logger;
 
     private final int balancerIntervalSeconds;
@@ -76,6 +80,8 @@ public class IOBalancer {
     private final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<>();
     private volatile boolean enabled;
     private IOBalancerThread ioBalancerThread;
+    private volatile String lastInboundMigration;
+    private volatile String lastOutboundMigration;
 
     // only IOBalancerThread will write to this field.
     @Probe(name = NETWORKING_METRIC_NIO_IO_BALANCER_IMBALANCE_DETECTED_COUNT)
@@ -92,15 +98,24 @@ public class IOBalancer {
         this.logger = loggingService.getLogger(IOBalancer.class);
         this.balancerIntervalSeconds = balancerIntervalSeconds;
 
-        this.strategy = createMigrationStrategy();
+        boolean adaptive = isAdaptive();
+        this.strategy = createMigrationStrategy(adaptive);
         this.hzName = hzName;
 
-        this.inLoadTracker = new LoadTracker(inputThreads, logger);
-        this.outLoadTracker = new LoadTracker(outputThreads, logger);
+        this.inLoadTracker = new LoadTracker(inputThreads, logger, adaptive);
+        this.outLoadTracker = new LoadTracker(outputThreads, logger, adaptive);
 
         this.enabled = isEnabled(inputThreads, outputThreads);
     }
 
+    /**
+     * Returns true if the {@link AdaptiveLoadMigrationStrategy} is enabled. Only
+     * then the {@link NioThread}s need to measure the processing time of the pipelines.
+     */
+    public static boolean isAdaptive() {
+        return Boolean.getBoolean(PROP_ADAPTIVE_BALANCER);
+    }
+
     // just for testing
     LoadTracker getInLoadTracker() {
         return inLoadTracker;
@@ -116,6 +131,38 @@ public class IOBalancer {
         return workQueue;
     }
 
+    public String strategyName() {
+        return strategy.getClass().getSimpleName();
+    }
+
+    public long imbalanceDetectedCount() {
+        return imbalanceDetectedCount.get();
+    }
+
+    public long migrationCompletedCount() {
+        return migrationCompletedCount.get();
+    }
+
+    /**
+     * Returns a description of the last migration of an inbound pipeline scheduled
+     * by this IOBalancer.
+     *
+     * @return the description or <code>null</code> if no migration has been scheduled yet
+     */
+    public String lastInboundMigration() {
+        return lastInboundMigration;
+    }
+
+    /**
+     * Returns a description of the last migration of an outbound pipeline scheduled
+     * by this IOBalancer.
+     *
+     * @return the description or <code>null</code> if no migration has been scheduled yet
+     */
+    public String lastOutboundMigration() {
+        return lastOutboundMigration;
+    }
+
     public void channelAdded(MigratablePipeline inboundPipeline, MigratablePipeline outboundPipeline) {
         // if not enabled, then don't schedule tasks that will not get processed.
         // See https://github.com/hazelcast/hazelcast/issues/11501
@@ -154,7 +201,7 @@ public class IOBalancer {
         LoadImbalance loadImbalance = loadTracker.updateImbalance();
         if (strategy.imbalanceDetected(loadImbalance)) {
             imbalanceDetectedCount.inc();
-            tryMigrate(loadImbalance);
+            tryMigrate(loadTracker, loadImbalance);
         } else {
             if (logger.isFinestEnabled()) {
                 long min = loadImbalance.minimumLoad;
@@ -169,11 +216,14 @@ public class IOBalancer {
         }
     }
 
-    private MigrationStrategy createMigrationStrategy() {
+    private MigrationStrategy createMigrationStrategy(boolean adaptive) {
         if (Boolean.getBoolean(PROP_MONKEY_BALANCER)) {
             logger.warning("Using Monkey IO Balancer Strategy. This is for stress tests only. Do not user in production! "
                     + "Disable by not setting the property '" + PROP_MONKEY_BALANCER + "' to true.");
             return new MonkeyMigrationStrategy();
+        } else if (adaptive) {
+            logger.finest("Using adaptive IO Balancer Strategy.");
+            return new AdaptiveLoadMigrationStrategy();
         } else {
             logger.finest("Using normal IO Balancer Strategy.");
             return new LoadMigrationStrategy();
@@ -200,19 +250,27 @@ public class IOBalancer {
         return true;
     }
 
-    private void tryMigrate(LoadImbalance loadImbalance) {
+    private void tryMigrate(LoadTracker loadTracker, LoadImbalance loadImbalance) {
         MigratablePipeline pipeline = strategy.findPipelineToMigrate(loadImbalance);
         if (pipeline == null) {
             logger.finest("I/O imbalance is detected, but no suitable migration candidate is found.");
             return;
         }
 
+        NioThread srcOwner = loadImbalance.srcOwner;
         NioThread dstOwner = loadImbalance.dstOwner;
+        String migration = "pipeline " + pipeline + " with load " + loadImbalance.getLoad(pipeline)
+                + " from " + srcOwner + " with load " + loadImbalance.maximumLoad
+                + " to " + dstOwner + " with load " + loadImbalance.minimumLoad;
         if (logger.isFinestEnabled()) {
-            NioThread srcOwner = loadImbalance.srcOwner;
-            logger.finest("Scheduling migration of pipeline " + pipeline
-                    + " from " + srcOwner + " to " + dstOwner);
+            logger.finest("Scheduling migration of " + migration);
+        }
+        if (loadTracker == inLoadTracker) {
+            lastInboundMigration = migration;
+        } else {
+            lastOutboundMigration = migration;
         }
+        loadTracker.notifyMigrationScheduled(pipeline);
         pipeline.requestMigration(dstOwner);
     }
 
@@ -42,11 +42,19 @@ class LoadImbalance {
 
     private final Map<NioThread, Set<MigratablePipeline>> ownerToPipelines;
     private final ItemCounter<MigratablePipeline> pipelineLoadCounter;
+    private final LoadTracker loadTracker;
 
     LoadImbalance(Map<NioThread, Set<MigratablePipeline>> ownerToPipelines,
                   ItemCounter<MigratablePipeline> pipelineLoadCounter) {
+        this(ownerToPipelines, pipelineLoadCounter, null);
+    }
+
+    LoadImbalance(Map<NioThread, Set<MigratablePipeline>> ownerToPipelines,
+                  ItemCounter<MigratablePipeline> pipelineLoadCounter,
+                  LoadTracker loadTracker) {
         this.ownerToPipelines = ownerToPipelines;
         this.pipelineLoadCounter = pipelineLoadCounter;
+        this.loadTracker = loadTracker;
     }
 
     /**
@@ -64,4 +72,13 @@ class LoadImbalance {
     long getLoad(MigratablePipeline pipeline) {
         return pipelineLoadCounter.get(pipeline);
     }
+
+    /**
+     * @param pipeline
+     * @return the number of imbalance calculations since the pipeline was last scheduled
+     * for migration or {@link Long#MAX_VALUE} if it has never been migrated
+     */
+    long getRoundsSinceLastMigration(MigratablePipeline pipeline) {
+        return loadTracker == null ? Long.MAX_VALUE : loadTracker.roundsSinceLastMigration(pipeline);
+    }
 }
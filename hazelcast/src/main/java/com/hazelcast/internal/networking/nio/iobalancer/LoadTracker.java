@@ -31,12 +31,31 @@ import static com.hazelcast.internal.util.StringUtil.LINE_SEPARATOR;
 /**
  * Tracks the load of of NioThread(s) and creates a mapping between NioThread -> NioPipeline.
  * <p>
+ * When created in adaptive mode the load of a pipeline isn't the raw {@link MigratablePipeline#load()}
+ * delta. Instead it is the pipeline's share of the {@link MigratablePipeline#load()} and of the
+ * {@link MigratablePipeline#processTimeNanos()} recorded by all pipelines in the last round, in
+ * parts per {@link #LOAD_SCALE}. This share is smoothed using an exponentially weighted moving
+ * average so a single burst doesn't trigger a migration. The tracker also remembers when a pipeline
+ * was last migrated, so the {@link MigrationStrategy} can prevent it from bouncing between threads.
+ * <p>
  * This class is not thread-safe with the exception of
  * {@link #addPipeline(MigratablePipeline)}   and
  * {@link #removePipeline(MigratablePipeline)}
  */
 class LoadTracker {
+    /**
+     * The total load of all pipelines in a single round when running in adaptive mode.
+     */
+    static final long LOAD_SCALE = 1000000;
+
+    /**
+     * The weight of the most recent round in the smoothed load of a pipeline when running in
+     * adaptive mode. The remaining weight is given to the previously smoothed load.
+     */
+    static final double SMOOTHING_FACTOR = 0.5;
+
     private final ILogger logger;
+    private final boolean adaptive;
 
     //all known IO ioThreads. we assume no. of ioThreads is constant during a lifespan of a member
     private final NioThread[] ioThreads;
@@ -44,6 +63,14 @@ class LoadTracker {
 
     //load per pipeline since an instance started
     private final ItemCounter<MigratablePipeline> lastLoadCounter = new ItemCounter<MigratablePipeline>();
+    //process time per pipeline since an instance started; only used in adaptive mode
+    private final ItemCounter<MigratablePipeline> lastProcessTimeCounter = new ItemCounter<MigratablePipeline>();
+    //process time per pipeline since last calculation; only used in adaptive mode
+    private final ItemCounter<MigratablePipeline> pipelineProcessTime = new ItemCounter<MigratablePipeline>();
+    //smoothed load per pipeline; only used in adaptive mode
+    private final ItemCounter<MigratablePipeline> smoothedLoad = new ItemCounter<MigratablePipeline>();
+    //the round in which a pipeline was last scheduled for migration
+    private final ItemCounter<MigratablePipeline> lastMigrationRound = new ItemCounter<MigratablePipeline>();
 
     //load per NioThread since last calculation
     private final ItemCounter<NioThread> ownerLoad = new ItemCounter<NioThread>();
@@ -55,8 +82,16 @@ class LoadTracker {
 
     private final LoadImbalance imbalance;
 
+    //the number of times the imbalance has been calculated
+    private long round;
+
     LoadTracker(NioThread[] ioThreads, ILogger logger) {
+        this(ioThreads, logger, false);
+    }
+
+    LoadTracker(NioThread[] ioThreads, ILogger logger, boolean adaptive) {
         this.logger = logger;
+        this.adaptive = adaptive;
 
         this.ioThreads = new NioThread[ioThreads.length];
         System.arraycopy(ioThreads, 0, this.ioThreads, 0, ioThreads.length);
@@ -65,7 +100,7 @@ class LoadTracker {
         for (NioThread selector : ioThreads) {
             ownerToPipelines.put(selector, new HashSet<MigratablePipeline>());
         }
-        this.imbalance = new LoadImbalance(ownerToPipelines, pipelineLoadCount);
+        this.imbalance = new LoadImbalance(ownerToPipelines, pipelineLoadCount, this);
     }
 
     /**
@@ -75,6 +110,7 @@ class LoadTracker {
      * @return recalculated imbalance
      */
     LoadImbalance updateImbalance() {
+        round++;
         clearWorkingImbalance();
         updateNewWorkingImbalance();
         updateNewFinalImbalance();
@@ -97,6 +133,32 @@ class LoadTracker {
         return pipelineLoadCount;
     }
 
+    // just for testing
+    ItemCounter<MigratablePipeline> getSmoothedLoad() {
+        return smoothedLoad;
+    }
+
+    /**
+     * Records that the pipeline has been scheduled for migration in the current round.
+     *
+     * @param pipeline the pipeline scheduled for migration
+     */
+    void notifyMigrationScheduled(MigratablePipeline pipeline) {
+        lastMigrationRound.set(pipeline, round);
+    }
+
+    /**
+     * @param pipeline the pipeline
+     * @return the number of rounds since the pipeline was last scheduled for migration or
+     * {@link Long#MAX_VALUE} if it has never been migrated
+     */
+    long roundsSinceLastMigration(MigratablePipeline pipeline) {
+        if (!lastMigrationRound.keySet().contains(pipeline)) {
+            return Long.MAX_VALUE;
+        }
+        return round - lastMigrationRound.get(pipeline);
+    }
+
     private void updateNewFinalImbalance() {
         imbalance.minimumLoad = Long.MAX_VALUE;
         imbalance.maximumLoad = Long.MIN_VALUE;
@@ -122,13 +184,54 @@ class LoadTracker {
     }
 
     private void updateNewWorkingImbalance() {
+        if (adaptive) {
+            updateNewAdaptiveWorkingImbalance();
+            return;
+        }
+
+        for (MigratablePipeline pipeline : pipelines) {
+            updatePipelineState(pipeline, getLoadSinceLastCheck(pipeline));
+        }
+    }
+
+    private void updateNewAdaptiveWorkingImbalance() {
+        for (MigratablePipeline pipeline : pipelines) {
+            pipelineLoadCount.set(pipeline, getLoadSinceLastCheck(pipeline));
+            pipelineProcessTime.set(pipeline, getProcessTimeSinceLastCheck(pipeline));
+        }
+
+        long totalLoad = pipelineLoadCount.total();
+        long totalProcessTime = pipelineProcessTime.total();
         for (MigratablePipeline pipeline : pipelines) {
-            updatePipelineState(pipeline);
+            long share = share(pipelineLoadCount.get(pipeline), totalLoad,
+                    pipelineProcessTime.get(pipeline), totalProcessTime);
+            updatePipelineState(pipeline, smooth(pipeline, share));
+        }
+    }
+
+    private static long share(long load, long totalLoad, long processTime, long totalProcessTime) {
+        if (totalProcessTime <= 0) {
+            return totalLoad <= 0 ? 0 : LOAD_SCALE * load / totalLoad;
+        } else if (totalLoad <= 0) {
+            return LOAD_SCALE * processTime / totalProcessTime;
         }
+        double loadShare = (double) load / totalLoad;
+        double processTimeShare = (double) processTime / totalProcessTime;
+        return Math.round(LOAD_SCALE * (loadShare + processTimeShare) / 2);
     }
 
-    private void updatePipelineState(MigratablePipeline pipeline) {
-        long pipelineLoad = getLoadSinceLastCheck(pipeline);
+    private long smooth(MigratablePipeline pipeline, long share) {
+        if (!smoothedLoad.keySet().contains(pipeline)) {
+            smoothedLoad.set(pipeline, share);
+            return share;
+        }
+        long previous = smoothedLoad.get(pipeline);
+        long smoothed = Math.round(SMOOTHING_FACTOR * share + (1 - SMOOTHING_FACTOR) * previous);
+        smoothedLoad.set(pipeline, smoothed);
+        return smoothed;
+    }
+
+    private void updatePipelineState(MigratablePipeline pipeline, long pipelineLoad) {
         pipelineLoadCount.set(pipeline, pipelineLoad);
         NioThread owner = pipeline.owner();
         if (owner == null) {
@@ -145,8 +248,15 @@ class LoadTracker {
         return load - lastLoad;
     }
 
+    private long getProcessTimeSinceLastCheck(MigratablePipeline pipeline) {
+        long processTime = pipeline.processTimeNanos();
+        long lastProcessTime = lastProcessTimeCounter.getAndSet(pipeline, processTime);
+        return processTime - lastProcessTime;
+    }
+
     private void clearWorkingImbalance() {
         pipelineLoadCount.reset();
+        pipelineProcessTime.reset();
         ownerLoad.reset();
         for (Set<MigratablePipeline> pipelines : ownerToPipelines.values()) {
             pipelines.clear();
@@ -161,6 +271,10 @@ class LoadTracker {
         pipelines.remove(pipeline);
         pipelineLoadCount.remove(pipeline);
         lastLoadCounter.remove(pipeline);
+        lastProcessTimeCounter.remove(pipeline);
+        pipelineProcessTime.remove(pipeline);
+        smoothedLoad.remove(pipeline);
+        lastMigrationRound.remove(pipeline);
     }
 
     private void printDebugTable() {
@@ -45,6 +45,7 @@ public final class Packet extends HeapData implements OutboundFrame {
     // 2. Packet type (bits 0, 2, 5)
     // 3. Flags specific to a given packet type (bits 1, 6)
     // 4. 4.x flag (bit 7)
+    // 5. COMPRESSED (bit 3)
 
     // 1. URGENT flag
 
@@ -108,6 +109,15 @@ public final class Packet extends HeapData implements OutboundFrame {
      */
     public static final int FLAG_SQL_SYSTEM_OPERATION = 1 << 1;
 
+    // 5. Compression flag
+
+    /**
+     * Marks the payload of the packet as compressed.
+     *
+     * @see PacketCompressor
+     */
+    public static final int FLAG_COMPRESSED = 1 << 3;
+
 
     //            END OF HEADER FLAG SECTION
 
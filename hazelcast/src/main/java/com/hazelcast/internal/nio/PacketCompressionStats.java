@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESS_TIME_NANOS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_DECOMPRESSED_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_DECOMPRESS_TIME_NANOS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_RATIO;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_SKIPPED_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.metrics.ProbeUnit.PERCENT;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Member wide statistics of the {@link PacketCompressor} instances.
+ *
+ * The counters are shared between all connections, so they are updated
+ * concurrently by the io threads.
+ */
+public class PacketCompressionStats {
+
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS)
+    final Counter compressedPackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_SKIPPED_PACKETS)
+    final Counter skippedPackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES, unit = BYTES)
+    final Counter uncompressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_BYTES, unit = BYTES)
+    final Counter compressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESS_TIME_NANOS, unit = NS)
+    final Counter compressTimeNanos = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_DECOMPRESSED_PACKETS)
+    final Counter decompressedPackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_DECOMPRESS_TIME_NANOS, unit = NS)
+    final Counter decompressTimeNanos = newMwCounter();
+
+    /**
+     * Returns the size of the compressed payloads as a percentage of their
+     * original size. Packets that were not compressed are not included.
+     */
+    @Probe(name = TCP_METRIC_COMPRESSION_RATIO, unit = PERCENT)
+    public double compressionRatio() {
+        long uncompressed = uncompressedBytes.get();
+        return uncompressed == 0 ? 0 : (100d * compressedBytes.get()) / uncompressed;
+    }
+
+    public long compressedPackets() {
+        return compressedPackets.get();
+    }
+
+    public long decompressedPackets() {
+        return decompressedPackets.get();
+    }
+
+    public long skippedPackets() {
+        return skippedPackets.get();
+    }
+}
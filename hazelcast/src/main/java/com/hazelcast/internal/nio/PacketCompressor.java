@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static java.lang.System.nanoTime;
+
+/**
+ * Compresses and decompresses the payload of {@link Packet} instances.
+ *
+ * A compressed packet has the {@link Packet#FLAG_COMPRESSED} raised and its
+ * payload consists of the uncompressed length (4 bytes, big endian) followed
+ * by the deflated bytes. All other header fields are copied from the original
+ * packet, so the packet type, urgency and partition are unaffected.
+ *
+ * Since a Packet can be shared between multiple connections, compression
+ * never modifies the given packet but returns a new one.
+ *
+ * A {@link PacketCompressor} is not thread-safe; an instance should only be
+ * used by the thread owning the handler it belongs to. Only the
+ * {@link #enable()} method can be called from any thread.
+ */
+public class PacketCompressor {
+
+    private final int threshold;
+    private final PacketCompressionStats stats;
+    private volatile boolean enabled;
+    private Deflater deflater;
+    private Inflater inflater;
+
+    /**
+     * @param threshold the minimum payload size of a packet to be compressed
+     * @param stats     the stats to update
+     */
+    public PacketCompressor(int threshold, PacketCompressionStats stats) {
+        this.threshold = threshold;
+        this.stats = stats;
+    }
+
+    /**
+     * Enables compression of outgoing packets. This is done once both sides
+     * of the connection have agreed on using compression.
+     */
+    public void enable() {
+        enabled = true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compresses the packet if compression is enabled and the packet is
+     * large enough.
+     *
+     * @param packet the packet to compress
+     * @return the compressed packet, or the original packet if it was not
+     * compressed.
+     */
+    public Packet compress(Packet packet) {
+        if (!enabled
+                || packet.totalSize() < threshold
+                || packet.getPacketType() == Packet.Type.SERVER_CONTROL
+                || packet.isFlagRaised(FLAG_COMPRESSED)) {
+            return packet;
+        }
+
+        long startNanos = nanoTime();
+        byte[] payload = packet.toByteArray();
+        // the output buffer is only as big as the original payload; if the
+        // compressed bytes don't fit, compression isn't worth it.
+        byte[] compressed = new byte[payload.length];
+        int length = deflate(payload, compressed);
+        stats.compressTimeNanos.inc(nanoTime() - startNanos);
+
+        if (length < 0) {
+            stats.skippedPackets.inc();
+            return packet;
+        }
+
+        writeIntB(compressed, 0, payload.length);
+        stats.compressedPackets.inc();
+        stats.uncompressedBytes.inc(payload.length);
+        stats.compressedBytes.inc(length);
+        return new Packet(Arrays.copyOf(compressed, length), packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() | FLAG_COMPRESSED);
+    }
+
+    /**
+     * Deflates the payload into the dst array after the length prefix.
+     *
+     * @return the total number of bytes used in dst, or -1 if the deflated
+     * bytes did not fit.
+     */
+    private int deflate(byte[] payload, byte[] dst) {
+        Deflater deflater = deflater();
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            int offset = INT_SIZE_IN_BYTES;
+            while (!deflater.finished()) {
+                if (offset == dst.length) {
+                    return -1;
+                }
+                offset += deflater.deflate(dst, offset, dst.length - offset);
+            }
+            return offset;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    /**
+     * Decompresses the packet if it has the {@link Packet#FLAG_COMPRESSED}
+     * raised.
+     *
+     * @param packet the packet to decompress
+     * @return the decompressed packet, or the original packet if it was not
+     * compressed.
+     * @throws IllegalArgumentException if the compressed payload is corrupt.
+     */
+    public Packet decompress(Packet packet) {
+        if (!packet.isFlagRaised(FLAG_COMPRESSED)) {
+            return packet;
+        }
+
+        long startNanos = nanoTime();
+        byte[] payload = packet.toByteArray();
+        byte[] uncompressed = new byte[readIntB(payload, 0)];
+        Inflater inflater = inflater();
+        try {
+            inflater.setInput(payload, INT_SIZE_IN_BYTES, payload.length - INT_SIZE_IN_BYTES);
+            int offset = 0;
+            while (offset < uncompressed.length) {
+                int bytesInflated = inflater.inflate(uncompressed, offset, uncompressed.length - offset);
+                if (bytesInflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalArgumentException("Compressed packet is truncated, expected "
+                            + uncompressed.length + " bytes but got " + offset);
+                }
+                offset += bytesInflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed packet is corrupt", e);
+        } finally {
+            inflater.reset();
+        }
+
+        stats.decompressedPackets.inc();
+        stats.decompressTimeNanos.inc(nanoTime() - startNanos);
+        return new Packet(uncompressed, packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() & ~FLAG_COMPRESSED);
+    }
+
+    private Deflater deflater() {
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        return deflater;
+    }
+
+    private Inflater inflater() {
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        return inflater;
+    }
+}
@@ -54,15 +54,11 @@ public class PacketIOHelper {
      */
     public boolean writeTo(Packet packet, ByteBuffer dst) {
         if (!headerComplete) {
-            if (dst.remaining() < HEADER_SIZE) {
+            if (!writeHeaderTo(packet, dst)) {
                 return false;
             }
 
-            dst.put(VERSION);
-            dst.putChar(packet.getFlags());
-            dst.putInt(packet.getPartitionId());
             size = packet.totalSize();
-            dst.putInt(size);
             headerComplete = true;
         }
 
@@ -74,6 +70,28 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Writes only the header of the packet to the supplied {@code ByteBuffer}. The
+     * payload is expected to be written by the caller directly after the header.
+     *
+     * This method doesn't change the state of this {@link PacketIOHelper}.
+     *
+     * @param dst the destination byte buffer
+     * @return {@code true} if the header was written; {@code false} if there was
+     * not enough space in the buffer.
+     */
+    public boolean writeHeaderTo(Packet packet, ByteBuffer dst) {
+        if (dst.remaining() < HEADER_SIZE) {
+            return false;
+        }
+
+        dst.put(VERSION);
+        dst.putChar(packet.getFlags());
+        dst.putInt(packet.getPartitionId());
+        dst.putInt(packet.totalSize());
+        return true;
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
@@ -21,6 +21,7 @@ import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.Disposable;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.portable.PortableContext;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -97,6 +98,38 @@ public interface InternalSerializationService extends SerializationService, Disp
      */
     InternalGenericRecord readAsInternalGenericRecord(Data data) throws IOException;
 
+    /**
+     * Reads the value at the given query path from Compact serialized data
+     * without creating a generic record for each of the records on the path
+     * where possible.
+     *
+     * @param data      Compact serialized data
+     * @param fieldPath the query path, e.g. {@code "engine.wheels[0].pressure"}
+     * @return the value at the path, the same as reading the path from the
+     * {@link #readAsInternalGenericRecord(Data) InternalGenericRecord} of the data
+     * @throws IOException
+     */
+    Object readCompactPath(Data data, String fieldPath) throws IOException;
+
+    /**
+     * Reads the value at the given query path from Portable serialized data.
+     * The root record is a reusable record of the calling thread re-pointed
+     * at the data, so reading does not create a record per value.
+     *
+     * @param data      Portable serialized data
+     * @param fieldPath the query path, e.g. {@code "engine.wheels[0].pressure"}
+     * @return the value at the path, the same as reading the path from the
+     * {@link #readAsInternalGenericRecord(Data) InternalGenericRecord} of the data
+     * @throws IOException
+     */
+    Object readPortablePath(Data data, String fieldPath) throws IOException;
+
+    /**
+     * Returns the {@link BufferPool} of the calling thread. Anything taken
+     * from it must be returned by the same thread.
+     */
+    BufferPool getBufferPool();
+
     /**
      * Returns {@code true} if the {@code object} is compact serializable.
      * <p>
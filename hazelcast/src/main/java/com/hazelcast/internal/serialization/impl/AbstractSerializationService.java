@@ -36,6 +36,7 @@ import com.hazelcast.internal.serialization.impl.compact.SchemaService;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ConstantSerializers;
 import com.hazelcast.internal.serialization.impl.portable.PortableGenericRecord;
 import com.hazelcast.internal.usercodedeployment.impl.ClassLocator;
+import com.hazelcast.internal.util.ConcurrentReferenceHashMap;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.ObjectDataInput;
@@ -49,6 +50,7 @@ import com.hazelcast.partition.PartitioningStrategy;
 import java.io.Externalizable;
 import java.io.Serializable;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -64,11 +66,21 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.handle
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.handleSerializeException;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.indexForDefaultType;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.isNullData;
+import static com.hazelcast.internal.util.ConcurrentReferenceHashMap.ReferenceType.STRONG;
+import static com.hazelcast.internal.util.ConcurrentReferenceHashMap.ReferenceType.WEAK;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static java.nio.ByteOrder.BIG_ENDIAN;
 
 public abstract class AbstractSerializationService implements InternalSerializationService {
 
+    /**
+     * Custom and global serializers with a type ID below this value are
+     * looked up from an array on deserialization instead of the ID map.
+     */
+    static final int MAX_DENSE_TYPE_ID = 4096;
+
+    private static final int MAX_CACHED_SERIALIZERS = 16384;
+
     protected final ManagedContext managedContext;
     protected final InputOutputFactory inputOutputFactory;
     protected final PartitioningStrategy globalPartitioningStrategy;
@@ -88,6 +100,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
     private final SerializerAdapter[] constantTypeIds;
     private final ConcurrentMap<Class, SerializerAdapter> typeMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<Integer, SerializerAdapter> idMap = new ConcurrentHashMap<>();
+    // resolved serializers of the classes seen by serializerFor(Object), without the schema. The classes
+    // are weakly referenced, so that the cache doesn't keep the class loaders of the user code reachable
+    private final ConcurrentMap<Class, SerializerAdapter> serializerCache = new ConcurrentReferenceHashMap<>(WEAK, STRONG);
+    // dense copy of idMap for the type IDs below MAX_DENSE_TYPE_ID, indexed by type ID
+    private volatile SerializerAdapter[] denseTypeIds = new SerializerAdapter[0];
     private final AtomicReference<SerializerAdapter> global = new AtomicReference<SerializerAdapter>();
 
     //Global serializer may override Java Serialization or not
@@ -393,6 +410,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return inputOutputFactory.createInput(data, this, isCompatibility);
     }
 
+    @Override
+    public final BufferPool getBufferPool() {
+        return bufferPoolThreadLocal.get();
+    }
+
     @Override
     public final BufferObjectDataOutput createObjectDataOutput(int size) {
         return inputOutputFactory.createOutput(size, this);
@@ -431,6 +453,8 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
         typeMap.clear();
         idMap.clear();
+        serializerCache.clear();
+        denseTypeIds = new SerializerAdapter[0];
         global.set(null);
         constantTypesMap.clear();
         bufferPoolThreadLocal.clear();
@@ -446,6 +470,8 @@ public abstract class AbstractSerializationService implements InternalSerializat
                     "Type ID must be positive. Current: " + serializer.getTypeId() + ", Serializer: " + serializer);
         }
         safeRegister(type, createSerializerAdapter(serializer));
+        // the new serializer may apply to the subtypes of the already resolved classes
+        serializerCache.clear();
     }
 
     public final void registerGlobal(final Serializer serializer) {
@@ -465,6 +491,10 @@ public abstract class AbstractSerializationService implements InternalSerializat
             throw new IllegalStateException(
                     "Serializer [" + current.getImpl() + "] has been already registered for type ID: " + serializer.getTypeId());
         }
+        if (current == null) {
+            registerDenseTypeId(serializer.getTypeId(), adapter);
+        }
+        serializerCache.clear();
     }
 
     protected final int calculatePartitionHash(Object obj, PartitioningStrategy strategy) {
@@ -502,9 +532,22 @@ public abstract class AbstractSerializationService implements InternalSerializat
             throw new IllegalStateException(
                     "Serializer [" + current.getImpl() + "] has been already registered for type ID: " + serializer.getTypeId());
         }
+        if (current == null) {
+            registerDenseTypeId(serializer.getTypeId(), serializer);
+        }
         return current == null;
     }
 
+    private synchronized void registerDenseTypeId(int typeId, SerializerAdapter serializer) {
+        if (typeId <= 0 || typeId >= MAX_DENSE_TYPE_ID) {
+            return;
+        }
+        SerializerAdapter[] current = denseTypeIds;
+        SerializerAdapter[] updated = Arrays.copyOf(current, Math.max(current.length, typeId + 1));
+        updated[typeId] = serializer;
+        denseTypeIds = updated;
+    }
+
     protected final void registerConstant(Class type, Serializer serializer) {
         registerConstant(type, createSerializerAdapter(serializer));
     }
@@ -532,11 +575,18 @@ public abstract class AbstractSerializationService implements InternalSerializat
             if (index < constantTypeIds.length) {
                 return constantTypeIds[index];
             }
+        } else {
+            SerializerAdapter[] denseTypeIds = this.denseTypeIds;
+            if (typeId < denseTypeIds.length) {
+                SerializerAdapter serializer = denseTypeIds[typeId];
+                if (serializer != null) {
+                    return serializer;
+                }
+            }
         }
         return idMap.get(typeId);
     }
 
-    @SuppressWarnings("checkstyle:npathcomplexity")
     public SerializerAdapter serializerFor(final Object object, boolean includeSchema) {
         if (!active) {
             throw notActiveExceptionSupplier.get();
@@ -560,9 +610,29 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
         final Class type = object.getClass();
 
+        // the resolved serializers are cached since the lookup goes through several maps
+        // and assignability checks
+        SerializerAdapter serializer = serializerCache.get(type);
+        if (serializer == null) {
+            serializer = lookupSerializer(type);
+            if (serializerCache.size() >= MAX_CACHED_SERIALIZERS) {
+                // start over instead of not caching the classes seen from now on
+                serializerCache.clear();
+            }
+            serializerCache.put(type, serializer);
+        }
+        return includeSchema && serializer == compactSerializerAdapter ? compactWithSchemaSerializerAdapter : serializer;
+    }
+
+    /**
+     * Resolves the serializer of the given type, for the case the schema
+     * is not included in the binary.
+     */
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    private SerializerAdapter lookupSerializer(Class type) {
         //2-Default serializers, Dataserializable, Compact, Portable, primitives, arrays, String and
         // some helper Java types(BigInteger etc)
-        SerializerAdapter serializer = lookupDefaultSerializer(type, includeSchema);
+        SerializerAdapter serializer = lookupDefaultSerializer(type, false);
 
         //3-Custom registered types by user
         if (serializer == null || allowOverrideDefaultSerializers) {
@@ -584,7 +654,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
 
         //6-Compact serializer
         if (serializer == null && compactStreamSerializer.isEnabled()) {
-            serializer = getCompactSerializer(includeSchema);
+            serializer = getCompactSerializer(false);
         }
 
         if (serializer == null) {
@@ -43,6 +43,10 @@ public class DataInputNavigableJsonAdapter extends NavigableJsonInputAdapter {
         this.initialOffset = initialOffset;
     }
 
+    public BufferObjectDataInput getInput() {
+        return input;
+    }
+
     @Override
     public void position(int position) {
         input.position(position + initialOffset);
@@ -82,6 +86,19 @@ public class DataInputNavigableJsonAdapter extends NavigableJsonInputAdapter {
         return parser.parse(new UTF8Reader(input));
     }
 
+    @Override
+    public int charAt(int position) {
+        ByteArrayObjectDataInput byteArrayInput = (ByteArrayObjectDataInput) input;
+        int index = initialOffset + position;
+        return index < byteArrayInput.size ? byteArrayInput.data[index] & 0xFF : -1;
+    }
+
+    @Override
+    public String substring(int start, int end) {
+        ByteArrayObjectDataInput byteArrayInput = (ByteArrayObjectDataInput) input;
+        return new String(byteArrayInput.data, initialOffset + start, end - start, StandardCharsets.UTF_8);
+    }
+
     @Override
     public JsonParser createParser(JsonFactory factory) throws IOException {
         return factory.createParser(SerializationUtil.convertToInputStream(input, initialOffset));
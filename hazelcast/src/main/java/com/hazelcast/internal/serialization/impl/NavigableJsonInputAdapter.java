@@ -76,6 +76,28 @@ public abstract class NavigableJsonInputAdapter {
      */
     public abstract JsonValue parseValue(JsonReducedValueParser parser, int offset) throws IOException;
 
+    /**
+     * Returns the character at the given position without moving the
+     * cursor. For UTF-8 encoded inputs this is the byte at that position.
+     * Bytes of multi-byte UTF-8 sequences never collide with ASCII
+     * characters, so this is enough to look for Json delimiters.
+     *
+     * @param position the position relative to the beginning of the object
+     * @return the character or byte at the given position or -1 if the
+     *          position is out of the input
+     */
+    public abstract int charAt(int position);
+
+    /**
+     * Decodes the characters between the given positions without moving
+     * the cursor.
+     *
+     * @param start the position of the first character, inclusive
+     * @param end   the position of the last character, exclusive
+     * @return the decoded string
+     */
+    public abstract String substring(int start, int end);
+
     /**
      * Creates a parser from given factory
      *
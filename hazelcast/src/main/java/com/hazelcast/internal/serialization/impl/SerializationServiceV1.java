@@ -20,6 +20,7 @@ import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.DataType;
+import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ArrayBlockingQueueStreamSerializer;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ArrayDequeStreamSerializer;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ArrayListStreamSerializer;
@@ -52,6 +53,7 @@ import com.hazelcast.internal.serialization.impl.defaultserializers.TreeSetStrea
 import com.hazelcast.internal.serialization.impl.portable.PortableContext;
 import com.hazelcast.internal.serialization.impl.portable.PortableContextImpl;
 import com.hazelcast.internal.serialization.impl.portable.PortableHookLoader;
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
 import com.hazelcast.internal.serialization.impl.portable.PortableSerializer;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.serialization.ClassDefinition;
@@ -60,10 +62,12 @@ import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.FieldDefinition;
 import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.nio.serialization.GenericRecord;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableFactory;
 import com.hazelcast.partition.PartitioningStrategy;
+import com.hazelcast.query.impl.getters.MultiResult;
 
 import java.io.Externalizable;
 import java.io.IOException;
@@ -201,6 +205,42 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         throw new IllegalArgumentException("Given type does not support query over data, type id " + data.getType());
     }
 
+    @Override
+    public Object readCompactPath(Data data, String fieldPath) throws IOException {
+        BufferPool pool = bufferPoolThreadLocal.get();
+        BufferObjectDataInput in = pool.takeInputBuffer(data);
+        Object result = null;
+        try {
+            result = compactStreamSerializer.readPath(in, fieldPath);
+            return result;
+        } finally {
+            // generic records keep reading from the input they are created with
+            if (!(result instanceof GenericRecord || result instanceof GenericRecord[] || result instanceof MultiResult)) {
+                pool.returnInputBuffer(in);
+            }
+        }
+    }
+
+    @Override
+    public Object readPortablePath(Data data, String fieldPath) throws IOException {
+        BufferPool pool = bufferPoolThreadLocal.get();
+        BufferObjectDataInput in = pool.takeInputBuffer(data);
+        PortableInternalGenericRecord record = null;
+        Object result = null;
+        try {
+            record = portableSerializer.readAsInternalGenericRecord(in, pool.takePortableRecord());
+            result = new GenericRecordQueryReader(record).read(fieldPath);
+            return result;
+        } finally {
+            // the root record is never part of the result, nested records are
+            // created separately and keep reading from the input
+            pool.returnPortableRecord(record);
+            if (!(result instanceof GenericRecord || result instanceof GenericRecord[] || result instanceof MultiResult)) {
+                pool.returnInputBuffer(in);
+            }
+        }
+    }
+
     public PortableContext getPortableContext() {
         return portableContext;
     }
@@ -69,6 +69,17 @@ public class StringNavigableJsonAdapter extends NavigableJsonInputAdapter {
         return source.charAt(pos++) == '"';
     }
 
+    @Override
+    public int charAt(int position) {
+        int index = initialOffset + position;
+        return index < source.length() ? source.charAt(index) : -1;
+    }
+
+    @Override
+    public String substring(int start, int end) {
+        return source.substring(initialOffset + start, initialOffset + end);
+    }
+
     @SuppressFBWarnings("SR_NOT_CHECKED")
     @Override
     public JsonValue parseValue(JsonReducedValueParser parser, int offset) throws IOException {
@@ -19,6 +19,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
 
 /**
  * The BufferPool allows the pooling of the {@link BufferObjectDataInput} and {@link BufferObjectDataOutput} instances.
@@ -63,4 +64,21 @@ public interface BufferPool {
      * @param in the BufferObjectDataInput.
      */
     void returnInputBuffer(BufferObjectDataInput in);
+
+    /**
+     * Takes the pooled record used to read query paths from Portable serialized
+     * data. The record is re-pointed at each value to read, so that a scan over
+     * many values does not create a record per value.
+     *
+     * @return the taken record, or {@code null} if there is no pooled record.
+     */
+    PortableInternalGenericRecord takePortableRecord();
+
+    /**
+     * Returns a record taken with {@link #takePortableRecord()}, or created
+     * because none was pooled, back to the pool.
+     *
+     * @param record the record, can be {@code null}.
+     */
+    void returnPortableRecord(PortableInternalGenericRecord record);
 }
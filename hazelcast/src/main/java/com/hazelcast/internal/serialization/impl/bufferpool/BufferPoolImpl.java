@@ -18,6 +18,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
@@ -41,6 +42,7 @@ public class BufferPoolImpl implements BufferPool {
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
+    PortableInternalGenericRecord portableRecord;
 
     public BufferPoolImpl(InternalSerializationService serializationService) {
         this.serializationService = serializationService;
@@ -87,6 +89,20 @@ public class BufferPoolImpl implements BufferPool {
         offerOrClose(inputQueue, in);
     }
 
+    @Override
+    public PortableInternalGenericRecord takePortableRecord() {
+        PortableInternalGenericRecord record = portableRecord;
+        portableRecord = null;
+        return record;
+    }
+
+    @Override
+    public void returnPortableRecord(PortableInternalGenericRecord record) {
+        if (record != null) {
+            portableRecord = record;
+        }
+    }
+
     private static <C extends Closeable> void offerOrClose(Queue<C> queue, C item) {
         if (queue.size() == MAX_POOLED_ITEMS) {
             closeResource(item);
@@ -477,7 +477,7 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
-    private static OffsetReader getOffsetReader(int dataLength) {
+    static OffsetReader getOffsetReader(int dataLength) {
         if (dataLength < BYTE_OFFSET_READER_RANGE) {
             return BYTE_OFFSET_READER;
         } else if (dataLength < SHORT_OFFSET_READER_RANGE) {
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.util.StringUtil;
+import com.hazelcast.nio.serialization.FieldType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.FieldOperations.fieldOperations;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.query.impl.getters.ExtractorHelper.extractArgumentsFromAttributeName;
+import static com.hazelcast.query.impl.getters.ExtractorHelper.extractAttributeNameNameWithoutArguments;
+
+/**
+ * Reads the value at a query path directly from Compact serialized data.
+ * <p>
+ * The path is parsed once and cached. For every step of the path, the
+ * {@link FieldDescriptor} resolved against the schema of the data is cached
+ * as well, so reading the same path from data of the same schema only does
+ * positional reads on the input: no generic record is created for the root
+ * or for the nested records along the path, and fixed-size and string leaves
+ * are read in place.
+ * <p>
+ * Paths that may produce more than one value ({@code [any]}), and the cases
+ * in which the path does not resolve to a single value (a missing or null
+ * intermediate record, an array index out of bounds) are delegated to
+ * {@link GenericRecordQueryReader}, so the results are the same as reading
+ * the path from the {@link InternalGenericRecord} of the data.
+ */
+final class CompactPathReader {
+
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    private static final Path UNSUPPORTED_PATH = new Path(null);
+
+    // used instead of null, which is a valid value of a path
+    private static final Object UNRESOLVED = new Object();
+
+    private final ConcurrentMap<String, Path> paths = new ConcurrentHashMap<>();
+    private final CompactStreamSerializer serializer;
+
+    CompactPathReader(CompactStreamSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    /**
+     * Reads the value at the given path from the input, which must be
+     * positioned at the beginning of a Compact serialized object.
+     */
+    Object read(BufferObjectDataInput in, String fieldPath) throws IOException {
+        int startPosition = in.position();
+        Path path = path(fieldPath);
+        if (path != UNSUPPORTED_PATH) {
+            Object result = readSingleValue(in, path);
+            if (result != UNRESOLVED) {
+                return result;
+            }
+            in.position(startPosition);
+        }
+        InternalGenericRecord record = (InternalGenericRecord) serializer.readGenericRecord(in, false);
+        return new GenericRecordQueryReader(record).read(fieldPath);
+    }
+
+    private Object readSingleValue(BufferObjectDataInput in, Path path) throws IOException {
+        Step[] steps = path.steps;
+        int last = steps.length - 1;
+        for (int i = 0; ; i++) {
+            Schema schema = serializer.getOrReadSchema(in, false);
+            int headerPosition = in.position();
+            Step step = steps[i];
+            if (i == 0 && last > 0 && path.isRootField(schema)) {
+                // the whole path is the name of a field of the root record
+                return UNRESOLVED;
+            }
+            FieldDescriptor descriptor = step.descriptor(schema);
+            if (i == last) {
+                return readLeaf(in, schema, headerPosition, step, descriptor);
+            }
+            if (descriptor == null) {
+                return UNRESOLVED;
+            }
+            int position;
+            if (step.index < 0) {
+                if (descriptor.getType() != FieldType.COMPOSED) {
+                    return UNRESOLVED;
+                }
+                position = variableSizeFieldPosition(in, headerPosition, descriptor);
+            } else {
+                if (descriptor.getType() != FieldType.COMPOSED_ARRAY) {
+                    return UNRESOLVED;
+                }
+                position = arrayItemPosition(in, variableSizeFieldPosition(in, headerPosition, descriptor), step.index);
+            }
+            if (position == NULL_OFFSET) {
+                return UNRESOLVED;
+            }
+            in.position(position);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private Object readLeaf(BufferObjectDataInput in, Schema schema, int headerPosition,
+                            Step step, FieldDescriptor descriptor) throws IOException {
+        if (descriptor == null) {
+            return null;
+        }
+        if (step.index < 0) {
+            int dataStartPosition = schema.getNumberOfVariableSizeFields() == 0
+                    ? headerPosition : headerPosition + INT_SIZE_IN_BYTES;
+            int fixedSizePosition = dataStartPosition + descriptor.getOffset();
+            switch (descriptor.getType()) {
+                case BYTE:
+                    return in.readByte(fixedSizePosition);
+                case SHORT:
+                    return in.readShort(fixedSizePosition);
+                case INT:
+                    return in.readInt(fixedSizePosition);
+                case LONG:
+                    return in.readLong(fixedSizePosition);
+                case FLOAT:
+                    return in.readFloat(fixedSizePosition);
+                case DOUBLE:
+                    return in.readDouble(fixedSizePosition);
+                case CHAR:
+                    return in.readChar(fixedSizePosition);
+                case BOOLEAN:
+                    return ((in.readByte(fixedSizePosition) >>> descriptor.getBitOffset()) & 1) != 0;
+                case UTF:
+                    int position = variableSizeFieldPosition(in, headerPosition, descriptor);
+                    if (position == NULL_OFFSET) {
+                        return null;
+                    }
+                    in.position(position);
+                    return in.readString();
+                default:
+                    break;
+            }
+        }
+        // the rest of the types are read through the record of the leaf
+        in.position(headerPosition);
+        InternalGenericRecord record = new CompactInternalGenericRecord(serializer, in, schema, null, false);
+        FieldType type = descriptor.getType();
+        return step.index < 0
+                ? fieldOperations(type).readObject(record, step.name)
+                : fieldOperations(type).readIndexed(record, step.name, step.index);
+    }
+
+    private static int variableSizeFieldPosition(BufferObjectDataInput in, int headerPosition,
+                                                 FieldDescriptor descriptor) throws IOException {
+        int dataLength = in.readInt(headerPosition);
+        int dataStartPosition = headerPosition + INT_SIZE_IN_BYTES;
+        int offset = CompactInternalGenericRecord.getOffsetReader(dataLength)
+                .getOffset(in, dataStartPosition + dataLength, descriptor.getIndex());
+        return offset == NULL_OFFSET ? NULL_OFFSET : offset + dataStartPosition;
+    }
+
+    private static int arrayItemPosition(BufferObjectDataInput in, int arrayPosition, int index) throws IOException {
+        if (arrayPosition == NULL_OFFSET) {
+            return NULL_OFFSET;
+        }
+        int itemCount = in.readInt(arrayPosition);
+        if (itemCount <= index) {
+            return NULL_OFFSET;
+        }
+        int dataLength = in.readInt(arrayPosition + INT_SIZE_IN_BYTES);
+        int dataStartPosition = arrayPosition + 2 * INT_SIZE_IN_BYTES;
+        int offset = CompactInternalGenericRecord.getOffsetReader(dataLength)
+                .getOffset(in, dataStartPosition + dataLength, index);
+        return offset == NULL_OFFSET ? NULL_OFFSET : offset + dataStartPosition;
+    }
+
+    private Path path(String fieldPath) {
+        Path path = paths.get(fieldPath);
+        if (path != null) {
+            return path;
+        }
+        path = Path.parse(fieldPath);
+        if (paths.size() < MAX_CACHED_PATHS) {
+            paths.putIfAbsent(fieldPath, path);
+        }
+        return path;
+    }
+
+    /**
+     * A parsed query path of single-valued steps.
+     */
+    private static final class Path {
+
+        private final String fieldPath;
+        private final Step[] steps;
+        private volatile SchemaBoundFlag rootField;
+
+        private Path(String fieldPath, Step... steps) {
+            this.fieldPath = fieldPath;
+            this.steps = steps;
+        }
+
+        boolean isRootField(Schema schema) {
+            SchemaBoundFlag flag = rootField;
+            if (flag == null || flag.schemaId != schema.getSchemaId()) {
+                flag = new SchemaBoundFlag(schema.getSchemaId(), schema.hasField(fieldPath));
+                rootField = flag;
+            }
+            return flag.value;
+        }
+
+        static Path parse(String fieldPath) {
+            if (fieldPath == null || fieldPath.isEmpty() || fieldPath.endsWith(".")) {
+                return UNSUPPORTED_PATH;
+            }
+            List<Step> steps = new ArrayList<>();
+            int begin = 0;
+            while (begin <= fieldPath.length()) {
+                int end = StringUtil.indexOf(fieldPath, '.', begin);
+                if (end == -1) {
+                    end = fieldPath.length();
+                }
+                String token = fieldPath.substring(begin, end);
+                begin = end + 1;
+                if (token.isEmpty() || token.endsWith("[any]")) {
+                    return UNSUPPORTED_PATH;
+                }
+                String name = extractAttributeNameNameWithoutArguments(token);
+                int index = -1;
+                if (token.contains("]")) {
+                    try {
+                        index = Integer.parseInt(extractArgumentsFromAttributeName(token));
+                    } catch (RuntimeException e) {
+                        return UNSUPPORTED_PATH;
+                    }
+                    if (index < 0) {
+                        return UNSUPPORTED_PATH;
+                    }
+                }
+                steps.add(new Step(name, index));
+            }
+            return new Path(fieldPath, steps.toArray(new Step[0]));
+        }
+    }
+
+    /**
+     * A field access of a path, optionally indexed, with the descriptor of
+     * the field in the last seen schema.
+     */
+    private static final class Step {
+
+        private final String name;
+        private final int index;
+        private volatile SchemaBoundDescriptor descriptor;
+
+        Step(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        FieldDescriptor descriptor(Schema schema) {
+            SchemaBoundDescriptor bound = descriptor;
+            if (bound == null || bound.schemaId != schema.getSchemaId()) {
+                bound = new SchemaBoundDescriptor(schema.getSchemaId(), schema.getField(name));
+                descriptor = bound;
+            }
+            return bound.descriptor;
+        }
+    }
+
+    private static final class SchemaBoundDescriptor {
+
+        private final long schemaId;
+        private final FieldDescriptor descriptor;
+
+        SchemaBoundDescriptor(long schemaId, FieldDescriptor descriptor) {
+            this.schemaId = schemaId;
+            this.descriptor = descriptor;
+        }
+    }
+
+    private static final class SchemaBoundFlag {
+
+        private final long schemaId;
+        private final boolean value;
+
+        SchemaBoundFlag(long schemaId, boolean value) {
+            this.schemaId = schemaId;
+            this.value = value;
+        }
+    }
+}
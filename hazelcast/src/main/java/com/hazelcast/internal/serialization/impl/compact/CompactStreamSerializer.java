@@ -21,6 +21,7 @@ import com.hazelcast.core.ManagedContext;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
+import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
 import com.hazelcast.internal.util.TriTuple;
 import com.hazelcast.nio.ObjectDataInput;
@@ -58,6 +59,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
     private final Map<String, CompactSerializableRegistration> classNameToRegistrationMap = new ConcurrentHashMap<>();
     private final Map<Class, Schema> classToSchemaMap = new ConcurrentHashMap<>();
     private final ReflectiveCompactSerializer reflectiveSerializer = new ReflectiveCompactSerializer();
+    private final CompactPathReader pathReader = new CompactPathReader(this);
     private final SchemaService schemaService;
     private final ManagedContext managedContext;
     private final ClassLoader classLoader;
@@ -217,7 +219,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
 
     }
 
-    private Schema getOrReadSchema(ObjectDataInput input, boolean schemaIncludedInBinary) throws IOException {
+    Schema getOrReadSchema(ObjectDataInput input, boolean schemaIncludedInBinary) throws IOException {
         long schemaId = input.readLong();
         Schema schema = schemaService.get(schemaId);
         if (schema != null) {
@@ -248,7 +250,9 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
                 CompactSerializer<?> serializer = ((Compactable<?>) object).getCompactSerializer();
                 return new CompactSerializableRegistration(aClass, aClass.getName(), serializer);
             }
-            return new CompactSerializableRegistration(aClass, aClass.getName(), reflectiveSerializer);
+            // zero-config: use a serializer specialized for this class instead of going through
+            // the reflective serializer on each call
+            return new CompactSerializableRegistration(aClass, aClass.getName(), reflectiveSerializer.serializerFor(aClass));
         });
     }
 
@@ -281,6 +285,18 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
         return (InternalGenericRecord) readGenericRecord(input, false);
     }
 
+    /**
+     * Reads the value at the given query path from the Compact serialized
+     * object in the input, without creating a generic record for each of the
+     * records on the path where possible.
+     *
+     * @see GenericRecordQueryReader#read(String)
+     */
+    public Object readPath(BufferObjectDataInput input, String fieldPath) throws IOException {
+        enabledCheck();
+        return pathReader.read(input, fieldPath);
+    }
+
     //Should be deleted with removing Beta tags
     public boolean isEnabled() {
         return isEnabled;
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.FieldType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Keeps the Compact schemas known to this member or client in a local
+ * directory, so that they are available without a remote fetch after a
+ * restart.
+ * <p>
+ * Each schema is stored in its own file named after its schema id, the
+ * {@link RabinFingerprint} of the schema. Since the id is derived from the
+ * schema content, a cached schema can never become stale; it is verified
+ * against the file name when loaded and files which can't be read or don't
+ * match are ignored.
+ */
+public final class PersistentSchemaCache {
+
+    static final String FILE_SUFFIX = ".schema";
+
+    private static final int MAGIC = 0x48435343;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final ILogger logger;
+
+    public PersistentSchemaCache(File directory, ILogger logger) {
+        this.directory = directory.toPath();
+        this.logger = logger;
+    }
+
+    /**
+     * Creates a cache in the given directory.
+     *
+     * @return the cache or {@code null} if no directory is configured
+     */
+    public static PersistentSchemaCache create(String directory, ILogger logger) {
+        if (directory == null || directory.trim().isEmpty()) {
+            return null;
+        }
+        return new PersistentSchemaCache(new File(directory.trim()), logger);
+    }
+
+    /**
+     * Loads all the schemas stored in the cache directory.
+     */
+    public Collection<Schema> load() {
+        List<Schema> schemas = new ArrayList<>();
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        if (files == null) {
+            return schemas;
+        }
+        for (File file : files) {
+            Schema schema = read(file);
+            if (schema != null) {
+                schemas.add(schema);
+            }
+        }
+        if (logger.isFineEnabled()) {
+            logger.fine("Loaded " + schemas.size() + " schemas from " + directory);
+        }
+        return schemas;
+    }
+
+    /**
+     * Stores the schema if it is not stored yet. Failures are logged and
+     * otherwise ignored, the cache is only an optimization.
+     */
+    public void store(Schema schema) {
+        Path file = directory.resolve(fileName(schema.getSchemaId()));
+        if (Files.exists(file)) {
+            return;
+        }
+        Path tmpFile = null;
+        try {
+            Files.createDirectories(directory);
+            tmpFile = Files.createTempFile(directory, "schema", ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmpFile)) {
+                write(schema, os);
+            }
+            try {
+                Files.move(tmpFile, file, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, file, REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warning("Could not store schema " + schema.getSchemaId() + " in " + directory, e);
+            if (tmpFile != null) {
+                deleteQuietly(tmpFile.toFile());
+            }
+        }
+    }
+
+    static String fileName(long schemaId) {
+        return Long.toHexString(schemaId) + FILE_SUFFIX;
+    }
+
+    private Schema read(File file) {
+        String name = file.getName();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            long expectedSchemaId = Long.parseUnsignedLong(name.substring(0, name.length() - FILE_SUFFIX.length()), 16);
+            Schema schema = read(is);
+            if (schema.getSchemaId() != expectedSchemaId) {
+                logger.warning("Ignoring schema file " + file + ", its fingerprint does not match its content");
+                return null;
+            }
+            return schema;
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Ignoring unreadable schema file " + file, e);
+            return null;
+        }
+    }
+
+    private static void write(Schema schema, OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeUTF(schema.getTypeName());
+        out.writeInt(schema.getFieldCount());
+        for (FieldDescriptor descriptor : schema.getFields()) {
+            out.writeUTF(descriptor.getFieldName());
+            out.writeByte(descriptor.getType().getId());
+        }
+        out.flush();
+    }
+
+    private static Schema read(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+        if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+            throw new IOException("Unknown schema file format");
+        }
+        String typeName = in.readUTF();
+        int fieldCount = in.readInt();
+        TreeMap<String, FieldDescriptor> fields = new TreeMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            String fieldName = in.readUTF();
+            FieldType fieldType = FieldType.get(in.readByte());
+            fields.put(fieldName, new FieldDescriptor(fieldName, fieldType));
+        }
+        return new Schema(typeName, fields);
+    }
+}
@@ -0,0 +1,599 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.util.ExceptionUtil;
+import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.nio.serialization.FieldType.BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldType.BOOLEAN_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.BYTE;
+import static com.hazelcast.nio.serialization.FieldType.BYTE_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.CHAR;
+import static com.hazelcast.nio.serialization.FieldType.CHAR_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.COMPOSED;
+import static com.hazelcast.nio.serialization.FieldType.COMPOSED_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.DATE;
+import static com.hazelcast.nio.serialization.FieldType.DATE_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.DECIMAL;
+import static com.hazelcast.nio.serialization.FieldType.DECIMAL_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.DOUBLE;
+import static com.hazelcast.nio.serialization.FieldType.DOUBLE_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.FLOAT;
+import static com.hazelcast.nio.serialization.FieldType.FLOAT_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.INT;
+import static com.hazelcast.nio.serialization.FieldType.INT_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.LONG;
+import static com.hazelcast.nio.serialization.FieldType.LONG_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.SHORT;
+import static com.hazelcast.nio.serialization.FieldType.SHORT_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.TIME;
+import static com.hazelcast.nio.serialization.FieldType.TIMESTAMP;
+import static com.hazelcast.nio.serialization.FieldType.TIMESTAMP_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.TIMESTAMP_WITH_TIMEZONE;
+import static com.hazelcast.nio.serialization.FieldType.TIMESTAMP_WITH_TIMEZONE_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.TIME_ARRAY;
+import static com.hazelcast.nio.serialization.FieldType.UTF;
+import static com.hazelcast.nio.serialization.FieldType.UTF_ARRAY;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * A {@link CompactSerializer} specialized for a single class, used in the
+ * zero-config case.
+ * <p>
+ * All the reflective work is done once when the serializer is created. The
+ * empty constructor is spun into a lambda by the {@link LambdaMetafactory}
+ * and the fields are accessed through their offsets, so neither goes through
+ * a non-constant {@link MethodHandle} which the JIT can not inline, and
+ * primitives are neither boxed nor access checked on each call. Method
+ * handles adapted to the exact field type are used only when that is not
+ * possible, e.g. when {@code Unsafe} is not available. On the read path the
+ * fields that are present in the {@link Schema} of the data are resolved once
+ * per schema instead of
+ * looking up each field in the schema for every object.
+ *
+ * @see ReflectiveCompactSerializer
+ */
+@SuppressWarnings({"checkstyle:methodlength", "checkstyle:cyclomaticcomplexity", "checkstyle:executablestatementcount"})
+final class SpecializedCompactSerializer implements CompactSerializer<Object> {
+
+    private final Class<?> clazz;
+    private final Supplier<Object> constructor;
+    private final FieldAccessor[] accessors;
+
+    // the accessors of the fields present in the last seen schema. A class
+    // usually has a single schema, so a single entry is sufficient.
+    private volatile SchemaBoundAccessors schemaBoundAccessors;
+
+    SpecializedCompactSerializer(Class<?> clazz) {
+        this.clazz = clazz;
+        this.constructor = resolveConstructor(clazz);
+        List<Field> fields = getAllFields(new ArrayList<>(), clazz);
+        this.accessors = new FieldAccessor[fields.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i] = createAccessor(fields.get(i));
+        }
+    }
+
+    Class<?> getClazz() {
+        return clazz;
+    }
+
+    @Override
+    public void write(@Nonnull CompactWriter writer, @Nonnull Object object) throws IOException {
+        try {
+            for (FieldAccessor accessor : accessors) {
+                accessor.writer.write(writer, object);
+            }
+        } catch (Throwable t) {
+            throw ExceptionUtil.rethrow(t, IOException.class);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Object read(@Nonnull CompactReader reader) throws IOException {
+        // We always fed DefaultCompactReader to this serializer.
+        DefaultCompactReader compactReader = (DefaultCompactReader) reader;
+        Object object = newInstance();
+        try {
+            for (FieldAccessor accessor : accessorsFor(compactReader.getSchema())) {
+                accessor.reader.read(compactReader, object);
+            }
+            return object;
+        } catch (Throwable t) {
+            throw new IOException(t);
+        }
+    }
+
+    private Object newInstance() {
+        try {
+            return constructor.get();
+        } catch (Throwable t) {
+            throw new HazelcastSerializationException("Could not construct the class " + clazz, t);
+        }
+    }
+
+    private FieldAccessor[] accessorsFor(Schema schema) {
+        SchemaBoundAccessors bound = schemaBoundAccessors;
+        if (bound != null && bound.schemaId == schema.getSchemaId()) {
+            return bound.accessors;
+        }
+
+        List<FieldAccessor> present = new ArrayList<>(accessors.length);
+        for (FieldAccessor accessor : accessors) {
+            FieldDescriptor descriptor = schema.getField(accessor.name);
+            if (descriptor != null && descriptor.getType().equals(accessor.type)) {
+                present.add(accessor);
+            }
+        }
+        bound = new SchemaBoundAccessors(schema.getSchemaId(), present.toArray(new FieldAccessor[0]));
+        schemaBoundAccessors = bound;
+        return bound.accessors;
+    }
+
+    private static Supplier<Object> resolveConstructor(Class<?> clazz) {
+        Constructor<?> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new HazelcastSerializationException("Could not construct the class " + clazz, e);
+        }
+        Supplier<Object> supplier = spinConstructor(clazz, constructor);
+        if (supplier != null) {
+            return supplier;
+        }
+        try {
+            constructor.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor).asType(methodType(Object.class));
+            return () -> {
+                try {
+                    return (Object) handle.invokeExact();
+                } catch (Throwable t) {
+                    throw ExceptionUtil.sneakyThrow(t);
+                }
+            };
+        } catch (Exception e) {
+            throw new HazelcastSerializationException("Could not construct the class " + clazz, e);
+        }
+    }
+
+    /**
+     * Spins a {@link Supplier} which invokes the constructor directly, so
+     * that the JIT can inline it, unlike a method handle held in a field.
+     * The lambda class is defined in the class loader of this class, so
+     * it is only possible for accessible classes visible from it.
+     *
+     * @return the supplier or {@code null} if it can not be spun
+     */
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> spinConstructor(Class<?> clazz, Constructor<?> constructor) {
+        if (!Modifier.isPublic(clazz.getModifiers()) || !Modifier.isPublic(constructor.getModifiers())) {
+            return null;
+        }
+        try {
+            if (Class.forName(clazz.getName(), false, SpecializedCompactSerializer.class.getClassLoader()) != clazz) {
+                return null;
+            }
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", methodType(Supplier.class),
+                    methodType(Object.class), lookup.unreflectConstructor(constructor), methodType(clazz));
+            return (Supplier<Object>) site.getTarget().invokeExact();
+        } catch (Throwable t) {
+            // e.g. the class is in a package not exported by its module
+            return null;
+        }
+    }
+
+    private static List<Field> getAllFields(List<Field> fields, Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                fields.add(field);
+            }
+        }
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            getAllFields(fields, type.getSuperclass());
+        }
+        return fields;
+    }
+
+    private static MethodHandle getter(Field field, Class<?> type) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(methodType(type, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new HazelcastSerializationException("Could not access the field " + field, e);
+        }
+    }
+
+    private static MethodHandle setter(Field field, Class<?> type) {
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            // e.g. final fields on newer JDKs; fall back to Field.set which can still write them
+            try {
+                setter = MethodHandles.lookup()
+                        .findVirtual(Field.class, "set", methodType(void.class, Object.class, Object.class))
+                        .bindTo(field);
+            } catch (ReflectiveOperationException ex) {
+                throw new HazelcastSerializationException("Could not access the field " + field, ex);
+            }
+        }
+        return setter.asType(methodType(void.class, Object.class, type));
+    }
+
+    private static FieldAccessor createAccessor(Field field) {
+        long offset = fieldOffset(field);
+        return offset >= 0
+                ? createOffsetAccessor(field.getName(), field.getType(), offset)
+                : createHandleAccessor(field);
+    }
+
+    private static long fieldOffset(Field field) {
+        if (!MEM_AVAILABLE) {
+            return -1;
+        }
+        try {
+            return MEM.objectFieldOffset(field);
+        } catch (UnsupportedOperationException e) {
+            // e.g. the fields of records and hidden classes on newer JDKs
+            return -1;
+        }
+    }
+
+    private static FieldAccessor createOffsetAccessor(String name, Class<?> type, long offset) {
+        if (Byte.TYPE.equals(type)) {
+            return new FieldAccessor(name, BYTE,
+                    (w, o) -> w.writeByte(name, MEM.getByte(o, offset)),
+                    (r, o) -> MEM.putByte(o, offset, r.readByte(name)));
+        } else if (Short.TYPE.equals(type)) {
+            return new FieldAccessor(name, SHORT,
+                    (w, o) -> w.writeShort(name, MEM.getShort(o, offset)),
+                    (r, o) -> MEM.putShort(o, offset, r.readShort(name)));
+        } else if (Integer.TYPE.equals(type)) {
+            return new FieldAccessor(name, INT,
+                    (w, o) -> w.writeInt(name, MEM.getInt(o, offset)),
+                    (r, o) -> MEM.putInt(o, offset, r.readInt(name)));
+        } else if (Long.TYPE.equals(type)) {
+            return new FieldAccessor(name, LONG,
+                    (w, o) -> w.writeLong(name, MEM.getLong(o, offset)),
+                    (r, o) -> MEM.putLong(o, offset, r.readLong(name)));
+        } else if (Float.TYPE.equals(type)) {
+            return new FieldAccessor(name, FLOAT,
+                    (w, o) -> w.writeFloat(name, MEM.getFloat(o, offset)),
+                    (r, o) -> MEM.putFloat(o, offset, r.readFloat(name)));
+        } else if (Double.TYPE.equals(type)) {
+            return new FieldAccessor(name, DOUBLE,
+                    (w, o) -> w.writeDouble(name, MEM.getDouble(o, offset)),
+                    (r, o) -> MEM.putDouble(o, offset, r.readDouble(name)));
+        } else if (Boolean.TYPE.equals(type)) {
+            return new FieldAccessor(name, BOOLEAN,
+                    (w, o) -> w.writeBoolean(name, MEM.getBoolean(o, offset)),
+                    (r, o) -> MEM.putBoolean(o, offset, r.readBoolean(name)));
+        } else if (Character.TYPE.equals(type)) {
+            return new FieldAccessor(name, CHAR,
+                    (w, o) -> w.writeChar(name, MEM.getChar(o, offset)),
+                    (r, o) -> MEM.putChar(o, offset, r.readChar(name)));
+        }
+
+        if (String.class.equals(type)) {
+            return new FieldAccessor(name, UTF,
+                    (w, o) -> w.writeString(name, (String) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readString(name)));
+        } else if (BigDecimal.class.equals(type)) {
+            return new FieldAccessor(name, DECIMAL,
+                    (w, o) -> w.writeDecimal(name, (BigDecimal) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readDecimal(name)));
+        } else if (LocalTime.class.equals(type)) {
+            return new FieldAccessor(name, TIME,
+                    (w, o) -> w.writeTime(name, (LocalTime) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readTime(name)));
+        } else if (LocalDate.class.equals(type)) {
+            return new FieldAccessor(name, DATE,
+                    (w, o) -> w.writeDate(name, (LocalDate) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readDate(name)));
+        } else if (LocalDateTime.class.equals(type)) {
+            return new FieldAccessor(name, TIMESTAMP,
+                    (w, o) -> w.writeTimestamp(name, (LocalDateTime) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readTimestamp(name)));
+        } else if (OffsetDateTime.class.equals(type)) {
+            return new FieldAccessor(name, TIMESTAMP_WITH_TIMEZONE,
+                    (w, o) -> w.writeTimestampWithTimezone(name, (OffsetDateTime) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readTimestampWithTimezone(name)));
+        } else if (type.isArray()) {
+            return createOffsetArrayAccessor(name, type.getComponentType(), offset);
+        } else {
+            return new FieldAccessor(name, COMPOSED,
+                    (w, o) -> w.writeObject(name, MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, type.cast(r.readObject(name))));
+        }
+    }
+
+    private static FieldAccessor createOffsetArrayAccessor(String name, Class<?> componentType, long offset) {
+        if (Byte.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, BYTE_ARRAY,
+                    (w, o) -> w.writeByteArray(name, (byte[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readByteArray(name)));
+        } else if (Short.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, SHORT_ARRAY,
+                    (w, o) -> w.writeShortArray(name, (short[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readShortArray(name)));
+        } else if (Integer.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, INT_ARRAY,
+                    (w, o) -> w.writeIntArray(name, (int[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readIntArray(name)));
+        } else if (Long.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, LONG_ARRAY,
+                    (w, o) -> w.writeLongArray(name, (long[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readLongArray(name)));
+        } else if (Float.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, FLOAT_ARRAY,
+                    (w, o) -> w.writeFloatArray(name, (float[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readFloatArray(name)));
+        } else if (Double.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, DOUBLE_ARRAY,
+                    (w, o) -> w.writeDoubleArray(name, (double[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readDoubleArray(name)));
+        } else if (Boolean.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, BOOLEAN_ARRAY,
+                    (w, o) -> w.writeBooleanArray(name, (boolean[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readBooleanArray(name)));
+        } else if (Character.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, CHAR_ARRAY,
+                    (w, o) -> w.writeCharArray(name, (char[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readCharArray(name)));
+        } else if (String.class.equals(componentType)) {
+            return new FieldAccessor(name, UTF_ARRAY,
+                    (w, o) -> w.writeStringArray(name, (String[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readStringArray(name)));
+        } else if (BigDecimal.class.equals(componentType)) {
+            return new FieldAccessor(name, DECIMAL_ARRAY,
+                    (w, o) -> w.writeDecimalArray(name, (BigDecimal[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readDecimalArray(name)));
+        } else if (LocalTime.class.equals(componentType)) {
+            return new FieldAccessor(name, TIME_ARRAY,
+                    (w, o) -> w.writeTimeArray(name, (LocalTime[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readTimeArray(name)));
+        } else if (LocalDate.class.equals(componentType)) {
+            return new FieldAccessor(name, DATE_ARRAY,
+                    (w, o) -> w.writeDateArray(name, (LocalDate[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readDateArray(name)));
+        } else if (LocalDateTime.class.equals(componentType)) {
+            return new FieldAccessor(name, TIMESTAMP_ARRAY,
+                    (w, o) -> w.writeTimestampArray(name, (LocalDateTime[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readTimestampArray(name)));
+        } else if (OffsetDateTime.class.equals(componentType)) {
+            return new FieldAccessor(name, TIMESTAMP_WITH_TIMEZONE_ARRAY,
+                    (w, o) -> w.writeTimestampWithTimezoneArray(name, (OffsetDateTime[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readTimestampWithTimezoneArray(name)));
+        } else {
+            return new FieldAccessor(name, COMPOSED_ARRAY,
+                    (w, o) -> w.writeObjectArray(name, (Object[]) MEM.getObject(o, offset)),
+                    (r, o) -> MEM.putObject(o, offset, r.readObjectArray(name, componentType)));
+        }
+    }
+
+    private static FieldAccessor createHandleAccessor(Field field) {
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        String name = field.getName();
+        if (Byte.TYPE.equals(type)) {
+            MethodHandle get = getter(field, byte.class);
+            MethodHandle set = setter(field, byte.class);
+            return new FieldAccessor(name, BYTE,
+                    (w, o) -> w.writeByte(name, (byte) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readByte(name)));
+        } else if (Short.TYPE.equals(type)) {
+            MethodHandle get = getter(field, short.class);
+            MethodHandle set = setter(field, short.class);
+            return new FieldAccessor(name, SHORT,
+                    (w, o) -> w.writeShort(name, (short) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readShort(name)));
+        } else if (Integer.TYPE.equals(type)) {
+            MethodHandle get = getter(field, int.class);
+            MethodHandle set = setter(field, int.class);
+            return new FieldAccessor(name, INT,
+                    (w, o) -> w.writeInt(name, (int) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readInt(name)));
+        } else if (Long.TYPE.equals(type)) {
+            MethodHandle get = getter(field, long.class);
+            MethodHandle set = setter(field, long.class);
+            return new FieldAccessor(name, LONG,
+                    (w, o) -> w.writeLong(name, (long) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readLong(name)));
+        } else if (Float.TYPE.equals(type)) {
+            MethodHandle get = getter(field, float.class);
+            MethodHandle set = setter(field, float.class);
+            return new FieldAccessor(name, FLOAT,
+                    (w, o) -> w.writeFloat(name, (float) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readFloat(name)));
+        } else if (Double.TYPE.equals(type)) {
+            MethodHandle get = getter(field, double.class);
+            MethodHandle set = setter(field, double.class);
+            return new FieldAccessor(name, DOUBLE,
+                    (w, o) -> w.writeDouble(name, (double) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readDouble(name)));
+        } else if (Boolean.TYPE.equals(type)) {
+            MethodHandle get = getter(field, boolean.class);
+            MethodHandle set = setter(field, boolean.class);
+            return new FieldAccessor(name, BOOLEAN,
+                    (w, o) -> w.writeBoolean(name, (boolean) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readBoolean(name)));
+        } else if (Character.TYPE.equals(type)) {
+            MethodHandle get = getter(field, char.class);
+            MethodHandle set = setter(field, char.class);
+            return new FieldAccessor(name, CHAR,
+                    (w, o) -> w.writeChar(name, (char) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, r.readChar(name)));
+        }
+
+        MethodHandle get = getter(field, Object.class);
+        MethodHandle set = setter(field, Object.class);
+        if (String.class.equals(type)) {
+            return new FieldAccessor(name, UTF,
+                    (w, o) -> w.writeString(name, (String) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readString(name)));
+        } else if (BigDecimal.class.equals(type)) {
+            return new FieldAccessor(name, DECIMAL,
+                    (w, o) -> w.writeDecimal(name, (BigDecimal) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readDecimal(name)));
+        } else if (LocalTime.class.equals(type)) {
+            return new FieldAccessor(name, TIME,
+                    (w, o) -> w.writeTime(name, (LocalTime) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readTime(name)));
+        } else if (LocalDate.class.equals(type)) {
+            return new FieldAccessor(name, DATE,
+                    (w, o) -> w.writeDate(name, (LocalDate) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readDate(name)));
+        } else if (LocalDateTime.class.equals(type)) {
+            return new FieldAccessor(name, TIMESTAMP,
+                    (w, o) -> w.writeTimestamp(name, (LocalDateTime) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readTimestamp(name)));
+        } else if (OffsetDateTime.class.equals(type)) {
+            return new FieldAccessor(name, TIMESTAMP_WITH_TIMEZONE,
+                    (w, o) -> w.writeTimestampWithTimezone(name, (OffsetDateTime) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readTimestampWithTimezone(name)));
+        } else if (type.isArray()) {
+            return createHandleArrayAccessor(name, type.getComponentType(), get, set);
+        } else {
+            return new FieldAccessor(name, COMPOSED,
+                    (w, o) -> w.writeObject(name, (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readObject(name)));
+        }
+    }
+
+    private static FieldAccessor createHandleArrayAccessor(String name, Class<?> componentType,
+                                                           MethodHandle get, MethodHandle set) {
+        if (Byte.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, BYTE_ARRAY,
+                    (w, o) -> w.writeByteArray(name, (byte[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readByteArray(name)));
+        } else if (Short.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, SHORT_ARRAY,
+                    (w, o) -> w.writeShortArray(name, (short[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readShortArray(name)));
+        } else if (Integer.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, INT_ARRAY,
+                    (w, o) -> w.writeIntArray(name, (int[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readIntArray(name)));
+        } else if (Long.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, LONG_ARRAY,
+                    (w, o) -> w.writeLongArray(name, (long[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readLongArray(name)));
+        } else if (Float.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, FLOAT_ARRAY,
+                    (w, o) -> w.writeFloatArray(name, (float[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readFloatArray(name)));
+        } else if (Double.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, DOUBLE_ARRAY,
+                    (w, o) -> w.writeDoubleArray(name, (double[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readDoubleArray(name)));
+        } else if (Boolean.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, BOOLEAN_ARRAY,
+                    (w, o) -> w.writeBooleanArray(name, (boolean[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readBooleanArray(name)));
+        } else if (Character.TYPE.equals(componentType)) {
+            return new FieldAccessor(name, CHAR_ARRAY,
+                    (w, o) -> w.writeCharArray(name, (char[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readCharArray(name)));
+        } else if (String.class.equals(componentType)) {
+            return new FieldAccessor(name, UTF_ARRAY,
+                    (w, o) -> w.writeStringArray(name, (String[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readStringArray(name)));
+        } else if (BigDecimal.class.equals(componentType)) {
+            return new FieldAccessor(name, DECIMAL_ARRAY,
+                    (w, o) -> w.writeDecimalArray(name, (BigDecimal[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readDecimalArray(name)));
+        } else if (LocalTime.class.equals(componentType)) {
+            return new FieldAccessor(name, TIME_ARRAY,
+                    (w, o) -> w.writeTimeArray(name, (LocalTime[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readTimeArray(name)));
+        } else if (LocalDate.class.equals(componentType)) {
+            return new FieldAccessor(name, DATE_ARRAY,
+                    (w, o) -> w.writeDateArray(name, (LocalDate[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readDateArray(name)));
+        } else if (LocalDateTime.class.equals(componentType)) {
+            return new FieldAccessor(name, TIMESTAMP_ARRAY,
+                    (w, o) -> w.writeTimestampArray(name, (LocalDateTime[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readTimestampArray(name)));
+        } else if (OffsetDateTime.class.equals(componentType)) {
+            return new FieldAccessor(name, TIMESTAMP_WITH_TIMEZONE_ARRAY,
+                    (w, o) -> w.writeTimestampWithTimezoneArray(name, (OffsetDateTime[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readTimestampWithTimezoneArray(name)));
+        } else {
+            return new FieldAccessor(name, COMPOSED_ARRAY,
+                    (w, o) -> w.writeObjectArray(name, (Object[]) (Object) get.invokeExact(o)),
+                    (r, o) -> set.invokeExact(o, (Object) r.readObjectArray(name, componentType)));
+        }
+    }
+
+    interface FieldReader {
+        void read(CompactReader reader, Object o) throws Throwable;
+    }
+
+    interface FieldWriter {
+        void write(CompactWriter writer, Object o) throws Throwable;
+    }
+
+    private static final class FieldAccessor {
+        private final String name;
+        private final FieldType type;
+        private final FieldWriter writer;
+        private final FieldReader reader;
+
+        FieldAccessor(String name, FieldType type, FieldWriter writer, FieldReader reader) {
+            this.name = name;
+            this.type = type;
+            this.writer = writer;
+            this.reader = reader;
+        }
+    }
+
+    private static final class SchemaBoundAccessors {
+        private final long schemaId;
+        private final FieldAccessor[] accessors;
+
+        SchemaBoundAccessors(long schemaId, FieldAccessor[] accessors) {
+            this.schemaId = schemaId;
+            this.accessors = accessors;
+        }
+    }
+}
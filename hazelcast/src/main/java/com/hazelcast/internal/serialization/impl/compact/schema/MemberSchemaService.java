@@ -19,6 +19,7 @@ package com.hazelcast.internal.serialization.impl.compact.schema;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.serialization.impl.compact.PersistentSchemaCache;
 import com.hazelcast.internal.serialization.impl.compact.Schema;
 import com.hazelcast.internal.serialization.impl.compact.SchemaService;
 import com.hazelcast.internal.services.ManagedService;
@@ -40,18 +41,31 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.IO_EXECUTOR;
+import static com.hazelcast.spi.properties.ClusterProperty.COMPACT_SCHEMA_CACHE_DIRECTORY;
 
 public class MemberSchemaService implements ManagedService, PreJoinAwareService, SchemaService {
 
     private static final int MAX_RETRIES = 100;
     private final Map<Long, Schema> schemas = new ConcurrentHashMap<>();
+    // schemas loaded from the local schema cache, they are only used for
+    // reads since they are not necessarily known by the rest of the cluster
+    private final Map<Long, Schema> cachedSchemas = new ConcurrentHashMap<>();
     private ILogger logger;
     private NodeEngine nodeEngine;
+    private PersistentSchemaCache schemaCache;
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
         this.logger = nodeEngine.getLogger(SchemaService.class);
         this.nodeEngine = nodeEngine;
+        this.schemaCache = PersistentSchemaCache.create(
+                nodeEngine.getProperties().getString(COMPACT_SCHEMA_CACHE_DIRECTORY), logger);
+        if (schemaCache != null) {
+            for (Schema schema : schemaCache.load()) {
+                cachedSchemas.put(schema.getSchemaId(), schema);
+            }
+        }
     }
 
     @Override
@@ -61,6 +75,7 @@ public class MemberSchemaService implements ManagedService, PreJoinAwareService,
     @Override
     public void shutdown(boolean terminate) {
         schemas.clear();
+        cachedSchemas.clear();
     }
 
     @Override
@@ -81,6 +96,9 @@ public class MemberSchemaService implements ManagedService, PreJoinAwareService,
 
     public CompletableFuture<Schema> getAsync(long schemaId) {
         Schema schema = getLocal(schemaId);
+        if (schema == null) {
+            schema = cachedSchemas.get(schemaId);
+        }
         if (schema != null) {
             return CompletableFuture.completedFuture(schema);
         }
@@ -139,16 +157,26 @@ public class MemberSchemaService implements ManagedService, PreJoinAwareService,
                 thenRun(() -> putIfAbsent(schema));
     }
 
+    /**
+     * Sends the schemas which are not known yet to the cluster in a single
+     * batch and puts them to the local registry afterwards.
+     */
     @Nonnull
     public CompletableFuture<Void> putAllAsync(List<Schema> parameters) {
-        ArrayList<CompletableFuture<Void>> futures = new ArrayList<>(parameters.size());
-        if (logger.isFinestEnabled()) {
-            logger.finest("Putting schemas to the cluster" + parameters);
-        }
+        List<Schema> unknownSchemas = new ArrayList<>(parameters.size());
         for (Schema schema : parameters) {
-            futures.add(putAsync(schema));
+            if (getLocal(schema.getSchemaId()) == null) {
+                unknownSchemas.add(schema);
+            }
         }
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        if (unknownSchemas.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (logger.isFinestEnabled()) {
+            logger.finest("Putting schemas to the cluster" + unknownSchemas);
+        }
+        return invokeOnStableClusterSerial(nodeEngine, () -> new SendAllSchemasOperation(unknownSchemas), MAX_RETRIES)
+                .thenRun(() -> unknownSchemas.forEach(this::putIfAbsent));
     }
 
     public void putLocal(Schema schema) {
@@ -159,6 +187,7 @@ public class MemberSchemaService implements ManagedService, PreJoinAwareService,
         long schemaId = schema.getSchemaId();
         Schema existingSchema = schemas.putIfAbsent(schemaId, schema);
         if (existingSchema == null) {
+            storeInSchemaCache(schema);
             return true;
         }
         if (!schema.equals(existingSchema)) {
@@ -167,4 +196,12 @@ public class MemberSchemaService implements ManagedService, PreJoinAwareService,
         }
         return false;
     }
+
+    private void storeInSchemaCache(Schema schema) {
+        if (schemaCache == null || cachedSchemas.containsKey(schema.getSchemaId())) {
+            return;
+        }
+        // schemas are put from operation threads, keep the disk I/O off them
+        nodeEngine.getExecutionService().execute(IO_EXECUTOR, () -> schemaCache.store(schema));
+    }
 }
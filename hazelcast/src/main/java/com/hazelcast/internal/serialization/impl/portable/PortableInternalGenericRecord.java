@@ -58,21 +58,28 @@ import static com.hazelcast.nio.serialization.FieldType.TIMESTAMP_WITH_TIMEZONE_
 import static com.hazelcast.nio.serialization.FieldType.TIME_ARRAY;
 
 public class PortableInternalGenericRecord extends AbstractGenericRecord implements InternalGenericRecord {
-    protected final ClassDefinition cd;
     protected final PortableSerializer serializer;
+    // not final, a record can be re-pointed at another portable, see reset
+    protected ClassDefinition cd;
 
-    private final BufferObjectDataInput in;
-    private final int offset;
     private final boolean readGenericLazy;
-    private final int finalPosition;
+    private BufferObjectDataInput in;
+    private int offset;
+    private int finalPosition;
 
     PortableInternalGenericRecord(PortableSerializer serializer, BufferObjectDataInput in,
                                   ClassDefinition cd, boolean readGenericLazy) {
-        this.in = in;
         this.serializer = serializer;
-        this.cd = cd;
         this.readGenericLazy = readGenericLazy;
+        reset(in, cd);
+    }
 
+    /**
+     * Re-points this record at the portable in the given input, so that a
+     * record can be reused to read many values. The input must be positioned
+     * at the start of the portable fields, as for the constructor.
+     */
+    final void reset(BufferObjectDataInput in, ClassDefinition cd) {
         int fieldCount;
         try {
             // final position after portable is read
@@ -85,6 +92,8 @@ public class PortableInternalGenericRecord extends AbstractGenericRecord impleme
         if (fieldCount != cd.getFieldCount()) {
             throw new IllegalStateException("Field count[" + fieldCount + "] in stream does not match " + cd);
         }
+        this.in = in;
+        this.cd = cd;
         this.offset = in.position();
     }
 
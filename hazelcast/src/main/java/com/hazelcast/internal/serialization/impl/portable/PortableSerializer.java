@@ -117,13 +117,27 @@ public final class PortableSerializer implements StreamSerializer<Object> {
     }
 
     public InternalGenericRecord readAsInternalGenericRecord(ObjectDataInput in) throws IOException {
+        return readAsInternalGenericRecord((BufferObjectDataInput) in, null);
+    }
+
+    /**
+     * Reads the portable in the input as an {@link InternalGenericRecord}.
+     *
+     * @param record a record to re-point at the portable instead of creating a new one, can be {@code null}
+     */
+    public PortableInternalGenericRecord readAsInternalGenericRecord(BufferObjectDataInput in,
+                                                                     PortableInternalGenericRecord record)
+            throws IOException {
         int factoryId = in.readInt();
         int classId = in.readInt();
         int version = in.readInt();
 
-        BufferObjectDataInput input = (BufferObjectDataInput) in;
-        ClassDefinition cd = setupPositionAndDefinition(input, factoryId, classId, version);
-        return new PortableInternalGenericRecord(this, input, cd, true);
+        ClassDefinition cd = setupPositionAndDefinition(in, factoryId, classId, version);
+        if (record == null) {
+            return new PortableInternalGenericRecord(this, in, cd, true);
+        }
+        record.reset(in, cd);
+        return record;
     }
 
     DefaultPortableReader createMorphingReader(BufferObjectDataInput in) throws IOException {
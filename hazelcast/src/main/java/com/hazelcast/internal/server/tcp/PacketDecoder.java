@@ -20,6 +20,7 @@ import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.nio.InboundHandlerWithCounters;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketCompressor;
 import com.hazelcast.internal.nio.PacketIOHelper;
 import com.hazelcast.internal.server.ServerConnection;
 
@@ -36,6 +37,9 @@ import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
  * It reads as many packets from the src {@link ByteBuffer} as possible, and
  * each of the Packets is send to the destination.
  *
+ * If a {@link PacketCompressor} is set, compressed packets are decompressed
+ * before they are send to the destination.
+ *
  * @see Consumer
  * @see PacketEncoder
  */
@@ -43,10 +47,16 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
 
     protected final ServerConnection connection;
     private final PacketIOHelper packetReader = new PacketIOHelper();
+    private final PacketCompressor compressor;
 
     public PacketDecoder(ServerConnection connection, Consumer<Packet> dst) {
+        this(connection, dst, null);
+    }
+
+    public PacketDecoder(ServerConnection connection, Consumer<Packet> dst, PacketCompressor compressor) {
         this.connection = connection;
         this.dst = dst;
+        this.compressor = compressor;
     }
 
     @Override
@@ -63,6 +73,9 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
                 if (packet == null) {
                     break;
                 }
+                if (compressor != null) {
+                    packet = compressor.decompress(packet);
+                }
                 onPacketComplete(packet);
             }
 
@@ -19,6 +19,7 @@ package com.hazelcast.internal.server.tcp;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketCompressor;
 import com.hazelcast.internal.nio.PacketIOHelper;
 
 import java.nio.ByteBuffer;
@@ -37,17 +38,43 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * If a {@link PacketCompressor} is set, it is registered in the attribute map
+ * of the channel so it can be enabled once the member handshake has confirmed
+ * that the other side supports compression.
+ *
+ * Packets with a payload at least as big as the dst buffer are not copied into
+ * the dst buffer if the encoder is allowed to
+ * {@link #setPayloadPassThrough(boolean) pass through} payloads and the dst buffer
+ * is a heap buffer. Only the header is written to the dst buffer and the payload
+ * is handed to the pipeline in dst buffer sized chunks. This saves a copy since
+ * heap buffers are copied into a temporary direct buffer by the JDK anyway.
+ *
  * @see PacketDecoder
  */
 public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final PacketCompressor compressor;
 
     private Packet packet;
+    private boolean largePacket;
+    private ByteBuffer largePayload;
+
+    public PacketEncoder() {
+        this(null);
+    }
+
+    public PacketEncoder(PacketCompressor compressor) {
+        this.compressor = compressor;
+    }
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
+
+        if (compressor != null) {
+            channel.attributeMap().put(PacketCompressor.class, compressor);
+        }
     }
 
     @Override
@@ -55,6 +82,11 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
         compactOrClear(dst);
         try {
             for (; ; ) {
+                if (largePayload != null && !advanceLargePayload()) {
+                    // the payload needs to be written before anything else can be added to dst
+                    return DIRTY;
+                }
+
                 if (packet == null) {
                     packet = src.get();
 
@@ -62,6 +94,23 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                         // everything is processed, so we are done
                         return CLEAN;
                     }
+
+                    if (compressor != null) {
+                        packet = compressor.compress(packet);
+                    }
+                    largePacket = isLargePacket(packet);
+                }
+
+                if (largePacket) {
+                    if (!packetWriter.writeHeaderTo(packet, dst)) {
+                        // there is no space for the header, so we are done.
+                        return DIRTY;
+                    }
+                    largePayload = ByteBuffer.wrap(packet.toByteArray());
+                    largePayload.limit(Math.min(dst.capacity(), largePayload.capacity()));
+                    packet = null;
+                    // the header and the first chunk of the payload need to be written first.
+                    return DIRTY;
                 }
 
                 if (packetWriter.writeTo(packet, dst)) {
@@ -76,4 +125,36 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    @Override
+    public ByteBuffer passThroughPayload() {
+        return largePayload;
+    }
+
+    private boolean isLargePacket(Packet packet) {
+        return isPayloadPassThrough() && !dst.isDirect() && packet.totalSize() >= dst.capacity();
+    }
+
+    /**
+     * Makes the next chunk of the large payload available to the pipeline
+     * once the previous chunk has been written.
+     *
+     * @return true if the large payload has been written completely.
+     */
+    private boolean advanceLargePayload() {
+        if (largePayload.hasRemaining()) {
+            return false;
+        }
+
+        int position = largePayload.position();
+        if (position == largePayload.capacity()) {
+            largePayload = null;
+            return true;
+        }
+
+        // the chunk size is bounded, because the JDK copies a heap buffer in a
+        // temporary direct buffer of the same size when it is written.
+        largePayload.limit(Math.min(position + dst.capacity(), largePayload.capacity()));
+        return false;
+    }
 }
@@ -29,9 +29,11 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.hazelcast.internal.cluster.impl.MemberHandshake.OPTION_COMPRESSION;
 import static com.hazelcast.internal.cluster.impl.MemberHandshake.OPTION_PLANE_COUNT;
 import static com.hazelcast.internal.cluster.impl.MemberHandshake.OPTION_PLANE_INDEX;
 import static com.hazelcast.internal.cluster.impl.MemberHandshake.SCHEMA_VERSION_2;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_COMPRESSION_ENABLED;
 
 public class SendMemberHandshakeTask implements Runnable {
 
@@ -75,6 +77,9 @@ public class SendMemberHandshakeTask implements Runnable {
                 serverContext.getUuid())
                 .addOption(OPTION_PLANE_COUNT, planeCount)
                 .addOption(OPTION_PLANE_INDEX, planeIndex);
+        if (serverContext.properties().getBoolean(IO_COMPRESSION_ENABLED)) {
+            memberHandshake.addOption(OPTION_COMPRESSION, true);
+        }
         byte[] bytes = serverContext.getSerializationService().toBytes(memberHandshake);
         Packet packet = new Packet(bytes).setPacketType(Packet.Type.SERVER_CONTROL);
         connection.write(packet);
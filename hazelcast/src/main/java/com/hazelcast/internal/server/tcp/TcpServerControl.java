@@ -23,6 +23,7 @@ import com.hazelcast.internal.cluster.impl.MemberHandshake;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.nio.ConnectionType;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketCompressor;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.util.AddressUtil;
 import com.hazelcast.logging.ILogger;
@@ -82,9 +83,27 @@ public final class TcpServerControl {
         // before we register the connection on the plane, we make sure the plane index is set on the connection
         // so that we can safely remove the connection from the plane.
         connection.setPlaneIndex(handshake.getPlaneIndex());
+        if (handshake.isCompressionEnabled()) {
+            enableCompression(connection);
+        }
         process(connection, handshake);
     }
 
+    /**
+     * Enables compression of outgoing packets if the connection has a
+     * {@link PacketCompressor}, which is only the case when compression is
+     * enabled on this member as well.
+     */
+    private void enableCompression(TcpServerConnection connection) {
+        PacketCompressor compressor = (PacketCompressor) connection.getChannel().attributeMap().get(PacketCompressor.class);
+        if (compressor != null) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("Enabling packet compression on " + connection);
+            }
+            compressor.enable();
+        }
+    }
+
     private synchronized void process(TcpServerConnection connection, MemberHandshake handshake) {
         if (logger.isFinestEnabled()) {
             logger.finest("Handshake " + connection + ", complete message is " + handshake);
@@ -260,12 +260,22 @@ public class Edge implements IdentifiedDataSerializable {
      * AT_LEAST_ONCE} jobs, because the snapshot won't complete until after all
      * higher priority edges are completed and will increase the number of
      * duplicately processed items.
+     *
+     * <h4>Reserved values</h4>
+     *
+     * The values {@code Integer.MIN_VALUE} and {@code Integer.MIN_VALUE + 1}
+     * are reserved for the edges Jet adds to restore the state from the
+     * full and the incremental snapshot. Since 5.0 the latter is reserved
+     * too, it was allowed in earlier versions.
+     *
+     * @throws IllegalArgumentException if the priority is one of the
+     *      reserved values
      */
     @Nonnull
     public Edge priority(int priority) {
-        if (priority == MasterJobContext.SNAPSHOT_RESTORE_EDGE_PRIORITY) {
-            throw new IllegalArgumentException("priority must not be Integer.MIN_VALUE ("
-                    + MasterJobContext.SNAPSHOT_RESTORE_EDGE_PRIORITY + ')');
+        if (MasterJobContext.isSnapshotRestorePriority(priority)) {
+            throw new IllegalArgumentException("priority must not be Integer.MIN_VALUE or Integer.MIN_VALUE + 1, "
+                    + "they are reserved (" + priority + ')');
         }
         this.priority = priority;
         return this;
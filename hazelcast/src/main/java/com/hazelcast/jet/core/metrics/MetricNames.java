@@ -193,6 +193,28 @@ public final class MetricNames {
      */
     public static final String DISTRIBUTED_BYTES_OUT = "distributedBytesOut";
 
+    /**
+     * Number of partitions of a partitioned {@link Edge} in front of the
+     * first stage of a two-stage aggregation which currently get a large
+     * share of the items, typically because of a hot key. Their items are
+     * spread over all the downstream processors. The edge can be identified
+     * based on the {@link MetricTags#ORDINAL} and {@link MetricTags#VERTEX}
+     * tags of the metric, the value is shared by the processors on the
+     * member.
+     *
+     * @since 5.0
+     */
+    public static final String SKEWED_PARTITIONS = "skewedPartitions";
+
+    /**
+     * Estimated number of items of the {@linkplain #SKEWED_PARTITIONS skewed
+     * partitions} that were spread over all the downstream processors
+     * instead of being sent to the processor of their partition.
+     *
+     * @since 5.0
+     */
+    public static final String SALTED_ITEMS = "saltedItems";
+
     /**
      * Number of jobs submitted to the Jet cluster.
      * <p>
@@ -30,6 +30,7 @@ import javax.annotation.Nonnull;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.impl.util.Util.uncheckCall;
@@ -40,10 +41,14 @@ public class ExplodeSnapshotP extends AbstractProcessor {
     private final long expectedSnapshotId;
     private InternalSerializationService serializationService;
 
-    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long expectedSnapshotId) {
+    /**
+     * @param ignoredVertices vertices whose data in the snapshot is ignored
+     */
+    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long expectedSnapshotId, Set<String> ignoredVertices) {
         this.expectedSnapshotId = expectedSnapshotId;
         for (Entry<String, Integer> en : vertexToOrdinal.entrySet()) {
-            Object oldValue = vertexToFlatMapper.put(en.getKey(), flatMapper(en.getValue(), this::traverser));
+            Object oldValue = vertexToFlatMapper.put(en.getKey(),
+                    ignoredVertices.contains(en.getKey()) ? null : flatMapper(en.getValue(), this::traverser));
             assert oldValue == null : "Duplicate ordinal: " + en.getValue();
         }
     }
@@ -24,14 +24,20 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hazelcast.jet.impl.JobRepository.snapshotDataMapName;
+import static com.hazelcast.jet.impl.JobRepository.snapshotDeltaMapName;
 import static com.hazelcast.jet.impl.util.Util.toLocalTime;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
 
 /**
  * Runtime information about the job. There's one instance for each jobId, used
@@ -54,6 +60,11 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
     private volatile JobSuspensionCause suspensionCause;
     private volatile long snapshotId = NO_SNAPSHOT;
     private volatile int dataMapIndex = -1;
+    private volatile long baseSnapshotId = NO_SNAPSHOT;
+    private volatile int deltaMapIndex = -1;
+    private volatile Set<String> incrementalVertices = emptySet();
+    private volatile int numIncrementalSnapshots;
+    private volatile boolean ongoingSnapshotIncremental;
     private volatile long ongoingSnapshotId = NO_SNAPSHOT;
     private volatile long ongoingSnapshotStartTime = Long.MIN_VALUE;
     private volatile String exportedSnapshotMapName;
@@ -118,30 +129,57 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
         executed = true;
     }
 
+    public void startNewSnapshot(String exportedSnapshotMapName) {
+        startNewSnapshot(exportedSnapshotMapName, false);
+    }
+
     @SuppressWarnings("NonAtomicOperationOnVolatileField")
     @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
             justification = "all updates to ongoingSnapshotId are synchronized")
-    public void startNewSnapshot(String exportedSnapshotMapName) {
+    public void startNewSnapshot(String exportedSnapshotMapName, boolean incremental) {
+        assert exportedSnapshotMapName == null || !incremental : "exported snapshot can't be incremental";
         ongoingSnapshotId++;
         ongoingSnapshotStartTime = Clock.currentTimeMillis();
         this.exportedSnapshotMapName = exportedSnapshotMapName;
+        this.ongoingSnapshotIncremental = incremental;
     }
 
     public SnapshotStats ongoingSnapshotDone(
             long numBytes, long numKeys, long numChunks, @Nullable String failureText
+    ) {
+        return ongoingSnapshotDone(numBytes, numKeys, numChunks, failureText, emptySet());
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "all updates to numIncrementalSnapshots are synchronized")
+    public SnapshotStats ongoingSnapshotDone(
+            long numBytes, long numKeys, long numChunks, @Nullable String failureText,
+            @Nonnull Set<String> incrementalVertices
     ) {
         lastSnapshotFailure = failureText;
         SnapshotStats res = new SnapshotStats(
                 ongoingSnapshotId, ongoingSnapshotStartTime, Clock.currentTimeMillis(), numBytes, numKeys, numChunks
         );
-        // switch dataMapIndex only if the snapshot was successful and it wasn't an exported one
+        // switch the map indices only if the snapshot was successful and it wasn't an exported one
         if (failureText == null && exportedSnapshotMapName == null) {
-            dataMapIndex = ongoingDataMapIndex();
+            if (ongoingSnapshotIncremental) {
+                deltaMapIndex = ongoingDeltaMapIndex();
+                this.incrementalVertices = unmodifiableSet(new HashSet<>(incrementalVertices));
+                numIncrementalSnapshots++;
+            } else {
+                dataMapIndex = ongoingDataMapIndex();
+                baseSnapshotId = ongoingSnapshotId;
+                deltaMapIndex = -1;
+                this.incrementalVertices = emptySet();
+                numIncrementalSnapshots = 0;
+            }
             snapshotId = ongoingSnapshotId;
             snapshotStats = res;
         }
         exportedSnapshotMapName = null;
         ongoingSnapshotStartTime = Long.MIN_VALUE;
+        ongoingSnapshotIncremental = false;
         return res;
     }
 
@@ -161,6 +199,56 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
         return dataMapIndex;
     }
 
+    /**
+     * The ID of the full snapshot the current successful snapshot is based
+     * on. It's equal to {@link #snapshotId()}, unless the current snapshot
+     * is incremental.
+     */
+    public long baseSnapshotId() {
+        return baseSnapshotId;
+    }
+
+    /**
+     * The delta map index of current successful incremental snapshot (0 or 1)
+     * or -1, if the current successful snapshot isn't incremental.
+     */
+    public int deltaMapIndex() {
+        return deltaMapIndex;
+    }
+
+    /**
+     * Returns the index of the delta map into which the new incremental
+     * snapshot will be written.
+     */
+    int ongoingDeltaMapIndex() {
+        return (deltaMapIndex + 1) & 1;
+    }
+
+    /**
+     * Names of the vertices which saved only the changed state to the
+     * current incremental snapshot. The state of other vertices is fully
+     * contained in it.
+     */
+    @Nonnull
+    public Set<String> incrementalVertices() {
+        return incrementalVertices;
+    }
+
+    /**
+     * The number of successful incremental snapshots taken since the last
+     * full snapshot.
+     */
+    public int numIncrementalSnapshots() {
+        return numIncrementalSnapshots;
+    }
+
+    /**
+     * Returns true if the ongoing snapshot is incremental.
+     */
+    public boolean isOngoingSnapshotIncremental() {
+        return ongoingSnapshotIncremental;
+    }
+
     /**
      * Returns the index of the data map into which the new snapshot will be
      * written.
@@ -241,6 +329,15 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
         return snapshotDataMapName(jobId, dataMapIndex());
     }
 
+    /**
+     * Returns the name of the delta map of the current successful snapshot or
+     * null, if it isn't incremental.
+     */
+    @Nullable
+    String successfulSnapshotDeltaMapName(long jobId) {
+        return deltaMapIndex() < 0 ? null : snapshotDeltaMapName(jobId, deltaMapIndex());
+    }
+
     @Override
     public int getFactoryId() {
         return JetInitDataSerializerHook.FACTORY_ID;
@@ -266,6 +363,14 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
         out.writeObject(suspensionCause);
         out.writeBoolean(executed);
         out.writeLong(timestamp.get());
+        out.writeLong(baseSnapshotId);
+        out.writeInt(deltaMapIndex);
+        out.writeInt(numIncrementalSnapshots);
+        out.writeBoolean(ongoingSnapshotIncremental);
+        out.writeInt(incrementalVertices.size());
+        for (String vertexName : incrementalVertices) {
+            out.writeUTF(vertexName);
+        }
     }
 
     @Override
@@ -282,6 +387,16 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
         suspensionCause = in.readObject();
         executed = in.readBoolean();
         timestamp.set(in.readLong());
+        baseSnapshotId = in.readLong();
+        deltaMapIndex = in.readInt();
+        numIncrementalSnapshots = in.readInt();
+        ongoingSnapshotIncremental = in.readBoolean();
+        int numIncrementalVertices = in.readInt();
+        Set<String> vertices = new HashSet<>();
+        for (int i = 0; i < numIncrementalVertices; i++) {
+            vertices.add(in.readUTF());
+        }
+        incrementalVertices = unmodifiableSet(vertices);
     }
 
     @Override
@@ -293,6 +408,8 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
                 ", suspended=" + (suspensionCause != null) +
                 ", executed=" + executed +
                 ", dataMapIndex=" + dataMapIndex +
+                ", deltaMapIndex=" + deltaMapIndex +
+                ", baseSnapshotId=" + baseSnapshotId +
                 ", snapshotId=" + snapshotId +
                 ", ongoingSnapshotId=" + ongoingSnapshotId +
                 ", ongoingSnapshotStartTime=" + toLocalTime(ongoingSnapshotStartTime) +
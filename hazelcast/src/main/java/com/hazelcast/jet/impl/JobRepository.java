@@ -617,6 +617,13 @@ public class JobRepository {
         return SNAPSHOT_DATA_MAP_PREFIX + idToString(jobId) + '.' + dataMapIndex;
     }
 
+    /**
+     * Returns map name in the form {@code "_jet.snapshot.<jobId>.delta.<deltaMapIndex>"}.
+     */
+    public static String snapshotDeltaMapName(long jobId, int deltaMapIndex) {
+        return SNAPSHOT_DATA_MAP_PREFIX + idToString(jobId) + ".delta." + deltaMapIndex;
+    }
+
     /**
      * Returns the map name in the form {@code __jet.resources.<jobId>}
      */
@@ -646,7 +653,14 @@ public class JobRepository {
     }
 
     void clearSnapshotData(long jobId, int dataMapIndex) {
-        String mapName = snapshotDataMapName(jobId, dataMapIndex);
+        clearSnapshotMap(jobId, snapshotDataMapName(jobId, dataMapIndex));
+    }
+
+    void clearSnapshotDeltaData(long jobId, int deltaMapIndex) {
+        clearSnapshotMap(jobId, snapshotDeltaMapName(jobId, deltaMapIndex));
+    }
+
+    private void clearSnapshotMap(long jobId, String mapName) {
         try {
             instance.getMap(mapName).clear();
             logFine(logger, "Cleared snapshot data map %s", mapName);
@@ -108,6 +108,7 @@ import static com.hazelcast.jet.impl.util.LoggingUtil.logFinest;
 import static com.hazelcast.jet.impl.util.Util.formatJobDuration;
 import static com.hazelcast.jet.impl.util.Util.toList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.partitioningBy;
@@ -120,6 +121,7 @@ import static java.util.stream.Collectors.toMap;
 public class MasterJobContext {
 
     public static final int SNAPSHOT_RESTORE_EDGE_PRIORITY = Integer.MIN_VALUE;
+    public static final int SNAPSHOT_DELTA_RESTORE_EDGE_PRIORITY = Integer.MIN_VALUE + 1;
     public static final String SNAPSHOT_VERTEX_PREFIX = "__snapshot_";
 
     private static final int COLLECT_METRICS_RETRY_DELAY_MILLIS = 100;
@@ -381,9 +383,12 @@ public class MasterJobContext {
     }
 
     private void rewriteDagWithSnapshotRestore(DAG dag, long snapshotId, String mapName, String snapshotName) {
+        JobExecutionRecord jobExecRec = mc.jobExecutionRecord();
+        String deltaMapName = snapshotId >= 0 ? jobExecRec.successfulSnapshotDeltaMapName(mc.jobId()) : null;
+        long baseSnapshotId = deltaMapName != null ? jobExecRec.baseSnapshotId() : snapshotId;
         IMap<Object, Object> snapshotMap = mc.nodeEngine().getHazelcastInstance().getMap(mapName);
         long resolvedSnapshotId = validateSnapshot(
-                snapshotId, snapshotMap, mc.jobIdString(), snapshotName);
+                baseSnapshotId, snapshotMap, mc.jobIdString(), snapshotName);
         logger.info(String.format(
                 "About to restore the state of %s from snapshot %d, mapName = %s",
                 mc.jobIdString(), resolvedSnapshotId, mapName));
@@ -391,21 +396,62 @@ public class MasterJobContext {
         dag.iterator().forEachRemaining(originalVertices::add);
 
         Map<String, Integer> vertexToOrdinal = new HashMap<>();
-        Vertex readSnapshotVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "read", readMapP(mapName));
-        Vertex explodeVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "explode",
-                () -> new ExplodeSnapshotP(vertexToOrdinal, resolvedSnapshotId));
-        dag.edge(between(readSnapshotVertex, explodeVertex).isolated());
-
-        int index = 0;
-        // add the edges
         for (Vertex userVertex : originalVertices) {
-            vertexToOrdinal.put(userVertex.getName(), index);
+            vertexToOrdinal.put(userVertex.getName(), vertexToOrdinal.size());
+        }
+        // The full state of the vertices that didn't save an incremental snapshot
+        // is in the delta map, ignore their state in the base map
+        Set<String> ignoredVertices = new HashSet<>();
+        if (deltaMapName != null) {
+            ignoredVertices.addAll(vertexToOrdinal.keySet());
+            ignoredVertices.removeAll(jobExecRec.incrementalVertices());
+        }
+        Vertex explodeVertex = addSnapshotReadVertices(dag, "", mapName, vertexToOrdinal, resolvedSnapshotId,
+                ignoredVertices);
+
+        Vertex explodeDeltaVertex = null;
+        if (deltaMapName != null) {
+            IMap<Object, Object> deltaMap = mc.nodeEngine().getHazelcastInstance().getMap(deltaMapName);
+            long resolvedDeltaSnapshotId = validateSnapshot(snapshotId, deltaMap, mc.jobIdString(), null);
+            logger.info(String.format(
+                    "About to restore the state of %s from incremental snapshot %d, mapName = %s",
+                    mc.jobIdString(), resolvedDeltaSnapshotId, deltaMapName));
+            explodeDeltaVertex = addSnapshotReadVertices(dag, "delta-", deltaMapName, vertexToOrdinal,
+                    resolvedDeltaSnapshotId, emptySet());
+        }
+
+        // add the edges, the delta is restored after the base snapshot is restored in full
+        for (Vertex userVertex : originalVertices) {
+            int index = vertexToOrdinal.get(userVertex.getName());
             int destOrdinal = dag.getInboundEdges(userVertex.getName()).size();
-            dag.edge(new SnapshotRestoreEdge(explodeVertex, index, userVertex, destOrdinal));
-            index++;
+            dag.edge(new SnapshotRestoreEdge(explodeVertex, index, userVertex, destOrdinal,
+                    SNAPSHOT_RESTORE_EDGE_PRIORITY));
+            if (explodeDeltaVertex != null) {
+                dag.edge(new SnapshotRestoreEdge(explodeDeltaVertex, index, userVertex, destOrdinal + 1,
+                        SNAPSHOT_DELTA_RESTORE_EDGE_PRIORITY));
+            }
         }
     }
 
+    private static Vertex addSnapshotReadVertices(
+            DAG dag, String namePrefix, String mapName, Map<String, Integer> vertexToOrdinal, long snapshotId,
+            Set<String> ignoredVertices
+    ) {
+        Vertex readSnapshotVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + namePrefix + "read", readMapP(mapName));
+        Vertex explodeVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + namePrefix + "explode",
+                () -> new ExplodeSnapshotP(vertexToOrdinal, snapshotId, ignoredVertices));
+        dag.edge(between(readSnapshotVertex, explodeVertex).isolated());
+        return explodeVertex;
+    }
+
+    /**
+     * Returns true if the edge with the given priority is a {@link
+     * SnapshotRestoreEdge}.
+     */
+    public static boolean isSnapshotRestorePriority(int priority) {
+        return priority == SNAPSHOT_RESTORE_EDGE_PRIORITY || priority == SNAPSHOT_DELTA_RESTORE_EDGE_PRIORITY;
+    }
+
     private boolean scheduleRestartIfQuorumAbsent() {
         int quorumSize = mc.jobExecutionRecord().getQuorumSize();
         if (mc.coordinationService().isQuorumPresent(quorumSize)) {
@@ -910,15 +956,19 @@ public class MasterJobContext {
      */
     public static class SnapshotRestoreEdge extends Edge {
 
-        SnapshotRestoreEdge(Vertex source, int sourceOrdinal, Vertex destination, int destOrdinal) {
+        private final int restorePriority;
+
+        SnapshotRestoreEdge(Vertex source, int sourceOrdinal, Vertex destination, int destOrdinal, int priority) {
             super(source, sourceOrdinal, destination, destOrdinal);
+            assert isSnapshotRestorePriority(priority) : "priority=" + priority;
+            this.restorePriority = priority;
             distributed();
             partitioned(entryKey());
         }
 
         @Override
         public int getPriority() {
-            return SNAPSHOT_RESTORE_EDGE_PRIORITY;
+            return restorePriority;
         }
     }
 
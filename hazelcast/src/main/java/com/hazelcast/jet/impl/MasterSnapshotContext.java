@@ -30,6 +30,7 @@ import com.hazelcast.jet.impl.util.LoggingUtil;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.IMap;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -50,6 +51,7 @@ import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
 import static com.hazelcast.jet.impl.JobRepository.EXPORTED_SNAPSHOTS_PREFIX;
 import static com.hazelcast.jet.impl.JobRepository.exportedSnapshotMapName;
 import static com.hazelcast.jet.impl.JobRepository.snapshotDataMapName;
+import static com.hazelcast.jet.impl.JobRepository.snapshotDeltaMapName;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.withTryCatch;
 import static com.hazelcast.jet.impl.util.LoggingUtil.logFine;
 import static com.hazelcast.jet.impl.util.Util.jobNameAndExecutionId;
@@ -70,6 +72,14 @@ class MasterSnapshotContext {
      */
     private boolean snapshotInProgress;
 
+    /**
+     * It's true until a full snapshot succeeds in the current execution. The
+     * processors track the changed state only since a full snapshot they
+     * took, therefore an incremental snapshot can't be based on a snapshot
+     * from a previous execution.
+     */
+    private boolean fullSnapshotRequired = true;
+
     /**
      * A future (re)created when the job is started and completed when terminal
      * snapshot is completed (successfully or not).
@@ -128,6 +138,7 @@ class MasterSnapshotContext {
     void tryBeginSnapshot() {
         mc.coordinationService().submitToCoordinatorThread(() -> {
             boolean isTerminal;
+            boolean isIncremental;
             String snapshotMapName;
             CompletableFuture<Void> future;
             mc.lock();
@@ -155,7 +166,9 @@ class MasterSnapshotContext {
                 assert requestedSnapshot.f1() != null;
                 isTerminal = requestedSnapshot.f1();
                 future = requestedSnapshot.f2();
-                mc.jobExecutionRecord().startNewSnapshot(snapshotMapName);
+                isIncremental = snapshotMapName == null && !fullSnapshotRequired
+                        && mc.jobExecutionRecord().numIncrementalSnapshots() < maxIncrementalSnapshots();
+                mc.jobExecutionRecord().startNewSnapshot(snapshotMapName, isIncremental);
                 localExecutionId = mc.executionId();
             } finally {
                 mc.unlock();
@@ -164,8 +177,9 @@ class MasterSnapshotContext {
             mc.writeJobExecutionRecord(false);
             long newSnapshotId = mc.jobExecutionRecord().ongoingSnapshotId();
             boolean isExport = snapshotMapName != null;
-            int snapshotFlags = SnapshotFlags.create(isTerminal, isExport);
+            int snapshotFlags = SnapshotFlags.create(isTerminal, isExport, isIncremental);
             String finalMapName = isExport ? exportedSnapshotMapName(snapshotMapName)
+                    : isIncremental ? snapshotDeltaMapName(mc.jobId(), mc.jobExecutionRecord().ongoingDeltaMapIndex())
                     : snapshotDataMapName(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
             mc.nodeEngine().getHazelcastInstance().getMap(finalMapName).clear();
             logFine(logger, "Starting snapshot %d for %s, flags: %s, writing to: %s",
@@ -302,9 +316,10 @@ class MasterSnapshotContext {
                 }
 
                 isSuccess = mergedResult.getError() == null;
+                int previousDeltaMapIndex = mc.jobExecutionRecord().deltaMapIndex();
                 stats = mc.jobExecutionRecord().ongoingSnapshotDone(
                         mergedResult.getNumBytes(), mergedResult.getNumKeys(), mergedResult.getNumChunks(),
-                        mergedResult.getError());
+                        mergedResult.getError(), mergedResult.getIncrementalVertices());
 
                 // the decision moment for regular snapshots: after this the snapshot is ready to be restored from
                 mc.writeJobExecutionRecord(false);
@@ -325,8 +340,19 @@ class MasterSnapshotContext {
                                 + "' after a failure", e);
                     }
                 }
-                if (!SnapshotFlags.isExport(snapshotFlags)) {
+                if (SnapshotFlags.isIncremental(snapshotFlags)) {
+                    // clear the previous delta after a success or the failed one
+                    mc.jobRepository().clearSnapshotDeltaData(mc.jobId(),
+                            mc.jobExecutionRecord().ongoingDeltaMapIndex());
+                } else if (!SnapshotFlags.isExport(snapshotFlags)) {
                     mc.jobRepository().clearSnapshotData(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
+                    if (isSuccess) {
+                        // the new full snapshot replaces the previous one along with its delta
+                        fullSnapshotRequired = false;
+                        if (previousDeltaMapIndex >= 0) {
+                            mc.jobRepository().clearSnapshotDeltaData(mc.jobId(), previousDeltaMapIndex);
+                        }
+                    }
                 }
             } finally {
                 mc.unlock();
@@ -424,6 +450,7 @@ class MasterSnapshotContext {
 
     void onExecutionStarted() {
         snapshotInProgress = false;
+        fullSnapshotRequired = true;
         assert snapshotQueue.isEmpty() : "snapshotQueue not empty";
         terminalSnapshotFuture = new CompletableFuture<>();
     }
@@ -438,6 +465,10 @@ class MasterSnapshotContext {
         snapshotQueue.clear();
     }
 
+    private int maxIncrementalSnapshots() {
+        return mc.nodeEngine().getProperties().getInteger(ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_COUNT);
+    }
+
     public ILogger logger() {
         return logger;
     }
@@ -76,7 +76,7 @@ public abstract class AbstractUpdateMapP<T, K, V> extends AsyncHazelcastWriterP
             @Nonnull String mapName,
             @Nonnull FunctionEx<? super T, ? extends K> keyFn
     ) {
-        super(instance, maxParallelAsyncOps);
+        super(instance, maxParallelAsyncOps, true);
         this.mapName = Objects.requireNonNull(mapName, "mapName");
         this.keyFn = keyFn;
     }
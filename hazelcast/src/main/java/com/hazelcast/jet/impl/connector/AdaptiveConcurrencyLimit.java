@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.connector;
+
+import java.util.Arrays;
+
+/**
+ * Limits the number of in-flight async operations of a {@link
+ * AsyncHazelcastWriterP} and adapts the limit to the observed latency of
+ * the operations, in the spirit of TCP Vegas.
+ * <p>
+ * The latency is evaluated once per round of operations, that is after as
+ * many completed operations as the current limit, as the average latency
+ * of the round. The baseline of an uncongested cluster is the lowest
+ * average of the last {@link #BASELINE_WINDOW_ROUNDS} rounds. When a round
+ * takes more than {@link #CONGESTION_FACTOR} times the baseline on
+ * average, the operations are queueing up somewhere (in the partition
+ * threads, in the backpressure sync window or in the network), and the
+ * limit is reduced by a quarter. Otherwise the limit grows by one, up to
+ * the maximum. Averaging over a round keeps a single slow response from
+ * shrinking the limit, and the window lets the baseline follow a permanent
+ * change, for example after a member joined and the operations started to
+ * cross the network.
+ * <p>
+ * The methods are called from the completion callbacks of the operations,
+ * which may run concurrently, hence the synchronization.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    static final int CONGESTION_FACTOR = 2;
+    static final int BASELINE_WINDOW_ROUNDS = 32;
+
+    private final int maxLimit;
+    // the average latencies of the last rounds, a ring buffer
+    private final long[] roundAverages = new long[BASELINE_WINDOW_ROUNDS];
+
+    private volatile int limit;
+    private int roundIndex;
+    private int completedInRound;
+    private long latencySumInRound;
+
+    AdaptiveConcurrencyLimit(int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = this.maxLimit;
+        Arrays.fill(roundAverages, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the current limit, a value between 1 and the maximum.
+     */
+    int get() {
+        return limit;
+    }
+
+    /**
+     * Records the latency of a successfully completed operation.
+     */
+    synchronized void onCompleted(long latencyNanos) {
+        latencySumInRound += latencyNanos;
+        int currentLimit = limit;
+        if (++completedInRound < currentLimit) {
+            return;
+        }
+        long average = latencySumInRound / completedInRound;
+        long baseline = baseline();
+        roundAverages[roundIndex] = average;
+        roundIndex = (roundIndex + 1) % BASELINE_WINDOW_ROUNDS;
+        completedInRound = 0;
+        latencySumInRound = 0;
+
+        boolean congested = baseline != Long.MAX_VALUE && average / CONGESTION_FACTOR > baseline;
+        if (congested) {
+            limit = Math.max(1, currentLimit - Math.max(1, currentLimit >> 2));
+        } else if (currentLimit < maxLimit) {
+            limit = currentLimit + 1;
+        }
+    }
+
+    private long baseline() {
+        long baseline = Long.MAX_VALUE;
+        for (long average : roundAverages) {
+            baseline = Math.min(baseline, average);
+        }
+        return baseline;
+    }
+}
@@ -31,7 +31,6 @@ import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.BiConsumer;
 
 import static com.hazelcast.jet.impl.connector.HazelcastWriters.handleInstanceNotActive;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
@@ -44,21 +43,30 @@ public abstract class AsyncHazelcastWriterP implements Processor {
 
     private final ILogger logger = Logger.getLogger(AsyncHazelcastWriterP.class);
     private final int maxParallelAsyncOps;
+    // null if the limit is fixed
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
     private final AtomicInteger numConcurrentOps = new AtomicInteger();
     private final AtomicReference<Throwable> firstError = new AtomicReference<>();
     private final HazelcastInstance instance;
     private final boolean isLocal;
 
-    private final BiConsumer callback = withTryCatch(logger, (response, t) -> {
-        numConcurrentOps.decrementAndGet();
-        if (t != null) {
-            firstError.compareAndSet(null, t);
-        }
-    });
-
     AsyncHazelcastWriterP(@Nonnull HazelcastInstance instance, int maxParallelAsyncOps) {
+        this(instance, maxParallelAsyncOps, false);
+    }
+
+    /**
+     * @param maxParallelAsyncOps the maximum number of in-flight async
+     *                            operations
+     * @param adaptive if the number of in-flight operations should adapt to
+     *                 their latency, between 1 and the maximum, see {@link
+     *                 AdaptiveConcurrencyLimit}. Otherwise it's always the
+     *                 maximum. Sinks with a user-configured maximum should
+     *                 keep it fixed.
+     */
+    AsyncHazelcastWriterP(@Nonnull HazelcastInstance instance, int maxParallelAsyncOps, boolean adaptive) {
         this.instance = Objects.requireNonNull(instance, "instance");
         this.maxParallelAsyncOps = maxParallelAsyncOps;
+        this.concurrencyLimit = adaptive ? new AdaptiveConcurrencyLimit(maxParallelAsyncOps) : null;
         this.isLocal = ImdgUtil.isMemberInstance(instance);
     }
 
@@ -110,12 +118,20 @@ public abstract class AsyncHazelcastWriterP implements Processor {
     protected abstract void processInternal(Inbox inbox);
 
     protected final void setCallback(CompletionStage stage) {
-        stage.whenCompleteAsync(callback);
+        long start = concurrencyLimit != null ? System.nanoTime() : 0;
+        stage.whenCompleteAsync(withTryCatch(logger, (response, t) -> {
+            numConcurrentOps.decrementAndGet();
+            if (t != null) {
+                firstError.compareAndSet(null, t);
+            } else if (concurrencyLimit != null) {
+                concurrencyLimit.onCompleted(System.nanoTime() - start);
+            }
+        }));
     }
 
     @CheckReturnValue
     protected final boolean tryAcquirePermit() {
-        return tryIncrement(numConcurrentOps, 1, maxParallelAsyncOps);
+        return tryIncrement(numConcurrentOps, 1, limit());
     }
 
     /**
@@ -125,18 +141,23 @@ public abstract class AsyncHazelcastWriterP implements Processor {
      */
     @CheckReturnValue
     protected final int tryAcquirePermits(int desiredNumber) {
+        int limit = limit();
         int prev;
         int next;
         do {
             prev = numConcurrentOps.get();
-            next = Math.min(prev + desiredNumber, maxParallelAsyncOps);
-            if (next == prev) {
+            next = Math.min(prev + desiredNumber, limit);
+            if (next <= prev) {
                 return 0;
             }
         } while (!numConcurrentOps.compareAndSet(prev, next));
         return next - prev;
     }
 
+    private int limit() {
+        return concurrencyLimit != null ? concurrencyLimit.get() : maxParallelAsyncOps;
+    }
+
     protected final HazelcastInstance instance() {
         return instance;
     }
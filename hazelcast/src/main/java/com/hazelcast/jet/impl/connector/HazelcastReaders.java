@@ -22,8 +22,8 @@ import com.hazelcast.security.impl.function.SecuredFunctions;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.connector.ReadMapIndexP.LocalMapQueryMetaSupplier;
 import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.LocalCacheReader;
-import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.LocalMapQueryReader;
 import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.LocalMapReader;
 import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.LocalProcessorMetaSupplier;
 import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.RemoteCacheReader;
@@ -32,8 +32,6 @@ import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.RemoteMapReader;
 import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.RemoteProcessorSupplier;
 import com.hazelcast.jet.impl.util.ImdgUtil;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
-import com.hazelcast.map.impl.query.QueryResultRow;
-import com.hazelcast.map.impl.query.ResultSegment;
 import com.hazelcast.projection.Projection;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.security.PermissionsUtil;
@@ -101,15 +99,7 @@ public final class HazelcastReaders {
         checkSerializable(Objects.requireNonNull(predicate), "predicate");
         checkSerializable(Objects.requireNonNull(projection), "projection");
 
-        return new LocalProcessorMetaSupplier<InternalCompletableFuture<ResultSegment>, ResultSegment, QueryResultRow>(
-                (hzInstance, serializationService) ->
-                        new LocalMapQueryReader(hzInstance, serializationService, mapName, predicate, projection)
-        ) {
-            @Override
-            public Permission getRequiredPermission() {
-                return new MapPermission(mapName, ACTION_CREATE, ACTION_READ);
-            }
-        };
+        return new LocalMapQueryMetaSupplier(mapName, predicate, projection);
     }
 
     @Nonnull
@@ -136,7 +136,7 @@ public final class HazelcastWriters {
         String clientXml = asXmlString(clientConfig);
         return ProcessorMetaSupplier.of(mapUpdatePermission(clientXml, name),
                 AbstractHazelcastConnectorSupplier.ofMap(clientXml,
-                        SecuredFunctions.updateWithEntryProcessorFn(MAX_PARALLEL_ASYNC_OPS_DEFAULT, name, clientXml,
+                        SecuredFunctions.updateWithEntryProcessorFn(MAX_PARALLEL_ASYNC_OPS_DEFAULT, true, name, clientXml,
                                 toKeyFn, toEntryProcessorFn)));
     }
 
@@ -154,7 +154,7 @@ public final class HazelcastWriters {
         String clientXml = asXmlString(clientConfig);
         return ProcessorMetaSupplier.of(mapUpdatePermission(clientXml, name),
                 AbstractHazelcastConnectorSupplier.ofMap(clientXml,
-                        SecuredFunctions.updateWithEntryProcessorFn(maxParallelAsyncOps, name, clientXml,
+                        SecuredFunctions.updateWithEntryProcessorFn(maxParallelAsyncOps, false, name, clientXml,
                                 toKeyFn, toEntryProcessorFn)));
     }
 
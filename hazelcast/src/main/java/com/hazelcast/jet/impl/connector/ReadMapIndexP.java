@@ -0,0 +1,518 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.connector;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.iteration.IndexIterationPointer;
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.connector.ReadMapOrCacheP.LocalMapQueryReader;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcSupplierCtx;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.MapFetchIndexOperation;
+import com.hazelcast.map.impl.operation.MapFetchIndexOperation.MapFetchIndexOperationResult;
+import com.hazelcast.map.impl.operation.MapFetchIndexOperation.MissingPartitionException;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.PartitionPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static com.hazelcast.jet.impl.util.ExceptionUtil.peel;
+import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
+import static com.hazelcast.jet.impl.util.Util.distributeObjects;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_CREATE;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_READ;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reads the entries of a local IMap matching a predicate through a global
+ * index instead of scanning the partitions, see {@link IndexScan#of} for
+ * the predicates an index is used for. The entries are fetched with {@link
+ * MapFetchIndexOperation} for all partitions of the processor at once. The
+ * whole predicate is applied to each fetched entry, followed by the
+ * projection.
+ * <p>
+ * With a sorted index, each processor emits its items in the ascending
+ * order of the indexed attribute.
+ * <p>
+ * The processor starts with a single 'split' reading its partitions from
+ * the local member. If a migration is detected, the split is divided by the
+ * new partition owners, which are then read in parallel and merged, like
+ * the SQL index scan does.
+ */
+final class ReadMapIndexP extends AbstractProcessor {
+
+    private static final int FETCH_SIZE = 2048;
+
+    private final LocalMapIndexReader reader;
+    private final InternalSerializationService serializationService;
+    private final InternalPartitionService partitionService;
+    private final Extractors extractors;
+    private final IndexScan indexScan;
+    private final Predicate predicate;
+    private final Projection projection;
+    private final List<Split> splits = new ArrayList<>();
+
+    private Object pendingItem;
+
+    private ReadMapIndexP(
+            @Nonnull HazelcastInstance hzInstance,
+            @Nonnull InternalSerializationService serializationService,
+            @Nonnull Extractors extractors,
+            @Nonnull String mapName,
+            @Nonnull IndexScan indexScan,
+            @Nonnull Predicate predicate,
+            @Nonnull Projection projection,
+            @Nonnull int[] partitionIds
+    ) {
+        this.reader = new LocalMapIndexReader(hzInstance, mapName, indexScan.indexName);
+        this.serializationService = serializationService;
+        this.partitionService = getNodeEngine(hzInstance).getPartitionService();
+        this.extractors = extractors;
+        this.indexScan = indexScan;
+        this.predicate = predicate;
+        this.projection = projection;
+        if (partitionIds.length > 0) {
+            splits.add(new Split(
+                    new PartitionIdSet(partitionService.getPartitionCount(), partitionIds),
+                    hzInstance.getCluster().getLocalMember().getAddress(),
+                    indexScan.pointers
+            ));
+        }
+    }
+
+    @Override
+    public boolean complete() {
+        if (pendingItem != null && !tryEmit(pendingItem)) {
+            return false;
+        }
+        pendingItem = null;
+        return indexScan.sorted ? emitSorted() : emitUnsorted();
+    }
+
+    private boolean emitSorted() {
+        for (;;) {
+            Split next = null;
+            for (int i = 0; i < splits.size(); i++) {
+                Split split = splits.get(i);
+                if (!split.peek()) {
+                    splits.remove(i--);
+                    continue;
+                }
+                if (split.currentItem == null) {
+                    if (split.done()) {
+                        splits.remove(i--);
+                        continue;
+                    }
+                    // the next item of this split could be the smallest one
+                    return false;
+                }
+                if (next == null || compareIndexKeys(split.currentEntry, next.currentEntry) < 0) {
+                    next = split;
+                }
+            }
+            if (next == null) {
+                assert splits.isEmpty();
+                return true;
+            }
+            Object item = next.remove();
+            if (!tryEmit(item)) {
+                pendingItem = item;
+                return false;
+            }
+        }
+    }
+
+    private boolean emitUnsorted() {
+        boolean waiting = false;
+        for (int i = 0; i < splits.size(); i++) {
+            Split split = splits.get(i);
+            for (;;) {
+                if (!split.peek()) {
+                    splits.remove(i--);
+                    break;
+                }
+                if (split.currentItem == null) {
+                    if (split.done()) {
+                        splits.remove(i--);
+                    } else {
+                        waiting = true;
+                    }
+                    break;
+                }
+                Object item = split.remove();
+                if (!tryEmit(item)) {
+                    pendingItem = item;
+                    return false;
+                }
+            }
+        }
+        return !waiting;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compareIndexKeys(QueryableEntry<?, ?> entry1, QueryableEntry<?, ?> entry2) {
+        Comparable<Object> key1 = (Comparable<Object>) entry1.getAttributeValue(indexScan.attribute);
+        return key1.compareTo(entry2.getAttributeValue(indexScan.attribute));
+    }
+
+    /**
+     * Divides the split by the current owners of its partitions, after it
+     * failed with a {@link MissingPartitionException}.
+     */
+    private void splitOnMigration(Split split) {
+        Map<Address, Split> newSplits = new HashMap<>();
+        PrimitiveIterator.OfInt partitionIterator = split.partitions.intIterator();
+        while (partitionIterator.hasNext()) {
+            int partitionId = partitionIterator.nextInt();
+            Address owner = partitionService.getPartition(partitionId).getOwnerOrNull();
+            newSplits.computeIfAbsent(owner, x -> new Split(
+                    new PartitionIdSet(partitionService.getPartitionCount()), owner, split.pointers)
+            ).partitions.add(partitionId);
+        }
+        splits.addAll(newSplits.values());
+    }
+
+    /**
+     * Reads the given partitions from a single member.
+     */
+    private final class Split {
+        private final PartitionIdSet partitions;
+        private final Address owner;
+        private IndexIterationPointer[] pointers;
+        private CompletableFuture<MapFetchIndexOperationResult> future;
+        private List<QueryableEntry<?, ?>> currentBatch = emptyList();
+        private int currentBatchPosition;
+
+        // the next entry matching the predicate and its projected item
+        private QueryableEntry<?, ?> currentEntry;
+        private Object currentItem;
+
+        private Split(PartitionIdSet partitions, Address owner, IndexIterationPointer[] pointers) {
+            this.partitions = partitions;
+            this.owner = owner;
+            this.pointers = pointers;
+        }
+
+        /**
+         * Sets {@link #currentItem} to the next item to emit, or to {@code
+         * null} if there is none because the split is done or waiting for
+         * the next batch.
+         *
+         * @return {@code false}, if the split was replaced by new splits
+         * because of a migration
+         */
+        private boolean peek() {
+            if (currentItem != null) {
+                return true;
+            }
+            if (future == null && pointers.length > 0 && currentBatchPosition == currentBatch.size()) {
+                future = reader.readBatch(owner, partitions, pointers);
+            }
+            if (currentBatchPosition == currentBatch.size() && future != null && future.isDone()) {
+                MapFetchIndexOperationResult result;
+                try {
+                    result = reader.toBatchResult(future);
+                } catch (ExecutionException e) {
+                    Throwable cause = peel(e);
+                    if (cause instanceof MissingPartitionException) {
+                        splitOnMigration(this);
+                        return false;
+                    }
+                    throw rethrow(cause);
+                } catch (InterruptedException e) {
+                    throw rethrow(e);
+                }
+                future = null;
+                currentBatch = reader.toRecordSet(result);
+                currentBatchPosition = 0;
+                pointers = result.getPointers();
+            }
+            while (currentItem == null && currentBatchPosition < currentBatch.size()) {
+                QueryableEntry<?, ?> entry = toQueryEntry(currentBatch.get(currentBatchPosition));
+                if (predicate.apply(entry)) {
+                    currentEntry = entry;
+                    currentItem = projection.transform(entry);
+                }
+                if (currentItem == null) {
+                    currentBatchPosition++;
+                }
+            }
+            return true;
+        }
+
+        private Object remove() {
+            Object item = currentItem;
+            currentBatchPosition++;
+            currentEntry = null;
+            currentItem = null;
+            return item;
+        }
+
+        private boolean done() {
+            return currentBatchPosition == currentBatch.size() && pointers.length == 0 && future == null;
+        }
+    }
+
+    /**
+     * Returns an entry reading the key and value with the job's
+     * serialization service. The fetched entries have no serialization
+     * service if they were received from another member.
+     */
+    private QueryableEntry<?, ?> toQueryEntry(QueryableEntry<?, ?> entry) {
+        Object value = entry.getValueDataIfPresent();
+        if (value == null) {
+            value = entry.getValueIfPresent();
+        }
+        if (value == null) {
+            value = entry.getValueData();
+        }
+        return new CachedQueryEntry<>(serializationService, entry.getKeyData(), value, extractors);
+    }
+
+    /**
+     * The index and the pointers to read the entries matching a predicate.
+     */
+    static final class IndexScan {
+
+        private final String indexName;
+        private final String attribute;
+        private final boolean sorted;
+        private final IndexIterationPointer[] pointers;
+
+        private IndexScan(String indexName, String attribute, boolean sorted, IndexIterationPointer[] pointers) {
+            this.indexName = indexName;
+            this.attribute = attribute;
+            this.sorted = sorted;
+            this.pointers = pointers;
+        }
+
+        /**
+         * Returns the index scan for the predicate, or {@code null} if no
+         * index can be used for it.
+         * <p>
+         * An index is used for an equality predicate or, if it's sorted, a
+         * range predicate on a single-valued attribute it indexes alone. If
+         * the predicate is a conjunction, the first of its predicates an
+         * index is found for is used. The indexes must be global.
+         */
+        @Nullable
+        static IndexScan of(@Nullable Indexes indexes, @Nonnull Predicate predicate) {
+            if (indexes == null) {
+                return null;
+            }
+            Predicate[] candidates = predicate instanceof AndPredicate
+                    ? ((AndPredicate) predicate).getPredicates()
+                    : new Predicate[]{predicate};
+            for (Predicate candidate : candidates) {
+                if (!(candidate instanceof RangePredicate)) {
+                    continue;
+                }
+                RangePredicate range = (RangePredicate) candidate;
+                String attribute = canonicalizeAttribute(range.getAttribute());
+                if (!isBounded(range) || attribute.contains("[")) {
+                    // a collection attribute puts an entry to the index for each element
+                    continue;
+                }
+                boolean pointLookup = candidate instanceof EqualPredicate;
+                InternalIndex index = findIndex(indexes, attribute, pointLookup);
+                if (index != null) {
+                    IndexIterationPointer pointer = IndexIterationPointer.create(range.getFrom(), range.isFromInclusive(),
+                            range.getTo(), range.isToInclusive(), false, null);
+                    return new IndexScan(index.getName(), attribute, index.isOrdered(),
+                            new IndexIterationPointer[]{pointer});
+                }
+            }
+            return null;
+        }
+
+        private static boolean isBounded(RangePredicate range) {
+            // a null bound of a range other than greater/less is a comparison with null, which matches nothing
+            return range instanceof GreaterLessPredicate
+                    ? range.getFrom() != null || range.getTo() != null
+                    : range.getFrom() != null && range.getTo() != null;
+        }
+
+        @Nullable
+        private static InternalIndex findIndex(Indexes indexes, String attribute, boolean pointLookup) {
+            InternalIndex result = null;
+            for (InternalIndex index : indexes.getIndexes()) {
+                String[] components = index.getComponents();
+                if (components.length != 1 || !canonicalizeAttribute(components[0]).equals(attribute)
+                        || index.getConfig().getType() == IndexType.BITMAP
+                        || !(pointLookup || index.isOrdered())) {
+                    continue;
+                }
+                // a sorted index also orders the output
+                if (result == null || index.isOrdered()) {
+                    result = index;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class LocalMapIndexReader
+            extends AbstractIndexReader<MapFetchIndexOperationResult, QueryableEntry<?, ?>> {
+
+        private final MapProxyImpl<?, ?> mapProxyImpl;
+        private final String indexName;
+
+        private LocalMapIndexReader(@Nonnull HazelcastInstance hzInstance, @Nonnull String mapName,
+                                    @Nonnull String indexName) {
+            super(mapName, MapFetchIndexOperationResult::getEntries);
+            this.mapProxyImpl = (MapProxyImpl<?, ?>) hzInstance.getMap(mapName);
+            this.indexName = indexName;
+        }
+
+        @Nonnull @Override
+        public InternalCompletableFuture<MapFetchIndexOperationResult> readBatch(
+                Address address,
+                PartitionIdSet partitions,
+                IndexIterationPointer[] pointers
+        ) {
+            MapOperationProvider operationProvider = mapProxyImpl.getOperationProvider();
+            Operation op = operationProvider.createFetchIndexOperation(
+                    objectName, indexName, pointers, partitions, FETCH_SIZE);
+            return mapProxyImpl.getOperationService().invokeOnTarget(mapProxyImpl.getServiceName(), op, address);
+        }
+    }
+
+    /**
+     * Meta-supplier of the local map source with a predicate and a
+     * projection. It reads through an index where possible and falls back
+     * to {@link ReadMapOrCacheP} with a {@link LocalMapQueryReader}
+     * otherwise.
+     */
+    static final class LocalMapQueryMetaSupplier implements ProcessorMetaSupplier {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String mapName;
+        private final Predicate predicate;
+        private final Projection projection;
+
+        LocalMapQueryMetaSupplier(@Nonnull String mapName, @Nonnull Predicate predicate,
+                                  @Nonnull Projection projection) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.projection = projection;
+        }
+
+        @Override @Nonnull
+        public Function<Address, ProcessorSupplier> get(@Nonnull List<Address> addresses) {
+            return address -> new LocalMapQuerySupplier(mapName, predicate, projection);
+        }
+
+        @Override
+        public int preferredLocalParallelism() {
+            return 1;
+        }
+
+        @Override
+        public Permission getRequiredPermission() {
+            return new MapPermission(mapName, ACTION_CREATE, ACTION_READ);
+        }
+    }
+
+    private static final class LocalMapQuerySupplier implements ProcessorSupplier {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String mapName;
+        private final Predicate predicate;
+        private final Projection projection;
+
+        private transient int[] memberPartitions;
+        private transient HazelcastInstance hzInstance;
+        private transient InternalSerializationService serializationService;
+        private transient Extractors extractors;
+        private transient IndexScan indexScan;
+
+        private LocalMapQuerySupplier(@Nonnull String mapName, @Nonnull Predicate predicate,
+                                      @Nonnull Projection projection) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.projection = projection;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            hzInstance = context.hazelcastInstance();
+            serializationService = ((ProcSupplierCtx) context).serializationService();
+            memberPartitions = context.partitionAssignment().get(hzInstance.getCluster().getLocalMember().getAddress());
+            if (!(predicate instanceof PartitionPredicate)) {
+                // a partition predicate is cheaper to evaluate on its single partition
+                NodeEngine nodeEngine = getNodeEngine(hzInstance);
+                MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+                MapContainer mapContainer = mapService.getMapServiceContext().getMapContainer(mapName);
+                extractors = mapContainer.getExtractors();
+                indexScan = IndexScan.of(mapContainer.getIndexes(), predicate);
+            }
+        }
+
+        @Override @Nonnull
+        public List<Processor> get(int count) {
+            return Arrays.stream(distributeObjects(count, memberPartitions))
+                    .map(partitions -> indexScan != null
+                            ? new ReadMapIndexP(hzInstance, serializationService, extractors, mapName, indexScan,
+                                    predicate, projection, partitions)
+                            : new ReadMapOrCacheP<>(new LocalMapQueryReader(hzInstance, serializationService, mapName,
+                                    predicate, projection), partitions))
+                    .collect(toList());
+        }
+    }
+}
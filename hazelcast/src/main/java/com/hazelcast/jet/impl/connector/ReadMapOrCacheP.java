@@ -57,6 +57,7 @@ import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.map.impl.query.ResultSegment;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.projection.Projection;
+import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.operationservice.Operation;
@@ -119,12 +120,12 @@ public final class ReadMapOrCacheP<F extends CompletableFuture, B, R> extends Ab
 
     private Object pendingItem;
 
-    private ReadMapOrCacheP(@Nonnull Reader<F, B, R> reader, @Nonnull int[] partitionIds) {
+    ReadMapOrCacheP(@Nonnull Reader<F, B, R> reader, @Nonnull int[] partitionIds) {
         this.reader = reader;
-        this.partitionIds = partitionIds;
+        this.partitionIds = reader.prunePartitions(partitionIds);
 
-        maxParallelRead = Math.min(partitionIds.length, MAX_PARALLEL_READ);
-        readPointers = new IterationPointer[partitionIds.length][];
+        maxParallelRead = Math.min(this.partitionIds.length, MAX_PARALLEL_READ);
+        readPointers = new IterationPointer[this.partitionIds.length][];
         Arrays.fill(readPointers, new IterationPointer[]{new IterationPointer(Integer.MAX_VALUE, -1)});
     }
 
@@ -404,6 +405,32 @@ public final class ReadMapOrCacheP<F extends CompletableFuture, B, R> extends Ab
         @Nullable
         abstract Object toObject(@Nonnull R record);
 
+        /**
+         * Returns the subset of the given partitions that can contain
+         * records this reader returns. By default it's all of them.
+         */
+        @Nonnull
+        int[] prunePartitions(@Nonnull int[] partitionIds) {
+            return partitionIds;
+        }
+
+        /**
+         * Returns the given partitions if they contain the partition with
+         * the given ID, or an empty array otherwise. If the ID is negative,
+         * returns the given partitions.
+         */
+        @Nonnull
+        static int[] pruneToPartition(@Nonnull int[] partitionIds, int partitionId) {
+            if (partitionId < 0) {
+                return partitionIds;
+            }
+            for (int id : partitionIds) {
+                if (id == partitionId) {
+                    return new int[]{partitionId};
+                }
+            }
+            return new int[0];
+        }
     }
 
     static class LocalCacheReader
@@ -505,6 +532,7 @@ public final class ReadMapOrCacheP<F extends CompletableFuture, B, R> extends Ab
         private final Predicate predicate;
         private final Projection projection;
         private final MapProxyImpl mapProxyImpl;
+        private final int prunedPartitionId;
 
         LocalMapQueryReader(@Nonnull HazelcastInstance hzInstance,
                             @Nonnull InternalSerializationService serializationService,
@@ -515,10 +543,24 @@ public final class ReadMapOrCacheP<F extends CompletableFuture, B, R> extends Ab
                     ResultSegment::getPointers,
                     segment -> ((QueryResult) segment.getResult()).getRows()
             );
-            this.predicate = predicate;
             this.projection = projection;
             this.mapProxyImpl = (MapProxyImpl) hzInstance.getMap(mapName);
             this.serializationService = serializationService;
+            if (predicate instanceof PartitionPredicate) {
+                // a partition predicate pins a single partition, we read only that one
+                PartitionPredicate partitionPredicate = (PartitionPredicate) predicate;
+                Data partitionKey = serializationService.toData(partitionPredicate.getPartitionKey());
+                this.predicate = partitionPredicate.getTarget();
+                this.prunedPartitionId = mapProxyImpl.getNodeEngine().getPartitionService().getPartitionId(partitionKey);
+            } else {
+                this.predicate = predicate;
+                this.prunedPartitionId = -1;
+            }
+        }
+
+        @Nonnull @Override
+        int[] prunePartitions(@Nonnull int[] partitionIds) {
+            return pruneToPartition(partitionIds, prunedPartitionId);
         }
 
         @Nonnull @Override
@@ -590,6 +632,7 @@ public final class ReadMapOrCacheP<F extends CompletableFuture, B, R> extends Ab
         private final Predicate predicate;
         private final Projection projection;
         private final ClientMapProxy clientMapProxy;
+        private final int prunedPartitionId;
 
         RemoteMapQueryReader(
                 @Nonnull HazelcastInstance hzInstance,
@@ -598,10 +641,23 @@ public final class ReadMapOrCacheP<F extends CompletableFuture, B, R> extends Ab
                 @Nonnull Projection projection
         ) {
             super(mapName, r -> decodePointers(r.iterationPointers), r -> r.results);
-            this.predicate = predicate;
             this.projection = projection;
             this.clientMapProxy = (ClientMapProxy) hzInstance.getMap(mapName);
             this.serializationService = clientMapProxy.getContext().getSerializationService();
+            if (predicate instanceof PartitionPredicate) {
+                PartitionPredicate partitionPredicate = (PartitionPredicate) predicate;
+                Data partitionKey = serializationService.toData(partitionPredicate.getPartitionKey());
+                this.predicate = partitionPredicate.getTarget();
+                this.prunedPartitionId = clientMapProxy.getContext().getPartitionService().getPartitionId(partitionKey);
+            } else {
+                this.predicate = predicate;
+                this.prunedPartitionId = -1;
+            }
+        }
+
+        @Nonnull @Override
+        int[] prunePartitions(@Nonnull int[] partitionIds) {
+            return pruneToPartition(partitionIds, prunedPartitionId);
         }
 
         @Nonnull @Override
@@ -37,7 +37,18 @@ public final class UpdateMapWithEntryProcessorP<T, K, V, R> extends AsyncHazelca
         @Nonnull FunctionEx<? super T, ? extends K> toKeyFn,
         @Nonnull FunctionEx<? super T, ? extends EntryProcessor<K, V, R>> toEntryProcessorFn
     ) {
-        super(instance, maxParallelAsyncOps);
+        this(instance, maxParallelAsyncOps, false, name, toKeyFn, toEntryProcessorFn);
+    }
+
+    public UpdateMapWithEntryProcessorP(
+        @Nonnull HazelcastInstance instance,
+        int maxParallelAsyncOps,
+        boolean adaptiveConcurrency,
+        @Nonnull String name,
+        @Nonnull FunctionEx<? super T, ? extends K> toKeyFn,
+        @Nonnull FunctionEx<? super T, ? extends EntryProcessor<K, V, R>> toEntryProcessorFn
+    ) {
+        super(instance, maxParallelAsyncOps, adaptiveConcurrency);
         this.map = instance.getMap(name);
         this.toKeyFn = toKeyFn;
         this.toEntryProcessorFn = toEntryProcessorFn;
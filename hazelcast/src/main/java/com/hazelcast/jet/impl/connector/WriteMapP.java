@@ -62,7 +62,7 @@ public final class WriteMapP<T, K, V> extends AsyncHazelcastWriterP {
             @Nonnull FunctionEx<? super T, ? extends K> toKeyFn,
             @Nonnull FunctionEx<? super T, ? extends V> toValueFn
     ) {
-        super(instance, maxParallelAsyncOps);
+        super(instance, maxParallelAsyncOps, true);
         this.mapName = mapName;
         this.serializationService = serializationService;
         this.toKeyFn = toKeyFn;
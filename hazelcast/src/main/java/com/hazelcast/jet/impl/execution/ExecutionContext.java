@@ -101,6 +101,7 @@ public class ExecutionContext implements DynamicMetricsProvider {
 
     private List<ProcessorSupplier> procSuppliers = emptyList();
     private List<Tasklet> tasklets = emptyList();
+    private List<DynamicMetricsProvider> edgeMetricsProviders = emptyList();
 
     // future which is completed only after all tasklets are completed and contains execution result
     private volatile CompletableFuture<Void> executionFuture;
@@ -191,6 +192,7 @@ public class ExecutionContext implements DynamicMetricsProvider {
         this.senderMap = unmodifiableMap(senderMapTmp);
 
         tasklets = plan.getTasklets();
+        edgeMetricsProviders = plan.getEdgeMetricsProviders();
         return this;
     }
 
@@ -397,6 +399,9 @@ public class ExecutionContext implements DynamicMetricsProvider {
         for (Tasklet tasklet : tasklets) {
             tasklet.provideDynamicMetrics(descriptor.copy(), context);
         }
+        for (DynamicMetricsProvider edgeMetricsProvider : edgeMetricsProviders) {
+            edgeMetricsProvider.provideDynamicMetrics(descriptor.copy(), context);
+        }
     }
 
     public void setCompletionTime() {
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+/**
+ * A processor that can save only the part of its state changed since the
+ * last full snapshot. Such snapshots are taken when {@link
+ * ClusterProperty#JET_INCREMENTAL_SNAPSHOT_MAX_COUNT} is positive.
+ * <p>
+ * The state saved to an incremental snapshot must contain all keys changed
+ * since the last successful full snapshot, that is since the last {@code
+ * saveToSnapshot(false)} call followed by {@code snapshotCommitFinish(true)}.
+ * A key removed from the state must be saved with {@link
+ * SnapshotTombstone#INSTANCE} as its value. When {@code true} is returned
+ * from {@code saveToSnapshot(true)}, the vertex is restored from the full
+ * snapshot and this delta, therefore the processor must save a delta even if
+ * it's completing and its state was flushed.
+ * <p>
+ * When restoring, the processor receives the entries of the full snapshot
+ * first and the entries of the incremental snapshot after them. An entry
+ * from the incremental snapshot replaces the entry with the same key and a
+ * tombstone removes it.
+ */
+public interface IncrementalSnapshotProcessor extends Processor {
+
+    /**
+     * Saves the state to a regular (not exported) snapshot. It's called
+     * instead of {@link #saveToSnapshot()}, which is only used for exported
+     * snapshots, and has the same contract.
+     *
+     * @param incremental if true, save only the changed state, otherwise
+     *      save the full state
+     * @return true if this step is done, false otherwise
+     */
+    boolean saveToSnapshot(boolean incremental);
+}
@@ -65,6 +65,7 @@ import static com.hazelcast.jet.core.metrics.MetricNames.LAST_FORWARDED_WM_LATEN
 import static com.hazelcast.jet.core.metrics.MetricNames.RECEIVED_BATCHES;
 import static com.hazelcast.jet.core.metrics.MetricNames.RECEIVED_COUNT;
 import static com.hazelcast.jet.core.metrics.MetricNames.TOP_OBSERVED_WM;
+import static com.hazelcast.jet.impl.MasterJobContext.isSnapshotRestorePriority;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
 import static com.hazelcast.jet.impl.execution.ProcessorState.CLOSE;
 import static com.hazelcast.jet.impl.execution.ProcessorState.COMPLETE;
@@ -120,6 +121,7 @@ public class ProcessorTasklet implements Tasklet {
 
     private Processor processor;
     private int numActiveOrdinals; // counter for remaining active ordinals
+    private int numActiveRestoreInstreams; // counter for remaining snapshot restore instreams
     private CircularListCursor<InboundEdgeStream> instreamCursor;
     private InboundEdgeStream currInstream;
     private ProcessorState state;
@@ -169,6 +171,9 @@ public class ProcessorTasklet implements Tasklet {
         this.serializationService = serializationService;
         this.processor = processor;
         this.numActiveOrdinals = instreams.size();
+        this.numActiveRestoreInstreams = (int) instreams.stream()
+                .filter(instream -> isSnapshotRestorePriority(instream.priority()))
+                .count();
         this.instreams = instreams;
         this.instreamGroupQueue = new ArrayDeque<>(instreams.stream()
                 .collect(groupingBy(InboundEdgeStream::priority, TreeMap::new,
@@ -307,7 +312,7 @@ public class ProcessorTasklet implements Tasklet {
 
             case COMPLETE_EDGE:
                 if (isSnapshotInbox()
-                        ? doWithClassLoader(context.classLoader(), () -> processor.finishSnapshotRestore())
+                        ? doWithClassLoader(context.classLoader(), this::completeRestoreInstream)
                         : doWithClassLoader(context.classLoader(), () -> processor.completeEdge(currInstream.ordinal()))) {
                     assert !outbox.hasUnfinishedItem() || !isSnapshotInbox() :
                             "outbox has an unfinished item after successful finishSnapshotRestore()";
@@ -317,7 +322,7 @@ public class ProcessorTasklet implements Tasklet {
                 return;
 
             case SAVE_SNAPSHOT:
-                if (doWithClassLoader(context.classLoader(), () -> processor.saveToSnapshot())) {
+                if (doWithClassLoader(context.classLoader(), this::saveToSnapshot)) {
                     progTracker.madeProgress();
                     state = ssContext.isExportOnly() ? EMIT_BARRIER : SNAPSHOT_COMMIT_PREPARE;
                     stateMachineStep(); // recursion
@@ -423,6 +428,31 @@ public class ProcessorTasklet implements Tasklet {
         }
     }
 
+    private boolean saveToSnapshot() {
+        if (!(processor instanceof IncrementalSnapshotProcessor) || ssContext.isExport()) {
+            return processor.saveToSnapshot();
+        }
+        boolean incremental = ssContext.isIncremental();
+        boolean done = ((IncrementalSnapshotProcessor) processor).saveToSnapshot(incremental);
+        if (done && incremental) {
+            ssContext.incrementalSnapshotSaved(context.vertexName());
+        }
+        return done;
+    }
+
+    /**
+     * The entries of an incremental snapshot are restored through a separate
+     * instream after the full snapshot's instream is done. The restore is
+     * finished after the last of them.
+     */
+    private boolean completeRestoreInstream() {
+        if (numActiveRestoreInstreams > 1) {
+            numActiveRestoreInstreams--;
+            return true;
+        }
+        return processor.finishSnapshotRestore();
+    }
+
     private void processInbox() {
         if (ssContext.activeSnapshotIdPhase2() == pendingSnapshotId2) {
             state = SNAPSHOT_COMMIT_FINISH__PROCESS;
@@ -603,7 +633,7 @@ public class ProcessorTasklet implements Tasklet {
      * Returns, if the inbox we are currently on is the snapshot restoring inbox.
      */
     private boolean isSnapshotInbox() {
-        return currInstream != null && currInstream.priority() == Integer.MIN_VALUE;
+        return currInstream != null && isSnapshotRestorePriority(currInstream.priority());
     }
 
     private long lastForwardedWmLatency() {
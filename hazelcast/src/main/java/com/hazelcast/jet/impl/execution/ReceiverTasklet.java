@@ -78,12 +78,26 @@ public class ReceiverTasklet implements Tasklet {
      */
     static final int INITIAL_RECEIVE_WINDOW_COMPRESSED = 800;
 
+    /**
+     * The weight of a new round-trip time sample in the smoothed round-trip
+     * time, as in TCP's SRTT.
+     */
+    private static final double RTT_SAMPLE_WEIGHT = 0.125;
+
+    /**
+     * Round-trip time probes taking longer than this many flow-control
+     * periods are discarded: the sender had nothing to send when it got the
+     * new limit, so they measure its idle time, not the round trip.
+     */
+    private static final int MAX_RTT_FLOW_CONTROL_PERIODS = 4;
+
     /**
      * The Receive Window converges towards the amount of data processed per
      * flow-control period multiplied by this number.
      */
     private final int rwinMultiplier;
     private final double flowControlPeriodNs;
+    private final long maxRttNanos;
     private final ILogger logger;
 
     /* Used for metrics */
@@ -118,6 +132,17 @@ public class ReceiverTasklet implements Tasklet {
     private int receiveWindowCompressed;
     private int prevAckedSeqCompressed;
     private long prevTimestamp;
+    private int prevSendSeqLimitCompressed;
+
+    // Round-trip time measurement. The task scheduler starts a probe when it
+    // raises the limit for a sender that used up the previous one, that is
+    // for a sender with a backlog. The tasklet completes it when it receives
+    // data sent after that. The samples are smoothed, the ones longer than
+    // maxRttNanos are discarded, so rttNanos never exceeds it.
+    private volatile long receivedSeq;
+    private volatile long rttProbeSeq;
+    private volatile long rttProbeStartNanos;
+    private volatile long rttNanos;
 
     //                 END FLOW-CONTROL STATE
 
@@ -131,6 +156,7 @@ public class ReceiverTasklet implements Tasklet {
         this.serializationService = serializationService;
         this.rwinMultiplier = rwinMultiplier;
         this.flowControlPeriodNs = (double) MILLISECONDS.toNanos(flowControlPeriodMs);
+        this.maxRttNanos = MAX_RTT_FLOW_CONTROL_PERIODS * MILLISECONDS.toNanos(flowControlPeriodMs);
         this.sourceAddressString = sourceAddress.toString();
         this.ordinalString = "" + ordinal;
         this.destinationVertexName = destinationVertexName;
@@ -198,10 +224,12 @@ public class ReceiverTasklet implements Tasklet {
      *         {@code seqDelta} = amount of data processed by the receiver between the calls,
      *         measured in compressed seq units (see {@link #COMPRESSED_SEQ_UNIT_LOG2})
      *     </li><li>
-     *         {@code seqsPerAckPeriod = (seqDelta / timeDelta) * }
+     *         {@code seqsPerAckPeriod = (seqDelta / timeDelta) * (}
      *         {@link InstanceConfig#setFlowControlPeriodMs(int)
-     *         flowControlPeriodMs}, projected amount of data processed by the receiver
-     *         in one standard flow control period (called "ack period" for short)
+     *         flowControlPeriodMs} {@code + rtt)}, projected amount of data processed
+     *         by the receiver in one standard flow control period (called "ack period"
+     *         for short) plus the time it takes the sender to react to the new limit.
+     *         The {@code rtt} is the smoothed measured round-trip time, 0 until measured
      *     </li></ol>
      * </li><li>
      *     Define the <emph>target receive window</emph> as {@code 3 * seqsPerAckPeriod}.
@@ -232,7 +260,8 @@ public class ReceiverTasklet implements Tasklet {
         prevAckedSeqCompressed = ackedSeqCompressed;
 
         if (hadPrevStats) {
-            final double ackedSeqsPerAckPeriod = flowControlPeriodNs * ackedSeqCompressedDelta / ackTimeDelta;
+            final double ackedSeqsPerAckPeriod =
+                    (flowControlPeriodNs + rttNanos) * ackedSeqCompressedDelta / ackTimeDelta;
             final int targetRwin = rwinMultiplier * (int) ceil(ackedSeqsPerAckPeriod);
             int rwinDiff = targetRwin - receiveWindowCompressed;
             int numWaitingInInbox = this.numWaitingInInbox;
@@ -248,7 +277,50 @@ public class ReceiverTasklet implements Tasklet {
                 logFinest(logger, "receiveWindowCompressed changed by %d to %d", rwinDiff, receiveWindowCompressed);
             }
         }
-        return ackedSeqCompressed + receiveWindowCompressed;
+        int sendSeqLimitCompressed = ackedSeqCompressed + receiveWindowCompressed;
+        startRttProbe(timestampNow, sendSeqLimitCompressed);
+        prevSendSeqLimitCompressed = sendSeqLimitCompressed;
+        return sendSeqLimitCompressed;
+    }
+
+    /**
+     * If the sender received the whole previous limit and the new limit is
+     * higher, the sender is waiting for it. The data it sends after it
+     * receives the new limit will arrive one round trip later, unless the
+     * sender ran out of data, then the probe is abandoned.
+     */
+    private void startRttProbe(long timestampNow, int sendSeqLimitCompressed) {
+        long probeStart = rttProbeStartNanos;
+        if (probeStart != 0 && timestampNow - probeStart > maxRttNanos) {
+            rttProbeStartNanos = 0;
+            probeStart = 0;
+        }
+        long receivedSeq = this.receivedSeq;
+        if (probeStart == 0
+                && receivedSeq > 0
+                && compressSeq(receivedSeq) - prevSendSeqLimitCompressed >= 0
+                && sendSeqLimitCompressed - prevSendSeqLimitCompressed > 0) {
+            rttProbeSeq = receivedSeq;
+            rttProbeStartNanos = timestampNow;
+        }
+    }
+
+    // Only one thread writes to receivedSeq and rttNanos
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    void itemsReceived(long itemsWeight, long timestampNow) {
+        receivedSeq += itemsWeight;
+        long probeStart = rttProbeStartNanos;
+        if (probeStart != 0 && receivedSeq > rttProbeSeq) {
+            rttProbeStartNanos = 0;
+            long sample = timestampNow - probeStart;
+            if (sample > maxRttNanos) {
+                // the sender was idle
+                return;
+            }
+            long rtt = rttNanos;
+            rttNanos = rtt == 0 ? sample : rtt + (long) (RTT_SAMPLE_WEIGHT * (sample - rtt));
+            logFinest(logger, "rtt sample: %dµs, smoothed rtt: %dµs", sample / 1000, rttNanos / 1000);
+        }
     }
 
     // Only one thread writes to ackedSeq
@@ -264,6 +336,20 @@ public class ReceiverTasklet implements Tasklet {
         this.numWaitingInInbox = value;
     }
 
+    /**
+     * To be called only from testing code.
+     */
+    void setRttNanos(long value) {
+        this.rttNanos = value;
+    }
+
+    /**
+     * To be called only from testing code.
+     */
+    long getRttNanos() {
+        return rttNanos;
+    }
+
     @Override
     public String toString() {
         return "ReceiverTasklet";
@@ -290,6 +376,7 @@ public class ReceiverTasklet implements Tasklet {
         try {
             long totalBytes = 0;
             long totalItems = 0;
+            long totalWeight = 0;
             for (byte[] payload; (payload = incoming.poll()) != null; ) {
                 BufferObjectDataInput input = serializationService.createObjectDataInput(payload, PACKET_HEADER_SIZE);
                 final int itemCount = input.readInt();
@@ -297,13 +384,18 @@ public class ReceiverTasklet implements Tasklet {
                     final int mark = input.position();
                     final Object item = input.readObject();
                     final int itemSize = input.position() - mark;
-                    inbox.add(new ObjWithPtionIdAndSize(item, input.readInt(), itemSize));
+                    ObjWithPtionIdAndSize o = new ObjWithPtionIdAndSize(item, input.readInt(), itemSize);
+                    inbox.add(o);
+                    totalWeight += o.estimatedMemoryFootprint;
                 }
                 totalItems += itemCount;
                 totalBytes += input.position();
                 input.close();
                 tracker.madeProgress();
             }
+            if (totalWeight > 0) {
+                itemsReceived(totalWeight, System.nanoTime());
+            }
             bytesInCounter.inc(totalBytes);
             itemsInCounter.inc(totalItems);
         } catch (IOException e) {
@@ -48,6 +48,7 @@ import static com.hazelcast.jet.impl.execution.ReceiverTasklet.compressSeq;
 import static com.hazelcast.jet.impl.execution.ReceiverTasklet.estimatedMemoryFootprint;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_DISTRIBUTED_EDGE_MAX_LINGER_MICROSECONDS;
 
 public class SenderTasklet implements Tasklet {
 
@@ -60,6 +61,7 @@ public class SenderTasklet implements Tasklet {
     private final BufferObjectDataOutput outputBuffer;
     private final int bufPosPastHeader;
     private final int packetSizeLimit;
+    private final long maxLingerNanos;
 
     /* Used for metrics */
     private final String destinationAddressString;
@@ -76,6 +78,11 @@ public class SenderTasklet implements Tasklet {
     // read and written by Jet thread
     private long sentSeq;
 
+    // the number of items in the output buffer not yet sent
+    private int writtenCount;
+    private long firstItemWrittenNanos;
+    private boolean doneItemWritten;
+
     // Written by HZ networking thread, read by Jet thread
     private volatile int sendSeqLimitCompressed;
     private final Predicate<Object> addToInboxFunction = inbox::add;
@@ -94,6 +101,7 @@ public class SenderTasklet implements Tasklet {
         this.sourceVertexName = sourceVertexName;
         this.sourceOrdinalString = "" + sourceOrdinal;
         this.packetSizeLimit = packetSizeLimit;
+        this.maxLingerNanos = nodeEngine.getProperties().getNanos(JET_DISTRIBUTED_EDGE_MAX_LINGER_MICROSECONDS);
         // we use Connection directly because we rely on packets not being transparently skipped or reordered
         this.connection = connection;
         this.outputBuffer = serializationService.createObjectDataOutput(BUFFER_SIZE);
@@ -111,6 +119,12 @@ public class SenderTasklet implements Tasklet {
         }
         if (tryFillOutputBuffer()) {
             progTracker.madeProgress();
+        }
+        if (writtenCount > 0 && shouldSend()) {
+            progTracker.madeProgress();
+            outputBuffer.writeInt(bufPosPastHeader, writtenCount);
+            bytesOutCounter.inc(outputBuffer.position());
+            writtenCount = 0;
             if (!connection.write(new Packet(outputBuffer.toByteArray()).setPacketType(Packet.Type.JET))) {
                 throw new RestartableException("Connection write failed in " + toString());
             }
@@ -118,6 +132,20 @@ public class SenderTasklet implements Tasklet {
         return progTracker.toProgressState();
     }
 
+    /**
+     * Tells whether to send the output buffer now. We wait for more items
+     * only if the inbox was drained and the packet isn't full, that is if the
+     * items aren't produced fast enough to fill the packet, and at most for
+     * {@link #maxLingerNanos}.
+     */
+    private boolean shouldSend() {
+        return maxLingerNanos == 0
+                || doneItemWritten
+                || !inbox.isEmpty()
+                || outputBuffer.position() >= packetSizeLimit
+                || System.nanoTime() - firstItemWrittenNanos >= maxLingerNanos;
+    }
+
     private void tryFillInbox() {
         if (!inbox.isEmpty()) {
             progTracker.notDone();
@@ -137,14 +165,16 @@ public class SenderTasklet implements Tasklet {
 
     private boolean tryFillOutputBuffer() {
         try {
-            // header size + slot for writtenCount
-            outputBuffer.position(bufPosPastHeader + Bits.INT_SIZE_IN_BYTES);
-            int writtenCount = 0;
+            if (writtenCount == 0) {
+                // header size + slot for writtenCount
+                outputBuffer.position(bufPosPastHeader + Bits.INT_SIZE_IN_BYTES);
+            }
+            int count = 0;
             for (Object item;
                  outputBuffer.position() < packetSizeLimit
                          && isWithinLimit(sentSeq, sendSeqLimitCompressed)
                          && (item = inbox.poll()) != null;
-                 writtenCount++
+                 count++
             ) {
                 ObjectWithPartitionId itemWithPId = item instanceof ObjectWithPartitionId ?
                         (ObjectWithPartitionId) item : new ObjectWithPartitionId(item, -1);
@@ -152,11 +182,14 @@ public class SenderTasklet implements Tasklet {
                 outputBuffer.writeObject(itemWithPId.getItem());
                 sentSeq += estimatedMemoryFootprint(outputBuffer.position() - mark);
                 outputBuffer.writeInt(itemWithPId.getPartitionId());
+                doneItemWritten |= itemWithPId.getItem() == DONE_ITEM;
             }
-            outputBuffer.writeInt(bufPosPastHeader, writtenCount);
-            bytesOutCounter.inc(outputBuffer.position());
-            itemsOutCounter.inc(writtenCount);
-            return writtenCount > 0;
+            if (count > 0 && writtenCount == 0 && maxLingerNanos > 0) {
+                firstItemWrittenNanos = System.nanoTime();
+            }
+            writtenCount += count;
+            itemsOutCounter.inc(count);
+            return count > 0;
         } catch (IOException e) {
             throw rethrow(e);
         }
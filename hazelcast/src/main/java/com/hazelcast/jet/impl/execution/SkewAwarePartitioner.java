@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.jet.core.DefaultPartitionStrategy;
+import com.hazelcast.jet.core.Partitioner;
+import com.hazelcast.jet.core.metrics.MetricNames;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A partitioner for edges where the items with the same key don't need to
+ * go to the same processor for correctness, only for efficiency. It's used
+ * in front of the first stage of a two-stage aggregation: each processor
+ * accumulates the keys it receives and the second stage combines the
+ * partial results. Partitioning only reduces the number of partial results.
+ * <p>
+ * It samples the partitions computed by the delegate. If a partition gets
+ * a large share of the items, typically because of a hot key, its items
+ * are spread to random partitions instead, which spreads them over all the
+ * downstream processors.
+ * <p>
+ * The instance is shared by all upstream processors on a member, so it's
+ * thread-safe. The frequency counts aren't updated atomically as a whole,
+ * but inaccuracy only affects efficiency, never the results.
+ * <p>
+ * The skew is reported as the {@link MetricNames#SKEWED_PARTITIONS} and
+ * {@link MetricNames#SALTED_ITEMS} metrics of the edge. The partitioner can
+ * be turned off with {@link
+ * ClusterProperty#JET_SKEW_AWARE_PARTITIONING_ENABLED}, then it always uses
+ * the delegate's partition.
+ *
+ * @param <K> type of the partitioning key
+ */
+public final class SkewAwarePartitioner<K> implements Partitioner<K> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** One in this many items is sampled. */
+    private static final int SAMPLING_PERIOD = 64;
+
+    /** No partition is considered hot before we have this many samples. */
+    private static final long MIN_SAMPLES = 1024;
+
+    /** When we have this many samples, all counts are halved. */
+    private static final long DECAY_SAMPLES = 1 << 14;
+
+    /**
+     * A partition is hot if it has at least {@code 1 / HOT_SHARE_DIVISOR}
+     * of the samples.
+     */
+    private static final int HOT_SHARE_DIVISOR = 32;
+
+    private final Partitioner<? super K> delegate;
+
+    // allocated on first sample, the partition count isn't known before
+    private transient volatile AtomicLongArray counts;
+    private transient volatile boolean[] hot;
+    private transient volatile AtomicLong totalSamples;
+    private transient volatile AtomicInteger hotCount;
+    private transient volatile AtomicLong saltedItems;
+    private transient volatile boolean disabled;
+
+    public SkewAwarePartitioner(@Nonnull Partitioner<? super K> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void init(@Nonnull DefaultPartitionStrategy strat) {
+        delegate.init(strat);
+    }
+
+    /**
+     * Makes the partitioner always use the delegate's partition.
+     */
+    public void disable() {
+        disabled = true;
+    }
+
+    @Override
+    public int getPartition(@Nonnull K item, int partitionCount) {
+        int partition = delegate.getPartition(item, partitionCount);
+        if (disabled) {
+            return partition;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean isHot = isHot(partition, partitionCount);
+        if (random.nextInt(SAMPLING_PERIOD) == 0) {
+            isHot = sample(partition, partitionCount);
+        }
+        return isHot ? random.nextInt(partitionCount) : partition;
+    }
+
+    private boolean isHot(int partition, int partitionCount) {
+        boolean[] hot = this.hot;
+        return hot != null && hot.length == partitionCount && hot[partition];
+    }
+
+    private boolean sample(int partition, int partitionCount) {
+        AtomicLongArray counts = countsFor(partitionCount);
+        long count = counts.incrementAndGet(partition);
+        long total = totalSamples.incrementAndGet();
+        if (total == DECAY_SAMPLES) {
+            decay(counts, partitionCount);
+            count = counts.get(partition);
+            total = totalSamples.get();
+        }
+        boolean isHot = total >= MIN_SAMPLES && count * HOT_SHARE_DIVISOR >= total;
+        if (hot[partition] != isHot) {
+            hot[partition] = isHot;
+            hotCount.addAndGet(isHot ? 1 : -1);
+        }
+        if (isHot) {
+            saltedItems.addAndGet(SAMPLING_PERIOD);
+        }
+        return isHot;
+    }
+
+    private AtomicLongArray countsFor(int partitionCount) {
+        AtomicLongArray counts = this.counts;
+        if (counts == null) {
+            synchronized (this) {
+                counts = this.counts;
+                if (counts == null) {
+                    totalSamples = new AtomicLong();
+                    hotCount = new AtomicInteger();
+                    saltedItems = new AtomicLong();
+                    hot = new boolean[partitionCount];
+                    counts = new AtomicLongArray(partitionCount);
+                    this.counts = counts;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Halves all counts, so that the hot partitions follow the changes in the
+     * data. Called by one thread at a time, when the total reaches {@link
+     * #DECAY_SAMPLES}.
+     */
+    private void decay(AtomicLongArray counts, int partitionCount) {
+        long removed = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            long count = counts.get(i);
+            long half = count / 2;
+            counts.addAndGet(i, -half);
+            removed += half;
+        }
+        totalSamples.addAndGet(-removed);
+    }
+
+    @Probe(name = MetricNames.SKEWED_PARTITIONS)
+    private int skewedPartitions() {
+        AtomicInteger hotCount = this.hotCount;
+        return hotCount != null ? hotCount.get() : 0;
+    }
+
+    @Probe(name = MetricNames.SALTED_ITEMS)
+    private long saltedItems() {
+        AtomicLong saltedItems = this.saltedItems;
+        return saltedItems != null ? saltedItems.get() : 0;
+    }
+}
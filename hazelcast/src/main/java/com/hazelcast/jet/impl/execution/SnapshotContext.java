@@ -23,12 +23,16 @@ import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation.SnapshotPhase1Re
 import com.hazelcast.jet.impl.operation.SnapshotPhase2Operation;
 import com.hazelcast.logging.ILogger;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static java.util.Collections.newSetFromMap;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
 public class SnapshotContext {
@@ -128,6 +132,12 @@ public class SnapshotContext {
     private final AtomicLong totalBytes = new AtomicLong();
     private final AtomicLong totalKeys = new AtomicLong();
     private final AtomicLong totalChunks = new AtomicLong();
+
+    /**
+     * Names of the vertices whose processors saved only the changed state
+     * in the current incremental snapshot.
+     */
+    private final Set<String> incrementalVertices = newSetFromMap(new ConcurrentHashMap<>());
     private boolean isCancelled;
 
     public SnapshotContext(ILogger logger, String jobNameAndExecutionId, long activeSnapshotId,
@@ -173,6 +183,14 @@ public class SnapshotContext {
         return SnapshotFlags.isExportOnly(snapshotFlags);
     }
 
+    boolean isExport() {
+        return SnapshotFlags.isExport(snapshotFlags);
+    }
+
+    boolean isIncremental() {
+        return SnapshotFlags.isIncremental(snapshotFlags);
+    }
+
     boolean isLastPhase1Successful() {
         return lastPhase1Successful;
     }
@@ -358,6 +376,14 @@ public class SnapshotContext {
         }
     }
 
+    /**
+     * Called by a {@link ProcessorTasklet} after its processor saved only the
+     * changed state to the current incremental snapshot.
+     */
+    void incrementalSnapshotSaved(String vertexName) {
+        incrementalVertices.add(vertexName);
+    }
+
     /**
      * Called when current snapshot phase 2 is done in {@link
      * ProcessorTasklet}. All processors do it concurrently.
@@ -391,14 +417,15 @@ public class SnapshotContext {
             assert phase1Future == null : "phase1Future=" + phase1Future;
             return;
         }
-        phase1Future.complete(
-                new SnapshotPhase1Result(totalBytes.get(), totalKeys.get(), totalChunks.get(), snapshotError.get()));
+        phase1Future.complete(new SnapshotPhase1Result(totalBytes.get(), totalKeys.get(), totalChunks.get(),
+                snapshotError.get(), new HashSet<>(incrementalVertices)));
 
         phase1Future = null;
         snapshotError.set(null);
         totalBytes.set(0);
         totalKeys.set(0);
         totalChunks.set(0);
+        incrementalVertices.clear();
         currentMapName = null;
     }
 
@@ -60,6 +60,7 @@ import java.util.function.Consumer;
 
 import static com.hazelcast.internal.util.executor.ExecutorType.CACHED;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_COOPERATIVE_WORK_STEALING_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MAX_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MIN_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS;
@@ -72,6 +73,7 @@ import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.partitioningBy;
 import static java.util.stream.Collectors.toList;
@@ -80,6 +82,13 @@ public class TaskletExecutionService {
 
     public static final String TASKLET_INIT_CLOSE_EXECUTOR_NAME = "jet:tasklet_initClose";
 
+    /**
+     * The period over which the cooperative workers measure their load
+     * for work stealing. An idle worker attempts to steal at most once
+     * per period.
+     */
+    private static final long STEAL_WINDOW_NANOS = MILLISECONDS.toNanos(100);
+
     private final ExecutorService blockingTaskletExecutor = newCachedThreadPool(new BlockingTaskThreadFactory());
     private final ExecutionService hzExecutionService;
     private final CooperativeWorker[] cooperativeWorkers;
@@ -93,6 +102,7 @@ public class TaskletExecutionService {
     private final Object lock = new Object();
     private final IdleStrategy idlerCooperative;
     private final IdleStrategy idlerNonCooperative;
+    private final boolean workStealingEnabled;
 
     public TaskletExecutionService(NodeEngineImpl nodeEngine, int threadCount, HazelcastProperties properties) {
         hzExecutionService = nodeEngine.getExecutionService();
@@ -109,6 +119,7 @@ public class TaskletExecutionService {
         idlerNonCooperative = createIdler(
             properties, JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS, JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS
         );
+        workStealingEnabled = properties.getBoolean(JET_COOPERATIVE_WORK_STEALING_ENABLED);
 
         Arrays.setAll(cooperativeWorkers, i -> new CooperativeWorker());
         Arrays.setAll(cooperativeThreadPool, i -> new Thread(cooperativeWorkers[i],
@@ -326,13 +337,38 @@ public class TaskletExecutionService {
         private final CopyOnWriteArrayList<TaskletTracker> trackers;
         @Probe(name = "iterationCount")
         private final Counter iterationCount = SwCounter.newSwCounter();
+        @Probe(name = "stolenTaskletCount")
+        private final Counter stolenTaskletCount = SwCounter.newSwCounter();
 
         private final ProgressTracker progressTracker = new ProgressTracker();
         // prevent lambda allocation on each iteration
         private final Consumer<TaskletTracker> runTasklet = this::runTasklet;
+        private final Consumer<TaskletTracker> rollTaskletWindow = TaskletTracker::rollWindow;
 
         private final Semaphore newTaskletSemaphore = new Semaphore(0);
 
+        /**
+         * A worker that asked this worker to give it one of its tasklets.
+         * Set by the thief, handled by this worker between two iterations.
+         */
+        private final AtomicReference<CooperativeWorker> stealRequest = new AtomicReference<>();
+
+        /**
+         * Time spent in tasklet calls that made progress during the last
+         * completed window. Written by this worker, read by thieves.
+         */
+        private volatile long lastWindowBusyNanos;
+        private long windowBusyNanos;
+        private long windowStart = System.nanoTime();
+        private long lastStealAttempt = windowStart - STEAL_WINDOW_NANOS;
+
+        /**
+         * Set when this worker no longer runs its tasklets. Guarded by {@code
+         * this}, so that a donated tasklet is either seen by the final cleanup
+         * or not donated at all.
+         */
+        private boolean exited;
+
         private boolean finestLogEnabled;
         private Thread myThread;
         private MetricsImpl.Container userMetricsContextContainer;
@@ -355,14 +391,25 @@ public class TaskletExecutionService {
                 // garbage-free iteration -- relies on implementation in COWArrayList that doesn't use an Iterator
                 trackers.forEach(runTasklet);
                 iterationCount.inc();
+                if (workStealingEnabled) {
+                    balance();
+                }
                 if (progressTracker.isMadeProgress()) {
                     idleCount = 0;
                 } else {
+                    if (workStealingEnabled) {
+                        trySteal();
+                    }
                     if (trackers.isEmpty()) {
                         newTaskletSemaphore.drainPermits();
                         if (trackers.isEmpty() && !isShutdown) {
                             try {
-                                newTaskletSemaphore.acquire();
+                                if (workStealingEnabled) {
+                                    // wake up periodically to look for a busy peer
+                                    newTaskletSemaphore.tryAcquire(STEAL_WINDOW_NANOS, NANOSECONDS);
+                                } else {
+                                    newTaskletSemaphore.acquire();
+                                }
                             } catch (InterruptedException e) {
                                 logger.severe("Cooperative worker interrupted", e);
                                 return;
@@ -373,19 +420,111 @@ public class TaskletExecutionService {
                     }
                 }
             }
+            synchronized (this) {
+                exited = true;
+            }
             trackers.forEach(t -> t.executionTracker.taskletDone());
             trackers.clear();
         }
 
+        /**
+         * Rolls the load measurement window, if it's over, and handles a
+         * pending steal request. Called only between two iterations, when no
+         * tasklet of this worker is running.
+         */
+        private void balance() {
+            long now = System.nanoTime();
+            if (now - windowStart >= STEAL_WINDOW_NANOS) {
+                lastWindowBusyNanos = windowBusyNanos;
+                windowBusyNanos = 0;
+                windowStart = now;
+                trackers.forEach(rollTaskletWindow);
+            }
+            CooperativeWorker thief = stealRequest.getAndSet(null);
+            if (thief != null) {
+                donate(thief);
+            }
+        }
+
+        /**
+         * Asks the busiest peer to give this worker a tasklet, if the peer is
+         * busier than this worker by at least half a window. The peer must
+         * have more than one tasklet, moving its only tasklet wouldn't help.
+         */
+        private void trySteal() {
+            long now = System.nanoTime();
+            if (now - lastStealAttempt < STEAL_WINDOW_NANOS) {
+                return;
+            }
+            lastStealAttempt = now;
+            CooperativeWorker victim = null;
+            long victimBusyNanos = lastWindowBusyNanos + STEAL_WINDOW_NANOS / 2;
+            for (CooperativeWorker worker : cooperativeWorkers) {
+                long busyNanos = worker.lastWindowBusyNanos;
+                if (worker != this && busyNanos >= victimBusyNanos && worker.trackers.size() > 1) {
+                    victim = worker;
+                    victimBusyNanos = busyNanos;
+                }
+            }
+            if (victim != null) {
+                victim.stealRequest.compareAndSet(null, this);
+            }
+        }
+
+        /**
+         * Moves to the thief the tasklet that best evens out the load of the
+         * two workers. A tasklet is moved only if it's busy for less than the
+         * load difference: then the move reduces the imbalance and the same
+         * tasklet won't be moved back.
+         */
+        private void donate(CooperativeWorker thief) {
+            if (trackers.size() < 2) {
+                return;
+            }
+            long diff = lastWindowBusyNanos - thief.lastWindowBusyNanos;
+            TaskletTracker candidate = null;
+            long candidateImbalance = diff;
+            for (TaskletTracker t : trackers) {
+                long imbalance = Math.abs(diff - 2 * t.lastWindowBusyNanos);
+                if (t.lastWindowBusyNanos > 0 && imbalance < candidateImbalance) {
+                    candidate = t;
+                    candidateImbalance = imbalance;
+                }
+            }
+            if (candidate == null) {
+                return;
+            }
+            // The tasklet isn't running now and this thread won't call it
+            // anymore. Adding it to the thief's COW list publishes the
+            // tasklet's state to the thief.
+            synchronized (thief) {
+                if (thief.exited) {
+                    return;
+                }
+                thief.trackers.add(candidate);
+            }
+            trackers.remove(candidate);
+            lastWindowBusyNanos -= candidate.lastWindowBusyNanos;
+            thief.stolenTaskletCount.inc();
+            logFinest(logger, "Tasklet %s moved to a less busy cooperative worker", candidate.tasklet);
+            thief.newTaskletSemaphore.release();
+            LockSupport.unpark(thief.myThread);
+        }
+
         private void runTasklet(TaskletTracker t) {
             long start = 0;
-            if (finestLogEnabled) {
+            if (finestLogEnabled || workStealingEnabled) {
                 start = System.nanoTime();
             }
             try {
                 myThread.setContextClassLoader(t.jobClassLoader);
                 userMetricsContextContainer.setContext(t.tasklet.getMetricsContext());
                 final ProgressState result = t.tasklet.call();
+                if (workStealingEnabled && result.isMadeProgress()) {
+                    long elapsed = System.nanoTime() - start;
+                    t.windowBusyNanos += elapsed;
+                    windowBusyNanos += elapsed;
+                }
                 if (result.isDone()) {
                     dismissTasklet(t);
                 }
@@ -427,12 +566,21 @@ public class TaskletExecutionService {
         final ExecutionTracker executionTracker;
         final ClassLoader jobClassLoader;
 
+        // time spent in calls that made progress, accessed only by the thread running the tasklet
+        long windowBusyNanos;
+        long lastWindowBusyNanos;
+
         TaskletTracker(Tasklet tasklet, ExecutionTracker executionTracker, ClassLoader jobClassLoader) {
             this.tasklet = tasklet;
             this.executionTracker = executionTracker;
             this.jobClassLoader = jobClassLoader;
         }
 
+        void rollWindow() {
+            lastWindowBusyNanos = windowBusyNanos;
+            windowBusyNanos = 0;
+        }
+
         @Override
         public String toString() {
             return "Tracking " + tasklet;
@@ -102,7 +102,7 @@ public class EdgeDef implements IdentifiedDataSerializable {
     }
 
     boolean isSnapshotRestoreEdge() {
-        return priority == MasterJobContext.SNAPSHOT_RESTORE_EDGE_PRIORITY;
+        return MasterJobContext.isSnapshotRestorePriority(priority);
     }
 
     boolean isLocal() {
@@ -18,6 +18,7 @@ package com.hazelcast.jet.impl.execution.init;
 
 import com.hazelcast.cluster.Address;
 import com.hazelcast.function.ComparatorEx;
+import com.hazelcast.internal.metrics.DynamicMetricsProvider;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -31,6 +32,7 @@ import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.Edge.RoutingPolicy;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.metrics.MetricTags;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.JobExecutionService;
 import com.hazelcast.jet.impl.execution.ConcurrentInboundEdgeStream;
@@ -42,6 +44,7 @@ import com.hazelcast.jet.impl.execution.OutboundEdgeStream;
 import com.hazelcast.jet.impl.execution.ProcessorTasklet;
 import com.hazelcast.jet.impl.execution.ReceiverTasklet;
 import com.hazelcast.jet.impl.execution.SenderTasklet;
+import com.hazelcast.jet.impl.execution.SkewAwarePartitioner;
 import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.execution.StoreSnapshotTasklet;
 import com.hazelcast.jet.impl.execution.Tasklet;
@@ -55,6 +58,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.Nonnull;
 import javax.security.auth.Subject;
@@ -116,6 +120,8 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
 
     private final transient List<Tasklet> tasklets = new ArrayList<>();
 
+    private final transient List<DynamicMetricsProvider> edgeMetricsProviders = new ArrayList<>();
+
     private final transient Map<Address, Connection> memberConnections = new HashMap<>();
 
     /** dest vertex id --> dest ordinal --> sender addr -> receiver tasklet */
@@ -278,6 +284,14 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
         return tasklets;
     }
 
+    /**
+     * Returns the providers of the metrics of the edges, as opposed to the
+     * metrics of their tasklets.
+     */
+    public List<DynamicMetricsProvider> getEdgeMetricsProviders() {
+        return edgeMetricsProviders;
+    }
+
     public JobConfig getJobConfig() {
         return jobConfig;
     }
@@ -370,6 +384,28 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                 .forEach(partitioner ->
                         partitioner.init(object -> partitionService.getPartitionId(jobSerializationService.toData(object)))
                 );
+        initSkewAwarePartitioners();
+    }
+
+    private void initSkewAwarePartitioners() {
+        boolean enabled = nodeEngine.getProperties().getBoolean(ClusterProperty.JET_SKEW_AWARE_PARTITIONING_ENABLED);
+        for (VertexDef vertex : vertices) {
+            for (EdgeDef edge : vertex.outboundEdges()) {
+                if (!(edge.partitioner() instanceof SkewAwarePartitioner)) {
+                    continue;
+                }
+                SkewAwarePartitioner<?> partitioner = (SkewAwarePartitioner<?>) edge.partitioner();
+                if (!enabled) {
+                    partitioner.disable();
+                    continue;
+                }
+                String vertexName = vertex.name();
+                String ordinalString = String.valueOf(edge.sourceOrdinal());
+                edgeMetricsProviders.add((descriptor, context) ->
+                        context.collect(descriptor.withTag(MetricTags.VERTEX, vertexName)
+                                                  .withTag(MetricTags.ORDINAL, ordinalString), partitioner));
+            }
+        }
     }
 
     private static Collection<? extends Processor> createProcessors(VertexDef vertexDef, int parallelism) {
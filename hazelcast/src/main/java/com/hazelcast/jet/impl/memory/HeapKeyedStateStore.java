@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.jet.Traverser;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link KeyedStateStore} keeping the accumulators in a {@code HashMap}.
+ */
+public class HeapKeyedStateStore<K, A> implements KeyedStateStore<K, A> {
+
+    private final Map<K, A> keyToAcc = new HashMap<>();
+    private final Supplier<? extends A> createFn;
+
+    public HeapKeyedStateStore(@Nonnull Supplier<? extends A> createFn) {
+        this.createFn = createFn;
+    }
+
+    @Override
+    public void accumulate(K key, @Nonnull Consumer<? super A> accumulateFn) {
+        accumulateFn.accept(getOrCreate(key));
+    }
+
+    /**
+     * Returns the accumulator of the given key, creating it first if the
+     * key doesn't have one. Unlike {@link #accumulate}, the caller can
+     * update the accumulator directly, without allocating a function for
+     * each item.
+     */
+    public A getOrCreate(K key) {
+        A acc = keyToAcc.get(key);
+        if (acc == null) {
+            acc = createFn.get();
+            keyToAcc.put(key, acc);
+        }
+        return acc;
+    }
+
+    @Override
+    public long size() {
+        return keyToAcc.size();
+    }
+
+    @Nonnull @Override
+    public Traverser<Entry<K, A>> drain() {
+        Iterator<Entry<K, A>> iter = keyToAcc.entrySet().iterator();
+        return () -> {
+            if (!iter.hasNext()) {
+                return null;
+            }
+            try {
+                return iter.next();
+            } finally {
+                iter.remove();
+            }
+        };
+    }
+
+    @Override
+    public void dispose() {
+        keyToAcc.clear();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.jet.Traverser;
+
+import javax.annotation.Nonnull;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+/**
+ * The keyed state of a processor: a mutable accumulator for each key.
+ * Use {@link KeyedStateStores#create} to get the store configured for
+ * the processor.
+ *
+ * @param <K> type of the key
+ * @param <A> type of the accumulator
+ */
+public interface KeyedStateStore<K, A> {
+
+    /**
+     * Applies the given function to the accumulator of the given key,
+     * creating the accumulator first if the key doesn't have one. The
+     * function may mutate the accumulator, but must not keep a reference
+     * to it: stores that keep the accumulators serialized only retain the
+     * changes done during the call.
+     */
+    void accumulate(K key, @Nonnull Consumer<? super A> accumulateFn);
+
+    /**
+     * Returns the number of keys in the store.
+     */
+    long size();
+
+    /**
+     * Returns a traverser over the entries of the store that removes each
+     * entry it returns. The store must not be updated until the traverser
+     * is exhausted.
+     */
+    @Nonnull
+    Traverser<Entry<K, A>> drain();
+
+    /**
+     * Releases the memory held by the store. The store must not be used
+     * afterwards.
+     */
+    void dispose();
+}
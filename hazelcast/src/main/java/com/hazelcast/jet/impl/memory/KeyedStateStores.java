@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nonnull;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+
+/**
+ * Creates the {@link KeyedStateStore}s of processors.
+ */
+public final class KeyedStateStores {
+
+    private KeyedStateStores() {
+    }
+
+    /**
+     * Returns the keyed state store for the processor with the given
+     * context. The store keeps the accumulators off-heap if {@link
+     * ClusterProperty#JET_OFF_HEAP_KEYED_STATE_ENABLED} is set and native
+     * memory can be accessed, and on-heap otherwise.
+     *
+     * @param createFn creates the accumulator of a new key
+     */
+    @Nonnull
+    public static <K, A> KeyedStateStore<K, A> create(@Nonnull Processor.Context context,
+                                                      @Nonnull Supplier<? extends A> createFn) {
+        if (context instanceof ProcCtx && UNSAFE_AVAILABLE && MEM_AVAILABLE) {
+            ProcCtx ctx = (ProcCtx) context;
+            if (ctx.nodeEngine().getProperties().getBoolean(ClusterProperty.JET_OFF_HEAP_KEYED_STATE_ENABLED)) {
+                return new OffHeapKeyedStateStore<>(ctx.serializationService(), createFn);
+            }
+        }
+        return new HeapKeyedStateStore<>(createFn);
+    }
+}
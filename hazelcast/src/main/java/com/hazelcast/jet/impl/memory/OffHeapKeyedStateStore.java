@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.hashslot.HashSlotArray16byteKey;
+import com.hazelcast.internal.util.hashslot.HashSlotCursor16byteKey;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray16byteKeyImpl;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_x64_64;
+import static com.hazelcast.jet.Util.entry;
+import static java.util.Arrays.asList;
+
+/**
+ * {@link KeyedStateStore} keeping the keys and the accumulators serialized
+ * in native memory.
+ * <p>
+ * The store is a hash slot array. The first part of a slot's key is the
+ * hash of the serialized key, the second part is a probe counter that is
+ * incremented to find another slot on a hash collision. The slot's value
+ * holds the addresses of two blocks, one with the serialized key and one
+ * with the serialized accumulator. Each block starts with the length of
+ * the serialized form, followed by its bytes.
+ * <p>
+ * The keys are compared by their serialized bytes, not by {@code
+ * equals()}. Therefore the store only accepts keys whose serialized form
+ * is equal exactly when the keys are equal: {@code null}, strings, boxed
+ * primitives, UUIDs, enums and {@link Tuple2}s and {@link Tuple3}s of
+ * them. Other keys fail with a {@link JetException}.
+ */
+public class OffHeapKeyedStateStore<K, A> implements KeyedStateStore<K, A> {
+
+    private static final int SLOT_VALUE_LENGTH = 2 * LONG_SIZE_IN_BYTES;
+    private static final int ACC_ADDRESS_OFFSET = LONG_SIZE_IN_BYTES;
+    private static final int BLOCK_HEADER_SIZE = INT_SIZE_IN_BYTES;
+    private static final byte[] NULL_BYTES = new byte[0];
+    private static final Set<Class<?>> BYTE_COMPARABLE_KEY_CLASSES = new HashSet<>(asList(
+            String.class, Boolean.class, Byte.class, Character.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, UUID.class));
+
+    private final UnsafeMemoryManager memoryManager = new UnsafeMemoryManager();
+    private final MemoryAccessor mem = memoryManager.getAccessor();
+    private final MemoryAllocator malloc = memoryManager.getAllocator();
+    private final HashSlotArray16byteKey hsa;
+    private final InternalSerializationService serializationService;
+    private final Supplier<? extends A> createFn;
+    private boolean disposed;
+    // the class of the last checked key, if all keys of the class are accepted
+    private Class<?> checkedKeyClass;
+
+    public OffHeapKeyedStateStore(@Nonnull InternalSerializationService serializationService,
+                                  @Nonnull Supplier<? extends A> createFn) {
+        this.serializationService = serializationService;
+        this.createFn = createFn;
+        // the key block address is never NULL_ADDRESS in an assigned slot
+        this.hsa = new HashSlotArray16byteKeyImpl(NULL_ADDRESS, memoryManager, SLOT_VALUE_LENGTH);
+        hsa.gotoNew();
+    }
+
+    @Override
+    public void accumulate(K key, @Nonnull Consumer<? super A> accumulateFn) {
+        checkKey(key);
+        long slotAddress = ensureSlot(toBytes(key));
+        long accAddress = mem.getLong(slotAddress + ACC_ADDRESS_OFFSET);
+        A acc = accAddress == NULL_ADDRESS ? createFn.get() : readBlock(accAddress);
+        accumulateFn.accept(acc);
+        // no slot is assigned since ensureSlot(), so slotAddress is still valid
+        mem.putLong(slotAddress + ACC_ADDRESS_OFFSET, writeBlock(accAddress, toBytes(acc)));
+    }
+
+    @Override
+    public long size() {
+        return hsa.size();
+    }
+
+    @Nonnull @Override
+    public Traverser<Entry<K, A>> drain() {
+        return new DrainingTraverser();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        for (HashSlotCursor16byteKey cursor = hsa.cursor(); cursor.advance(); ) {
+            freeBlock(mem.getLong(cursor.valueAddress()));
+            freeBlock(mem.getLong(cursor.valueAddress() + ACC_ADDRESS_OFFSET));
+        }
+        hsa.dispose();
+        memoryManager.dispose();
+    }
+
+    /**
+     * Returns the number of bytes of native memory used by the store.
+     */
+    public long getUsedMemory() {
+        return memoryManager.getUsedMemory();
+    }
+
+    /**
+     * Returns the address of the value of the slot holding the given key,
+     * assigning a new slot if there is none.
+     */
+    private long ensureSlot(byte[] keyBytes) {
+        long hash = MurmurHash3_x64_64(keyBytes, 0, keyBytes.length);
+        for (long probe = 0; ; probe++) {
+            SlotAssignmentResult slot = hsa.ensure(hash, probe);
+            long slotAddress = slot.address();
+            if (slot.isNew()) {
+                mem.putLong(slotAddress, writeBlock(NULL_ADDRESS, keyBytes));
+                mem.putLong(slotAddress + ACC_ADDRESS_OFFSET, NULL_ADDRESS);
+                return slotAddress;
+            }
+            if (blockEquals(mem.getLong(slotAddress), keyBytes)) {
+                return slotAddress;
+            }
+        }
+    }
+
+    private void checkKey(K key) {
+        Class<?> keyClass = key == null ? null : key.getClass();
+        if (keyClass == checkedKeyClass) {
+            return;
+        }
+        if (!isByteComparable(key)) {
+            throw new JetException("Key of type " + keyClass.getName() + " can't be stored off-heap, the keys "
+                    + "are compared by their serialized form. Use a key of a supported type or disable "
+                    + ClusterProperty.JET_OFF_HEAP_KEYED_STATE_ENABLED.getName());
+        }
+        if (!(key instanceof Tuple2 || key instanceof Tuple3)) {
+            // the elements of the tuples are checked for each key
+            checkedKeyClass = keyClass;
+        }
+    }
+
+    private static boolean isByteComparable(Object key) {
+        if (key == null || BYTE_COMPARABLE_KEY_CLASSES.contains(key.getClass()) || key instanceof Enum) {
+            return true;
+        }
+        if (key instanceof Tuple2) {
+            Tuple2<?, ?> t = (Tuple2<?, ?>) key;
+            return isByteComparable(t.f0()) && isByteComparable(t.f1());
+        }
+        if (key instanceof Tuple3) {
+            Tuple3<?, ?, ?> t = (Tuple3<?, ?, ?>) key;
+            return isByteComparable(t.f0()) && isByteComparable(t.f1()) && isByteComparable(t.f2());
+        }
+        return false;
+    }
+
+    private byte[] toBytes(Object object) {
+        Data data = serializationService.toData(object);
+        return data == null ? NULL_BYTES : data.toByteArray();
+    }
+
+    private <T> T readBlock(long address) {
+        int length = mem.getInt(address);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        mem.copyToByteArray(address + BLOCK_HEADER_SIZE, bytes, 0, length);
+        return serializationService.toObject(new HeapData(bytes));
+    }
+
+    /**
+     * Writes the given bytes to the block at the given address, resizing
+     * it as needed, or to a new block if the address is {@code
+     * NULL_ADDRESS}. Returns the address of the block.
+     */
+    private long writeBlock(long address, byte[] bytes) {
+        long size = BLOCK_HEADER_SIZE + bytes.length;
+        if (address == NULL_ADDRESS) {
+            address = malloc.allocate(size);
+        } else {
+            long currentSize = BLOCK_HEADER_SIZE + mem.getInt(address);
+            if (currentSize != size) {
+                address = malloc.reallocate(address, currentSize, size);
+            }
+        }
+        mem.putInt(address, bytes.length);
+        mem.copyFromByteArray(bytes, 0, address + BLOCK_HEADER_SIZE, bytes.length);
+        return address;
+    }
+
+    private void freeBlock(long address) {
+        if (address != NULL_ADDRESS) {
+            malloc.free(address, BLOCK_HEADER_SIZE + mem.getInt(address));
+        }
+    }
+
+    private final class DrainingTraverser implements Traverser<Entry<K, A>> {
+
+        private final HashSlotCursor16byteKey cursor = hsa.cursor();
+        private boolean exhausted;
+
+        @Override
+        public Entry<K, A> next() {
+            if (exhausted) {
+                return null;
+            }
+            if (!cursor.advance()) {
+                exhausted = true;
+                hsa.clear();
+                return null;
+            }
+            long slotAddress = cursor.valueAddress();
+            long keyAddress = mem.getLong(slotAddress);
+            long accAddress = mem.getLong(slotAddress + ACC_ADDRESS_OFFSET);
+            K key = readBlock(keyAddress);
+            A acc = accAddress == NULL_ADDRESS ? createFn.get() : readBlock(accAddress);
+            freeBlock(keyAddress);
+            freeBlock(accAddress);
+            // unassign the slot so that dispose() doesn't free its blocks again
+            mem.putLong(slotAddress, NULL_ADDRESS);
+            return entry(key, acc);
+        }
+    }
+
+    private boolean blockEquals(long address, byte[] bytes) {
+        if (mem.getInt(address) != bytes.length) {
+            return false;
+        }
+        long base = address + BLOCK_HEADER_SIZE;
+        for (int i = 0; i < bytes.length; i++) {
+            if (mem.getByte(base + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
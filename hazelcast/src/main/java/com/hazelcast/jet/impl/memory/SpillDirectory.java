@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.hazelcast.jet.Util.idToString;
+
+/**
+ * Creates the {@link SpillFile}s of a processor in the directory
+ * configured with {@link ClusterProperty#JET_SPILL_DIRECTORY}.
+ */
+public final class SpillDirectory {
+
+    private final Path directory;
+    private final String filePrefix;
+    private final InternalSerializationService serializationService;
+    private final ILogger logger;
+
+    private SpillDirectory(Path directory, String filePrefix,
+                           InternalSerializationService serializationService, ILogger logger) {
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.serializationService = serializationService;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the spill directory for the processor with the given
+     * context or {@code null} if spilling is not configured. Spilling is
+     * also not available to processors running outside of a member, such
+     * as with test contexts.
+     */
+    @Nullable
+    public static SpillDirectory from(@Nonnull Processor.Context context) {
+        if (!(context instanceof ProcCtx)) {
+            return null;
+        }
+        ProcCtx ctx = (ProcCtx) context;
+        String directory = ctx.nodeEngine().getProperties().getString(ClusterProperty.JET_SPILL_DIRECTORY);
+        if (directory == null) {
+            return null;
+        }
+        String filePrefix = "jet-" + idToString(context.jobId()) + '-' + context.globalProcessorIndex() + '-';
+        return new SpillDirectory(Paths.get(directory), filePrefix, ctx.serializationService(), context.logger());
+    }
+
+    /**
+     * Creates a new, empty spill file.
+     */
+    @Nonnull
+    public SpillFile newFile() throws IOException {
+        Files.createDirectories(directory);
+        Path path = Files.createTempFile(directory, filePrefix, ".spill");
+        if (logger.isFineEnabled()) {
+            logger.fine("Spilling processor state to " + path);
+        }
+        return new SpillFile(path, serializationService);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.Traverser;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
+
+/**
+ * A file to which a processor spills a run of items in their serialized
+ * form. Items are appended with {@link #write} and then read back once, in
+ * the order they were written, through the traverser returned by {@link
+ * #read}. The file is deleted once the traverser is exhausted.
+ */
+public final class SpillFile {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NULL_LENGTH = -1;
+
+    private final Path path;
+    private final InternalSerializationService serializationService;
+
+    private DataOutputStream out;
+    private DataInputStream in;
+    private long size;
+
+    SpillFile(@Nonnull Path path, @Nonnull InternalSerializationService serializationService) {
+        this.path = path;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Appends the given item to the file.
+     */
+    public void write(Object item) throws IOException {
+        if (in != null) {
+            throw new IllegalStateException("Spill file is already being read: " + path);
+        }
+        if (out == null) {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        }
+        Data data = serializationService.toData(item);
+        if (data == null) {
+            out.writeInt(NULL_LENGTH);
+        } else {
+            byte[] bytes = data.toByteArray();
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        size++;
+    }
+
+    /**
+     * Returns the number of items written to the file.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Finishes writing and returns a traverser over the written items, in
+     * the order they were written. The items might be {@code null} if
+     * {@code null}s were written, so the callers have to track the
+     * remaining count themselves using {@link #size()}. Exhausting the
+     * traverser deletes the file.
+     */
+    @Nonnull
+    public <T> Traverser<T> read() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+        if (size > 0) {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        }
+        return new Traverser<T>() {
+            private long remaining = size;
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    delete();
+                    return null;
+                }
+                remaining--;
+                try {
+                    int length = in.readInt();
+                    if (length == NULL_LENGTH) {
+                        return null;
+                    }
+                    byte[] bytes = new byte[length];
+                    in.readFully(bytes);
+                    return serializationService.toObject(new HeapData(bytes));
+                } catch (IOException e) {
+                    throw sneakyThrow(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Closes the file and deletes it from the disk.
+     */
+    public void delete() {
+        IOUtil.closeResource(out);
+        IOUtil.closeResource(in);
+        out = null;
+        in = null;
+        IOUtil.deleteQuietly(path.toFile());
+    }
+
+    @Override
+    public String toString() {
+        return "SpillFile{path=" + path + ", size=" + size + '}';
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+
+/**
+ * Memory manager allocating native memory with {@code Unsafe}. It keeps
+ * track of the memory it has handed out, but doesn't free it on {@link
+ * #dispose()}: the owners of the blocks have to free them.
+ * <p>
+ * Not thread-safe, each processor uses its own instance.
+ */
+public class UnsafeMemoryManager implements MemoryManager {
+
+    private final Allocator malloc = new Allocator();
+
+    private long usedMemory;
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    @Override
+    public void dispose() {
+        assert usedMemory == 0 : "Disposing memory manager with " + usedMemory + " bytes still allocated";
+    }
+
+    /**
+     * Returns the number of bytes currently allocated.
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            usedMemory += size;
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                throw new NativeOutOfMemoryError("Cannot reallocate " + currentSize + " bytes of native memory to "
+                        + newSize + " bytes", e);
+            }
+            if (newSize > currentSize) {
+                UNSAFE.setMemory(newAddress + currentSize, newSize - currentSize, (byte) 0);
+            }
+            usedMemory += newSize - currentSize;
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            UNSAFE.freeMemory(address);
+            usedMemory -= size;
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+}
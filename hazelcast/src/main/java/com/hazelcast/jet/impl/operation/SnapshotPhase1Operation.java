@@ -24,11 +24,14 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.jet.Util.idToString;
 import static com.hazelcast.jet.impl.util.LoggingUtil.logFine;
+import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
@@ -135,15 +138,23 @@ public class SnapshotPhase1Operation extends AsyncJobOperation {
         private long numKeys;
         private long numChunks;
         private String error;
+        private Set<String> incrementalVertices = new HashSet<>();
 
         public SnapshotPhase1Result() {
         }
 
         public SnapshotPhase1Result(long numBytes, long numKeys, long numChunks, Throwable error) {
+            this(numBytes, numKeys, numChunks, error, emptySet());
+        }
+
+        public SnapshotPhase1Result(
+                long numBytes, long numKeys, long numChunks, Throwable error, Set<String> incrementalVertices
+        ) {
             this.numBytes = numBytes;
             this.numKeys = numKeys;
             this.numChunks = numChunks;
             this.error = error == null ? null : requireNonNull(error.toString());
+            this.incrementalVertices.addAll(incrementalVertices);
         }
 
         public long getNumBytes() {
@@ -162,6 +173,14 @@ public class SnapshotPhase1Operation extends AsyncJobOperation {
             return error;
         }
 
+        /**
+         * Returns the names of the vertices that saved only the changed state
+         * to an incremental snapshot.
+         */
+        public Set<String> getIncrementalVertices() {
+            return incrementalVertices;
+        }
+
         /**
          * Merge other SnapshotOperationResult into this one. It adds the
          * subtotals and if the other result has an error, it will store it
@@ -171,6 +190,7 @@ public class SnapshotPhase1Operation extends AsyncJobOperation {
             numBytes += other.numBytes;
             numKeys += other.numKeys;
             numChunks += other.numChunks;
+            incrementalVertices.addAll(other.incrementalVertices);
             if (error == null) {
                 error = other.error;
             }
@@ -183,6 +203,7 @@ public class SnapshotPhase1Operation extends AsyncJobOperation {
                     ", numKeys=" + numKeys +
                     ", numChunks=" + numChunks +
                     ", error=" + error +
+                    ", incrementalVertices=" + incrementalVertices +
                     '}';
         }
 
@@ -202,6 +223,10 @@ public class SnapshotPhase1Operation extends AsyncJobOperation {
             out.writeLong(numKeys);
             out.writeLong(numChunks);
             out.writeUTF(error);
+            out.writeInt(incrementalVertices.size());
+            for (String vertexName : incrementalVertices) {
+                out.writeUTF(vertexName);
+            }
         }
 
         @Override
@@ -210,6 +235,10 @@ public class SnapshotPhase1Operation extends AsyncJobOperation {
             numKeys = in.readLong();
             numChunks = in.readLong();
             error = in.readUTF();
+            int numIncrementalVertices = in.readInt();
+            for (int i = 0; i < numIncrementalVertices; i++) {
+                incrementalVertices.add(in.readUTF());
+            }
         }
     }
 }
@@ -28,7 +28,9 @@ import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.impl.pipeline.transform.FlatMapTransform;
+import com.hazelcast.jet.impl.pipeline.transform.FlatMapUsingServiceTransform;
 import com.hazelcast.jet.impl.pipeline.transform.MapTransform;
+import com.hazelcast.jet.impl.pipeline.transform.PeekTransform;
 import com.hazelcast.jet.impl.pipeline.transform.SinkTransform;
 import com.hazelcast.jet.impl.pipeline.transform.StreamSourceTransform;
 import com.hazelcast.jet.impl.pipeline.transform.TimestampTransform;
@@ -114,7 +116,7 @@ public class Planner {
             }
         }
 
-        // fuse subsequent map/filter/flatMap transforms into one
+        // fuse subsequent stateless transforms into one
         Map<Transform, List<Transform>> originalParents = new HashMap<>();
         List<Transform> transforms = new ArrayList<>(adjacencyMap.keySet());
         for (int i = 0; i < transforms.size(); i++) {
@@ -126,6 +128,7 @@ public class Planner {
             // remove transforms in the chain and replace the parent with a fused transform
             transforms.removeAll(chain.subList(1, chain.size()));
             Transform fused = fuseFlatMapTransforms(chain);
+            LoggingUtil.logFine(LOGGER, "Fusing %s into one vertex", chain);
             transforms.set(i, fused);
             Transform lastInChain = chain.get(chain.size() - 1);
             for (Transform downstream : adjacencyMap.get(lastInChain)) {
@@ -149,36 +152,110 @@ public class Planner {
         return dag;
     }
 
+    /**
+     * Finds the longest chain of stateless stages starting at the given
+     * transform that can run in a single vertex. The chain can contain
+     * map/filter/flatMap stages, at most one synchronous {@code
+     * *UsingService} stage with a cooperative service and {@code peek}
+     * stages that aren't at the start or at the end of the chain.
+     * <p>
+     * Fusion saves a conveyor, an outbox flush and a tasklet call per
+     * item, but it isn't always a win: a non-cooperative service would
+     * move all the other stages off the cooperative threads and cap their
+     * parallelism, so such a service stage stays in a vertex of its own.
+     * The chain also stops at a branch, at a rebalanced input and where
+     * the local parallelism changes.
+     */
     private static List<Transform> findFusableChain(
             @Nonnull Transform transform,
             @Nonnull Map<Transform, List<Transform>> adjacencyMap
     ) {
         ArrayList<Transform> chain = new ArrayList<>();
+        // the last non-peek transform, peek doesn't have a parallelism of its own
+        Transform lpTransform = transform;
+        boolean hasService = false;
         for (;;) {
-            if (!(transform instanceof MapTransform || transform instanceof FlatMapTransform)) {
+            if (transform instanceof PeekTransform) {
+                if (chain.isEmpty()) {
+                    break;
+                }
+            } else if (isFusableServiceTransform(transform)) {
+                if (hasService) {
+                    break;
+                }
+                hasService = true;
+            } else if (!(transform instanceof MapTransform || transform instanceof FlatMapTransform)) {
                 break;
             }
             chain.add(transform);
+            if (!(transform instanceof PeekTransform)) {
+                lpTransform = transform;
+            }
             List<Transform> downstream = adjacencyMap.get(transform);
             if (downstream.size() != 1) {
                 break;
             }
             Transform nextTransform = downstream.get(0);
-            if (nextTransform.localParallelism() != transform.localParallelism()
+            if ((!(nextTransform instanceof PeekTransform)
+                        && nextTransform.localParallelism() != lpTransform.localParallelism())
                     || nextTransform.shouldRebalanceInput(0)
             ) {
                 break;
             }
             transform = nextTransform;
         }
+        // a trailing peek wraps the fused vertex, it doesn't need to be fused
+        while (!chain.isEmpty() && chain.get(chain.size() - 1) instanceof PeekTransform) {
+            chain.remove(chain.size() - 1);
+        }
         return chain.size() > 1 ? chain : null;
     }
 
+    private static boolean isFusableServiceTransform(Transform transform) {
+        return transform instanceof FlatMapUsingServiceTransform
+                && ((FlatMapUsingServiceTransform<?>) transform).serviceFactory().isCooperative();
+    }
+
     @SuppressWarnings("rawtypes")
     private static Transform fuseFlatMapTransforms(List<Transform> chain) {
         assert chain.size() > 1 : "chain.size()=" + chain.size();
         assert chain.get(0).upstream().size() == 1;
 
+        String name = chain.stream().map(Transform::name).collect(Collectors.joining(", ", "fused(", ")"));
+        Transform upstream = chain.get(0).upstream().get(0);
+        Transform fused;
+        int serviceIndex = 0;
+        while (serviceIndex < chain.size() && !(chain.get(serviceIndex) instanceof FlatMapUsingServiceTransform)) {
+            serviceIndex++;
+        }
+        if (serviceIndex < chain.size()) {
+            fused = ((FlatMapUsingServiceTransform<?>) chain.get(serviceIndex)).fuse(name, upstream,
+                    mergeFlatMapFunctions(chain.subList(0, serviceIndex)),
+                    mergeFlatMapFunctions(chain.subList(serviceIndex + 1, chain.size())));
+        } else if (chain.stream().noneMatch(t -> t instanceof FlatMapTransform)) {
+            fused = new MapTransform(name, upstream, mergeMapFunctions(chain));
+        } else {
+            fused = new FlatMapTransform(name, upstream, mergeFlatMapFunctions(chain));
+        }
+        // if the first stage of the chain is rebalanced, then we set
+        // the rebalance flag of the created fused stage. Only consider
+        // the case when first element of the chain is rebalanced
+        // because there isn't any other case. If any stage in the
+        // middle includes rebalance, then those stages are not fused
+        // by findFusableChain().
+        fused.setRebalanceInput(0, chain.get(0).shouldRebalanceInput(0));
+        return fused;
+    }
+
+    /**
+     * Merges a chain of map/filter/flatMap/peek stages into a single
+     * flat-mapping function. Returns {@code null} for an empty chain.
+     */
+    @SuppressWarnings("rawtypes")
+    private static FunctionEx<Object, Traverser> mergeFlatMapFunctions(List<Transform> chain) {
+        if (chain.isEmpty()) {
+            return null;
+        }
         int lastFlatMap = 0;
         FunctionEx<Object, Traverser> flatMapFn = null;
         for (int i = 0; i < chain.size(); i++) {
@@ -202,24 +279,16 @@ public class Planner {
         }
 
         FunctionEx trailingMapFn = mergeMapFunctions(chain.subList(lastFlatMap, chain.size()));
-        String name = chain.stream().map(Transform::name).collect(Collectors.joining(", ", "fused(", ")"));
-        Transform fused;
         if (flatMapFn == null) {
-            fused = new MapTransform(name, chain.get(0).upstream().get(0), trailingMapFn);
-        } else {
-            if (trailingMapFn != null) {
-                flatMapFn = flatMapFn.andThen(t -> t.map(trailingMapFn));
-            }
-            fused = new FlatMapTransform(name, chain.get(0).upstream().get(0), flatMapFn);
+            return t -> {
+                Object mappedValue = trailingMapFn.apply(t);
+                return mappedValue != null ? Traversers.singleton(mappedValue) : Traversers.empty();
+            };
         }
-        // if the first stage of the chain is rebalanced, then we set
-        // the rebalance flag of the created fused stage. Only consider
-        // the case when first element of the chain is rebalanced
-        // because there isn't any other case. If any stage in the
-        // middle includes rebalance, then those stages are not fused
-        // by findFusableChain().
-        fused.setRebalanceInput(0, chain.get(0).shouldRebalanceInput(0));
-        return fused;
+        if (trailingMapFn != null) {
+            flatMapFn = flatMapFn.andThen(t -> t.map(trailingMapFn));
+        }
+        return flatMapFn;
     }
 
     @SuppressWarnings("rawtypes")
@@ -227,7 +296,9 @@ public class Planner {
         if (chain.isEmpty()) {
             return null;
         }
-        List<FunctionEx> functions = toList(chain, t -> ((MapTransform) t).mapFn());
+        List<FunctionEx> functions = toList(chain, t -> t instanceof PeekTransform
+                ? ((PeekTransform) t).loggingMapFn()
+                : ((MapTransform) t).mapFn());
         return t -> {
             Object result = t;
             for (int i = 0; i < functions.size() && result != null; i++) {
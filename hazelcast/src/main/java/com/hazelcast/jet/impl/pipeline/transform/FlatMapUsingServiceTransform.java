@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.pipeline.transform;
+
+import com.hazelcast.function.BiFunctionEx;
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.pipeline.ServiceFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.hazelcast.jet.core.processor.Processors.flatMapUsingServiceP;
+
+/**
+ * A {@link ProcessorTransform} for the synchronous {@code mapUsingService},
+ * {@code filterUsingService} and {@code flatMapUsingService} stages. Besides
+ * the processor supplier it keeps the service factory and the stage's
+ * function in the flat-mapping form so that the planner can fuse the
+ * neighbouring stateless stages into the same vertex.
+ */
+public class FlatMapUsingServiceTransform<S> extends ProcessorTransform {
+
+    private final ServiceFactory<?, S> serviceFactory;
+    private final BiFunctionEx<? super S, Object, ? extends Traverser<?>> flatMapFn;
+
+    FlatMapUsingServiceTransform(
+            @Nonnull String name,
+            @Nonnull Transform upstream,
+            @Nonnull ServiceFactory<?, S> serviceFactory,
+            @Nonnull ProcessorSupplier processorSupplier,
+            @Nonnull BiFunctionEx<? super S, Object, ? extends Traverser<?>> flatMapFn
+    ) {
+        super(name, upstream, ProcessorMetaSupplier.of(getPreferredLP(serviceFactory), serviceFactory.permission(),
+                processorSupplier));
+        this.serviceFactory = serviceFactory;
+        this.flatMapFn = flatMapFn;
+    }
+
+    @Nonnull
+    public ServiceFactory<?, S> serviceFactory() {
+        return serviceFactory;
+    }
+
+    /**
+     * Returns a transform that applies {@code inputFn}, this stage's function
+     * and then {@code outputFn} to each item in a single processor. Either
+     * function can be {@code null}, meaning there's nothing to fuse on that
+     * side.
+     */
+    @Nonnull
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FlatMapUsingServiceTransform<S> fuse(
+            @Nonnull String name,
+            @Nonnull Transform upstream,
+            @Nullable FunctionEx<Object, Traverser> inputFn,
+            @Nullable FunctionEx<Object, Traverser> outputFn
+    ) {
+        BiFunctionEx<? super S, Object, ? extends Traverser<?>> flatMapFn = this.flatMapFn;
+        BiFunctionEx<S, Object, Traverser<Object>> fusedFn = (service, item) -> {
+            Traverser traverser = inputFn == null
+                    ? flatMapFn.apply(service, item)
+                    : inputFn.apply(item).flatMap(t -> flatMapFn.apply(service, t));
+            return outputFn == null ? traverser : traverser.flatMap(outputFn);
+        };
+        return new FlatMapUsingServiceTransform<>(name, upstream, serviceFactory,
+                flatMapUsingServiceP(serviceFactory, fusedFn), fusedFn);
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.function.BiFunctionEx;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.impl.execution.SkewAwarePartitioner;
 import com.hazelcast.jet.impl.pipeline.Planner;
 import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
 import com.hazelcast.jet.impl.pipeline.PipelineImpl.Context;
@@ -114,7 +115,10 @@ public class GroupTransform<K, A, R, OUT> extends AbstractTransform {
                 .localParallelism(determinedLocalParallelism());
         PlannerVertex pv2 = p.addVertex(this, name(), determinedLocalParallelism(),
                 combineByKeyP(aggrOp, mapToOutputFn));
-        p.addEdges(this, v1, (e, ord) -> e.partitioned(groupKeyFns.get(ord), HASH_CODE));
+        // The accumulating stage doesn't need all items with the same key in one processor,
+        // the partitioner spreads hot keys among processors and the combining stage merges them.
+        p.addEdges(this, v1, (e, ord) ->
+                e.partitioned(groupKeyFns.get(ord), new SkewAwarePartitioner<Object>(HASH_CODE)));
         p.dag.edge(between(v1, pv2.v).distributed().partitioned(entryKey()));
     }
 }
@@ -21,6 +21,7 @@ import com.hazelcast.function.PredicateEx;
 import com.hazelcast.jet.impl.pipeline.Planner;
 import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
 import com.hazelcast.jet.impl.pipeline.PipelineImpl.Context;
+import com.hazelcast.logging.Logger;
 
 import javax.annotation.Nonnull;
 
@@ -43,6 +44,25 @@ public class PeekTransform<T> extends AbstractTransform {
         this.toStringFn = toStringFn;
     }
 
+    /**
+     * Returns a function that logs the items the same way the peeking
+     * processor does and passes them on unchanged. The planner uses it
+     * when it fuses this stage into a chain of stateless stages, where
+     * there's no vertex of its own to wrap.
+     */
+    @Nonnull
+    public FunctionEx<T, T> loggingMapFn() {
+        PredicateEx<? super T> shouldLogFn = this.shouldLogFn;
+        FunctionEx<? super T, ? extends CharSequence> toStringFn = this.toStringFn;
+        String loggerName = PeekTransform.class.getName() + '.' + name();
+        return item -> {
+            if (shouldLogFn.test(item)) {
+                Logger.getLogger(loggerName).info("Output: " + toStringFn.apply(item));
+            }
+            return item;
+        };
+    }
+
     @Override
     public void addToDag(Planner p, Context context) {
         determineLocalParallelism(LOCAL_PARALLELISM_USE_DEFAULT, context, p.isPreserveOrder());
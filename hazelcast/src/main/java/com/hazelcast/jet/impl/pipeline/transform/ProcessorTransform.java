@@ -20,6 +20,7 @@ import com.hazelcast.function.BiFunctionEx;
 import com.hazelcast.function.BiPredicateEx;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.core.Edge;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
@@ -62,34 +63,40 @@ public class ProcessorTransform extends AbstractTransform {
         return new ProcessorTransform(name, upstream, createProcessorFn);
     }
 
+    @SuppressWarnings("unchecked")
     public static <S, T, R> ProcessorTransform mapUsingServiceTransform(
             @Nonnull Transform upstream,
             @Nonnull ServiceFactory<?, S> serviceFactory,
             @Nonnull BiFunctionEx<? super S, ? super T, ? extends R> mapFn
     ) {
-        return new ProcessorTransform("mapUsingService", upstream,
-                ProcessorMetaSupplier.of(getPreferredLP(serviceFactory), serviceFactory.permission(),
-                        mapUsingServiceP(serviceFactory, mapFn)));
+        return new FlatMapUsingServiceTransform<>("mapUsingService", upstream, serviceFactory,
+                mapUsingServiceP(serviceFactory, mapFn),
+                (service, item) -> {
+                    R result = mapFn.apply(service, (T) item);
+                    return result != null ? Traversers.singleton(result) : Traversers.empty();
+                });
     }
 
+    @SuppressWarnings("unchecked")
     public static <S, T> ProcessorTransform filterUsingServiceTransform(
             @Nonnull Transform upstream,
             @Nonnull ServiceFactory<?, S> serviceFactory,
             @Nonnull BiPredicateEx<? super S, ? super T> filterFn
     ) {
-        return new ProcessorTransform("filterUsingService", upstream,
-                ProcessorMetaSupplier.of(getPreferredLP(serviceFactory), serviceFactory.permission(),
-                        filterUsingServiceP(serviceFactory, filterFn)));
+        return new FlatMapUsingServiceTransform<>("filterUsingService", upstream, serviceFactory,
+                filterUsingServiceP(serviceFactory, filterFn),
+                (service, item) -> filterFn.test(service, (T) item) ? Traversers.singleton(item) : Traversers.empty());
     }
 
+    @SuppressWarnings("unchecked")
     public static <S, T, R> ProcessorTransform flatMapUsingServiceTransform(
             @Nonnull Transform upstream,
             @Nonnull ServiceFactory<?, S> serviceFactory,
             @Nonnull BiFunctionEx<? super S, ? super T, ? extends Traverser<R>> flatMapFn
     ) {
-        return new ProcessorTransform("flatMapUsingService", upstream,
-                ProcessorMetaSupplier.of(getPreferredLP(serviceFactory), serviceFactory.permission(),
-                        flatMapUsingServiceP(serviceFactory, flatMapFn)));
+        return new FlatMapUsingServiceTransform<>("flatMapUsingService", upstream, serviceFactory,
+                flatMapUsingServiceP(serviceFactory, flatMapFn),
+                (service, item) -> flatMapFn.apply(service, (T) item));
     }
 
     public static <S, T, R> ProcessorTransform flatMapUsingServiceAsyncTransform(
@@ -34,6 +34,12 @@ public class AggregateP<A, R> extends GroupP<String, A, R, R> {
 
     public AggregateP(@Nonnull AggregateOperation<A, R> aggrOp) {
         super(nCopies(aggrOp.arity(), t -> CONSTANT_KEY), aggrOp, (k, r) -> r);
-        keyToAcc.put(CONSTANT_KEY, aggrOp.createFn().get());
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) throws Exception {
+        super.init(context);
+        // emit the result even if there are no items
+        keyToAcc.accumulate(CONSTANT_KEY, acc -> { });
     }
 }
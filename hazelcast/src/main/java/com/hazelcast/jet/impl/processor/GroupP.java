@@ -18,22 +18,33 @@ package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.HeapKeyedStateStore;
+import com.hazelcast.jet.impl.memory.KeyedStateStore;
+import com.hazelcast.jet.impl.memory.KeyedStateStores;
+import com.hazelcast.jet.impl.memory.SpillDirectory;
+import com.hazelcast.jet.impl.memory.SpillFile;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.internal.util.HashUtil.hashToIndex;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
 import static java.util.Collections.singletonList;
 
 /**
@@ -41,16 +52,35 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * The accumulators are kept in the {@link KeyedStateStore} configured for
+ * the processor. When the number of groups exceeds {@link
+ * Processor.Context#maxProcessorAccumulatedRecords()}, the processor spills
+ * its accumulators to disk, hash-partitioned by key, if a {@link
+ * SpillDirectory} is configured and the aggregate operation can combine
+ * accumulators. On completion it reads the partitions back one at a time,
+ * combining the accumulators of the same key. A partition with more keys
+ * than the limit is split to smaller partitions using a different hash.
+ * The processor is non-cooperative when spilling is configured, since the
+ * spill files are read and written with blocking I/O.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
-    protected final Map<K, A> keyToAcc = new HashMap<>();
+    private static final int SPILL_PARTITION_COUNT = 16;
+    private static final int MAX_SPILL_LEVEL = 4;
+
+    protected KeyedStateStore<K, A> keyToAcc;
+    // keyToAcc if it's on-heap, the accumulators are then updated in place
+    private HeapKeyedStateStore<K, A> heapKeyToAcc;
 
     private final List<FunctionEx<?, ? extends K>> groupKeyFns;
     private final AggregateOperation<A, R> aggrOp;
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
 
     private long maxEntries;
+    private SpillDirectory spillDirectory;
+    private SpillFile[] spillPartitions;
+    private final Deque<SpillPartition> pendingPartitions = new ArrayDeque<>();
     private Traverser<OUT> resultTraverser;
 
     public GroupP(
@@ -75,48 +105,201 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
+        keyToAcc = KeyedStateStores.create(context, aggrOp.createFn());
+        if (keyToAcc instanceof HeapKeyedStateStore) {
+            heapKeyToAcc = (HeapKeyedStateStore<K, A>) keyToAcc;
+        }
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (aggrOp.combineFn() != null) {
+            spillDirectory = SpillDirectory.from(context);
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
+        BiConsumer<? super A, Object> accumulateFn = (BiConsumer<? super A, Object>) aggrOp.accumulateFn(ordinal);
         K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
-            if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
-            }
-
-            return aggrOp.createFn().get();
-        });
-        aggrOp.accumulateFn(ordinal).accept(acc, item);
+        if (heapKeyToAcc != null) {
+            accumulateFn.accept(heapKeyToAcc.getOrCreate(key), item);
+        } else {
+            keyToAcc.accumulate(key, acc -> accumulateFn.accept(acc, item));
+        }
+        if (keyToAcc.size() > maxEntries) {
+            spill();
+        }
         return true;
     }
 
+    @Override
+    public boolean isCooperative() {
+        // reading and writing the spill files blocks
+        return spillDirectory == null;
+    }
+
     @Override
     public boolean complete() {
         if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
+            Traverser<Entry<K, A>> entries;
+            if (spillPartitions == null) {
+                entries = keyToAcc.drain();
+            } else {
+                spill();
+                for (SpillFile partition : spillPartitions) {
+                    pendingPartitions.add(new SpillPartition(partition, 0));
+                }
+                entries = new SpilledResultTraverser();
+            }
+            resultTraverser = entries
                     // reuse null filtering done by map()
                     .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
         }
         return emitFromTraverser(resultTraverser);
     }
 
-    private class ResultTraverser implements Traverser<Entry<K, A>> {
-        private final Iterator<Entry<K, A>> iter = keyToAcc.entrySet().iterator();
+    @Override
+    public void close() {
+        if (keyToAcc != null) {
+            keyToAcc.dispose();
+        }
+        if (spillPartitions != null) {
+            for (SpillFile partition : spillPartitions) {
+                partition.delete();
+            }
+        }
+        for (SpillPartition partition : pendingPartitions) {
+            partition.file.delete();
+        }
+    }
+
+    /**
+     * Moves all the accumulators to the spill partitions of their keys.
+     */
+    private void spill() {
+        if (spillDirectory == null) {
+            throw new AccumulationLimitExceededException();
+        }
+        try {
+            if (spillPartitions == null) {
+                spillPartitions = newSpillFiles();
+            }
+            writeToSpillFiles(keyToAcc.drain(), spillPartitions, 0);
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    private SpillFile[] newSpillFiles() throws IOException {
+        SpillFile[] files = new SpillFile[SPILL_PARTITION_COUNT];
+        for (int i = 0; i < SPILL_PARTITION_COUNT; i++) {
+            files[i] = spillDirectory.newFile();
+        }
+        return files;
+    }
+
+    private static <K, A> void writeToSpillFiles(Traverser<Entry<K, A>> entries, SpillFile[] files, int level)
+            throws IOException {
+        for (Entry<K, A> entry; (entry = entries.next()) != null; ) {
+            SpillFile file = files[spillIndex(entry.getKey(), level)];
+            file.write(entry.getKey());
+            file.write(entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the index of the spill partition of the given key. Each level
+     * of partitioning uses a different hash, so that the keys of a partition
+     * are spread when it's split.
+     */
+    private static int spillIndex(Object key, int level) {
+        return hashToIndex(MurmurHash3_fmix(Objects.hashCode(key) + level), SPILL_PARTITION_COUNT);
+    }
+
+    /**
+     * Reads the given spill partition back, combining the accumulators of
+     * the same key. If the partition has more keys than fit in memory, it's
+     * split to the partitions of the next level, which are added to the
+     * pending partitions, and {@code false} is returned.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean readSpillPartition(SpillPartition partition) {
+        BiConsumer<? super A, ? super A> combineFn = aggrOp.combineFn();
+        try {
+            Traverser<Object> traverser = partition.file.read();
+            for (long remaining = partition.file.size() / 2; remaining > 0; remaining--) {
+                K key = (K) traverser.next();
+                A acc = (A) traverser.next();
+                if (heapKeyToAcc != null) {
+                    combineFn.accept(heapKeyToAcc.getOrCreate(key), acc);
+                } else {
+                    keyToAcc.accumulate(key, existing -> combineFn.accept(existing, acc));
+                }
+                if (keyToAcc.size() > maxEntries) {
+                    split(partition.level + 1, traverser, remaining - 1);
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        } finally {
+            partition.file.delete();
+        }
+    }
+
+    /**
+     * Moves the accumulators in memory and the given number of remaining
+     * entries of the partition being read to new partitions of the given
+     * level.
+     */
+    private void split(int level, Traverser<Object> traverser, long remaining) throws IOException {
+        if (level > MAX_SPILL_LEVEL) {
+            // too many keys with the same hash code
+            throw new AccumulationLimitExceededException();
+        }
+        SpillFile[] files = newSpillFiles();
+        for (SpillFile file : files) {
+            // read the new partitions first, so that few are pending at once
+            pendingPartitions.addFirst(new SpillPartition(file, level));
+        }
+        writeToSpillFiles(keyToAcc.drain(), files, level);
+        for (; remaining > 0; remaining--) {
+            Object key = traverser.next();
+            Object acc = traverser.next();
+            SpillFile file = files[spillIndex(key, level)];
+            file.write(key);
+            file.write(acc);
+        }
+    }
+
+    private class SpilledResultTraverser implements Traverser<Entry<K, A>> {
+        private Traverser<Entry<K, A>> partitionTraverser = Traversers.empty();
 
         @Override
         public Entry<K, A> next() {
-            if (!iter.hasNext()) {
-                return null;
-            }
-            try {
-                return iter.next();
-            } finally {
-                iter.remove();
+            for (Entry<K, A> entry; ; ) {
+                if ((entry = partitionTraverser.next()) != null) {
+                    return entry;
+                }
+                SpillPartition partition = pendingPartitions.poll();
+                if (partition == null) {
+                    return null;
+                }
+                if (readSpillPartition(partition)) {
+                    partitionTraverser = keyToAcc.drain();
+                }
             }
         }
     }
+
+    private static final class SpillPartition {
+        final SpillFile file;
+        final int level;
+
+        SpillPartition(SpillFile file, int level) {
+            this.file = file;
+            this.level = level;
+        }
+    }
 }
@@ -20,42 +20,218 @@ import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillDirectory;
+import com.hazelcast.jet.impl.memory.SpillFile;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.PriorityQueue;
 
+import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
+
+/**
+ * Batch processor that emits all its input items sorted.
+ * <p>
+ * When the number of items reaches {@link
+ * Processor.Context#maxProcessorAccumulatedRecords()}, the processor
+ * writes them to disk as a sorted run, if a {@link SpillDirectory} is
+ * configured. On completion it merges the runs with the items still in
+ * memory. If there are too many runs to merge at once, it first merges
+ * them in batches to fewer, longer runs. The processor is non-cooperative
+ * when spilling is configured, since the spill files are read and written
+ * with blocking I/O.
+ */
 public class SortP<T> extends AbstractProcessor {
 
+    /**
+     * The maximum number of runs merged at once. Each of them holds an open
+     * file with a read buffer.
+     */
+    private static final int MAX_MERGED_RUNS = 64;
+
+    /**
+     * The maximum number of items written to an intermediate run in one
+     * call to {@link #complete()}.
+     */
+    private static final int MERGE_BATCH_SIZE = 4096;
+
+    private final Comparator<T> comparator;
     private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    private final Deque<SpillFile> spilledRuns = new ArrayDeque<>();
+    private final List<SpillFile> runsBeingMerged = new ArrayList<>();
 
     private long maxItems;
+    private SpillDirectory spillDirectory;
+    private Traverser<T> intermediateMerge;
+    private SpillFile intermediateRun;
+    private Traverser<T> resultTraverser;
 
+    @SuppressWarnings("unchecked")
     public SortP(@Nullable Comparator<T> comparator) {
-        this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
+        this.comparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
+        this.priorityQueue = new PriorityQueue<>(this.comparator);
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        spillDirectory = SpillDirectory.from(context);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess0(@Nonnull Object item) {
         if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+            spill();
         }
 
         priorityQueue.add((T) item);
         return true;
     }
 
+    @Override
+    public boolean isCooperative() {
+        // reading and writing the spill files blocks
+        return spillDirectory == null;
+    }
+
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            if (intermediateMerge != null || spilledRuns.size() >= MAX_MERGED_RUNS) {
+                mergeRuns();
+                return false;
+            }
+            resultTraverser = spilledRuns.isEmpty() ? priorityQueue::poll : finalMerge();
+        }
         return emitFromTraverser(resultTraverser);
     }
+
+    @Override
+    public void close() {
+        for (SpillFile run : spilledRuns) {
+            run.delete();
+        }
+        for (SpillFile run : runsBeingMerged) {
+            run.delete();
+        }
+        if (intermediateRun != null) {
+            intermediateRun.delete();
+        }
+    }
+
+    /**
+     * Writes the items in memory to a new sorted run.
+     */
+    private void spill() {
+        if (spillDirectory == null) {
+            throw new AccumulationLimitExceededException();
+        }
+        try {
+            SpillFile run = spillDirectory.newFile();
+            spilledRuns.add(run);
+            for (T item; (item = priorityQueue.poll()) != null; ) {
+                run.write(item);
+            }
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * Merges the first {@link #MAX_MERGED_RUNS} spilled runs to a new run,
+     * at most {@link #MERGE_BATCH_SIZE} items per call. Once done, the new
+     * run is added to the spilled runs.
+     */
+    private void mergeRuns() {
+        try {
+            if (intermediateMerge == null) {
+                List<Traverser<T>> runs = new ArrayList<>(MAX_MERGED_RUNS);
+                for (int i = 0; i < MAX_MERGED_RUNS; i++) {
+                    SpillFile run = spilledRuns.poll();
+                    runsBeingMerged.add(run);
+                    runs.add(run.read());
+                }
+                intermediateMerge = new MergingTraverser(runs);
+                intermediateRun = spillDirectory.newFile();
+            }
+            for (int i = 0; i < MERGE_BATCH_SIZE; i++) {
+                T item = intermediateMerge.next();
+                if (item == null) {
+                    // the merged runs were deleted when exhausted
+                    runsBeingMerged.clear();
+                    spilledRuns.add(intermediateRun);
+                    intermediateRun = null;
+                    intermediateMerge = null;
+                    return;
+                }
+                intermediateRun.write(item);
+            }
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * Returns a traverser merging the spilled runs and the items in memory.
+     */
+    private Traverser<T> finalMerge() {
+        List<Traverser<T>> runs = new ArrayList<>(spilledRuns.size() + 1);
+        try {
+            for (SpillFile spilledRun : spilledRuns) {
+                runs.add(spilledRun.read());
+            }
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+        runs.add(priorityQueue::poll);
+        return new MergingTraverser(runs);
+    }
+
+    /**
+     * Merges the given sorted runs, always emitting the smallest of their
+     * current items.
+     */
+    private final class MergingTraverser implements Traverser<T> {
+
+        private final PriorityQueue<Run> runs = new PriorityQueue<>((r1, r2) -> comparator.compare(r1.head, r2.head));
+
+        MergingTraverser(List<Traverser<T>> runs) {
+            for (Traverser<T> run : runs) {
+                addIfNotEmpty(new Run(run));
+            }
+        }
+
+        @Override
+        public T next() {
+            Run run = runs.poll();
+            if (run == null) {
+                return null;
+            }
+            T item = run.head;
+            addIfNotEmpty(run);
+            return item;
+        }
+
+        private void addIfNotEmpty(Run run) {
+            if ((run.head = run.items.next()) != null) {
+                runs.add(run);
+            }
+        }
+    }
+
+    private final class Run {
+        final Traverser<T> items;
+        T head;
+
+        Run(Traverser<T> items) {
+            this.items = items;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
 import com.hazelcast.jet.core.Processor;
@@ -28,18 +29,25 @@ import com.hazelcast.jet.core.ResettableSingletonTraverser;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.datamodel.TimestampedItem;
 import com.hazelcast.jet.function.TriFunction;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotProcessor;
+import com.hazelcast.jet.impl.execution.SnapshotTombstone;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
 import com.hazelcast.jet.impl.util.Util;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
@@ -47,7 +55,7 @@ import static com.hazelcast.jet.impl.util.Util.logLateEvent;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
-public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
+public class TransformStatefulP<T, K, S, R> extends AbstractProcessor implements IncrementalSnapshotProcessor {
     private static final int HASH_MAP_INITIAL_CAPACITY = 16;
     private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
     private static final Watermark FLUSHING_WATERMARK = new Watermark(Long.MAX_VALUE);
@@ -71,9 +79,23 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
     private final Traverser<?> evictingTraverserFlattened = evictingTraverser.flatMap(x -> x);
 
     private long currentWm = Long.MIN_VALUE;
+    private long restoredDeltaWm = Long.MIN_VALUE;
     private Traverser<? extends Entry<?, ?>> snapshotTraverser;
     private boolean inComplete;
 
+    /**
+     * Keys changed or evicted since the last full snapshot, null if
+     * incremental snapshots are disabled.
+     */
+    private Set<K> changedKeys;
+
+    /**
+     * Keys changed before the ongoing full snapshot, null if there's no
+     * full snapshot to commit. They are merged back to {@link #changedKeys}
+     * if the snapshot fails.
+     */
+    private Set<K> committingKeys;
+
     private long maxEntries;
 
     public TransformStatefulP(
@@ -95,6 +117,11 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (context.processingGuarantee() != ProcessingGuarantee.NONE && context instanceof ProcCtx
+                && ((ProcCtx) context).nodeEngine().getProperties()
+                        .getInteger(ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_COUNT) > 0) {
+            changedKeys = new HashSet<>();
+        }
     }
 
     @Override
@@ -120,6 +147,9 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
             return createIfAbsentFn.apply(k);
         });
         tsAndState.setTimestamp(max(tsAndState.timestamp(), timestamp));
+        if (changedKeys != null) {
+            changedKeys.add(key);
+        }
         S state = tsAndState.item();
         return statefulFlatMapFn.apply(state, key, event);
     }
@@ -167,6 +197,9 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
                     break;
                 }
                 keyToStateIterator.remove();
+                if (changedKeys != null) {
+                    changedKeys.add(entry.getKey());
+                }
                 if (onEvictFn != null) {
                     return onEvictFn.apply(entry.getValue().item(), entry.getKey(), currentWm);
                 }
@@ -177,7 +210,8 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
     }
 
     private enum SnapshotKeys {
-        WATERMARK
+        WATERMARK,
+        DELTA_WATERMARK
     }
 
     @Override
@@ -195,16 +229,85 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
         return emitFromTraverserToSnapshot(snapshotTraverser);
     }
 
+    @Override
+    public boolean saveToSnapshot(boolean incremental) {
+        if (snapshotTraverser != null) {
+            return emitFromTraverserToSnapshot(snapshotTraverser);
+        }
+        if (changedKeys == null) {
+            if (incremental) {
+                throw new IllegalStateException("Incremental snapshot requested, but changed keys aren't tracked, "
+                        + ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_COUNT.getName() + " must be set on all members");
+            }
+            return saveToSnapshot();
+        }
+        if (!incremental) {
+            if (committingKeys == null) {
+                committingKeys = changedKeys;
+            } else {
+                committingKeys.addAll(changedKeys);
+            }
+            changedKeys = new HashSet<>();
+            return saveToSnapshot();
+        }
+        if (inComplete && !complete()) {
+            // Finish flushing first. The flushed keys are in changedKeys, they are saved
+            // as tombstones below so that the restored base snapshot doesn't bring them back.
+            return false;
+        }
+        if (committingKeys != null) {
+            changedKeys.addAll(committingKeys);
+            committingKeys = null;
+        }
+        // iterate keyToState instead of calling get() for the changed keys, it would change the access order
+        Stream<? extends Entry<?, ?>> changedEntries = keyToState.entrySet().stream()
+                .filter(e -> changedKeys.contains(e.getKey()));
+        Stream<? extends Entry<?, ?>> removedEntries = changedKeys.stream()
+                .filter(key -> !keyToState.containsKey(key))
+                .map(key -> entry(key, SnapshotTombstone.INSTANCE));
+        snapshotTraverser = Traversers.traverseStream(Stream.<Entry<?, ?>>concat(changedEntries, removedEntries))
+                .append(entry(broadcastKey(SnapshotKeys.DELTA_WATERMARK), currentWm))
+                .onFirstNull(() -> snapshotTraverser = null);
+        return emitFromTraverserToSnapshot(snapshotTraverser);
+    }
+
+    @Override
+    public boolean snapshotCommitFinish(boolean success) {
+        if (committingKeys != null) {
+            if (!success) {
+                changedKeys.addAll(committingKeys);
+            }
+            committingKeys = null;
+        }
+        return true;
+    }
+
     @Override
     protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
         if (key instanceof BroadcastKey) {
-            assert ((BroadcastKey<?>) key).key() == SnapshotKeys.WATERMARK : "Unexpected " + key;
             long wm = (long) value;
+            if (((BroadcastKey<?>) key).key() == SnapshotKeys.DELTA_WATERMARK) {
+                restoredDeltaWm = (restoredDeltaWm == Long.MIN_VALUE) ? wm : min(restoredDeltaWm, wm);
+                return;
+            }
+            assert ((BroadcastKey<?>) key).key() == SnapshotKeys.WATERMARK : "Unexpected " + key;
             currentWm = (currentWm == Long.MIN_VALUE) ? wm : min(currentWm, wm);
+        } else if (value instanceof SnapshotTombstone) {
+            keyToState.remove(key);
         } else {
+            // an entry of an incremental snapshot replaces the entry of the full snapshot
             @SuppressWarnings("unchecked")
-            TimestampedItem<S> old = keyToState.put((K) key, (TimestampedItem<S>) value);
-            assert old == null : "Duplicate key '" + key + '\'';
+            TimestampedItem<S> value0 = (TimestampedItem<S>) value;
+            keyToState.put((K) key, value0);
+        }
+    }
+
+    @Override
+    public boolean finishSnapshotRestore() {
+        if (restoredDeltaWm != Long.MIN_VALUE) {
+            // the incremental snapshot is more recent than the full one
+            currentWm = restoredDeltaWm;
         }
+        return true;
     }
 }
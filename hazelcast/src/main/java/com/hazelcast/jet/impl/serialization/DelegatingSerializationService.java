@@ -109,6 +109,16 @@ public class DelegatingSerializationService extends AbstractSerializationService
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Object readCompactPath(Data data, String fieldPath) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object readPortablePath(Data data, String fieldPath) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public PortableContext getPortableContext() {
         return delegate.getPortableContext();
@@ -649,6 +649,10 @@ public final class Sinks {
      * <p>
      * The default local parallelism for this sink is 1.
      * <p>
+     * Unlike the sink without the {@code maxParallelAsyncOps} parameter,
+     * which adapts the number of simultaneous entry processors to their
+     * latency, this sink always allows {@code maxParallelAsyncOps} of them.
+     * <p>
      * The given functions must be stateless and {@linkplain
      * Processor#isCooperative() cooperative}.
      *
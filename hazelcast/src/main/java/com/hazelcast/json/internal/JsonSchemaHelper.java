@@ -112,10 +112,35 @@ public final class JsonSchemaHelper {
      * @param attributePath     this cannot contain "any"
      * @return                  JsonValue extracted or null
      */
-    @SuppressWarnings("checkstyle:npathcomplexity")
     public static JsonValue findValueWithPattern(NavigableJsonInputAdapter input,
                                                  JsonSchemaNode schemaNode, JsonPattern expectedPattern,
                                                  JsonPathCursor attributePath) throws IOException {
+        schemaNode = findNodeWithPattern(input, schemaNode, expectedPattern, attributePath);
+        if (schemaNode == null) {
+            return null;
+        }
+        return parseValue(input, schemaNode);
+    }
+
+    /**
+     * Finds the description of the value that is stored in attributePath
+     * in input. This method validates expectedPattern using attributePath
+     * the same way {@link #findValueWithPattern} does, but it does not
+     * read the value itself.
+     *
+     * NOTE: this method cannot handle patterns with "any" in it.
+     *
+     * @param input             a byte array containing the target object
+     * @param schemaNode        valid schema description to the target
+     *                          object
+     * @param expectedPattern   this cannot contain "any"
+     * @param attributePath     this cannot contain "any"
+     * @return                  the description of the value or null
+     */
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    public static JsonSchemaNode findNodeWithPattern(NavigableJsonInputAdapter input,
+                                                     JsonSchemaNode schemaNode, JsonPattern expectedPattern,
+                                                     JsonPathCursor attributePath) {
         for (int i = 0; i < expectedPattern.depth(); i++) {
             if (attributePath.getNext() == null) {
                 return null;
@@ -136,23 +161,36 @@ public final class JsonSchemaHelper {
             }
         }
         if (attributePath.getNext() == null) {
-            if (schemaNode.isTerminal()) {
-                // at this point we are sure we found the value by pattern. So we have to be able to extract JsonValue.
-                // Otherwise, let the exceptions propagate
-                try {
-                    JsonReducedValueParser valueParser = new JsonReducedValueParser();
-                    int valuePos = ((JsonSchemaTerminalNode) schemaNode).getValueStartLocation();
-                    return input.parseValue(valueParser, valuePos);
-                } catch (ParseException parseException) {
-                    throw new HazelcastException(parseException);
-                }
-            } else {
-                return NonTerminalJsonValue.INSTANCE;
-            }
+            return schemaNode;
         }
         return null;
     }
 
+    /**
+     * Parses the value described by the given node found by
+     * {@link #findNodeWithPattern}.
+     *
+     * @param input      a byte array containing the target object
+     * @param schemaNode the description of the value
+     * @return           the scalar value or {@link NonTerminalJsonValue#INSTANCE}
+     *                   if the node describes an object or an array
+     */
+    public static JsonValue parseValue(NavigableJsonInputAdapter input, JsonSchemaNode schemaNode) throws IOException {
+        if (schemaNode.isTerminal()) {
+            // at this point we are sure we found the value by pattern. So we have to be able to extract JsonValue.
+            // Otherwise, let the exceptions propagate
+            try {
+                JsonReducedValueParser valueParser = new JsonReducedValueParser();
+                int valuePos = ((JsonSchemaTerminalNode) schemaNode).getValueStartLocation();
+                return input.parseValue(valueParser, valuePos);
+            } catch (ParseException parseException) {
+                throw new HazelcastException(parseException);
+            }
+        } else {
+            return NonTerminalJsonValue.INSTANCE;
+        }
+    }
+
     /**
      * Creates a description out of a JsonValue. The parser must be
      * pointing to the start of the input.
@@ -184,6 +222,7 @@ public final class JsonSchemaHelper {
             } else {
                 JsonSchemaTerminalNode terminalNode = new JsonSchemaTerminalNode(parent);
                 terminalNode.setValueStartLocation((int) getTokenLocation(parser));
+                terminalNode.setValueType(getValueType(currentToken));
                 JsonSchemaNameValue nameValue = new JsonSchemaNameValue(nameLocation, terminalNode);
                 parent.addChild(nameValue);
                 nameLocation = -1;
@@ -207,6 +246,25 @@ public final class JsonSchemaHelper {
         return (nameValue.isArrayItem() && isArrayPath) || (nameValue.isObjectItem() && !isArrayPath);
     }
 
+    private static byte getValueType(JsonToken token) {
+        switch (token) {
+            case VALUE_STRING:
+                return JsonSchemaTerminalNode.TYPE_STRING;
+            case VALUE_NUMBER_INT:
+                return JsonSchemaTerminalNode.TYPE_INT;
+            case VALUE_NUMBER_FLOAT:
+                return JsonSchemaTerminalNode.TYPE_FLOAT;
+            case VALUE_TRUE:
+                return JsonSchemaTerminalNode.TYPE_TRUE;
+            case VALUE_FALSE:
+                return JsonSchemaTerminalNode.TYPE_FALSE;
+            case VALUE_NULL:
+                return JsonSchemaTerminalNode.TYPE_NULL;
+            default:
+                return JsonSchemaTerminalNode.TYPE_UNKNOWN;
+        }
+    }
+
     private static long getTokenLocation(JsonParser parser) {
         if (parser instanceof ReaderBasedJsonParser) {
             return parser.getTokenLocation().getCharOffset();
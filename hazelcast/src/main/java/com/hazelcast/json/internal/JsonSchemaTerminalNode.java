@@ -29,7 +29,19 @@ import static com.hazelcast.json.internal.JsonDataSerializerHook.JSON_SCHEMA_TER
  */
 public class JsonSchemaTerminalNode extends JsonSchemaNode {
 
+    /**
+     * The type of the value is not known, it has to be parsed to be read.
+     */
+    public static final byte TYPE_UNKNOWN = 0;
+    public static final byte TYPE_STRING = 1;
+    public static final byte TYPE_INT = 2;
+    public static final byte TYPE_FLOAT = 3;
+    public static final byte TYPE_TRUE = 4;
+    public static final byte TYPE_FALSE = 5;
+    public static final byte TYPE_NULL = 6;
+
     private int valueStartLocation;
+    private byte valueType;
 
     public JsonSchemaTerminalNode() {
         // No-op.
@@ -59,6 +71,27 @@ public class JsonSchemaTerminalNode extends JsonSchemaNode {
         this.valueStartLocation = valueStartLocation;
     }
 
+    /**
+     * Returns the type of the value as observed when this schema was
+     * created, one of the {@code TYPE_*} constants of this class. Knowing
+     * the type up front lets readers decode the value in place, without
+     * parsing it.
+     *
+     * @return the type of the value
+     */
+    public byte getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Sets the type of the value in the underlying input.
+     *
+     * @param valueType one of the {@code TYPE_*} constants of this class
+     */
+    public void setValueType(byte valueType) {
+        this.valueType = valueType;
+    }
+
     @Override
     public boolean isTerminal() {
         return true;
@@ -75,13 +108,17 @@ public class JsonSchemaTerminalNode extends JsonSchemaNode {
 
         JsonSchemaTerminalNode that = (JsonSchemaTerminalNode) o;
 
-        return valueStartLocation == that.valueStartLocation;
+        if (valueStartLocation != that.valueStartLocation) {
+            return false;
+        }
+        return valueType == that.valueType;
     }
 
     @Override
     public int hashCode() {
         int result = super.hashCode();
         result = 31 * result + valueStartLocation;
+        result = 31 * result + valueType;
         return result;
     }
 
@@ -89,17 +126,20 @@ public class JsonSchemaTerminalNode extends JsonSchemaNode {
     public String toString() {
         return "JsonSchemaTerminalNode{"
             + "valueStartLocation=" + valueStartLocation
+            + ", valueType=" + valueType
             + '}';
     }
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeInt(valueStartLocation);
+        out.writeByte(valueType);
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         valueStartLocation = in.readInt();
+        valueType = in.readByte();
     }
 
     @Override
@@ -269,6 +269,21 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getIndexedQueryCount();
 
+    /**
+     * Returns the ratio of the uncompressed size to the compressed size of
+     * the map values compressed on this member.
+     * <p>
+     * Values are only compressed if
+     * {@link com.hazelcast.spi.properties.ClusterProperty#MAP_VALUE_COMPRESSION_ENABLED}
+     * is set and the map uses the {@link com.hazelcast.config.InMemoryFormat#BINARY}
+     * in-memory format. Otherwise, the returned value is {@code 1}.
+     *
+     * @since 5.0
+     */
+    default double getValueCompressionRatio() {
+        return 1;
+    }
+
     /**
      * Returns the per-index statistics map keyed by the index name.
      */
@@ -37,6 +37,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.record.MapValueCompressor;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.impl.Indexes;
@@ -116,6 +117,7 @@ public class LocalMapStatsProvider {
         LocalMapOnDemandCalculatedStats onDemandStats = new LocalMapOnDemandCalculatedStats();
         addNearCacheStats(mapName, stats, onDemandStats);
         addIndexStats(mapName, stats);
+        addValueCompressionStats(mapName, stats);
         updateMapOnDemandStats(mapName, onDemandStats);
 
         return onDemandStats.updateAndGet(stats);
@@ -149,6 +151,7 @@ public class LocalMapStatsProvider {
             LocalMapOnDemandCalculatedStats onDemand = ((LocalMapOnDemandCalculatedStats) entry.getValue());
             addNearCacheStats(mapName, existingStats, onDemand);
             addIndexStats(mapName, existingStats);
+            addValueCompressionStats(mapName, existingStats);
             addStructureStats(mapName, onDemand);
 
             LocalMapStatsImpl updatedStats = onDemand.updateAndGet(existingStats);
@@ -335,6 +338,13 @@ public class LocalMapStatsProvider {
         onDemandStats.incrementHeapCost(nearCacheStats.getOwnedEntryMemoryCost());
     }
 
+    private void addValueCompressionStats(String mapName, LocalMapStatsImpl localMapStats) {
+        MapValueCompressor valueCompressor = mapServiceContext.getMapContainer(mapName).getValueCompressor();
+        if (valueCompressor != null) {
+            localMapStats.setValueCompressionRatio(valueCompressor.getCompressionRatio());
+        }
+    }
+
     private void addIndexStats(String mapName, LocalMapStatsImpl localMapStats) {
         MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
         Indexes globalIndexes = mapContainer.getIndexes();
@@ -46,6 +46,7 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.MapValueCompressor;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.recordstore.RecordStore;
@@ -70,6 +71,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static com.hazelcast.config.ConsistencyCheckStrategy.MERKLE_TREES;
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMapMergePolicy;
@@ -77,6 +79,7 @@ import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.ge
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_VALUE_COMPRESSION_ENABLED;
 import static java.lang.System.getProperty;
 
 /**
@@ -103,6 +106,7 @@ public class MapContainer {
     protected final Function<Object, Data> toDataFunction = new ObjectToData();
     protected final InterceptorRegistry interceptorRegistry = new InterceptorRegistry();
     protected final ConstructorFunction<Void, RecordFactory> recordFactoryConstructor;
+    protected final MapValueCompressor valueCompressor;
     /**
      * Holds number of registered {@link InvalidationListener} from clients.
      */
@@ -114,6 +118,11 @@ public class MapContainer {
 
     protected volatile MapConfig mapConfig;
     private volatile Evictor evictor;
+    /**
+     * Column statistics of this map collected on this member by the SQL
+     * optimizer, opaque to the map.
+     */
+    private volatile Object sqlStatistics;
 
     private boolean persistWanReplicatedData;
 
@@ -134,6 +143,7 @@ public class MapContainer {
         this.partitioningStrategy = createPartitioningStrategy();
         this.splitBrainProtectionName = mapConfig.getSplitBrainProtectionName();
         this.serializationService = ((InternalSerializationService) nodeEngine.getSerializationService());
+        this.valueCompressor = createValueCompressor(nodeEngine);
         this.recordFactoryConstructor = createRecordFactoryConstructor(serializationService);
         this.objectNamespace = MapService.getObjectNamespace(name);
         this.extractors = Extractors.newBuilder(serializationService)
@@ -248,6 +258,12 @@ public class MapContainer {
         }
     }
 
+    private MapValueCompressor createValueCompressor(NodeEngine nodeEngine) {
+        return mapConfig.getInMemoryFormat() == BINARY
+                && nodeEngine.getProperties().getBoolean(MAP_VALUE_COMPRESSION_ENABLED)
+                ? new MapValueCompressor() : null;
+    }
+
     // overridden in different context
     ConstructorFunction<Void, RecordFactory> createRecordFactoryConstructor(final SerializationService serializationService) {
         return anyArg -> {
@@ -409,6 +425,14 @@ public class MapContainer {
         return recordFactoryConstructor;
     }
 
+    /**
+     * @return the compressor of the values of this map or {@code null} if
+     * value compression is not enabled
+     */
+    public MapValueCompressor getValueCompressor() {
+        return valueCompressor;
+    }
+
     public QueryableEntry newQueryEntry(Data key, Object value) {
         return queryEntryFactory.newEntry(key, value);
     }
@@ -426,6 +450,14 @@ public class MapContainer {
         return extractors;
     }
 
+    public Object getSqlStatistics() {
+        return sqlStatistics;
+    }
+
+    public void setSqlStatistics(Object sqlStatistics) {
+        this.sqlStatistics = sqlStatistics;
+    }
+
     public boolean hasInvalidationListener() {
         return invalidationListenerCount.get() > 0;
     }
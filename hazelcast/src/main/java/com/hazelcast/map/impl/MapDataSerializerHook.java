@@ -158,6 +158,7 @@ import com.hazelcast.map.impl.tx.VersionedValue;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.MapIndexInfo;
+import com.hazelcast.spi.impl.operationservice.OperationPool;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.MAP_DS_FACTORY;
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.MAP_DS_FACTORY_ID;
@@ -334,10 +335,10 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public DataSerializableFactory createFactory() {
         ConstructorFunction<Integer, IdentifiedDataSerializable>[] constructors = new ConstructorFunction[LEN];
 
-        constructors[PUT] = arg -> new PutOperation();
-        constructors[GET] = arg -> new GetOperation();
+        constructors[PUT] = arg -> OperationPool.acquire(PutOperation.class, PutOperation::new);
+        constructors[GET] = arg -> OperationPool.acquire(GetOperation.class, GetOperation::new);
         constructors[REMOVE] = arg -> new RemoveOperation();
-        constructors[PUT_BACKUP] = arg -> new PutBackupOperation();
+        constructors[PUT_BACKUP] = arg -> OperationPool.acquire(PutBackupOperation.class, PutBackupOperation::new);
         constructors[REMOVE_BACKUP] = arg -> new RemoveBackupOperation();
         constructors[EVICT_BACKUP] = arg -> new EvictBackupOperation();
         constructors[CREATE_ACCUMULATOR_INFO] = arg -> new AccumulatorInfo();
@@ -349,7 +350,7 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[CONTAINS_KEY] = arg -> new ContainsKeyOperation();
         constructors[KEYS_WITH_CURSOR] = arg -> new MapKeysWithCursor();
         constructors[ENTRIES_WITH_CURSOR] = arg -> new MapEntriesWithCursor();
-        constructors[SET] = arg -> new SetOperation();
+        constructors[SET] = arg -> OperationPool.acquire(SetOperation.class, SetOperation::new);
         constructors[LOAD_MAP] = arg -> new LoadMapOperation();
         constructors[KEY_LOAD_STATUS] = arg -> new KeyLoadStatusOperation();
         constructors[LOAD_ALL] = arg -> new LoadAllOperation();
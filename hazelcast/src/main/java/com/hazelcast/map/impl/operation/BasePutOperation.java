@@ -37,6 +37,14 @@ public abstract class BasePutOperation
     public BasePutOperation() {
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        oldValue = null;
+        eventType = null;
+        recordToBackup = null;
+    }
+
     @Override
     protected void afterRunInternal() {
         Object value = isPostProcessing(recordStore)
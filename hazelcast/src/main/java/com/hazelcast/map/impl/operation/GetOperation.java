@@ -36,6 +36,12 @@ public final class GetOperation extends ReadonlyKeyBasedMapOperation implements
         this.dataKey = dataKey;
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        result = null;
+    }
+
     @Override
     protected void runInternal() {
         Object currentValue = recordStore.get(dataKey, false, getCallerAddress());
@@ -63,6 +63,14 @@ public abstract class KeyBasedMapOperation extends MapOperation
         return dataValue;
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        threadId = 0;
+        dataKey = null;
+        dataValue = null;
+    }
+
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -77,6 +77,19 @@ public abstract class MapOperation extends AbstractNamedOperation
         this.name = name;
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        mapService = null;
+        recordStore = null;
+        mapContainer = null;
+        mapServiceContext = null;
+        mapEventPublisher = null;
+        createRecordStoreOnDemand = true;
+        disposeDeferredBlocks = true;
+        canPublishWanEvent = false;
+    }
+
     @Override
     public final void beforeRun() throws Exception {
         super.beforeRun();
@@ -51,6 +51,15 @@ public class PutBackupOperation
     public PutBackupOperation() {
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        record = null;
+        dataKey = null;
+        dataValue = null;
+        expiryMetadata = null;
+    }
+
     @Override
     protected void runInternal() {
         // TODO performance: we can put this record directly into record-store if memory format is BINARY
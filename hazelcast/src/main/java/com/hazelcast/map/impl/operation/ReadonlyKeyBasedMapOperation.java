@@ -52,6 +52,13 @@ public abstract class ReadonlyKeyBasedMapOperation extends MapOperation
         this.threadId = threadId;
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        dataKey = null;
+        threadId = 0;
+    }
+
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -35,6 +35,12 @@ public class SetOperation extends BasePutOperation implements MutatingOperation
         super(name, dataKey, value);
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        newRecord = false;
+    }
+
     @Override
     protected void runInternal() {
         oldValue = recordStore.set(dataKey, dataValue, getTtl(), getMaxIdle());
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A serialized value whose payload is deflated against a dictionary shared
+ * by all values of a map, see {@link MapValueCompressor}.
+ * <p>
+ * This is only the stored form of a record value, it is never handed out
+ * of the record. {@link Record#getValue()} calls {@link #decompress()} once
+ * and returns the resulting {@link HeapData}, so all further reads of the
+ * value work on plain bytes.
+ */
+public final class CompressedValue {
+
+    // array (12: array header, 4: length)
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+    private static final int FIELDS_SIZE_IN_BYTES = 4 * INT_SIZE_IN_BYTES + 2 * REFERENCE_COST_IN_BYTES;
+
+    private final int partitionHash;
+    private final int type;
+    private final int hashCode;
+    private final int dataSize;
+    private final byte[] compressed;
+    private final byte[] dictionary;
+
+    CompressedValue(int partitionHash, int type, int hashCode, int dataSize,
+                    byte[] compressed, byte[] dictionary) {
+        this.partitionHash = partitionHash;
+        this.type = type;
+        this.hashCode = hashCode;
+        this.dataSize = dataSize;
+        this.compressed = compressed;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Inflates the value into a new {@link HeapData}.
+     */
+    public Data decompress() {
+        byte[] bytes = new byte[HEAP_DATA_OVERHEAD + dataSize];
+        writeIntB(bytes, PARTITION_HASH_OFFSET, partitionHash);
+        writeIntB(bytes, TYPE_OFFSET, type);
+        MapValueCompressor.inflate(compressed, dictionary, bytes, DATA_OFFSET);
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Returns the heap cost of the compressed form. The dictionary is shared
+     * by all values of the map and is not included.
+     */
+    public int getHeapCost() {
+        return OBJECT_HEADER_SIZE + FIELDS_SIZE_IN_BYTES + ARRAY_HEADER_SIZE_IN_BYTES + compressed.length;
+    }
+
+    public int getDataSize() {
+        return dataSize;
+    }
+
+    public int getCompressedSize() {
+        return compressed.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompressedValue)) {
+            return false;
+        }
+
+        CompressedValue that = (CompressedValue) o;
+        if (type != that.type || dataSize != that.dataSize || hashCode != that.hashCode) {
+            return false;
+        }
+        if (dictionary == that.dictionary) {
+            // deflate is deterministic for the same input and dictionary
+            return Arrays.equals(compressed, that.compressed);
+        }
+        return decompress().equals(that.decompress());
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedValue{"
+                + "type=" + type
+                + ", hashCode=" + hashCode
+                + ", dataSize=" + dataSize
+                + ", compressedSize=" + compressed.length
+                + ", heapCost=" + getHeapCost()
+                + '}';
+    }
+}
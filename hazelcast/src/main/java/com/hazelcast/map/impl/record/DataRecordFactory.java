@@ -43,13 +43,24 @@ public class DataRecordFactory implements RecordFactory<Data> {
         boolean hasEviction = mapContainer.getEvictor() != NULL_EVICTOR;
 
         Data valueData = ss.toData(value);
+        MapValueCompressor valueCompressor = mapContainer.getValueCompressor();
+        CompressedValue compressedValue = valueCompressor != null ? valueCompressor.compress(valueData) : null;
+        if (compressedValue != null) {
+            valueData = null;
+        }
 
+        Record<Data> record;
         switch (cacheDeserializedValues) {
             case NEVER:
-                return newSimpleRecord(valueData, mapConfig, perEntryStatsEnabled, hasEviction);
+                record = newSimpleRecord(valueData, mapConfig, perEntryStatsEnabled, hasEviction);
+                break;
             default:
-                return newCachedSimpleRecord(valueData, mapConfig, perEntryStatsEnabled, hasEviction);
+                record = newCachedSimpleRecord(valueData, mapConfig, perEntryStatsEnabled, hasEviction);
+        }
+        if (compressedValue != null) {
+            record.setCompressedValue(compressedValue);
         }
+        return record;
     }
 
     @Override
@@ -21,7 +21,8 @@ import com.hazelcast.internal.serialization.Data;
 import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 
 class DataRecordWithStats extends AbstractRecord<Data> {
-    protected volatile Data value;
+    // either a Data or a CompressedValue
+    protected volatile Object value;
 
     DataRecordWithStats() {
     }
@@ -35,13 +36,20 @@ class DataRecordWithStats extends AbstractRecord<Data> {
      */
     @Override
     public long getCost() {
-        return super.getCost() + REFERENCE_COST_IN_BYTES
-                + (value == null ? 0L : value.getHeapCost());
+        Object value = this.value;
+        long valueCost = 0L;
+        if (value instanceof CompressedValue) {
+            valueCost = ((CompressedValue) value).getHeapCost();
+        } else if (value != null) {
+            valueCost = ((Data) value).getHeapCost();
+        }
+        return super.getCost() + REFERENCE_COST_IN_BYTES + valueCost;
     }
 
     @Override
     public Data getValue() {
-        return value;
+        Object value = this.value;
+        return value instanceof CompressedValue ? ((CompressedValue) value).decompress() : (Data) value;
     }
 
     @Override
@@ -49,6 +57,16 @@ class DataRecordWithStats extends AbstractRecord<Data> {
         value = o;
     }
 
+    @Override
+    public void setCompressedValue(CompressedValue o) {
+        value = o;
+    }
+
+    @Override
+    public Object getStoredValue() {
+        return value;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!super.equals(o)) {
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Bits.readLongB;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Compresses the values of a single {@link com.hazelcast.config.InMemoryFormat#BINARY}
+ * map using a shared compression dictionary.
+ * <p>
+ * Values of the same map typically share a lot of content: class names,
+ * field names, schema information and common field values. Compressing
+ * each value on its own barely benefits from that, since a single value is
+ * too small for deflate to find repetitions in. Instead, the compressor
+ * first collects {@link #SAMPLE_COUNT} sample values and trains a preset
+ * dictionary out of the byte sequences shared by many of them. All values
+ * stored afterwards are deflated against this dictionary and kept as
+ * {@link CompressedValue} by the record, which inflates it when the value
+ * is read, see {@link Record#setCompressedValue}. Values stored before the
+ * dictionary is trained and values which don't shrink enough are kept as
+ * they are.
+ * <p>
+ * The compressor is thread-safe; it is shared by all partitions of a map.
+ */
+public class MapValueCompressor {
+
+    /**
+     * Number of values sampled before the dictionary is trained.
+     */
+    static final int SAMPLE_COUNT = 64;
+    /**
+     * Values with less payload than this are never compressed.
+     */
+    static final int MIN_VALUE_SIZE = 64;
+    /**
+     * The deflate window is 32 KB, anything beyond that can't be referenced.
+     */
+    static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int MAX_SAMPLE_SIZE = 8 * 1024;
+    private static final int GRAM_LENGTH = 8;
+    // a value is only kept compressed if it shrinks by at least 1/8th
+    private static final int MIN_SAVING_DIVISOR = 8;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final Counter compressedValues = newMwCounter();
+    private final Counter uncompressedBytes = newMwCounter();
+    private final Counter compressedBytes = newMwCounter();
+    private final List<byte[]> samples = new ArrayList<>(SAMPLE_COUNT);
+    private volatile byte[] dictionary;
+
+    /**
+     * Compresses the given value if the dictionary has been trained and
+     * compression pays off. Until then, the value is used as a training
+     * sample.
+     *
+     * @param value the serialized value to store
+     * @return the compressed value or {@code null} if the value should be
+     * stored as it is
+     */
+    public CompressedValue compress(Data value) {
+        if (value == null || value.dataSize() < MIN_VALUE_SIZE) {
+            return null;
+        }
+
+        byte[] dictionary = this.dictionary;
+        if (dictionary == null) {
+            sample(value);
+            return null;
+        }
+
+        byte[] bytes = value.toByteArray();
+        int dataSize = value.dataSize();
+        byte[] compressed = new byte[dataSize - dataSize / MIN_SAVING_DIVISOR];
+        int length = deflate(bytes, dictionary, compressed);
+        if (length < 0) {
+            return null;
+        }
+
+        compressedValues.inc();
+        uncompressedBytes.inc(dataSize);
+        compressedBytes.inc(length);
+        return new CompressedValue(readIntB(bytes, PARTITION_HASH_OFFSET), value.getType(),
+                value.hashCode(), dataSize, Arrays.copyOf(compressed, length), dictionary);
+    }
+
+    public boolean isTrained() {
+        return dictionary != null;
+    }
+
+    public long getCompressedValueCount() {
+        return compressedValues.get();
+    }
+
+    /**
+     * Returns the ratio of the uncompressed size to the compressed size of
+     * all values compressed so far, or {@code 1} if nothing was compressed.
+     */
+    public double getCompressionRatio() {
+        long compressed = compressedBytes.get();
+        return compressed == 0 ? 1 : (double) uncompressedBytes.get() / compressed;
+    }
+
+    private void sample(Data value) {
+        byte[] bytes = value.toByteArray();
+        byte[] sample = Arrays.copyOfRange(bytes, DATA_OFFSET, Math.min(bytes.length, DATA_OFFSET + MAX_SAMPLE_SIZE));
+        synchronized (samples) {
+            if (dictionary != null) {
+                return;
+            }
+            samples.add(sample);
+            if (samples.size() == SAMPLE_COUNT) {
+                dictionary = train(samples);
+                samples.clear();
+            }
+        }
+    }
+
+    /**
+     * Builds a dictionary out of the byte sequences shared by the samples.
+     * A sequence is considered shared if its {@link #GRAM_LENGTH}-byte grams
+     * occur in at least a quarter of the samples. The most valuable sequences
+     * are put at the end of the dictionary, since deflate encodes closer
+     * matches more cheaply.
+     */
+    static byte[] train(List<byte[]> samples) {
+        Map<Long, Integer> gramFrequencies = new HashMap<>();
+        for (byte[] sample : samples) {
+            Set<Long> seen = new HashSet<>();
+            for (int i = 0; i + GRAM_LENGTH <= sample.length; i++) {
+                long gram = readLongB(sample, i);
+                if (seen.add(gram)) {
+                    gramFrequencies.merge(gram, 1, Integer::sum);
+                }
+            }
+        }
+
+        int minFrequency = Math.max(2, samples.size() / 4);
+        Map<ByteBuffer, Integer> segmentFrequencies = new HashMap<>();
+        for (byte[] sample : samples) {
+            int runStart = -1;
+            int runEnd = -1;
+            for (int i = 0; i + GRAM_LENGTH <= sample.length; i++) {
+                if (gramFrequencies.get(readLongB(sample, i)) < minFrequency) {
+                    continue;
+                }
+                if (runStart >= 0 && i <= runEnd) {
+                    runEnd = i + GRAM_LENGTH;
+                    continue;
+                }
+                if (runStart >= 0) {
+                    segmentFrequencies.merge(ByteBuffer.wrap(Arrays.copyOfRange(sample, runStart, runEnd)), 1, Integer::sum);
+                }
+                runStart = i;
+                runEnd = i + GRAM_LENGTH;
+            }
+            if (runStart >= 0) {
+                segmentFrequencies.merge(ByteBuffer.wrap(Arrays.copyOfRange(sample, runStart, runEnd)), 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<ByteBuffer, Integer>> segments = new ArrayList<>(segmentFrequencies.entrySet());
+        segments.sort((e1, e2) -> Long.compare(score(e2), score(e1)));
+
+        List<ByteBuffer> selected = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<ByteBuffer, Integer> segment : segments) {
+            int length = segment.getKey().remaining();
+            if (size + length <= MAX_DICTIONARY_SIZE) {
+                selected.add(segment.getKey());
+                size += length;
+            }
+        }
+
+        byte[] dictionary = new byte[size];
+        int offset = 0;
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            ByteBuffer segment = selected.get(i);
+            int length = segment.remaining();
+            segment.duplicate().get(dictionary, offset, length);
+            offset += length;
+        }
+        return dictionary;
+    }
+
+    private static long score(Map.Entry<ByteBuffer, Integer> segment) {
+        return (long) segment.getKey().remaining() * segment.getValue();
+    }
+
+    /**
+     * Deflates the payload of the serialized value into the dst array.
+     *
+     * @return the number of bytes used in dst, or -1 if the deflated bytes
+     * did not fit.
+     */
+    private static int deflate(byte[] bytes, byte[] dictionary, byte[] dst) {
+        Deflater deflater = DEFLATER.get();
+        try {
+            deflater.setInput(bytes, DATA_OFFSET, bytes.length - DATA_OFFSET);
+            if (dictionary.length > 0) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.finish();
+            int offset = 0;
+            while (!deflater.finished()) {
+                if (offset == dst.length) {
+                    return -1;
+                }
+                offset += deflater.deflate(dst, offset, dst.length - offset);
+            }
+            return offset;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    /**
+     * Inflates the compressed bytes into dst starting at the given offset.
+     *
+     * @throws IllegalStateException if the compressed bytes are corrupt.
+     */
+    static void inflate(byte[] compressed, byte[] dictionary, byte[] dst, int offset) {
+        Inflater inflater = INFLATER.get();
+        try {
+            inflater.setInput(compressed);
+            while (offset < dst.length) {
+                int bytesInflated = inflater.inflate(dst, offset, dst.length - offset);
+                if (bytesInflated == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.finished() || inflater.needsInput()) {
+                        throw new IllegalStateException("Compressed value is truncated, expected "
+                                + dst.length + " bytes but got " + offset);
+                    }
+                }
+                offset += bytesInflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed value is corrupt", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
@@ -58,6 +58,32 @@ public interface Record<V> {
 
     void setValue(V value);
 
+    /**
+     * Stores the value in compressed form. {@link #getValue()} then
+     * decompresses it on every call, so callers should read the value once
+     * and pass the returned {@code Data} along.
+     *
+     * @param value the compressed value
+     * @throws UnsupportedOperationException if the record does not hold
+     *                                       serialized values
+     * @see MapValueCompressor
+     */
+    default void setCompressedValue(CompressedValue value) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support compressed values");
+    }
+
+    /**
+     * Returns the value in the form it is held by this record: either the
+     * value returned by {@link #getValue()} or a {@link CompressedValue}.
+     * Unlike {@link #getValue()}, this never creates a new instance, so it
+     * can be used to detect a concurrent update by an identity check.
+     *
+     * @return the value as stored in this record
+     */
+    default Object getStoredValue() {
+        return getValue();
+    }
+
     /**
      * Returns heap cost of this record in bytes.
      *
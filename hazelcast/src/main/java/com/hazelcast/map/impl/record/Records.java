@@ -162,12 +162,14 @@ public final class Records {
         }
         for (; ; ) {
             if (cachedValue == null) {
+                // the stored value is read first, an update in between is caught by the check after the CAS
+                Object storedValueBeforeCas = record.getStoredValue();
                 Object valueBeforeCas = record.getValue();
                 if (!shouldCache(valueBeforeCas)) {
                     //it's either a null or value which we do not want to cache. let's just return it.
                     return valueBeforeCas;
                 }
-                Object fromCache = tryStoreIntoCache(record, valueBeforeCas, serializationService);
+                Object fromCache = tryStoreIntoCache(record, storedValueBeforeCas, valueBeforeCas, serializationService);
                 if (fromCache != null) {
                     return fromCache;
                 }
@@ -190,14 +192,15 @@ public final class Records {
         }
     }
 
-    private static Object tryStoreIntoCache(Record record, Object valueBeforeCas, SerializationService serializationService) {
+    private static Object tryStoreIntoCache(Record record, Object storedValueBeforeCas, Object valueBeforeCas,
+                                            SerializationService serializationService) {
         Thread currentThread = Thread.currentThread();
         if (!record.casCachedValue(null, currentThread)) {
             return null;
         }
 
         //we managed to lock the record for ourselves
-        Object valueAfterCas = record.getValue();
+        Object storedValueAfterCas = record.getStoredValue();
         Object object = null;
         try {
             object = serializationService.toObject(valueBeforeCas);
@@ -205,7 +208,7 @@ public final class Records {
             record.casCachedValue(currentThread, null);
             throw e;
         }
-        if (valueAfterCas == valueBeforeCas) {
+        if (storedValueAfterCas == storedValueBeforeCas) {
             //this check is needed to make sure a partition thread had not changed the value
             //right before we won the CAS
             Object wrappedObject = ThreadWrapper.wrapIfNeeded(object);
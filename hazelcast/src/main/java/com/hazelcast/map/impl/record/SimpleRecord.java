@@ -30,7 +30,8 @@ import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECOR
  */
 @SuppressWarnings({"checkstyle:methodcount", "VolatileLongOrDoubleField"})
 class SimpleRecord<V> implements Record<V> {
-    protected volatile V value;
+    // either a V or, for compressed values, a CompressedValue
+    protected volatile Object value;
     private int version;
 
     SimpleRecord() {
@@ -51,8 +52,11 @@ class SimpleRecord<V> implements Record<V> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public V getValue() {
-        return value;
+        Object value = this.value;
+        return value instanceof CompressedValue
+                ? (V) ((CompressedValue) value).decompress() : (V) value;
     }
 
     @Override
@@ -60,6 +64,16 @@ class SimpleRecord<V> implements Record<V> {
         this.value = value;
     }
 
+    @Override
+    public void setCompressedValue(CompressedValue value) {
+        this.value = value;
+    }
+
+    @Override
+    public Object getStoredValue() {
+        return value;
+    }
+
     @Override
     public Object getCachedValueUnsafe() {
         return Record.NOT_CACHED;
@@ -72,9 +86,13 @@ class SimpleRecord<V> implements Record<V> {
 
     @Override
     public long getCost() {
+        Object value = this.value;
         if (value instanceof Data) {
             return OBJECT_HEADER_SIZE
                     + REFERENCE_COST_IN_BYTES + ((Data) value).getHeapCost();
+        } else if (value instanceof CompressedValue) {
+            return OBJECT_HEADER_SIZE
+                    + REFERENCE_COST_IN_BYTES + ((CompressedValue) value).getHeapCost();
         } else {
             // For OBJECT in-memory-format we
             // don't calculate cost for now.
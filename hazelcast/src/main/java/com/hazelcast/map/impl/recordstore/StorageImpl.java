@@ -24,6 +24,8 @@ import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.EntryCostEstimator;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.CompressedValue;
+import com.hazelcast.map.impl.record.MapValueCompressor;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
 
@@ -46,12 +48,19 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     private final StorageSCHM<R> records;
     private final SerializationService serializationService;
     private final InMemoryFormat inMemoryFormat;
+    private final MapValueCompressor valueCompressor;
 
     // not final for testing purposes.
     private EntryCostEstimator<Data, Record> entryCostEstimator;
 
     StorageImpl(InMemoryFormat inMemoryFormat, ExpirySystem expirySystem,
                 SerializationService serializationService) {
+        this(inMemoryFormat, expirySystem, serializationService, null);
+    }
+
+    StorageImpl(InMemoryFormat inMemoryFormat, ExpirySystem expirySystem,
+                SerializationService serializationService, MapValueCompressor valueCompressor) {
+        this.valueCompressor = valueCompressor;
         this.entryCostEstimator = createMapSizeEstimator(inMemoryFormat);
         this.inMemoryFormat = inMemoryFormat;
         this.records = new StorageSCHM<>(serializationService, expirySystem);
@@ -86,12 +95,24 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     public void updateRecordValue(Data key, R record, Object value) {
         updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
 
-        record.setValue(inMemoryFormat == BINARY
-                ? serializationService.toData(value) : serializationService.toObject(value));
+        if (inMemoryFormat == BINARY) {
+            setDataValue(record, serializationService.toData(value));
+        } else {
+            record.setValue(serializationService.toObject(value));
+        }
 
         updateCostEstimate(entryCostEstimator.calculateValueCost(record));
     }
 
+    private void setDataValue(R record, Data data) {
+        CompressedValue compressedValue = valueCompressor != null ? valueCompressor.compress(data) : null;
+        if (compressedValue != null) {
+            record.setCompressedValue(compressedValue);
+        } else {
+            record.setValue(data);
+        }
+    }
+
     @Override
     public R get(Data key) {
         return records.get(key);
@@ -27,6 +27,7 @@ import com.hazelcast.internal.util.collection.WeightedEvictableList.WeightedItem
 import com.hazelcast.json.internal.JsonPattern;
 import com.hazelcast.json.internal.JsonSchemaHelper;
 import com.hazelcast.json.internal.JsonSchemaNode;
+import com.hazelcast.json.internal.JsonSchemaTerminalNode;
 
 import java.io.IOException;
 import java.util.List;
@@ -46,6 +47,18 @@ public abstract class AbstractJsonGetter extends Getter {
      */
     private static final int PATTERN_TRY_COUNT = 2;
 
+    /**
+     * Longest run of digits that is guaranteed to fit in a {@code long}.
+     * Longer integers are left to the value parser.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Returned by {@link #readTerminalValue} when a value cannot be
+     * decoded in place and has to be parsed.
+     */
+    private static final Object NOT_DECODED = new Object();
+
     private final JsonGetterContextCache contextCache =
             new JsonGetterContextCache(QUERY_CONTEXT_CACHE_MAX_SIZE, QUERY_CONTEXT_CACHE_CLEANUP_SIZE);
 
@@ -152,31 +165,36 @@ public abstract class AbstractJsonGetter extends Getter {
         JsonSchemaNode schemaNode = (JsonSchemaNode) metadata;
 
         NavigableJsonInputAdapter adapter = annotate(obj);
-        JsonGetterContext queryContext = contextCache.getContext(attributePath);
-        List<WeightedItem<JsonPattern>> patternsSnapshot = queryContext.getPatternListSnapshot();
-
-        JsonPathCursor pathCursor = queryContext.newJsonPathCursor();
-        JsonPattern knownPattern;
-        for (int i = 0; i < PATTERN_TRY_COUNT && i < patternsSnapshot.size(); i++) {
-            WeightedItem<JsonPattern> patternWeightedItem = patternsSnapshot.get(i);
-            knownPattern = patternWeightedItem.getItem();
-            JsonValue value = JsonSchemaHelper.findValueWithPattern(adapter, schemaNode, knownPattern, pathCursor);
-            pathCursor.reset();
-            if (value != null) {
-                queryContext.voteFor(patternWeightedItem);
-                return convertFromJsonValue(value);
+        try {
+            JsonGetterContext queryContext = contextCache.getContext(attributePath);
+            List<WeightedItem<JsonPattern>> patternsSnapshot = queryContext.getPatternListSnapshot();
+
+            JsonPathCursor pathCursor = queryContext.newJsonPathCursor();
+            JsonPattern knownPattern;
+            for (int i = 0; i < PATTERN_TRY_COUNT && i < patternsSnapshot.size(); i++) {
+                WeightedItem<JsonPattern> patternWeightedItem = patternsSnapshot.get(i);
+                knownPattern = patternWeightedItem.getItem();
+                JsonSchemaNode valueNode = JsonSchemaHelper.findNodeWithPattern(adapter, schemaNode, knownPattern, pathCursor);
+                pathCursor.reset();
+                if (valueNode != null) {
+                    queryContext.voteFor(patternWeightedItem);
+                    return readValue(adapter, valueNode);
+                }
             }
-        }
-        knownPattern = JsonSchemaHelper.createPattern(adapter, schemaNode, pathCursor);
-        pathCursor.reset();
-        if (knownPattern != null) {
-            if (knownPattern.hasAny()) {
-                return getValue(obj, attributePath);
+            knownPattern = JsonSchemaHelper.createPattern(adapter, schemaNode, pathCursor);
+            pathCursor.reset();
+            if (knownPattern != null) {
+                if (knownPattern.hasAny()) {
+                    return getValue(obj, attributePath);
+                }
+                queryContext.addOrVoteForPattern(knownPattern);
+                JsonSchemaNode valueNode = JsonSchemaHelper.findNodeWithPattern(adapter, schemaNode, knownPattern, pathCursor);
+                return valueNode == null ? null : readValue(adapter, valueNode);
             }
-            queryContext.addOrVoteForPattern(knownPattern);
-            return convertFromJsonValue(JsonSchemaHelper.findValueWithPattern(adapter, schemaNode, knownPattern, pathCursor));
+            return null;
+        } finally {
+            release(adapter);
         }
-        return null;
     }
 
     @Override
@@ -195,6 +213,107 @@ public abstract class AbstractJsonGetter extends Getter {
 
     protected abstract NavigableJsonInputAdapter annotate(Object object);
 
+    /**
+     * Releases the adapter created by {@link #annotate(Object)} once it is
+     * not used anymore.
+     */
+    protected void release(NavigableJsonInputAdapter adapter) {
+    }
+
+    /**
+     * Reads the value described by the given node. Scalars whose type was
+     * recorded in the schema are decoded straight from the input at their
+     * recorded offset. The rest goes through the value parser.
+     */
+    private static Object readValue(NavigableJsonInputAdapter adapter, JsonSchemaNode valueNode) throws IOException {
+        if (valueNode.isTerminal()) {
+            JsonSchemaTerminalNode terminalNode = (JsonSchemaTerminalNode) valueNode;
+            Object value = readTerminalValue(adapter, terminalNode.getValueStartLocation(), terminalNode.getValueType());
+            if (value != NOT_DECODED) {
+                return value;
+            }
+        }
+        return convertFromJsonValue(JsonSchemaHelper.parseValue(adapter, valueNode));
+    }
+
+    @SuppressWarnings("checkstyle:returncount")
+    private static Object readTerminalValue(NavigableJsonInputAdapter adapter, int position, byte valueType) {
+        switch (valueType) {
+            case JsonSchemaTerminalNode.TYPE_STRING:
+                return readString(adapter, position);
+            case JsonSchemaTerminalNode.TYPE_INT:
+                return readLong(adapter, position);
+            case JsonSchemaTerminalNode.TYPE_FLOAT:
+                return readDouble(adapter, position);
+            case JsonSchemaTerminalNode.TYPE_TRUE:
+                return true;
+            case JsonSchemaTerminalNode.TYPE_FALSE:
+                return false;
+            case JsonSchemaTerminalNode.TYPE_NULL:
+                return null;
+            default:
+                return NOT_DECODED;
+        }
+    }
+
+    /**
+     * Reads a string that has no escape sequences in it. Strings with
+     * escape sequences are left to the value parser.
+     */
+    private static Object readString(NavigableJsonInputAdapter adapter, int position) {
+        if (adapter.charAt(position) != '"') {
+            return NOT_DECODED;
+        }
+        int start = position + 1;
+        int end = start;
+        for (int c = adapter.charAt(end); c != '"'; c = adapter.charAt(++end)) {
+            if (c == '\\' || c == -1) {
+                return NOT_DECODED;
+            }
+        }
+        return adapter.substring(start, end);
+    }
+
+    private static Object readLong(NavigableJsonInputAdapter adapter, int position) {
+        boolean negative = adapter.charAt(position) == '-';
+        if (negative) {
+            position++;
+        }
+        long value = 0;
+        int digits = 0;
+        for (int c = adapter.charAt(position); c >= '0' && c <= '9'; c = adapter.charAt(++position)) {
+            if (++digits > MAX_LONG_DIGITS) {
+                return NOT_DECODED;
+            }
+            value = value * 10 + (c - '0');
+        }
+        if (digits == 0) {
+            return NOT_DECODED;
+        }
+        return negative ? -value : value;
+    }
+
+    private static Object readDouble(NavigableJsonInputAdapter adapter, int position) {
+        int end = position;
+        boolean hasFraction = false;
+        for (int c = adapter.charAt(end); isFloatCharacter(c); c = adapter.charAt(++end)) {
+            hasFraction |= c == '.';
+        }
+        if (!hasFraction) {
+            // keeps the conversion of convertFromJsonValue for numbers like 1e5
+            return NOT_DECODED;
+        }
+        try {
+            return Double.parseDouble(adapter.substring(position, end));
+        } catch (NumberFormatException e) {
+            return NOT_DECODED;
+        }
+    }
+
+    private static boolean isFloatCharacter(int c) {
+        return (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
+    }
+
     /**
      * Looks for the attribute with the given name only in current
      * object. If found, parser points to the value of the given
@@ -32,14 +32,12 @@ public class CompactGetter extends Getter {
 
     @Override
     Object getValue(Object target, String fieldPath) throws Exception {
-        InternalGenericRecord record;
         if (target instanceof CompactGenericRecord) {
-            record = (InternalGenericRecord) target;
-        } else {
-            record = serializationService.readAsInternalGenericRecord((Data) target);
+            GenericRecordQueryReader reader = new GenericRecordQueryReader((InternalGenericRecord) target);
+            return reader.read(fieldPath);
         }
-        GenericRecordQueryReader reader = new GenericRecordQueryReader(record);
-        return reader.read(fieldPath);
+        // reads the path in place, without creating a generic record for the data
+        return serializationService.readCompactPath((Data) target, fieldPath);
     }
 
     @Override
@@ -50,7 +50,13 @@ public final class JsonDataGetter extends AbstractJsonGetter {
     @Override
     protected NavigableJsonInputAdapter annotate(Object object) {
         Data data = (Data) object;
-        return new DataInputNavigableJsonAdapter(ss.createObjectDataInput(data),
+        return new DataInputNavigableJsonAdapter(ss.getBufferPool().takeInputBuffer(data),
                 HEAP_DATA_OVERHEAD + UTF_CHARACTER_COUNT_FIELD_SIZE);
     }
+
+    @Override
+    protected void release(NavigableJsonInputAdapter adapter) {
+        // values read through the adapter don't refer to its input
+        ss.getBufferPool().returnInputBuffer(((DataInputNavigableJsonAdapter) adapter).getInput());
+    }
 }
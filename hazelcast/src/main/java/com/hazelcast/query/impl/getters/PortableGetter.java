@@ -32,14 +32,11 @@ final class PortableGetter extends Getter {
 
     @Override
     Object getValue(Object target, String fieldPath) throws Exception {
-        InternalGenericRecord record;
         if (target instanceof PortableGenericRecord) {
-            record = (InternalGenericRecord) target;
-        } else {
-            record = serializationService.readAsInternalGenericRecord((Data) target);
+            GenericRecordQueryReader reader = new GenericRecordQueryReader((InternalGenericRecord) target);
+            return reader.read(fieldPath);
         }
-        GenericRecordQueryReader reader = new GenericRecordQueryReader(record);
-        return reader.read(fieldPath);
+        return serializationService.readPortablePath((Data) target, fieldPath);
     }
 
     @Override
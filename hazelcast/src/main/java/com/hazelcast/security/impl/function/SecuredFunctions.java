@@ -344,6 +344,7 @@ public final class SecuredFunctions {
 
     public static <T, R, K, V> FunctionEx<HazelcastInstance, Processor> updateWithEntryProcessorFn(
             int maxParallelAsyncOps,
+            boolean adaptiveConcurrency,
             String name,
             String clientXml,
             FunctionEx<? super T, ? extends K> toKeyFn,
@@ -352,7 +353,7 @@ public final class SecuredFunctions {
         return new FunctionEx<HazelcastInstance, Processor>() {
             @Override
             public Processor applyEx(HazelcastInstance instance) throws Exception {
-                return new UpdateMapWithEntryProcessorP<>(instance, maxParallelAsyncOps, name,
+                return new UpdateMapWithEntryProcessorP<>(instance, maxParallelAsyncOps, adaptiveConcurrency, name,
                         toKeyFn, toEntryProcessorFn);
             }
 
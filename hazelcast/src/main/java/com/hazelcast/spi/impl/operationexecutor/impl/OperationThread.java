@@ -29,6 +29,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationPool;
 
 import java.util.concurrent.TimeUnit;
 
@@ -85,6 +86,8 @@ public abstract class OperationThread extends HazelcastManagedThread implements
     private final NodeExtension nodeExtension;
     private final ILogger logger;
     private volatile boolean shutdown;
+    // only accessed by this thread; null if operation pooling is disabled
+    private OperationPool operationPool;
 
     public OperationThread(String name,
                            int threadId,
@@ -106,6 +109,25 @@ public abstract class OperationThread extends HazelcastManagedThread implements
         return threadId;
     }
 
+    /**
+     * Returns the pool of operations owned by this thread.
+     *
+     * @return the pool or <code>null</code> if operation pooling is disabled
+     */
+    public OperationPool getOperationPool() {
+        return operationPool;
+    }
+
+    /**
+     * Sets the pool of operations owned by this thread. Needs to be called
+     * before the thread is started.
+     *
+     * @param operationPool the pool of operations
+     */
+    public void setOperationPool(OperationPool operationPool) {
+        this.operationPool = operationPool;
+    }
+
     public abstract OperationRunner operationRunner(int partitionId);
 
     @Override
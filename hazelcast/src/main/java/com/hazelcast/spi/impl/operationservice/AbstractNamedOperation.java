@@ -37,6 +37,12 @@ public abstract class AbstractNamedOperation extends Operation implements NamedO
         return name;
     }
 
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        name = null;
+    }
+
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
         out.writeString(name);
@@ -865,6 +865,33 @@ public abstract class Operation implements DataSerializable, Tenantable {
         getTenantControlOrNoop().clearThreadContext();
     }
 
+    /**
+     * Resets this operation to the state of a newly constructed instance so
+     * it can be reused by the {@link OperationPool} once it has completed.
+     * <p>
+     * Operations that are pooled must override this method to clear their
+     * own state and call {@code super.clearForReuse()}.
+     */
+    protected void clearForReuse() {
+        callId = 0;
+        serviceName = null;
+        partitionId = GENERIC_PARTITION_ID;
+        replicaIndex = 0;
+        flags = 0;
+        setFlag(true, BITMASK_VALIDATE_TARGET);
+        setFlag(true, BITMASK_CALL_TIMEOUT_64_BIT);
+        invocationTime = -1;
+        callTimeout = Long.MAX_VALUE;
+        waitTimeout = -1;
+        callerUuid = null;
+        nodeEngine = null;
+        service = null;
+        callerAddress = null;
+        connection = null;
+        responseHandler = null;
+        clientCallId = -1;
+    }
+
     /**
      * A template method allows for additional information to be passed into
      * the {@link #toString()} method. So an Operation subclass can override
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice;
+
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationThread;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A pool of {@link Operation} instances owned by a single {@link OperationThread}.
+ * <p>
+ * Operations are taken from the pool when they are deserialized using
+ * {@link #acquire(Class, Supplier)} on an operation thread and returned to
+ * the pool using {@link #release(Operation)} once they have run to completion
+ * and their response has been sent. So it is only safe to release an operation
+ * if nothing keeps a reference to it; e.g. operations that got parked or
+ * offloaded must not be released.
+ * <p>
+ * Only types that have been acquired through the pool are accepted on release.
+ * Operations are reset using {@link Operation#clearForReuse()} when released.
+ * <p>
+ * This class is not thread-safe; it should only be accessed by the owning thread.
+ * Pooling is enabled using the {@link com.hazelcast.spi.properties.ClusterProperty#OPERATION_POOLING_ENABLED}
+ * property.
+ */
+public final class OperationPool {
+
+    /**
+     * The maximum number of pooled instances per operation type. Operations are
+     * released as soon as they complete, so only a few instances per type are
+     * needed for nested operations like backups.
+     */
+    static final int CAPACITY_PER_TYPE = 4;
+
+    private final Map<Class<?>, TypePool> pools = new IdentityHashMap<>();
+
+    /**
+     * Returns a pooled instance of the given type if the current thread is an
+     * {@link OperationThread} with operation pooling enabled and the pool has an
+     * instance available. Otherwise a new instance is created.
+     *
+     * @param type        the type of the operation
+     * @param constructor creates a new instance if no pooled instance is available
+     * @param <O>         the type of the operation
+     * @return the operation
+     */
+    public static <O extends Operation> O acquire(Class<O> type, Supplier<O> constructor) {
+        OperationPool pool = currentPool();
+        if (pool != null) {
+            O op = pool.take(type);
+            if (op != null) {
+                return op;
+            }
+        }
+        return constructor.get();
+    }
+
+    /**
+     * Returns the operation to the pool of the current thread if the current
+     * thread is an {@link OperationThread} with operation pooling enabled.
+     *
+     * @param op the operation that has completed
+     * @return <code>true</code> if the operation has been returned to the pool
+     */
+    public static boolean release(Operation op) {
+        OperationPool pool = currentPool();
+        return pool != null && pool.offer(op);
+    }
+
+    /**
+     * Returns the pool owned by the current thread.
+     *
+     * @return the pool or <code>null</code> if the current thread isn't an
+     * {@link OperationThread} or operation pooling is disabled
+     */
+    public static OperationPool currentPool() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof OperationThread ? ((OperationThread) thread).getOperationPool() : null;
+    }
+
+    <O extends Operation> O take(Class<O> type) {
+        TypePool pool = pools.get(type);
+        if (pool == null) {
+            // only types that have been acquired through the pool are pooled
+            pools.put(type, new TypePool());
+            return null;
+        }
+        return type.cast(pool.take());
+    }
+
+    boolean offer(Operation op) {
+        TypePool pool = pools.get(op.getClass());
+        if (pool == null) {
+            return false;
+        }
+        return pool.offer(op);
+    }
+
+    private static final class TypePool {
+        private final Operation[] items = new Operation[CAPACITY_PER_TYPE];
+        private int size;
+
+        Operation take() {
+            if (size == 0) {
+                return null;
+            }
+            Operation op = items[--size];
+            items[size] = null;
+            return op;
+        }
+
+        boolean offer(Operation op) {
+            if (size == items.length) {
+                return false;
+            }
+            for (int k = 0; k < size; k++) {
+                if (items[k] == op) {
+                    // already released; handing it out twice would be fatal
+                    return false;
+                }
+            }
+            op.clearForReuse();
+            items[size++] = op;
+            return true;
+        }
+    }
+}
@@ -56,6 +56,7 @@ import com.hazelcast.spi.impl.operationservice.CallStatus;
 import com.hazelcast.spi.impl.operationservice.Notifier;
 import com.hazelcast.spi.impl.operationservice.Offload;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationPool;
 import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
 import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
@@ -129,6 +130,11 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
 
     private final ConcurrentMap<Class, LatencyDistribution> opLatencyDistributions;
 
+    // The last operation that ran to completion and sent its response. It is used to
+    // determine if an operation received from a remote member can be returned to the
+    // OperationPool, and it is only written if operation pooling is enabled.
+    private Operation completedOperation;
+
     // When partitionId >= 0, it is a partition specific
     // when partitionId = -1, it is generic
     // when partitionId = -2, it is ad hoc
@@ -285,10 +291,12 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
                     logOperationError(op, e);
                 }
                 afterRun(op);
+                markCompleted(op);
                 break;
             case VOID_ORDINAL:
                 backupHandler.sendBackups(op);
                 afterRun(op);
+                markCompleted(op);
                 break;
             case OFFLOAD_ORDINAL:
                 op.afterRun();
@@ -304,6 +312,32 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
         }
     }
 
+    private void markCompleted(Operation op) {
+        if (OperationPool.currentPool() != null) {
+            completedOperation = op;
+        }
+    }
+
+    /**
+     * Returns an operation received from a remote member to the {@link OperationPool}
+     * if it has run to completion. An operation that has been parked or offloaded, or
+     * that failed, is still referenced and therefore never returned to the pool.
+     */
+    private void releaseIfCompleted(Operation op) {
+        if (op == null || op != completedOperation) {
+            return;
+        }
+        completedOperation = null;
+
+        OperationPool.release(op);
+        if (op instanceof Backup) {
+            Operation backupOp = ((Backup) op).getBackupOp();
+            if (backupOp != null) {
+                OperationPool.release(backupOp);
+            }
+        }
+    }
+
     private void checkNodeState(Operation op) {
         NodeState state = node.getState();
         if (state == NodeState.ACTIVE) {
@@ -482,6 +516,7 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
             if (publishCurrentTask) {
                 currentTask = null;
             }
+            releaseIfCompleted(op);
         }
     }
 
@@ -311,6 +311,32 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * Enables compression of member-to-member packets. Compression is only
+     * applied on a connection when both members have it enabled; this is
+     * negotiated as part of the member handshake, so members with different
+     * settings can still talk to each other.
+     * <p>
+     * Only packets with a payload of at least
+     * {@link #IO_COMPRESSION_THRESHOLD_BYTES} are compressed, and a
+     * compressed packet is only sent if it is actually smaller than the
+     * original.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty IO_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.io.compression.enabled", false);
+
+    /**
+     * The minimum payload size in bytes of a member-to-member packet before
+     * it is considered for compression. Small packets rarely compress well
+     * and the CPU cost isn't worth it.
+     * <p>
+     * Only has effect if {@link #IO_COMPRESSION_ENABLED} is set.
+     */
+    public static final HazelcastProperty IO_COMPRESSION_THRESHOLD_BYTES
+            = new HazelcastProperty("hazelcast.io.compression.threshold.bytes", 16 * 1024);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -1219,6 +1245,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Enables dictionary compression of the values of maps with
+     * {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory format.
+     * <p>
+     * A compression dictionary is trained per map from the first values
+     * stored on a member. Values stored afterwards are kept deflated against
+     * this dictionary and are inflated when they are read or queried. This
+     * trades CPU time for a smaller memory footprint and is most effective
+     * for maps with many similar values. The achieved compression ratio is
+     * reported by {@link com.hazelcast.map.LocalMapStats#getValueCompressionRatio()}.
+     */
+    public static final HazelcastProperty MAP_VALUE_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.map.value.compression.enabled", false);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1248,6 +1288,19 @@ public final class ClusterProperty {
     public static final HazelcastProperty FAIL_ON_INDETERMINATE_OPERATION_STATE
             = new HazelcastProperty("hazelcast.operation.fail.on.indeterminate.state", false);
 
+    /**
+     * Enables pooling of the most frequently executed operations, like the
+     * map get, put and set operations and their backups.
+     * <p>
+     * When enabled, each partition thread keeps a small pool of operation
+     * instances. Operations received from other members are taken from this pool
+     * when they are deserialized and returned to it once they have completed and
+     * their response has been sent. This reduces the allocation rate, and therefore
+     * the frequency of young GCs, under a steady load.
+     */
+    public static final HazelcastProperty OPERATION_POOLING_ENABLED
+            = new HazelcastProperty("hazelcast.operation.pooling.enabled", false);
+
     /**
      * Maximum number of retries for an invocation. After threshold is reached,
      * invocation is assumed as failed.
@@ -1590,6 +1643,15 @@ public final class ClusterProperty {
             = new HazelcastProperty("hazelcast.serialization.version",
             BuildInfoProvider.getBuildInfo().getSerializationVersion());
 
+    /**
+     * Directory in which the Compact serialization schemas known to the member
+     * are cached. The cached schemas are loaded when the member starts, so the
+     * first reads of Compact data after a restart don't have to fetch their
+     * schemas from other members. Schema caching is disabled if not set.
+     */
+    public static final HazelcastProperty COMPACT_SCHEMA_CACHE_DIRECTORY
+            = new HazelcastProperty("hazelcast.compact.schema.cache.directory");
+
     /**
      * By default, search for data structures config is performed within static
      * configuration first:
@@ -1770,6 +1832,107 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * The directory to which Jet's grouping and sorting processors spill
+     * their state once they accumulate more records than {@link
+     * com.hazelcast.jet.config.InstanceConfig#setMaxProcessorAccumulatedRecords
+     * maxProcessorAccumulatedRecords}. The spilled state is read back
+     * when the processor completes. If not set, such processors fail the
+     * job instead.
+     *
+     * @since 5.0
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.directory");
+
+    /**
+     * Whether Jet's grouping processors keep their per-key accumulators
+     * off-heap. The keys and accumulators are stored serialized in native
+     * memory, which takes them off the Java heap at the cost of
+     * deserializing and serializing the accumulator for each item. The keys
+     * and accumulators must be serializable when enabled. The keys are
+     * compared by their serialized form, so only keys of types whose
+     * serialized form is equal exactly when the keys are equal are supported:
+     * strings, boxed primitives, UUIDs, enums and {@code Tuple2}s and {@code
+     * Tuple3}s of them. The job fails on a key of another type.
+     *
+     * @since 5.0
+     */
+    public static final HazelcastProperty JET_OFF_HEAP_KEYED_STATE_ENABLED
+            = new HazelcastProperty("hazelcast.jet.keyed.state.off.heap.enabled", false);
+
+    /**
+     * The maximum number of incremental snapshots taken by a Jet job between
+     * two full snapshots. An incremental snapshot contains only the state
+     * changed since the last full snapshot, for processors that support it.
+     * Restoring replays the last full snapshot and the last incremental one.
+     * <p>
+     * The default value is 0, which means every snapshot is a full snapshot.
+     *
+     * @since 5.0
+     */
+    public static final HazelcastProperty JET_INCREMENTAL_SNAPSHOT_MAX_COUNT
+            = new HazelcastProperty("hazelcast.jet.snapshot.incremental.max.count", 0);
+
+    /**
+     * Whether idle cooperative worker threads of Jet steal tasklets from
+     * busy ones. Without it, tasklets stay on the thread they were assigned
+     * to when the job started, so a job with a skewed load can keep one
+     * thread busy while the others idle. The load is measured from the time
+     * spent in tasklet calls that made progress. A tasklet is moved only
+     * between two iterations of its current thread, so it's never called by
+     * two threads at the same time.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 5.0
+     */
+    public static final HazelcastProperty JET_COOPERATIVE_WORK_STEALING_ENABLED
+            = new HazelcastProperty("hazelcast.jet.cooperative.work.stealing.enabled", false);
+
+    /**
+     * The maximum time in microseconds a Jet distributed edge sender keeps a
+     * partially filled packet, waiting for more items, before it sends it.
+     * When the items are produced faster than they're sent, packets fill up
+     * to the {@link com.hazelcast.jet.config.EdgeConfig#setPacketSizeLimit
+     * packet size limit} and are sent without waiting. When they're produced
+     * slowly, waiting lets small items share a packet instead of each being
+     * sent in its own, at the cost of the added latency. Larger packets also
+     * compress better, see {@link #IO_COMPRESSION_ENABLED}.
+     * <p>
+     * The default value is 0, which means packets are sent without waiting.
+     *
+     * @since 5.0
+     */
+    public static final HazelcastProperty JET_DISTRIBUTED_EDGE_MAX_LINGER_MICROSECONDS
+            = new HazelcastProperty("hazelcast.jet.distributed.edge.max.linger.microseconds", 0, MICROSECONDS);
+
+    /**
+     * Whether the edges in front of the first stage of a two-stage
+     * aggregation spread the items of the partitions with a large share of
+     * the items, typically because of a hot key, over all the downstream
+     * processors. Without it, all items of a hot key are accumulated by a
+     * single processor.
+     * <p>
+     * The default value is {@code true}.
+     *
+     * @since 5.0
+     */
+    public static final HazelcastProperty JET_SKEW_AWARE_PARTITIONING_ENABLED
+            = new HazelcastProperty("hazelcast.jet.skew.aware.partitioning.enabled", true);
+
+    /**
+     * Whether SQL filter and projection vertices pass rows between each
+     * other as columnar batches and evaluate the expressions batch by batch.
+     * Without it, the rows are filtered and projected one at a time.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 5.0
+     */
+    public static final HazelcastProperty SQL_VECTORIZED_EXECUTION_ENABLED
+            = new HazelcastProperty("hazelcast.sql.vectorized.execution.enabled", false);
+
     private ClusterProperty() {
     }
 }
@@ -29,6 +29,7 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
     private final InternalSerializationService serializationService;
     private final Extractors extractors;
     private final boolean key;
+    private final boolean compactInPlace;
 
     private Object deserialized;
     private Data serialized;
@@ -37,9 +38,26 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
     private Object targetForFieldAccess;
 
     public GenericQueryTarget(InternalSerializationService serializationService, Extractors extractors, boolean key) {
+        this(serializationService, extractors, key, false);
+    }
+
+    /**
+     * @param compactInPlace whether to read the fields of Compact values from
+     *                       the serialized form. Only for mappings without a
+     *                       Java class: otherwise the fields must be read from
+     *                       the deserialized object, e.g. to return a nested
+     *                       object as an instance of its class.
+     */
+    public GenericQueryTarget(
+            InternalSerializationService serializationService,
+            Extractors extractors,
+            boolean key,
+            boolean compactInPlace
+    ) {
         this.serializationService = serializationService;
         this.extractors = extractors;
         this.key = key;
+        this.compactInPlace = compactInPlace;
     }
 
     @Override
@@ -72,7 +90,8 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
     /**
      * Get target that should be used for field access.
      *
-     * @return serialized form for {@link Portable}, deserialized form otherwise
+     * @return serialized form for {@link Portable}, and for Compact if read
+     * in place, deserialized form otherwise
      */
     @SuppressWarnings("checkstyle:NestedIfDepth")
     private Object prepareTargetForFieldAccess() {
@@ -101,8 +120,8 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
         } else {
             assert serialized != null;
 
-            if (serialized.isPortable()) {
-                // Return Portable as Data.
+            if (serialized.isPortable() || (compactInPlace && serialized.isCompact())) {
+                // Return Portable and Compact as Data, the fields are read in place.
                 return serialized;
             } else {
                 // Deserialize otherwise.
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Statistics of a single table column that are used during planning for cost calculation.
+ * <p>
+ * The histogram, if present, is an equi-depth one: {@code k + 1} sorted bounds delimit {@code k} buckets, each holding
+ * roughly the same number of rows. It is only collected for numeric columns.
+ */
+public class ColumnStatistics {
+
+    private final double distinctCount;
+    private final double[] histogram;
+
+    public ColumnStatistics(double distinctCount, @Nullable double[] histogram) {
+        assert histogram == null || histogram.length >= 2 : Arrays.toString(histogram);
+
+        this.distinctCount = Math.max(distinctCount, 1d);
+        this.histogram = histogram;
+    }
+
+    /**
+     * @return Estimated number of distinct non-null values in the column. Never less than 1.
+     */
+    public double getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * @return Estimated fraction of rows for which the column is equal to a given value.
+     */
+    public double getEqualsSelectivity() {
+        return 1d / distinctCount;
+    }
+
+    /**
+     * Estimates the fraction of rows for which the column falls into the given range.
+     *
+     * @param lower Lower bound of the range, {@code null} if unbounded.
+     * @param upper Upper bound of the range, {@code null} if unbounded.
+     * @return Estimated fraction of rows or {@code null} if there is no histogram.
+     */
+    @Nullable
+    public Double getRangeSelectivity(@Nullable Double lower, @Nullable Double upper) {
+        if (histogram == null) {
+            return null;
+        }
+
+        double from = lower != null ? cumulativeFraction(lower) : 0d;
+        double to = upper != null ? cumulativeFraction(upper) : 1d;
+
+        return Math.max(to - from, 0d);
+    }
+
+    /**
+     * @return Fraction of rows with the column value less than or equal to the given one, interpolated linearly within
+     * the bucket the value falls into.
+     */
+    private double cumulativeFraction(double value) {
+        int bucketCount = histogram.length - 1;
+
+        if (value < histogram[0]) {
+            return 0d;
+        } else if (value >= histogram[bucketCount]) {
+            return 1d;
+        }
+
+        int bucket = 0;
+
+        while (value >= histogram[bucket + 1]) {
+            bucket++;
+        }
+
+        double low = histogram[bucket];
+        double high = histogram[bucket + 1];
+        double withinBucket = high > low ? (value - low) / (high - low) : 1d;
+
+        return (bucket + withinBucket) / bucketCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{distinctCount=" + distinctCount
+            + ", histogram=" + Arrays.toString(histogram) + '}';
+    }
+}
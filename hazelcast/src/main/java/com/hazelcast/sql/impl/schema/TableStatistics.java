@@ -28,4 +28,15 @@ public interface TableStatistics {
      * @return Estimated number of rows in the table. Never negative.
      */
     long getRowCount();
+
+    /**
+     * Gets the statistics of the given field. Like the row count, they are only estimates. Implementations may
+     * collect them lazily, as most fields of most tables are never filtered, grouped or joined on.
+     *
+     * @param fieldIndex Index of the field in the table.
+     * @return Statistics of the field or {@code null} if not available.
+     */
+    default ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return null;
+    }
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema.map;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.cluster.memberselector.MemberSelectors;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.IndexKeyEntries;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.TableStatistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+
+/**
+ * Statistics of a table backed by a partitioned map.
+ * <p>
+ * Like the row count, the column statistics are estimated from the data owned by the local member, without invoking
+ * any distributed operations:
+ * <ul>
+ *     <li>If the column is the first and only attribute of a sorted global index which holds at most
+ *     {@link #SAMPLE_SIZE} local entries, the index is walked key by key. This gives the exact local number of distinct
+ *     values and an equi-depth histogram without touching the entries. The cluster-wide number of distinct values is
+ *     extrapolated with the GEE estimator, which takes into account how many values were seen only once locally</li>
+ *     <li>Otherwise a bounded sample of local entries is read. Distinct values are counted with a {@link HyperLogLog},
+ *     the histogram is built from the sampled numbers</li>
+ * </ul>
+ * Column statistics are collected on first access, as only a few columns of a few tables are ever used in predicates,
+ * and cached in the {@link MapContainer} on this member. The cache is discarded when the row count drifts by more than
+ * {@link #REFRESH_THRESHOLD} from the one it was collected for, so that the statistics are refreshed incrementally as
+ * the data changes instead of on every query.
+ */
+public final class MapTableStatistics implements TableStatistics {
+
+    /** Relative change of the row count after which the collected column statistics are discarded. */
+    static final double REFRESH_THRESHOLD = 0.1;
+
+    /** Minimal absolute change of the row count after which the collected column statistics are discarded. */
+    static final long MIN_REFRESH_ROW_DELTA = 100;
+
+    /** Maximal number of local entries read or walked in an index to collect the statistics of a column. */
+    static final int SAMPLE_SIZE = 10_000;
+
+    /** Number of buckets of the collected histograms. */
+    static final int HISTOGRAM_BUCKETS = 16;
+
+    /** Fraction of distinct values in a sample above which the column is assumed to be unique-like. */
+    private static final double UNIQUE_RATIO = 0.9;
+
+    /** Marker for columns whose statistics couldn't be collected. */
+    private static final ColumnStatistics UNKNOWN = new ColumnStatistics(1, null);
+
+    private final NodeEngine nodeEngine;
+    private final MapServiceContext context;
+    private final MapContainer container;
+    private final List<TableField> fields;
+    private final long rowCount;
+    private final Snapshot snapshot;
+
+    private MapTableStatistics(
+        NodeEngine nodeEngine,
+        MapServiceContext context,
+        MapContainer container,
+        List<TableField> fields,
+        long rowCount,
+        Snapshot snapshot
+    ) {
+        this.nodeEngine = nodeEngine;
+        this.context = context;
+        this.container = container;
+        this.fields = fields;
+        this.rowCount = rowCount;
+        this.snapshot = snapshot;
+    }
+
+    public static TableStatistics create(
+        NodeEngine nodeEngine,
+        MapServiceContext context,
+        String mapName,
+        List<TableField> fields
+    ) {
+        long rowCount = MapTableUtils.estimatePartitionedMapRowCount(nodeEngine, context, mapName);
+
+        MapContainer container = context.getExistingMapContainer(mapName);
+
+        if (container == null) {
+            return new ConstantTableStatistics(rowCount);
+        }
+
+        // A concurrent planner might replace the snapshot too, then only the statistics collected meanwhile are lost.
+        Object cached = container.getSqlStatistics();
+        Snapshot snapshot = cached instanceof Snapshot ? (Snapshot) cached : null;
+
+        if (snapshot == null || snapshot.isStale(rowCount)) {
+            snapshot = new Snapshot(rowCount);
+            container.setSqlStatistics(snapshot);
+        }
+
+        return new MapTableStatistics(nodeEngine, context, container, fields, rowCount, snapshot);
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public ColumnStatistics getColumnStatistics(int fieldIndex) {
+        TableField field = fields.get(fieldIndex);
+
+        if (!(field instanceof MapTableField)) {
+            return null;
+        }
+
+        QueryPath path = ((MapTableField) field).getPath();
+
+        if (path.equals(QueryPath.KEY_PATH)) {
+            // Map keys are unique.
+            return new ColumnStatistics(rowCount, null);
+        }
+
+        ColumnStatistics res = snapshot.columns.get(path);
+
+        if (res == null) {
+            // Collect outside of the map's lock, concurrent planners might collect the same column twice.
+            res = collect(path);
+
+            ColumnStatistics existing = snapshot.columns.putIfAbsent(path, res);
+
+            if (existing != null) {
+                res = existing;
+            }
+        }
+
+        return res == UNKNOWN ? null : res;
+    }
+
+    private ColumnStatistics collect(QueryPath path) {
+        try {
+            ColumnStatistics res = collectFromIndex(path);
+
+            if (res == null && container.getMapConfig().getInMemoryFormat() != NATIVE) {
+                res = collectFromSample(path);
+            }
+
+            return res != null ? res : UNKNOWN;
+        } catch (Exception e) {
+            // The statistics are best effort, e.g. the attribute might be missing in some of the entries.
+            ILogger logger = nodeEngine.getLogger(MapTableStatistics.class);
+
+            if (logger.isFineEnabled()) {
+                logger.fine("Failed to collect statistics of " + path + " in IMap " + container.getName(), e);
+            }
+
+            return UNKNOWN;
+        }
+    }
+
+    private ColumnStatistics collectFromIndex(QueryPath path) {
+        Indexes indexes = container.getIndexes();
+
+        if (!indexes.isGlobal()) {
+            return null;
+        }
+
+        int ownedPartitionCount = context.getOrInitCachedMemberPartitions().size();
+
+        for (InternalIndex index : indexes.getIndexes()) {
+            if (!index.isOrdered()
+                || index.getComponents().length != 1
+                || !path.equals(QueryPath.create(index.getComponents()[0]))
+                || !index.allPartitionsIndexed(ownedPartitionCount)) {
+                continue;
+            }
+
+            return collectFromIndex(index);
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("checkstyle:NPathComplexity")
+    private ColumnStatistics collectFromIndex(InternalIndex index) {
+        int memberCount = nodeEngine.getClusterService().getMembers(MemberSelectors.DATA_MEMBER_SELECTOR).size();
+        long bucketSize = Math.max(rowCount / memberCount / HISTOGRAM_BUCKETS, 1);
+
+        long walkedCount = 0;
+        long localRowCount = 0;
+        long localDistinctCount = 0;
+        long singletonCount = 0;
+        List<Double> bounds = new ArrayList<>(HISTOGRAM_BUCKETS + 2);
+        boolean numeric = true;
+        double lastValue = 0;
+
+        Iterator<IndexKeyEntries> iterator = index.getSqlRecordIteratorBatch(false);
+
+        while (iterator.hasNext()) {
+            IndexKeyEntries keyEntries = iterator.next();
+            Comparable<?> key = keyEntries.getIndexKey();
+
+            long count = 0;
+
+            for (Iterator<?> entries = keyEntries.getEntries(); entries.hasNext(); entries.next()) {
+                if (++walkedCount > SAMPLE_SIZE) {
+                    // Too many local entries to walk on the planning thread, the caller samples them instead.
+                    return null;
+                }
+
+                count++;
+            }
+
+            if (key == null || count == 0) {
+                continue;
+            }
+
+            localDistinctCount++;
+            singletonCount += count == 1 ? 1 : 0;
+
+            if (numeric && key instanceof Number) {
+                lastValue = ((Number) key).doubleValue();
+
+                // The keys are sorted, so a bound is placed every time another bucketSize rows were seen.
+                if (bounds.isEmpty() || localRowCount / bucketSize < (localRowCount + count) / bucketSize) {
+                    bounds.add(lastValue);
+                }
+            } else {
+                numeric = false;
+            }
+
+            localRowCount += count;
+        }
+
+        if (localDistinctCount == 0) {
+            return null;
+        }
+
+        if (numeric && bounds.get(bounds.size() - 1) != lastValue) {
+            bounds.add(lastValue);
+        }
+
+        // GEE: values seen once locally are likely to have more siblings elsewhere, the others are likely seen already.
+        double scale = Math.sqrt(Math.max((double) rowCount / localRowCount, 1d));
+        double distinctCount = scale * singletonCount + (localDistinctCount - singletonCount);
+
+        return new ColumnStatistics(
+            Math.min(distinctCount, Math.max(rowCount, localDistinctCount)),
+            numeric && bounds.size() >= 2 ? bounds.stream().mapToDouble(Double::doubleValue).toArray() : null
+        );
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked", "checkstyle:CyclomaticComplexity", "checkstyle:NPathComplexity"})
+    private ColumnStatistics collectFromSample(QueryPath path) {
+        InternalSerializationService ss = (InternalSerializationService) nodeEngine.getSerializationService();
+        Extractors extractors = container.getExtractors();
+        String attributeName = attributeName(path);
+
+        PartitionIdSet ownerPartitions = context.getOrInitCachedMemberPartitions();
+        int samplesPerPartition = Math.max(SAMPLE_SIZE / Math.max(ownerPartitions.size(), 1), 1);
+
+        HyperLogLog hyperLogLog = new HyperLogLogImpl();
+        double[] numbers = new double[SAMPLE_SIZE];
+        int sampleCount = 0;
+        int nonNullCount = 0;
+        int numberCount = 0;
+
+        for (PartitionContainer partitionContainer : context.getPartitionContainers()) {
+            if (!ownerPartitions.contains(partitionContainer.getPartitionId())) {
+                continue;
+            }
+
+            RecordStore<?> recordStore = partitionContainer.getExistingRecordStore(container.getName());
+
+            if (recordStore == null) {
+                continue;
+            }
+
+            Iterator<Map.Entry<Data, Record>> iterator = recordStore.getStorage().mutationTolerantIterator();
+
+            for (int i = 0; i < samplesPerPartition && sampleCount < SAMPLE_SIZE && iterator.hasNext(); i++) {
+                Map.Entry<Data, Record> entry = iterator.next();
+
+                Object value = new CachedQueryEntry(ss, entry.getKey(), entry.getValue().getValue(), extractors)
+                    .getAttributeValue(attributeName);
+
+                sampleCount++;
+
+                if (value == null) {
+                    continue;
+                }
+
+                nonNullCount++;
+                hyperLogLog.add(ss.toData(value).hash64());
+
+                if (value instanceof Number) {
+                    numbers[numberCount++] = ((Number) value).doubleValue();
+                }
+            }
+        }
+
+        if (nonNullCount == 0) {
+            return null;
+        }
+
+        double distinctCount = Math.min(hyperLogLog.estimate(), nonNullCount);
+
+        if (distinctCount >= UNIQUE_RATIO * nonNullCount) {
+            // Nearly every sampled value is different, the number of distinct values grows with the row count.
+            distinctCount = distinctCount * rowCount / sampleCount;
+        }
+
+        double[] histogram = null;
+
+        if (numberCount == nonNullCount && numberCount >= 2) {
+            Arrays.sort(numbers, 0, numberCount);
+
+            histogram = new double[HISTOGRAM_BUCKETS + 1];
+
+            for (int i = 0; i <= HISTOGRAM_BUCKETS; i++) {
+                histogram[i] = numbers[(int) ((long) i * (numberCount - 1) / HISTOGRAM_BUCKETS)];
+            }
+        }
+
+        return new ColumnStatistics(distinctCount, histogram);
+    }
+
+    private static String attributeName(QueryPath path) {
+        if (path.isTop()) {
+            return path.isKey() ? QueryPath.KEY : QueryPath.VALUE;
+        }
+
+        return path.isKey() ? QueryPath.KEY_PREFIX + path.getPath() : path.getPath();
+    }
+
+    /**
+     * Column statistics collected on this member for a map, valid while the row count stays close to the one they were
+     * collected for.
+     */
+    private static final class Snapshot {
+
+        private final long rowCount;
+        private final ConcurrentMap<QueryPath, ColumnStatistics> columns = new ConcurrentHashMap<>();
+
+        private Snapshot(long rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        private boolean isStale(long currentRowCount) {
+            return Math.abs(currentRowCount - rowCount) > Math.max(REFRESH_THRESHOLD * rowCount, MIN_REFRESH_ROW_DELTA);
+        }
+    }
+}
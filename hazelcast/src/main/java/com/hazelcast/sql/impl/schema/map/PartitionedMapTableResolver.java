@@ -32,7 +32,6 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryUtils;
-import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.map.sample.MapSampleMetadata;
@@ -131,8 +130,6 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
 
             List<TableField> fields = mergeMapFields(keyMetadata.getFields(), valueMetadata.getFields());
 
-            long estimatedRowCount = MapTableUtils.estimatePartitionedMapRowCount(nodeEngine, context, name);
-
             // Resolve indexes.
             List<MapTableIndex> indexes = MapTableUtils.getPartitionedMapIndexes(mapContainer, fields);
 
@@ -142,7 +139,7 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
                 name,
                 name,
                 fields,
-                new ConstantTableStatistics(estimatedRowCount),
+                MapTableStatistics.create(nodeEngine, context, name, fields),
                 keyMetadata.getDescriptor(),
                 valueMetadata.getDescriptor(),
                 keyMetadata.getJetMetadata(),
@@ -37,9 +37,11 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
@@ -174,6 +176,23 @@ public abstract class NioThreadAbstractTest extends HazelcastTestSupport {
         verify(errorHandler).onError((Channel) isNull(), any(OutOfMemoryError.class));
     }
 
+    @Test
+    public void whenTasksAddedWithWakeup_thenAllTasksExecuted() {
+        startThread();
+
+        final int taskCount = 100;
+        final AtomicInteger executed = new AtomicInteger();
+        for (int k = 0; k < taskCount; k++) {
+            thread.addTaskAndWakeup(executed::incrementAndGet);
+        }
+
+        // the timeout is shorter than the select wait time, so a lost wakeup would be noticed
+        assertTrueEventually(() -> assertEquals(taskCount, executed.get()), 3);
+        // wakeups are coalesced, so there are never more wakeups than tasks
+        assertTrue(thread.selectorWakeupCount() <= taskCount);
+        assertStillRunning();
+    }
+
     @Test
     public void testToString() {
         startThread();
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.internal.util.ItemCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.TestCollectionUtils.setOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveLoadMigrationStrategyTest extends HazelcastTestSupport {
+
+    private Map<NioThread, Set<MigratablePipeline>> ownerToPipelines;
+    private ItemCounter<MigratablePipeline> loadCounter;
+    private LoadTracker loadTracker;
+    private LoadImbalance imbalance;
+
+    private AdaptiveLoadMigrationStrategy strategy;
+
+    @Before
+    public void setUp() {
+        ownerToPipelines = new HashMap<NioThread, Set<MigratablePipeline>>();
+        loadCounter = new ItemCounter<MigratablePipeline>();
+        loadTracker = new LoadTracker(new NioThread[0], mock(ILogger.class), true);
+        imbalance = new LoadImbalance(ownerToPipelines, loadCounter, loadTracker);
+        strategy = new AdaptiveLoadMigrationStrategy();
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldReturnFalseWhenBalanced() {
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 800;
+
+        assertFalse(strategy.imbalanceDetected(imbalance));
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldReturnTrueWhenNotBalanced() {
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 799;
+
+        assertTrue(strategy.imbalanceDetected(imbalance));
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_shouldSelectPipelineThatBalancesBest() {
+        MigratablePipeline pipeline1 = mock(MigratablePipeline.class);
+        MigratablePipeline pipeline2 = mock(MigratablePipeline.class);
+        MigratablePipeline pipeline3 = mock(MigratablePipeline.class);
+        NioThread srcOwner = mock(NioThread.class);
+        ownerToPipelines.put(srcOwner, setOf(pipeline1, pipeline2, pipeline3));
+        loadCounter.set(pipeline1, 700);
+        loadCounter.set(pipeline2, 250);
+        loadCounter.set(pipeline3, 50);
+        imbalance.srcOwner = srcOwner;
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 500;
+
+        // moving pipeline2 makes both threads carry 750
+        assertEquals(pipeline2, strategy.findPipelineToMigrate(imbalance));
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_shouldNotSelectPipelineThatDoesNotReduceImbalance() {
+        MigratablePipeline pipeline1 = mock(MigratablePipeline.class);
+        MigratablePipeline pipeline2 = mock(MigratablePipeline.class);
+        NioThread srcOwner = mock(NioThread.class);
+        ownerToPipelines.put(srcOwner, setOf(pipeline1, pipeline2));
+        loadCounter.set(pipeline1, 950);
+        loadCounter.set(pipeline2, 10);
+        imbalance.srcOwner = srcOwner;
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 500;
+
+        // moving pipeline1 would just swap the busy and idle thread; pipeline2 is too small to matter
+        assertNull(strategy.findPipelineToMigrate(imbalance));
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_shouldNotSelectRecentlyMigratedPipeline() {
+        MigratablePipeline pipeline1 = mock(MigratablePipeline.class);
+        MigratablePipeline pipeline2 = mock(MigratablePipeline.class);
+        NioThread srcOwner = mock(NioThread.class);
+        ownerToPipelines.put(srcOwner, setOf(pipeline1, pipeline2));
+        loadCounter.set(pipeline1, 250);
+        loadCounter.set(pipeline2, 150);
+        imbalance.srcOwner = srcOwner;
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 500;
+
+        loadTracker.notifyMigrationScheduled(pipeline1);
+        assertEquals(pipeline2, strategy.findPipelineToMigrate(imbalance));
+
+        for (int k = 0; k < AdaptiveLoadMigrationStrategy.MIGRATION_COOLDOWN_ROUNDS; k++) {
+            loadTracker.updateImbalance();
+        }
+        assertEquals(pipeline1, strategy.findPipelineToMigrate(imbalance));
+    }
+}
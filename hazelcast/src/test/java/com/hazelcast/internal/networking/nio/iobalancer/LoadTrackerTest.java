@@ -115,4 +115,61 @@ public class LoadTrackerTest {
         assertEquals(owner2, loadImbalance.dstOwner);
         assertEquals(owner2, loadImbalance.srcOwner);
     }
+
+    @Test
+    public void testUpdateImbalance_whenAdaptive_thenProcessTimeTakenIntoAccount() {
+        loadTracker = new LoadTracker(owner3, mock(ILogger.class), true);
+
+        // little bytes, but most of the processing time
+        MigratablePipeline owner1Pipeline1 = mock(MigratablePipeline.class);
+        when(owner1Pipeline1.load()).thenReturn(100L);
+        when(owner1Pipeline1.processTimeNanos()).thenReturn(900L);
+        when(owner1Pipeline1.owner()).thenReturn(owner1);
+        loadTracker.addPipeline(owner1Pipeline1);
+
+        MigratablePipeline owner1Pipeline2 = mock(MigratablePipeline.class);
+        when(owner1Pipeline2.load()).thenReturn(100L);
+        when(owner1Pipeline2.processTimeNanos()).thenReturn(100L);
+        when(owner1Pipeline2.owner()).thenReturn(owner1);
+        loadTracker.addPipeline(owner1Pipeline2);
+
+        // most of the bytes, but no processing time
+        MigratablePipeline owner2Pipeline1 = mock(MigratablePipeline.class);
+        when(owner2Pipeline1.load()).thenReturn(800L);
+        when(owner2Pipeline1.processTimeNanos()).thenReturn(0L);
+        when(owner2Pipeline1.owner()).thenReturn(owner2);
+        loadTracker.addPipeline(owner2Pipeline1);
+
+        LoadImbalance loadImbalance = loadTracker.updateImbalance();
+        assertEquals(400000, loadImbalance.minimumLoad);
+        assertEquals(600000, loadImbalance.maximumLoad);
+        assertEquals(owner2, loadImbalance.dstOwner);
+        assertEquals(owner1, loadImbalance.srcOwner);
+        assertEquals(500000, loadImbalance.getLoad(owner1Pipeline1));
+
+        // nothing happened since the last round, so the load decays instead of dropping to 0
+        loadTracker.updateImbalance();
+        assertEquals(250000, loadImbalance.getLoad(owner1Pipeline1));
+        assertEquals(250000, loadTracker.getSmoothedLoad().get(owner1Pipeline1));
+    }
+
+    @Test
+    public void testRoundsSinceLastMigration() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owner1);
+        loadTracker.addPipeline(pipeline);
+
+        assertEquals(Long.MAX_VALUE, loadTracker.roundsSinceLastMigration(pipeline));
+
+        loadTracker.updateImbalance();
+        loadTracker.notifyMigrationScheduled(pipeline);
+        assertEquals(0, loadTracker.roundsSinceLastMigration(pipeline));
+
+        loadTracker.updateImbalance();
+        loadTracker.updateImbalance();
+        assertEquals(2, loadTracker.roundsSinceLastMigration(pipeline));
+
+        loadTracker.removePipeline(pipeline);
+        assertEquals(Long.MAX_VALUE, loadTracker.roundsSinceLastMigration(pipeline));
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PacketCompressorTest {
+
+    private static final int THRESHOLD = 1024;
+
+    private PacketCompressionStats stats;
+    private PacketCompressor compressor;
+
+    @Before
+    public void setup() {
+        stats = new PacketCompressionStats();
+        compressor = new PacketCompressor(THRESHOLD, stats);
+        compressor.enable();
+    }
+
+    @Test
+    public void compress_whenNotEnabled() {
+        PacketCompressor compressor = new PacketCompressor(THRESHOLD, stats);
+        Packet packet = new Packet(repetitivePayload(THRESHOLD * 4));
+
+        assertSame(packet, compressor.compress(packet));
+    }
+
+    @Test
+    public void compress_whenBelowThreshold() {
+        Packet packet = new Packet(repetitivePayload(THRESHOLD - 1));
+
+        assertSame(packet, compressor.compress(packet));
+        assertEquals(0, stats.compressedPackets());
+    }
+
+    @Test
+    public void compress_whenServerControlPacket() {
+        Packet packet = new Packet(repetitivePayload(THRESHOLD * 4)).setPacketType(Packet.Type.SERVER_CONTROL);
+
+        assertSame(packet, compressor.compress(packet));
+    }
+
+    @Test
+    public void compress_whenIncompressible() {
+        byte[] payload = new byte[THRESHOLD * 4];
+        new Random(1).nextBytes(payload);
+        Packet packet = new Packet(payload);
+
+        assertSame(packet, compressor.compress(packet));
+        assertEquals(1, stats.skippedPackets());
+    }
+
+    @Test
+    public void compressAndDecompress() {
+        byte[] payload = repetitivePayload(THRESHOLD * 4);
+        Packet packet = new Packet(payload, 10)
+                .setPacketType(Packet.Type.OPERATION)
+                .raiseFlags(FLAG_URGENT);
+
+        Packet compressed = compressor.compress(packet);
+
+        assertTrue(compressed.isFlagRaised(FLAG_COMPRESSED));
+        assertTrue(compressed.totalSize() < payload.length);
+        assertEquals(Packet.Type.OPERATION, compressed.getPacketType());
+        assertEquals(10, compressed.getPartitionId());
+        assertEquals(1, stats.compressedPackets());
+
+        Packet decompressed = compressor.decompress(compressed);
+
+        assertFalse(decompressed.isFlagRaised(FLAG_COMPRESSED));
+        assertArrayEquals(payload, decompressed.toByteArray());
+        assertEquals(packet, decompressed);
+        assertEquals(1, stats.decompressedPackets());
+    }
+
+    @Test
+    public void decompress_whenNotCompressed() {
+        Packet packet = new Packet(repetitivePayload(THRESHOLD * 4));
+
+        assertSame(packet, compressor.decompress(packet));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenCorrupt() {
+        Packet compressed = compressor.compress(new Packet(repetitivePayload(THRESHOLD * 4)));
+        byte[] truncated = Arrays.copyOf(compressed.toByteArray(), compressed.totalSize() / 2);
+
+        compressor.decompress(new Packet(truncated).resetFlagsTo(compressed.getFlags()));
+    }
+
+    private static byte[] repetitivePayload(int length) {
+        byte[] payload = new byte[length];
+        for (int i = 0; i < length; i++) {
+            payload[i] = (byte) (i % 16);
+        }
+        return payload;
+    }
+}
@@ -45,6 +45,8 @@ import java.io.Serializable;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -217,6 +219,36 @@ public class AbstractSerializationServiceTest {
         abstractSerializationService.serializerFor(new CustomSerializationTest.Foo(), false);
     }
 
+    @Test
+    public void testSerializerFor_typeIdBelowDenseTypeIdLimit() {
+        StringBufferSerializer serializer = new StringBufferSerializer(false);
+        serializer.typeId = 10;
+        abstractSerializationService.register(StringBuffer.class, serializer);
+
+        assertSame(serializer, abstractSerializationService.serializerFor(10).getImpl());
+        assertSame(serializer, abstractSerializationService.serializerFor(new StringBuffer(), false).getImpl());
+        assertSame(serializer, abstractSerializationService.serializerFor(new StringBuffer(), true).getImpl());
+    }
+
+    @Test
+    public void testSerializerFor_typeIdAboveDenseTypeIdLimit() {
+        StringBufferSerializer serializer = new StringBufferSerializer(false);
+        serializer.typeId = AbstractSerializationService.MAX_DENSE_TYPE_ID + 1;
+        abstractSerializationService.register(StringBuffer.class, serializer);
+
+        assertSame(serializer, abstractSerializationService.serializerFor(serializer.typeId).getImpl());
+    }
+
+    @Test
+    public void testSerializerFor_globalSerializerTypeId() {
+        StringBufferSerializer serializer = new StringBufferSerializer(false);
+        serializer.typeId = 20;
+        abstractSerializationService.registerGlobal(serializer);
+
+        assertSame(serializer, abstractSerializationService.serializerFor(20).getImpl());
+        assertNull(abstractSerializationService.serializerFor(21));
+    }
+
     @Test
     public void testDeserializationForSpecificType() {
         BaseClass baseObject = new BaseClass(5, "abc");
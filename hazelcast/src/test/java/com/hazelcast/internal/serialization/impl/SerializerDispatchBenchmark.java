@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serializer lookup of {@code toData}/{@code toObject} over
+ * a mix of small objects of different types, so that the lookup, rather
+ * than the serialization itself, dominates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializerDispatchBenchmark {
+
+    private static final int CUSTOM_TYPE_ID = 1000;
+
+    private InternalSerializationService serializationService;
+    private Object[] objects;
+    private Data[] datas;
+    private int index;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        ((AbstractSerializationService) serializationService).register(CustomValue.class, new CustomValueSerializer());
+
+        objects = new Object[]{
+                new DataSerializableValue(1),
+                new CustomValue(2),
+                new CustomValueSubclass(3),
+                "string",
+                4L,
+                new int[]{5},
+        };
+        datas = new Data[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            datas[i] = serializationService.toData(objects[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(objects[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(datas[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        int i = index;
+        index = i + 1 == objects.length ? 0 : i + 1;
+        return i;
+    }
+
+    public static class DataSerializableValue implements DataSerializable {
+
+        private int value;
+
+        public DataSerializableValue() {
+        }
+
+        DataSerializableValue(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            value = in.readInt();
+        }
+    }
+
+    public static class CustomValue {
+
+        final int value;
+
+        CustomValue(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class CustomValueSubclass extends CustomValue {
+
+        CustomValueSubclass(int value) {
+            super(value);
+        }
+    }
+
+    static class CustomValueSerializer implements StreamSerializer<CustomValue> {
+
+        @Override
+        public void write(ObjectDataOutput out, CustomValue object) throws IOException {
+            out.writeInt(object.value);
+        }
+
+        @Override
+        public CustomValue read(ObjectDataInput in) throws IOException {
+            return new CustomValue(in.readInt());
+        }
+
+        @Override
+        public int getTypeId() {
+            return CUSTOM_TYPE_ID;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SerializerDispatchBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
@@ -37,6 +38,7 @@ import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -180,4 +182,29 @@ public class BufferPoolTest extends HazelcastTestSupport {
         BufferObjectDataInput found2 = bufferPool.takeInputBuffer(data);
         assertEquals(Version.UNKNOWN, found2.getVersion());
     }
+
+    @Test
+    public void takePortableRecord_whenNothingPooled() {
+        assertNull(bufferPool.takePortableRecord());
+    }
+
+    @Test
+    public void takePortableRecord_whenPooledInstance() {
+        PortableInternalGenericRecord record = mock(PortableInternalGenericRecord.class);
+        bufferPool.returnPortableRecord(record);
+
+        assertSame(record, bufferPool.takePortableRecord());
+        // a taken record is not handed out twice
+        assertNull(bufferPool.takePortableRecord());
+    }
+
+    @Test
+    public void returnPortableRecord_whenNull() {
+        PortableInternalGenericRecord record = mock(PortableInternalGenericRecord.class);
+        bufferPool.returnPortableRecord(record);
+
+        bufferPool.returnPortableRecord(null);
+
+        assertSame(record, bufferPool.takePortableRecord());
+    }
 }
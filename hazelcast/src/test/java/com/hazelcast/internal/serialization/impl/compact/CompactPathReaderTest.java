@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.nio.serialization.GenericRecord;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import example.serialization.EmployeeDTO;
+import example.serialization.EmployerDTO;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static com.hazelcast.nio.serialization.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactPathReaderTest {
+
+    private InternalSerializationService serializationService;
+    private Data employer;
+
+    @Before
+    public void setUp() {
+        SchemaService schemaService = CompactTestUtil.createInMemorySchemaService();
+        CompactSerializationConfig compactSerializationConfig = new CompactSerializationConfig();
+        compactSerializationConfig.setEnabled(true);
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(schemaService)
+                .setConfig(new SerializationConfig().setCompactSerializationConfig(compactSerializationConfig))
+                .build();
+
+        EmployeeDTO[] otherEmployees = {new EmployeeDTO(20, 2), null, new EmployeeDTO(40, 4)};
+        employer = serializationService.toData(new EmployerDTO("nbss", 40, new long[]{1, 2, 3},
+                new EmployeeDTO(30, 102310312), otherEmployees));
+    }
+
+    @Test
+    public void testTopLevelFields() throws IOException {
+        assertEquals("nbss", readPath(employer, "name"));
+        assertEquals(40, readPath(employer, "zcode"));
+        assertArrayEquals(new long[]{1, 2, 3}, (long[]) readPath(employer, "ids"));
+        assertEquals(2L, readPath(employer, "ids[1]"));
+    }
+
+    @Test
+    public void testNestedFields() throws IOException {
+        assertEquals(30, readPath(employer, "singleEmployee.age"));
+        assertEquals(102310312L, readPath(employer, "singleEmployee.id"));
+        assertEquals(40, readPath(employer, "otherEmployees[2].age"));
+    }
+
+    @Test
+    public void testNestedRecord() throws IOException {
+        Object record = readPath(employer, "singleEmployee");
+
+        assertTrue(record instanceof GenericRecord);
+        assertEquals(30, ((GenericRecord) record).getInt("age"));
+    }
+
+    @Test
+    public void testMissingField() throws IOException {
+        assertNull(readPath(employer, "unknown"));
+        assertNull(readPath(employer, "singleEmployee.unknown"));
+    }
+
+    @Test
+    public void testUnresolvedIntermediateRecords_sameAsGenericRecord() throws IOException {
+        assertSameAsGenericRecord(employer, "otherEmployees[1].age");
+        assertSameAsGenericRecord(employer, "otherEmployees[5].age");
+        assertSameAsGenericRecord(employer, "unknown.age");
+    }
+
+    @Test
+    public void testAnyPath_sameAsGenericRecord() throws IOException {
+        Object result = readPath(employer, "otherEmployees[any].age");
+
+        assertTrue(result instanceof MultiResult);
+        assertSameAsGenericRecord(employer, "otherEmployees[any].age");
+        assertSameAsGenericRecord(employer, "ids[any]");
+    }
+
+    @Test
+    public void testNullFields() throws IOException {
+        Data data = serializationService.toData(new EmployerDTO(null, 1, null, null, null));
+
+        assertNull(readPath(data, "name"));
+        assertNull(readPath(data, "ids"));
+        assertSameAsGenericRecord(data, "singleEmployee.age");
+    }
+
+    @Test
+    public void testBooleanFields() throws IOException {
+        Data data = serializationService.toData(compact("bools")
+                .setBoolean("a", false)
+                .setBoolean("b", true)
+                .setBoolean("c", false)
+                .build());
+
+        assertEquals(false, readPath(data, "a"));
+        assertEquals(true, readPath(data, "b"));
+        assertEquals(false, readPath(data, "c"));
+    }
+
+    @Test
+    public void testFieldNameWithDot() throws IOException {
+        Data data = serializationService.toData(compact("dotted")
+                .setInt("a.b", 42)
+                .build());
+
+        assertEquals(42, readPath(data, "a.b"));
+    }
+
+    @Test
+    public void testDifferentSchemasOfSameType() throws IOException {
+        Data first = serializationService.toData(compact("evolving")
+                .setInt("a", 1)
+                .setInt("b", 2)
+                .build());
+        Data second = serializationService.toData(compact("evolving")
+                .setLong("x", 3)
+                .setInt("b", 4)
+                .build());
+
+        assertEquals(2, readPath(first, "b"));
+        assertEquals(4, readPath(second, "b"));
+        assertEquals(2, readPath(first, "b"));
+        assertNull(readPath(second, "a"));
+    }
+
+    private Object readPath(Data data, String path) throws IOException {
+        return serializationService.readCompactPath(data, path);
+    }
+
+    private void assertSameAsGenericRecord(Data data, String path) throws IOException {
+        InternalGenericRecord record = serializationService.readAsInternalGenericRecord(data);
+        Object expected = new GenericRecordQueryReader(record).read(path);
+        Object actual = readPath(data, path);
+        if (expected instanceof MultiResult) {
+            assertTrue(actual instanceof MultiResult);
+            assertEquals(((MultiResult) expected).getResults(), ((MultiResult) actual).getResults());
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PersistentSchemaCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File directory;
+    private PersistentSchemaCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = new File(tempFolder.newFolder(), "schemas");
+        cache = new PersistentSchemaCache(directory, Logger.getLogger(PersistentSchemaCacheTest.class));
+    }
+
+    @Test
+    public void testCreate_withoutDirectory() {
+        assertNull(PersistentSchemaCache.create(null, Logger.getLogger(PersistentSchemaCacheTest.class)));
+        assertNull(PersistentSchemaCache.create(" ", Logger.getLogger(PersistentSchemaCacheTest.class)));
+    }
+
+    @Test
+    public void testLoad_whenDirectoryDoesNotExist() {
+        assertTrue(cache.load().isEmpty());
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        Schema schema1 = newSchema("employee", "name", "age");
+        Schema schema2 = newSchema("employer", "name", "address", "employees");
+
+        cache.store(schema1);
+        cache.store(schema2);
+        cache.store(schema1);
+
+        Collection<Schema> schemas = new PersistentSchemaCache(directory,
+                Logger.getLogger(PersistentSchemaCacheTest.class)).load();
+        assertEquals(new HashSet<>(asList(schema1, schema2)), new HashSet<>(schemas));
+        assertEquals(2, directory.list().length);
+    }
+
+    @Test
+    public void testLoad_ignoresCorruptFiles() throws IOException {
+        Schema schema = newSchema("employee", "name", "age");
+        cache.store(schema);
+        Files.write(new File(directory, PersistentSchemaCache.fileName(42)).toPath(), new byte[]{1, 2, 3});
+        Files.write(new File(directory, "not-a-schema-id" + PersistentSchemaCache.FILE_SUFFIX).toPath(), new byte[0]);
+
+        Collection<Schema> schemas = cache.load();
+
+        assertEquals(1, schemas.size());
+        assertEquals(schema, schemas.iterator().next());
+    }
+
+    @Test
+    public void testLoad_ignoresSchemaWithMismatchingFingerprint() throws IOException {
+        Schema schema = newSchema("employee", "name", "age");
+        cache.store(schema);
+        File file = new File(directory, PersistentSchemaCache.fileName(schema.getSchemaId()));
+        assertTrue(file.renameTo(new File(directory, PersistentSchemaCache.fileName(schema.getSchemaId() + 1))));
+
+        assertTrue(cache.load().isEmpty());
+    }
+
+    private static Schema newSchema(String typeName, String... fieldNames) {
+        SchemaWriter writer = new SchemaWriter(typeName);
+        for (int i = 0; i < fieldNames.length; i++) {
+            writer.addField(new FieldDescriptor(fieldNames[i], i % 2 == 0 ? FieldType.UTF : FieldType.INT));
+        }
+        return writer.build();
+    }
+}
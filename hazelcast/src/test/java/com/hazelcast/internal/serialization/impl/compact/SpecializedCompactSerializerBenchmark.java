@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code toData}/{@code toObject} of a class serialized by the
+ * zero-config {@link SpecializedCompactSerializer} with the same class
+ * serialized by an explicitly registered serializer, which is the best the
+ * specialized serializer can get to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpecializedCompactSerializerBenchmark {
+
+    private InternalSerializationService serializationService;
+    private ZeroConfigValue zeroConfigValue;
+    private ExplicitValue explicitValue;
+    private Data zeroConfigData;
+    private Data explicitData;
+
+    @Setup
+    public void setup() {
+        CompactSerializationConfig compactSerializationConfig = new CompactSerializationConfig();
+        compactSerializationConfig.setEnabled(true);
+        compactSerializationConfig.register(ExplicitValue.class, new ExplicitValueSerializer());
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(CompactTestUtil.createInMemorySchemaService())
+                .setConfig(new SerializationConfig().setCompactSerializationConfig(compactSerializationConfig))
+                .build();
+
+        zeroConfigValue = new ZeroConfigValue(1, 2L, 3.0d, true, "string");
+        explicitValue = new ExplicitValue(1, 2L, 3.0d, true, "string");
+        zeroConfigData = serializationService.toData(zeroConfigValue);
+        explicitData = serializationService.toData(explicitValue);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data toData_zeroConfig() {
+        return serializationService.toData(zeroConfigValue);
+    }
+
+    @Benchmark
+    public Data toData_explicit() {
+        return serializationService.toData(explicitValue);
+    }
+
+    @Benchmark
+    public Object toObject_zeroConfig() {
+        return serializationService.toObject(zeroConfigData);
+    }
+
+    @Benchmark
+    public Object toObject_explicit() {
+        return serializationService.toObject(explicitData);
+    }
+
+    public static class ZeroConfigValue {
+
+        private int i;
+        private long l;
+        private double d;
+        private boolean bool;
+        private String string;
+
+        public ZeroConfigValue() {
+        }
+
+        ZeroConfigValue(int i, long l, double d, boolean bool, String string) {
+            this.i = i;
+            this.l = l;
+            this.d = d;
+            this.bool = bool;
+            this.string = string;
+        }
+    }
+
+    public static class ExplicitValue {
+
+        private final int i;
+        private final long l;
+        private final double d;
+        private final boolean bool;
+        private final String string;
+
+        ExplicitValue(int i, long l, double d, boolean bool, String string) {
+            this.i = i;
+            this.l = l;
+            this.d = d;
+            this.bool = bool;
+            this.string = string;
+        }
+    }
+
+    static class ExplicitValueSerializer implements CompactSerializer<ExplicitValue> {
+
+        @Nonnull
+        @Override
+        public ExplicitValue read(@Nonnull CompactReader reader) {
+            return new ExplicitValue(reader.readInt("i"), reader.readLong("l"), reader.readDouble("d"),
+                    reader.readBoolean("bool"), reader.readString("string"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull ExplicitValue object) {
+            writer.writeInt("i", object.i);
+            writer.writeLong("l", object.l);
+            writer.writeDouble("d", object.d);
+            writer.writeBoolean("bool", object.bool);
+            writer.writeString("string", object.string);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SpecializedCompactSerializerBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.GenericRecord;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.hazelcast.nio.serialization.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpecializedCompactSerializerTest {
+
+    private final SchemaService schemaService = CompactTestUtil.createInMemorySchemaService();
+
+    @Test
+    public void testRoundTrip() {
+        InternalSerializationService serializationService = createSerializationService();
+        SubSample sample = new SubSample((byte) 1, (short) 2, 3, 4L, 5.0f, 6.0d, true, 'c',
+                "string", new BigDecimal("1.5"), LocalDate.of(2021, 10, 19),
+                new int[]{1, 2, 3}, new String[]{"a", null}, new Nested(42), "sub");
+
+        Data data = serializationService.toData(sample);
+        SubSample result = serializationService.toObject(data);
+
+        assertEquals(sample.b, result.b);
+        assertEquals(sample.s, result.s);
+        assertEquals(sample.i, result.i);
+        assertEquals(sample.l, result.l);
+        assertEquals(sample.f, result.f, 0);
+        assertEquals(sample.d, result.d, 0);
+        assertEquals(sample.bool, result.bool);
+        assertEquals(sample.c, result.c);
+        assertEquals(sample.string, result.string);
+        assertEquals(sample.decimal, result.decimal);
+        assertEquals(sample.date, result.date);
+        assertArrayEquals(sample.ints, result.ints);
+        assertArrayEquals(sample.strings, result.strings);
+        assertEquals(sample.nested.value, result.nested.value);
+        assertEquals(sample.subField, result.subField);
+        assertEquals(0, result.transientField);
+    }
+
+    @Test
+    public void testRead_whenFieldMissingInSchema_thenDefaultValueKept() {
+        InternalSerializationService serializationService = createSerializationService();
+        GenericRecord record = compact(Nested.class.getName())
+                .build();
+
+        Data data = serializationService.toData(record);
+        Nested result = serializationService.toObject(data);
+
+        assertEquals(0, result.value);
+    }
+
+    @Test
+    public void testRead_whenFieldTypeDiffersInSchema_thenFieldSkipped() {
+        InternalSerializationService serializationService = createSerializationService();
+        GenericRecord record = compact(Nested.class.getName())
+                .setString("value", "not an int")
+                .build();
+
+        Data data = serializationService.toData(record);
+        Nested result = serializationService.toObject(data);
+
+        assertEquals(0, result.value);
+    }
+
+    @Test
+    public void testSerializerIsCreatedOncePerClass() {
+        ReflectiveCompactSerializer serializer = new ReflectiveCompactSerializer();
+
+        assertSame(serializer.serializerFor(Nested.class), serializer.serializerFor(Nested.class));
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testCreate_whenNoEmptyConstructor_thenFails() {
+        new SpecializedCompactSerializer(NoEmptyConstructor.class);
+    }
+
+    @Test
+    public void testWrite_whenNullReferenceFields() {
+        InternalSerializationService serializationService = createSerializationService();
+        SubSample sample = new SubSample();
+
+        Data data = serializationService.toData(sample);
+        SubSample result = serializationService.toObject(data);
+
+        assertNull(result.string);
+        assertNull(result.ints);
+        assertNull(result.nested);
+    }
+
+    private InternalSerializationService createSerializationService() {
+        CompactSerializationConfig compactSerializationConfig = new CompactSerializationConfig();
+        compactSerializationConfig.setEnabled(true);
+        return new DefaultSerializationServiceBuilder()
+                .setSchemaService(schemaService)
+                .setConfig(new SerializationConfig().setCompactSerializationConfig(compactSerializationConfig))
+                .build();
+    }
+
+    private static class Sample {
+        private final byte b;
+        private final short s;
+        private final int i;
+        private final long l;
+        private final float f;
+        private final double d;
+        private final boolean bool;
+        private final char c;
+        private final String string;
+        private final BigDecimal decimal;
+        private final LocalDate date;
+        private final int[] ints;
+        private final String[] strings;
+        private final Nested nested;
+        private transient int transientField;
+
+        private Sample() {
+            this((byte) 0, (short) 0, 0, 0, 0, 0, false, '\0', null, null, null, null, null, null);
+        }
+
+        @SuppressWarnings("checkstyle:parameternumber")
+        Sample(byte b, short s, int i, long l, float f, double d, boolean bool, char c, String string,
+               BigDecimal decimal, LocalDate date, int[] ints, String[] strings, Nested nested) {
+            this.b = b;
+            this.s = s;
+            this.i = i;
+            this.l = l;
+            this.f = f;
+            this.d = d;
+            this.bool = bool;
+            this.c = c;
+            this.string = string;
+            this.decimal = decimal;
+            this.date = date;
+            this.ints = ints;
+            this.strings = strings;
+            this.nested = nested;
+            this.transientField = 1;
+        }
+    }
+
+    private static final class SubSample extends Sample {
+        private String subField;
+
+        private SubSample() {
+        }
+
+        @SuppressWarnings("checkstyle:parameternumber")
+        SubSample(byte b, short s, int i, long l, float f, double d, boolean bool, char c, String string,
+                  BigDecimal decimal, LocalDate date, int[] ints, String[] strings, Nested nested, String subField) {
+            super(b, s, i, l, f, d, bool, c, string, decimal, date, ints, strings, nested);
+            this.subField = subField;
+        }
+    }
+
+    private static final class Nested {
+        private int value;
+
+        private Nested() {
+        }
+
+        Nested(int value) {
+            this.value = value;
+        }
+    }
+
+    private static final class NoEmptyConstructor {
+        private final int value;
+
+        NoEmptyConstructor(int value) {
+            this.value = value;
+        }
+    }
+}
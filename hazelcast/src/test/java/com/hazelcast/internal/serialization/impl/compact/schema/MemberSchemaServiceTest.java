@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact.schema;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.impl.compact.FieldDescriptor;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaWriter;
+import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNode;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MemberSchemaServiceTest extends HazelcastTestSupport {
+
+    private TestHazelcastInstanceFactory factory;
+    private MemberSchemaService service1;
+    private MemberSchemaService service2;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance1 = factory.newHazelcastInstance();
+        HazelcastInstance instance2 = factory.newHazelcastInstance();
+        service1 = getNode(instance1).memberSchemaService;
+        service2 = getNode(instance2).memberSchemaService;
+    }
+
+    @Test
+    public void testPutAllAsync_replicatesAllSchemas() {
+        Schema schema1 = newSchema("foo", "a");
+        Schema schema2 = newSchema("bar", "b");
+
+        service1.putAllAsync(asList(schema1, schema2)).join();
+
+        assertEquals(schema1, service1.getLocal(schema1.getSchemaId()));
+        assertEquals(schema2, service1.getLocal(schema2.getSchemaId()));
+        assertEquals(schema1, service2.getLocal(schema1.getSchemaId()));
+        assertEquals(schema2, service2.getLocal(schema2.getSchemaId()));
+    }
+
+    @Test
+    public void testPutAllAsync_someSchemasKnown() {
+        Schema schema1 = newSchema("foo", "a");
+        Schema schema2 = newSchema("bar", "b");
+        service1.put(schema1);
+
+        service2.putAllAsync(asList(schema1, schema2)).join();
+
+        assertEquals(schema1, service2.getLocal(schema1.getSchemaId()));
+        assertEquals(schema2, service1.getLocal(schema2.getSchemaId()));
+        assertEquals(schema2, service2.getLocal(schema2.getSchemaId()));
+    }
+
+    @Test
+    public void testPutAllAsync_allSchemasKnown() {
+        Schema schema = newSchema("foo", "a");
+        service1.put(schema);
+
+        // completes without an invocation
+        assertNull(service1.putAllAsync(singletonList(schema)).join());
+    }
+
+    @Test
+    public void testPutAllAsync_newMemberReceivesSchemas() {
+        Schema schema1 = newSchema("foo", "a");
+        Schema schema2 = newSchema("bar", "b");
+        service1.putAllAsync(asList(schema1, schema2)).join();
+
+        MemberSchemaService service3 = getNode(factory.newHazelcastInstance()).memberSchemaService;
+
+        assertEquals(schema1, service3.getLocal(schema1.getSchemaId()));
+        assertEquals(schema2, service3.getLocal(schema2.getSchemaId()));
+    }
+
+    private static Schema newSchema(String typeName, String fieldName) {
+        SchemaWriter writer = new SchemaWriter(typeName);
+        writer.addField(new FieldDescriptor(fieldName, FieldType.UTF));
+        return writer.build();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.portable;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.GenericRecord;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PortableReadPathTest {
+
+    private final InternalSerializationService ss = PortableTest.createSerializationService(1);
+
+    @Test
+    public void testReadPath_reusesRecordAcrossValues() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            Data data = ss.toData(new NamedPortable("name-" + i, i));
+
+            assertEquals("name-" + i, ss.readPortablePath(data, "name"));
+            assertEquals(i, ss.readPortablePath(data, "myint"));
+        }
+    }
+
+    @Test
+    public void testReadPath_nested() throws IOException {
+        Data data = ss.toData(newInnerPortable(new NamedPortable("a", 1), new NamedPortable("b", 2)));
+
+        assertEquals("b", ss.readPortablePath(data, "nn[1].name"));
+        assertNull(ss.readPortablePath(data, "nn[5].name"));
+        MultiResult<?> result = (MultiResult<?>) ss.readPortablePath(data, "nn[any].myint");
+        assertEquals(asList(1, 2), result.getResults());
+    }
+
+    @Test
+    public void testReadPath_returnedRecordSurvivesFurtherReads() throws IOException {
+        Data data = ss.toData(newInnerPortable(new NamedPortable("a", 1), new NamedPortable("b", 2)));
+
+        GenericRecord record = (GenericRecord) ss.readPortablePath(data, "nn[0]");
+        for (int i = 0; i < 10; i++) {
+            ss.readPortablePath(ss.toData(new NamedPortable("other", i)), "name");
+        }
+
+        assertEquals("a", record.getString("name"));
+        assertEquals(1, record.getInt("myint"));
+    }
+
+    @Test
+    public void testReadPath_sameResultAsGenericRecord() throws IOException {
+        Data data = ss.toData(newInnerPortable(new NamedPortable("a", 1)));
+
+        assertEquals(ss.readAsInternalGenericRecord(data).getIntFromArray("i", 2), ss.readPortablePath(data, "i[2]"));
+    }
+
+    private static InnerPortable newInnerPortable(NamedPortable... nn) {
+        return new InnerPortable(new byte[]{0, 1, 2}, new char[]{'c', 'h', 'a', 'r'},
+                new short[]{3, 4, 5}, new int[]{9, 8, 7, 6}, new long[]{0, 1, 5, 7, 9, 11},
+                new float[]{0.6543f, -3.56f, 45.67f}, new double[]{456.456, 789.789, 321.321}, nn,
+                new BigDecimal[]{new BigDecimal("123456")},
+                new LocalTime[]{LocalTime.now()},
+                new LocalDate[]{LocalDate.now()},
+                new LocalDateTime[]{LocalDateTime.now()},
+                new OffsetDateTime[]{OffsetDateTime.now()});
+    }
+}
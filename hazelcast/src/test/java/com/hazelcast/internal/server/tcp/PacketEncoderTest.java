@@ -38,6 +38,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +92,58 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenLargePacket_andPayloadPassThrough() {
+        final Packet packet = new Packet(serializationService.toBytes(new byte[2500]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+        encoder.setPayloadPassThrough(true);
+
+        // simulate the pipeline; first the dst is written and then the pass-through payload
+        ByteBuffer socket = ByteBuffer.allocate(packet.getFrameLength());
+        HandlerStatus result;
+        do {
+            result = encoder.onWrite();
+            socket.put(dst);
+            ByteBuffer payload = encoder.passThroughPayload();
+            if (payload != null) {
+                // the payload is handed out in chunks no larger than the dst buffer
+                assertTrue(payload.remaining() <= dst.capacity());
+                socket.put(payload);
+            }
+        } while (result != CLEAN);
+
+        assertNull(encoder.passThroughPayload());
+        socket.flip();
+        Packet resultPacket = new PacketIOHelper().readFrom(socket);
+        assertEquals(packet, resultPacket);
+    }
+
+    @Test
+    public void whenLargePacket_andNoPayloadPassThrough() {
+        final Packet packet = new Packet(serializationService.toBytes(new byte[2500]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(DIRTY, result);
+        assertNull(encoder.passThroughPayload());
+        assertEquals(dst.capacity(), dst.remaining());
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<Packet>();
 
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.core;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.function.SupplierEx;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.JobRestartWithSnapshotTest.SequencesInPartitionsGeneratorP;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.impl.JobExecutionRecord;
+import com.hazelcast.jet.impl.JobRepository;
+import com.hazelcast.jet.impl.execution.SnapshotTombstone;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.jet.impl.processor.TransformStatefulP;
+import com.hazelcast.jet.impl.util.Util;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.SlowTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.function.Functions.entryKey;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.config.ProcessingGuarantee.EXACTLY_ONCE;
+import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.core.TestUtil.throttle;
+import static com.hazelcast.jet.core.processor.Processors.mapStatefulP;
+import static com.hazelcast.jet.core.processor.SinkProcessors.writeMapP;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({SlowTest.class, ParallelJVMTest.class})
+public class IncrementalSnapshotTest extends JetTestSupport {
+
+    private static final int NUM_PARTITIONS = 3;
+    private static final int ELEMENTS_IN_PARTITION = 300;
+
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_COUNT.getName(), "3");
+        instance1 = createHazelcastInstance(config);
+        instance2 = createHazelcastInstance(config);
+    }
+
+    @Test
+    public void when_memberTerminatedAfterIncrementalSnapshot_then_stateRestoredFromBaseAndDelta() {
+        when_restartedAfterIncrementalSnapshot_then_stateRestored(false);
+    }
+
+    @Test
+    public void when_jobRestartedGracefully_then_stateRestoredFromTerminalSnapshot() {
+        when_restartedAfterIncrementalSnapshot_then_stateRestored(true);
+    }
+
+    private void when_restartedAfterIncrementalSnapshot_then_stateRestored(boolean graceful) {
+        // The stateful vertex counts the items for each partition. Each item is
+        // mapped to its count, which is equal to its value + 1 only if no state
+        // was lost or duplicated after the restart.
+        DAG dag = new DAG();
+        SupplierEx<Processor> sup = () ->
+                new SequencesInPartitionsGeneratorP(NUM_PARTITIONS, ELEMENTS_IN_PARTITION, true);
+        Vertex generator = dag.newVertex("generator", throttle(sup, 50)).localParallelism(1);
+        Vertex count = dag.newVertex("count", mapStatefulP(
+                0,
+                entryKey(),
+                e -> 0L,
+                () -> new long[1],
+                (long[] state, Integer key, Entry<Integer, Integer> e) ->
+                        entry(asList((long) key, (long) e.getValue()), ++state[0]),
+                null));
+        Vertex sink = dag.newVertex("sink", writeMapP("result"));
+        dag.edge(between(generator, count).distributed().partitioned(entryKey()))
+           .edge(between(count, sink));
+
+        JobConfig config = new JobConfig();
+        config.setProcessingGuarantee(EXACTLY_ONCE);
+        config.setSnapshotIntervalMillis(200);
+        Job job = instance1.getJet().newJob(dag, config);
+
+        JobRepository jobRepository = new JobRepository(instance1);
+        assertTrueEventually(() -> {
+            JobExecutionRecord record = jobRepository.getJobExecutionRecord(job.getId());
+            assertNotNull("null JobExecutionRecord", record);
+            assertTrue("no incremental snapshot yet", record.deltaMapIndex() >= 0);
+            assertTrue(record.incrementalVertices().contains("count"));
+        });
+
+        if (graceful) {
+            job.restart();
+        } else {
+            instance2.getLifecycleService().terminate();
+        }
+        job.join();
+
+        Map<List<Long>, Long> expected = new HashMap<>();
+        for (long partition = 0; partition < NUM_PARTITIONS; partition++) {
+            for (long value = 0; value < ELEMENTS_IN_PARTITION; value++) {
+                expected.put(asList(partition, value), value + 1);
+            }
+        }
+        IMap<List<Long>, Long> result = instance1.getMap("result");
+        assertEquals(expected, new HashMap<>(result));
+    }
+
+    @Test
+    public void when_incrementalSnapshotWhileCompleting_then_flushedKeysSavedAsTombstones() throws Exception {
+        TransformStatefulP<Integer, Integer, long[], Integer> p = new TransformStatefulP<>(
+                1,
+                k -> k,
+                k -> 0L,
+                () -> new long[1],
+                (state, key, item) -> Traversers.empty(),
+                (state, key, wm) -> Traversers.singleton(key));
+        TestOutbox outbox = new TestOutbox(new int[]{10}, 10);
+        p.init(outbox, procCtx());
+        p.process(0, new TestInbox(asList(1, 2)));
+        assertTrue(p.saveToSnapshot(false));
+        assertTrue(p.snapshotCommitFinish(true));
+        outbox.drainSnapshotQueueAndReset(new ArrayList<>(), false);
+
+        // the keys are flushed, but the base snapshot still contains them
+        assertTrue(p.complete());
+        assertEquals(asList(1, 2), new ArrayList<>(outbox.queue(0)));
+
+        assertTrue(p.saveToSnapshot(true));
+        List<Entry<Object, Object>> delta = new ArrayList<>();
+        outbox.drainSnapshotQueueAndReset(delta, false);
+        Set<Object> removedKeys = delta.stream()
+                .filter(e -> e.getValue() instanceof SnapshotTombstone)
+                .map(Entry::getKey)
+                .collect(toSet());
+        assertEquals(new HashSet<>(asList(1, 2)), removedKeys);
+    }
+
+    private Processor.Context procCtx() {
+        TestProcessorContext c = new TestProcessorContext()
+                .setHazelcastInstance(instance1)
+                .setJobConfig(new JobConfig().setProcessingGuarantee(EXACTLY_ONCE));
+        NodeEngineImpl nodeEngine = Util.getNodeEngine(instance1);
+        return new ProcCtx(nodeEngine, c.jobId(), c.executionId(), c.jobConfig(),
+                c.logger(), c.vertexName(), c.localProcessorIndex(), c.globalProcessorIndex(),
+                c.isLightJob(), c.partitionAssignment(), c.localParallelism(), c.memberIndex(), c.memberCount(),
+                new ConcurrentHashMap<>(), (InternalSerializationService) nodeEngine.getSerializationService(),
+                null, c.classLoader());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.connector;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = MILLISECONDS.toNanos(1);
+    private static final long SLOW = MILLISECONDS.toNanos(10);
+
+    @Test
+    public void when_created_then_startsAtMax() {
+        assertEquals(16, new AdaptiveConcurrencyLimit(16).get());
+        assertEquals(1, new AdaptiveConcurrencyLimit(0).get());
+    }
+
+    @Test
+    public void when_latencyGrows_then_limitDecreases() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16);
+        completeRound(limit, FAST);
+        assertEquals(16, limit.get());
+
+        completeRound(limit, SLOW);
+        assertEquals(12, limit.get());
+        completeRound(limit, SLOW);
+        assertEquals(9, limit.get());
+    }
+
+    @Test
+    public void when_slowResponsesWithinOneRound_then_decreasedOnce() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16);
+        completeRound(limit, FAST);
+        // only the last completion of the round changes the limit
+        for (int i = 0; i < 15; i++) {
+            limit.onCompleted(SLOW);
+        }
+        assertEquals(16, limit.get());
+        limit.onCompleted(SLOW);
+        assertEquals(12, limit.get());
+    }
+
+    @Test
+    public void when_congestionGone_then_limitGrowsBackToMax() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8);
+        completeRound(limit, FAST);
+        for (int i = 0; i < 10; i++) {
+            completeRound(limit, SLOW);
+        }
+        assertEquals(1, limit.get());
+
+        for (int i = 0; i < 100; i++) {
+            completeRound(limit, FAST);
+        }
+        assertEquals(8, limit.get());
+    }
+
+    @Test
+    public void when_latencyPermanentlyHigher_then_baselineAdapts() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8);
+        completeRound(limit, FAST);
+        for (int i = 0; i < 1000; i++) {
+            completeRound(limit, SLOW);
+        }
+        assertTrue("limit=" + limit.get(), limit.get() > 1);
+    }
+
+    @Test
+    public void when_singleSlowResponseInRound_then_notCongested() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16);
+        completeRound(limit, FAST);
+        // the average of the round is below CONGESTION_FACTOR * FAST
+        limit.onCompleted(SLOW);
+        for (int i = 1; i < 16; i++) {
+            limit.onCompleted(FAST / 2);
+        }
+        assertEquals(16, limit.get());
+    }
+
+    @Test
+    public void when_fastRoundLeftWindow_then_baselineFollows() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8);
+        completeRound(limit, FAST);
+        for (int i = 0; i < AdaptiveConcurrencyLimit.BASELINE_WINDOW_ROUNDS; i++) {
+            completeRound(limit, SLOW);
+        }
+        int limitAfterCongestion = limit.get();
+
+        completeRound(limit, SLOW);
+        assertEquals(limitAfterCongestion + 1, limit.get());
+    }
+
+    private static void completeRound(AdaptiveConcurrencyLimit limit, long latencyNanos) {
+        for (int i = limit.get(); i > 0; i--) {
+            limit.onCompleted(latencyNanos);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.jet.impl.connector;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.SimpleTestInClusterSupport;
 import com.hazelcast.jet.core.AbstractProcessor;
@@ -26,6 +27,7 @@ import com.hazelcast.jet.core.test.TestSupport;
 import com.hazelcast.map.IMap;
 import com.hazelcast.projection.Projection;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.BeforeClass;
@@ -105,6 +107,84 @@ public class ReadMapOrCachePTest extends SimpleTestInClusterSupport {
                 .expectOutput(expected);
     }
 
+    @Test
+    public void test_whenPartitionPredicate_then_readsOnlyThatPartition() {
+        IMap<Integer, String> map = instance().getMap(randomMapName());
+        int partitionKey = 7;
+        int partitionId = instance().getPartitionService().getPartition(partitionKey).getPartitionId();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+            if (i % 2 == 0 && instance().getPartitionService().getPartition(i).getPartitionId() == partitionId) {
+                expected.add("value-" + i);
+            }
+        }
+
+        Predicate<Integer, String> predicate =
+                Predicates.partitionPredicate(partitionKey, entry -> entry.getKey() % 2 == 0);
+        Projection<Entry<Integer, String>, String> projection = toProjection(Entry::getValue);
+        TestSupport
+                .verifyProcessor(adaptSupplier(SourceProcessors.readMapP(map.getName(), predicate, projection)))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .disableProgressAssertion()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .expectOutput(expected);
+    }
+
+    @Test
+    public void test_whenSortedIndex_then_readsInIndexOrder() {
+        IMap<Integer, Integer> map = instance().getMap(randomMapName());
+        map.addIndex(IndexType.SORTED, "this");
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, 999 - i);
+        }
+        for (int i = 100; i <= 199; i++) {
+            if (i % 2 == 0) {
+                expected.add(i);
+            }
+        }
+
+        Predicate<Integer, Integer> predicate = Predicates.and(
+                Predicates.between("this", 100, 199),
+                entry -> entry.getValue() % 2 == 0
+        );
+        Projection<Entry<Integer, Integer>, Integer> projection = toProjection(Entry::getValue);
+        TestSupport
+                .verifyProcessor(adaptSupplier(SourceProcessors.readMapP(map.getName(), predicate, projection)))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .disableProgressAssertion()
+                .expectOutput(expected);
+    }
+
+    @Test
+    public void test_whenHashIndex_then_readsMatchingEntries() {
+        IMap<Integer, Integer> map = instance().getMap(randomMapName());
+        map.addIndex(IndexType.HASH, "this");
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i % 10);
+            if (i % 10 == 3 && i < 500) {
+                expected.add(i);
+            }
+        }
+
+        Predicate<Integer, Integer> predicate = Predicates.and(
+                Predicates.equal("this", 3),
+                Predicates.lessThan("__key", 500)
+        );
+        Projection<Entry<Integer, Integer>, Integer> projection = toProjection(Entry::getKey);
+        TestSupport
+                .verifyProcessor(adaptSupplier(SourceProcessors.readMapP(map.getName(), predicate, projection)))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .disableProgressAssertion()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .expectOutput(expected);
+    }
+
     @Test
     public void test_largeMap() {
         IMap<Integer, Integer> map = instance().getMap(randomMapName());
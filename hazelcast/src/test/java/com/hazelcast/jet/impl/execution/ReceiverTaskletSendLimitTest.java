@@ -87,6 +87,53 @@ public class ReceiverTaskletSendLimitTest {
         assertTrue(abs(rwin - RWIN_MULTIPLIER * ackedSeqsPerIterCompressed) < 2);
     }
 
+    @Test
+    public void when_rttMeasured_then_rwinCoversRtt() {
+        // Given
+        final int ackedSeqsPerIterCompressed = 1000;
+        final long ackedSeqsPerIter = ackedSeqsPerIterCompressed << COMPRESSED_SEQ_UNIT_LOG2;
+        final int iterCount = 15;
+        long seqLimitCompressed = 0;
+        tasklet.setRttNanos(ACK_PERIOD);
+
+        // When
+        for (int i = 0; i < iterCount; i++) {
+            tasklet.ackItem(ackedSeqsPerIter);
+            seqLimitCompressed = tasklet.updateAndGetSendSeqLimitCompressed(START + i * ACK_PERIOD, null);
+        }
+
+        // Then
+        final long ackedSeqCompressed = (iterCount * ackedSeqsPerIter) >> COMPRESSED_SEQ_UNIT_LOG2;
+        final long rwin = seqLimitCompressed - ackedSeqCompressed;
+        assertTrue("rwin=" + rwin, abs(rwin - 2 * RWIN_MULTIPLIER * ackedSeqsPerIterCompressed) < 2);
+    }
+
+    @Test
+    public void when_senderHasBacklog_then_rttSmoothed() {
+        final long limitSeq = (long) INITIAL_RECEIVE_WINDOW_COMPRESSED << COMPRESSED_SEQ_UNIT_LOG2;
+        // the sender used up its limit and waits for the new one
+        tasklet.itemsReceived(1, START);
+        tasklet.updateAndGetSendSeqLimitCompressed(START, null);
+        tasklet.itemsReceived(1, START + MILLISECONDS.toNanos(20));
+        assertEquals(MILLISECONDS.toNanos(20), tasklet.getRttNanos());
+
+        // the sender used up the new limit too
+        tasklet.itemsReceived(limitSeq, START + ACK_PERIOD / 2);
+        tasklet.ackItem(limitSeq);
+        tasklet.updateAndGetSendSeqLimitCompressed(START + ACK_PERIOD, null);
+        tasklet.itemsReceived(1, START + ACK_PERIOD + MILLISECONDS.toNanos(100));
+        assertEquals(MILLISECONDS.toNanos(30), tasklet.getRttNanos());
+    }
+
+    @Test
+    public void when_senderIdleAfterNewLimit_then_rttNotMeasured() {
+        tasklet.itemsReceived(1, START);
+        tasklet.updateAndGetSendSeqLimitCompressed(START, null);
+        // the sender had nothing more to send for a while
+        tasklet.itemsReceived(1, START + SECONDS.toNanos(10));
+        assertEquals(0, tasklet.getRttNanos());
+    }
+
     @Test
     public void when_hiccupInReceiver_then_rwinDropsToZero() {
         // Given
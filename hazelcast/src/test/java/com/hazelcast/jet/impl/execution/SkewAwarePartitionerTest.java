@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.core.Partitioner;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.jet.core.Partitioner.HASH_CODE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SkewAwarePartitionerTest {
+
+    private static final int PARTITION_COUNT = 271;
+
+    private final Partitioner<Object> partitioner = new SkewAwarePartitioner<>(HASH_CODE);
+
+    @Test
+    public void when_uniformKeys_then_delegatePartitionUsed() {
+        for (int i = 0; i < 200_000; i++) {
+            Integer key = i % 10_000;
+            assertEquals(HASH_CODE.getPartition(key, PARTITION_COUNT), partitioner.getPartition(key, PARTITION_COUNT));
+        }
+    }
+
+    @Test
+    public void when_hotKey_then_spreadAndOtherKeysKeepPartition() {
+        String hotKey = "hot";
+        // warm up, half of the items have the hot key
+        for (int i = 0; i < 200_000; i++) {
+            partitioner.getPartition(i % 2 == 0 ? hotKey : i, PARTITION_COUNT);
+        }
+
+        int hotPartition = HASH_CODE.getPartition(hotKey, PARTITION_COUNT);
+        Set<Integer> hotKeyPartitions = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            hotKeyPartitions.add(partitioner.getPartition(hotKey, PARTITION_COUNT));
+            Integer coldKey = i;
+            int coldPartition = HASH_CODE.getPartition(coldKey, PARTITION_COUNT);
+            if (coldPartition != hotPartition) {
+                assertEquals(coldPartition, partitioner.getPartition(coldKey, PARTITION_COUNT));
+            }
+        }
+        assertTrue("hot key sent to only " + hotKeyPartitions.size() + " partitions", hotKeyPartitions.size() > 100);
+    }
+
+    @Test
+    public void when_disabled_then_hotKeyKeepsPartition() {
+        SkewAwarePartitioner<Object> partitioner = new SkewAwarePartitioner<>(HASH_CODE);
+        partitioner.disable();
+        String hotKey = "hot";
+        int hotPartition = HASH_CODE.getPartition(hotKey, PARTITION_COUNT);
+        for (int i = 0; i < 200_000; i++) {
+            Object key = i % 2 == 0 ? hotKey : i;
+            assertEquals(HASH_CODE.getPartition(key, PARTITION_COUNT), partitioner.getPartition(key, PARTITION_COUNT));
+        }
+        assertEquals(hotPartition, partitioner.getPartition(hotKey, PARTITION_COUNT));
+    }
+}
@@ -39,6 +39,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CancellationException;
@@ -48,6 +49,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Stream;
 
@@ -57,6 +59,7 @@ import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.jet.impl.util.ProgressState.DONE;
 import static com.hazelcast.jet.impl.util.ProgressState.MADE_PROGRESS;
 import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_COOPERATIVE_WORK_STEALING_ENABLED;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -64,6 +67,7 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -89,6 +93,11 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
     @Before
     public void before() {
         executor = Executors.newCachedThreadPool();
+        tes = newTaskletExecutionService(new Properties());
+        classLoaderMock = mock(ClassLoader.class);
+    }
+
+    private TaskletExecutionService newTaskletExecutionService(Properties props) {
         NodeEngineImpl neMock = mock(NodeEngineImpl.class);
 
         HazelcastInstance hzMock = mock(HazelcastInstance.class);
@@ -108,9 +117,8 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         MetricsRegistryImpl metricsRegistry = new MetricsRegistryImpl(mock(ILogger.class), ProbeLevel.INFO);
         when(neMock.getMetricsRegistry()).thenReturn(metricsRegistry);
 
-        HazelcastProperties properties = new HazelcastProperties(new Properties());
-        tes = new TaskletExecutionService(neMock, THREAD_COUNT, properties);
-        classLoaderMock = mock(ClassLoader.class);
+        HazelcastProperties properties = new HazelcastProperties(props);
+        return new TaskletExecutionService(neMock, THREAD_COUNT, properties);
     }
 
     @After
@@ -330,6 +338,34 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         // -- assertions are inside TaskletAssertingThreadLocal and will fail, if t1 and t2 are running on the same thread
     }
 
+    @Test
+    public void when_workStealingEnabled_then_busyTaskletsMovedToIdleWorker() {
+        // Given
+        tes.shutdown();
+        Properties props = new Properties();
+        props.setProperty(JET_COOPERATIVE_WORK_STEALING_ENABLED.getName(), "true");
+        tes = newTaskletExecutionService(props);
+        // tasklets are assigned round-robin, so both busy tasklets start on the first worker
+        BusyTasklet busy1 = new BusyTasklet();
+        BusyTasklet busy2 = new BusyTasklet();
+        List<Tasklet> tasklets = new ArrayList<>();
+        tasklets.add(busy1);
+        for (int i = 1; i < THREAD_COUNT; i++) {
+            tasklets.add(new MockTasklet());
+        }
+        tasklets.add(busy2);
+
+        // When
+        CompletableFuture<Void> f = tes.beginExecute(tasklets, cancellationFuture, classLoaderMock);
+
+        // Then
+        assertTrueEventually(() -> assertNotSame(busy1.lastThread, busy2.lastThread));
+        busy1.stop = true;
+        busy2.stop = true;
+        f.join();
+        assertFalse("tasklet called concurrently", busy1.concurrentCall || busy2.concurrentCall);
+    }
+
     @Test
     public void when_tryCompleteOnReturnedFuture_then_fails() {
         // Given
@@ -491,6 +527,32 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         }
     }
 
+    private static final class BusyTasklet implements Tasklet {
+
+        private final AtomicBoolean inCall = new AtomicBoolean();
+        private volatile Thread lastThread;
+        private volatile boolean concurrentCall;
+        private volatile boolean stop;
+
+        @Nonnull
+        @Override
+        public ProgressState call() {
+            if (!inCall.compareAndSet(false, true)) {
+                concurrentCall = true;
+            }
+            try {
+                lastThread = Thread.currentThread();
+                long end = System.nanoTime() + MILLISECONDS.toNanos(1);
+                while (System.nanoTime() < end) {
+                    // busy spin, the tasklet is CPU-bound
+                }
+                return stop ? DONE : MADE_PROGRESS;
+            } finally {
+                inCall.set(false);
+            }
+        }
+    }
+
     private static class TaskletAssertingThreadLocal implements Tasklet {
 
         private static ThreadLocal<Integer> threadLocal = ThreadLocal.withInitial(() -> 0);
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapKeyedStateStoreTest {
+
+    private OffHeapKeyedStateStore<Object, long[]> store;
+
+    @Before
+    public void setUp() {
+        store = new OffHeapKeyedStateStore<>(new DefaultSerializationServiceBuilder().build(), () -> new long[1]);
+    }
+
+    @After
+    public void tearDown() {
+        store.dispose();
+    }
+
+    @Test
+    public void when_accumulate_then_drainReturnsAllKeys() {
+        Map<Object, Long> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            Object key = i % 3 == 0 ? "key-" + (i % 1000) : (Object) (i % 1500);
+            store.accumulate(key, acc -> acc[0]++);
+            expected.merge(key, 1L, Long::sum);
+        }
+        store.accumulate(null, acc -> acc[0] += 42);
+        expected.put(null, 42L);
+        assertEquals(expected.size(), store.size());
+        assertTrue(store.getUsedMemory() > 0);
+
+        assertEquals(expected, drain());
+        assertEquals(0, store.size());
+        assertEquals(0, store.getUsedMemory());
+    }
+
+    @Test
+    public void when_drained_then_storeReusable() {
+        store.accumulate("a", acc -> acc[0] = 1);
+        drain();
+        store.accumulate("a", acc -> acc[0] += 2);
+        store.accumulate("b", acc -> acc[0] += 3);
+
+        Map<Object, Long> expected = new HashMap<>();
+        expected.put("a", 2L);
+        expected.put("b", 3L);
+        assertEquals(expected, drain());
+    }
+
+    @Test
+    public void when_disposedWithEntries_then_memoryReleased() {
+        for (int i = 0; i < 100; i++) {
+            store.accumulate(i, acc -> acc[0]++);
+        }
+        Traverser<Entry<Object, long[]>> traverser = store.drain();
+        traverser.next();
+        store.dispose();
+        assertEquals(0, store.getUsedMemory());
+    }
+
+    @Test
+    public void when_tupleKeys_then_comparedByElements() {
+        store.accumulate(tuple2("a", 1), acc -> acc[0]++);
+        store.accumulate(tuple2("a", 1), acc -> acc[0]++);
+        store.accumulate(tuple3("a", 1, TimeUnit.SECONDS), acc -> acc[0]++);
+
+        Map<Object, Long> expected = new HashMap<>();
+        expected.put(tuple2("a", 1), 2L);
+        expected.put(tuple3("a", 1, TimeUnit.SECONDS), 1L);
+        assertEquals(expected, drain());
+    }
+
+    @Test
+    public void when_keyNotByteComparable_then_rejected() {
+        assertThrows(JetException.class, () -> store.accumulate(new BigDecimal("1.0"), acc -> acc[0]++));
+        assertThrows(JetException.class, () -> store.accumulate(tuple2("a", new BigDecimal("1.0")), acc -> acc[0]++));
+        assertEquals(0, store.size());
+    }
+
+    private Map<Object, Long> drain() {
+        Map<Object, Long> result = new HashMap<>();
+        Traverser<Entry<Object, long[]>> traverser = store.drain();
+        for (Entry<Object, long[]> e; (e = traverser.next()) != null; ) {
+            result.put(e.getKey(), e.getValue()[0]);
+        }
+        assertNull(traverser.next());
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpillFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+    private SpillFile file;
+
+    @Before
+    public void setUp() throws Exception {
+        path = folder.newFile().toPath();
+        file = new SpillFile(path, new DefaultSerializationServiceBuilder().build());
+    }
+
+    @Test
+    public void when_itemsWritten_then_readInOrder() throws Exception {
+        file.write("a");
+        file.write(1L);
+        file.write(null);
+        file.write("b");
+
+        assertEquals(4, file.size());
+        Traverser<Object> traverser = file.read();
+        assertEquals("a", traverser.next());
+        assertEquals(1L, traverser.next());
+        assertNull(traverser.next());
+        assertEquals("b", traverser.next());
+        assertNull(traverser.next());
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void when_nothingWritten_then_readsNothing() throws Exception {
+        assertNull(file.read().next());
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void when_deleted_then_fileRemoved() throws Exception {
+        file.write("a");
+        file.delete();
+
+        assertFalse(Files.exists(path));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void when_writtenWhileReading_then_throws() throws Exception {
+        file.write("a");
+        file.read();
+
+        file.write("b");
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.spi.properties.ClusterProperty;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.pipeline.Sinks.noop;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertOrdered;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public class SpillingTest extends SimpleTestInClusterSupport {
+
+    private static final int MAX_PROCESSOR_ACCUMULATED_RECORDS = 5;
+    private static final int ITEM_COUNT = 100;
+    private static final int KEY_COUNT = 20;
+
+    private static File spillDirectory;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        spillDirectory = Files.createTempDirectory("jet-spill").toFile();
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.JET_SPILL_DIRECTORY.getName(), spillDirectory.getAbsolutePath());
+        config.getJetConfig().getInstanceConfig()
+                .setCooperativeThreadCount(1)
+                .setMaxProcessorAccumulatedRecords(MAX_PROCESSOR_ACCUMULATED_RECORDS);
+
+        initialize(1, config);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        IOUtil.delete(spillDirectory);
+    }
+
+    @Test
+    public void when_maxAccumulatedRecordsCountIsExceededWhileGrouping_then_spills() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(list(ITEM_COUNT)))
+                .groupingKey(i -> i % KEY_COUNT)
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(cardinalities(KEY_COUNT, ITEM_COUNT / KEY_COUNT)));
+
+        instance().getJet().newJob(pipeline).join();
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_maxAccumulatedRecordsCountIsExceededWhileSorting_then_spills() {
+        List<Integer> items = list(ITEM_COUNT);
+        List<Integer> reversed = IntStream.range(0, ITEM_COUNT).mapToObj(i -> ITEM_COUNT - 1 - i).collect(toList());
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(reversed))
+                .sort()
+                .writeTo(assertOrdered(items));
+
+        instance().getJet().newJob(pipeline).join();
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_spillPartitionExceedsMaxAccumulatedRecords_then_split() {
+        int keyCount = 200;
+        int itemCount = 1000;
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(list(itemCount)))
+                .groupingKey(i -> i % keyCount)
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(cardinalities(keyCount, itemCount / keyCount)));
+
+        instance().getJet().newJob(pipeline).join();
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_moreRunsThanMergedAtOnce_then_mergedInPasses() {
+        int itemCount = 1000;
+        List<Integer> items = list(itemCount);
+        List<Integer> reversed = IntStream.range(0, itemCount).mapToObj(i -> itemCount - 1 - i).collect(toList());
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(reversed))
+                .sort()
+                .writeTo(assertOrdered(items));
+
+        instance().getJet().newJob(pipeline).join();
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_aggregateOperationCannotCombine_then_throws() {
+        AggregateOperation<long[], Long> countingWithoutCombine = AggregateOperation
+                .withCreate(() -> new long[1])
+                .andAccumulate((long[] acc, Object item) -> acc[0]++)
+                .andExportFinish(acc -> acc[0]);
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(list(ITEM_COUNT)))
+                .groupingKey(i -> i % KEY_COUNT)
+                .aggregate(countingWithoutCombine)
+                .writeTo(noop());
+
+        assertThatThrownBy(() -> instance().getJet().newJob(pipeline).join())
+                .hasMessageContaining("Exception thrown to prevent an OutOfMemoryError on this Hazelcast instance");
+    }
+
+    private static void assertSpillFilesDeleted() {
+        String[] files = spillDirectory.list();
+        assertEquals(0, files == null ? 0 : files.length);
+    }
+
+    private static List<Integer> list(int numberOfItems) {
+        return IntStream.range(0, numberOfItems).boxed().collect(toList());
+    }
+
+    private static Collection<Entry<Integer, Long>> cardinalities(int numberOfKeys, long cardinality) {
+        return IntStream.range(0, numberOfKeys).mapToObj(i -> entry(i, cardinality)).collect(toList());
+    }
+}
@@ -61,6 +61,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
@@ -810,6 +811,40 @@ public class SinksTest extends PipelineTestSupport {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void mapWithEntryProcessor_withMaxParallelAsyncOps_then_limitKeptOnEachMember() {
+        String targetMap = randomMapName();
+        int maxParallelAsyncOps = 2;
+        ConcurrencyTrackingEntryProcessor.reset();
+
+        List<Integer> input = sequence(500);
+        p.readFrom(TestSources.items(input))
+         .writeTo(Sinks.mapWithEntryProcessor(maxParallelAsyncOps, targetMap, FunctionEx.identity(),
+                 ConcurrencyTrackingEntryProcessor::new));
+        execute();
+
+        Map<Integer, Integer> expected = input.stream().collect(toMap(Function.identity(), Function.identity()));
+        assertEquals(expected, new HashMap<>(hz().getMap(targetMap)));
+        // one sink processor on each member
+        assertThat(ConcurrencyTrackingEntryProcessor.MAX_CONCURRENT.get())
+                .isLessThanOrEqualTo(MEMBER_COUNT * maxParallelAsyncOps);
+    }
+
+    @Test
+    public void mapWithEntryProcessor_adaptiveConcurrency_when_slowEntryProcessor_then_allApplied() {
+        String targetMap = randomMapName();
+        ConcurrencyTrackingEntryProcessor.reset();
+
+        List<Integer> input = sequence(500);
+        p.readFrom(TestSources.items(input))
+         .writeTo(Sinks.mapWithEntryProcessor(targetMap, FunctionEx.identity(), ConcurrencyTrackingEntryProcessor::new));
+        execute();
+
+        Map<Integer, Integer> expected = input.stream().collect(toMap(Function.identity(), Function.identity()));
+        assertEquals(expected, new HashMap<>(hz().getMap(targetMap)));
+        assertThat(ConcurrencyTrackingEntryProcessor.MAX_CONCURRENT.get()).isPositive();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void when_usedTwice_then_throwException() {
         // Given
@@ -1039,4 +1074,31 @@ public class SinksTest extends PipelineTestSupport {
             return null;
         }
     }
+
+    private static final class ConcurrencyTrackingEntryProcessor implements EntryProcessor<Integer, Object, Void> {
+        // the members run in this JVM
+        static final AtomicInteger CONCURRENT = new AtomicInteger();
+        static final AtomicInteger MAX_CONCURRENT = new AtomicInteger();
+
+        private final int v;
+
+        private ConcurrencyTrackingEntryProcessor(int v) {
+            this.v = v;
+        }
+
+        static void reset() {
+            CONCURRENT.set(0);
+            MAX_CONCURRENT.set(0);
+        }
+
+        @Override
+        public Void process(Entry<Integer, Object> entry) {
+            int concurrent = CONCURRENT.incrementAndGet();
+            MAX_CONCURRENT.accumulateAndGet(concurrent, Math::max);
+            sleepMillis(1);
+            entry.setValue(v);
+            CONCURRENT.decrementAndGet();
+            return null;
+        }
+    }
 }
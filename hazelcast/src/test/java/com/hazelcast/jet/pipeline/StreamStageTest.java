@@ -289,6 +289,51 @@ public class StreamStageTest extends PipelineStreamTestSupport {
         );
     }
 
+    @Test
+    public void fusing_mapUsingService() {
+        test_fusing(
+                stage -> stage
+                        .map(item -> item + "-x")
+                        .mapUsingService(sharedService(pctx -> "-s"), (suffix, item) -> item + suffix)
+                        .filter(item -> item.startsWith("1"))
+                        .flatMap(item -> Traversers.traverseItems(item + "1", item + "2")),
+                item -> item.toString().startsWith("1")
+                        ? Stream.of(item + "-x-s1", item + "-x-s2")
+                        : Stream.empty()
+        );
+    }
+
+    @Test
+    public void fusing_peekInside() {
+        test_fusing(
+                stage -> stage
+                        .map(item -> item + "-x")
+                        .peek()
+                        .map(item -> item + "y"),
+                item -> Stream.of(item + "-xy")
+        );
+    }
+
+    @Test
+    public void fusing_when_nonCooperativeService_then_notFused() {
+        // Given
+        List<Integer> input = sequence(itemCount);
+
+        // When
+        streamStageFromList(input)
+                .map(item -> item + "-x")
+                .mapUsingService(sharedService(pctx -> "-s").toNonCooperative(), (suffix, item) -> item + suffix)
+                .writeTo(sink);
+
+        // Then
+        assertContainsFused(false);
+        assertVertexCount(p.toDag(), 5);
+        execute();
+        assertEquals(
+                streamToString(input.stream().map(t -> t + "-x-s"), identity()),
+                streamToString(sinkList.stream(), Object::toString));
+    }
+
     private void test_fusing(Function<GeneralStage<Integer>, GeneralStage<String>> addToPipelineFn,
                              Function<Integer, Stream<String>> plainFlatMapFn) {
         // Given
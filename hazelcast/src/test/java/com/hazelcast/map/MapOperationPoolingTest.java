@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_POOLING_ENABLED;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapOperationPoolingTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(OPERATION_POOLING_ENABLED.getName(), "true");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        instance1 = instances[0];
+        instance2 = instances[1];
+    }
+
+    @Test
+    public void testPutSetGet() {
+        String mapName = randomMapName();
+        IMap<Integer, String> map1 = instance1.getMap(mapName);
+        IMap<Integer, String> map2 = instance2.getMap(mapName);
+
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            map1.put(k, "put-" + k);
+        }
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            assertEquals("put-" + k, map2.get(k));
+            map2.set(k, "set-" + k);
+        }
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            assertEquals("set-" + k, map1.get(k));
+            assertEquals("set-" + k, map1.put(k, "put-again-" + k));
+        }
+
+        assertTrueEventually(() -> {
+            long backupEntryCount = map1.getLocalMapStats().getBackupEntryCount()
+                    + map2.getLocalMapStats().getBackupEntryCount();
+            assertEquals(ENTRY_COUNT, backupEntryCount);
+        });
+
+        instance1.shutdown();
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            assertEquals("put-again-" + k, map2.get(k));
+        }
+    }
+}
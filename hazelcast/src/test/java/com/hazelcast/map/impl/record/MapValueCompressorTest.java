@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.Random;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_VALUE_COMPRESSION_ENABLED;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapValueCompressorTest extends HazelcastTestSupport {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testValuesAreSampledUntilDictionaryIsTrained() {
+        MapValueCompressor compressor = new MapValueCompressor();
+
+        for (int i = 0; i < MapValueCompressor.SAMPLE_COUNT - 1; i++) {
+            assertNull(compressor.compress(ss.toData(newValue(i))));
+        }
+        assertFalse(compressor.isTrained());
+
+        compressor.compress(ss.toData(newValue(-1)));
+        assertTrue(compressor.isTrained());
+    }
+
+    @Test
+    public void testCompressedValue_decompressesToOriginal() {
+        MapValueCompressor compressor = trainedCompressor();
+        Data value = ss.toData(newValue(1000));
+
+        CompressedValue compressed = compressor.compress(value);
+        Data decompressed = compressed.decompress();
+
+        assertTrue(compressed.getHeapCost() < value.getHeapCost());
+        assertInstanceOf(HeapData.class, decompressed);
+        assertArrayEquals(value.toByteArray(), decompressed.toByteArray());
+        assertEquals(value.getPartitionHash(), decompressed.getPartitionHash());
+        assertEquals(newValue(1000), ss.toObject(decompressed));
+        assertEquals(compressed, compressor.compress(new HeapData(value.toByteArray())));
+        assertNotEquals(compressed, compressor.compress(ss.toData(newValue(1001))));
+    }
+
+    @Test
+    public void testSimpleRecord_withCompressedValue() {
+        testRecord_withCompressedValue(new SimpleRecord<>());
+    }
+
+    @Test
+    public void testDataRecordWithStats_withCompressedValue() {
+        testRecord_withCompressedValue(new DataRecordWithStats());
+    }
+
+    private void testRecord_withCompressedValue(Record<Data> record) {
+        MapValueCompressor compressor = trainedCompressor();
+        Data value = ss.toData(newValue(1000));
+        record.setValue(value);
+        long uncompressedCost = record.getCost();
+
+        CompressedValue compressed = compressor.compress(value);
+        record.setCompressedValue(compressed);
+
+        assertSame(compressed, record.getStoredValue());
+        assertEquals(value, record.getValue());
+        assertTrue(record.getCost() < uncompressedCost);
+
+        record.setValue(value);
+        assertSame(value, record.getStoredValue());
+        assertSame(value, record.getValue());
+    }
+
+    @Test
+    public void testCachedRecord_withCompressedValue_cachesDeserializedValue() {
+        MapValueCompressor compressor = trainedCompressor();
+        Record<Data> record = new CachedSimpleRecord();
+        record.setCompressedValue(compressor.compress(ss.toData(newValue(1000))));
+
+        Object value = Records.getValueOrCachedValue(record, ss);
+
+        assertEquals(newValue(1000), value);
+        assertSame(value, Records.getValueOrCachedValue(record, ss));
+    }
+
+    @Test
+    public void testIncompressibleValue_isNotCompressed() {
+        MapValueCompressor compressor = trainedCompressor();
+        byte[] random = new byte[512];
+        new Random(42).nextBytes(random);
+
+        assertNull(compressor.compress(ss.toData(random)));
+    }
+
+    @Test
+    public void testSmallValue_isNotCompressed() {
+        MapValueCompressor compressor = trainedCompressor();
+
+        assertNull(compressor.compress(ss.toData(1)));
+    }
+
+    @Test
+    public void testCompressionRatio() {
+        MapValueCompressor compressor = new MapValueCompressor();
+        assertEquals(1, compressor.getCompressionRatio(), 0);
+
+        trainCompressor(compressor);
+        compressor.compress(ss.toData(newValue(1000)));
+
+        assertEquals(1, compressor.getCompressedValueCount());
+        assertTrue(compressor.getCompressionRatio() > 1);
+    }
+
+    @Test
+    public void testMapWithCompressedValues() {
+        Config config = smallInstanceConfig()
+                .setProperty(MAP_VALUE_COMPRESSION_ENABLED.getName(), "true");
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.BINARY);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+
+        int entryCount = 1000;
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, newValue(i));
+        }
+        // overwrite the values sampled before the dictionary was trained
+        for (int i = 0; i < entryCount; i++) {
+            map.set(i, newValue(i));
+        }
+
+        for (int i = 0; i < entryCount; i++) {
+            assertEquals(newValue(i), map.get(i));
+        }
+        Collection<String> values = map.values(Predicates.equal("this", newValue(42)));
+        assertEquals(1, values.size());
+        assertEquals(newValue(42), values.iterator().next());
+        assertTrue(map.getLocalMapStats().getValueCompressionRatio() > 1);
+    }
+
+    private MapValueCompressor trainedCompressor() {
+        MapValueCompressor compressor = new MapValueCompressor();
+        trainCompressor(compressor);
+        return compressor;
+    }
+
+    private void trainCompressor(MapValueCompressor compressor) {
+        for (int i = 0; i < MapValueCompressor.SAMPLE_COUNT; i++) {
+            compressor.compress(ss.toData(newValue(i)));
+        }
+        assertTrue(compressor.isTrained());
+    }
+
+    private static String newValue(int i) {
+        return "{\"id\":" + i + ",\"name\":\"customer-" + i + "\",\"address\":{\"street\":\"Main Street " + i
+                + "\",\"city\":\"Istanbul\",\"country\":\"Turkey\"},\"status\":\"ACTIVE\",\"tier\":\"GOLD\"}";
+    }
+}
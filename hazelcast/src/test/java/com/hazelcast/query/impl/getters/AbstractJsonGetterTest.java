@@ -20,8 +20,13 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.internal.json.Json;
 import com.hazelcast.internal.json.JsonObject;
+import com.hazelcast.internal.json.NonTerminalJsonValue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.json.internal.JsonSchemaHelper;
 import com.hazelcast.json.internal.JsonSchemaNode;
+import com.hazelcast.map.impl.JsonMetadataInitializer;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -37,6 +42,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static com.hazelcast.test.HazelcastTestSupport.sleepAtLeastSeconds;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
 import static junit.framework.TestCase.assertTrue;
 
 /**
@@ -83,6 +90,69 @@ public class AbstractJsonGetterTest {
         assertEquals(2, getter.getContextCacheSize());
     }
 
+    @Test
+    public void testScalarValuesOfString() throws Exception {
+        String jsonText = createScalarValues().toString();
+        HazelcastJsonValue jsonValue = new HazelcastJsonValue(jsonText);
+        JsonSchemaNode node = JsonSchemaHelper.createSchema(factory.createParser(jsonText));
+
+        // the first query creates the pattern, the second one uses it
+        for (int i = 0; i < 2; i++) {
+            assertScalarValues(getter, jsonValue, node);
+        }
+    }
+
+    @Test
+    public void testScalarValuesOfData() throws Exception {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        Data data = ss.toData(new HazelcastJsonValue(createScalarValues().toString()));
+        JsonSchemaNode node = (JsonSchemaNode) JsonMetadataInitializer.INSTANCE.createFromData(data);
+        AbstractJsonGetter dataGetter = new JsonDataGetter(ss);
+
+        for (int i = 0; i < 2; i++) {
+            assertScalarValues(dataGetter, data, node);
+        }
+    }
+
+    private static JsonObject createScalarValues() {
+        return Json.object()
+                .add("string", "value")
+                .add("escapedString", "a \"quoted\" value")
+                .add("unicodeString", "£ and ü")
+                .add("emptyString", "")
+                .add("int", 42)
+                .add("negativeInt", -42)
+                .add("maxLong", Long.MAX_VALUE)
+                .add("minLong", Long.MIN_VALUE)
+                .add("float", 4.25)
+                .add("negativeFloat", -4.25)
+                .add("exponentFloat", 4.25e10)
+                .add("true", true)
+                .add("false", false)
+                .add("null", Json.NULL)
+                .add("object", Json.object().add("nested", 1));
+    }
+
+    private static void assertScalarValues(AbstractJsonGetter getter, Object value, JsonSchemaNode node) throws Exception {
+        assertEquals("value", getter.getValue(value, "string", node));
+        assertEquals("a \"quoted\" value", getter.getValue(value, "escapedString", node));
+        assertEquals("£ and ü", getter.getValue(value, "unicodeString", node));
+        assertEquals("", getter.getValue(value, "emptyString", node));
+        assertEquals(42L, getter.getValue(value, "int", node));
+        assertEquals(-42L, getter.getValue(value, "negativeInt", node));
+        assertEquals(Long.MAX_VALUE, getter.getValue(value, "maxLong", node));
+        assertEquals(Long.MIN_VALUE, getter.getValue(value, "minLong", node));
+        assertEquals(4.25, getter.getValue(value, "float", node));
+        assertEquals(-4.25, getter.getValue(value, "negativeFloat", node));
+        assertEquals(4.25e10, getter.getValue(value, "exponentFloat", node));
+        assertEquals(true, getter.getValue(value, "true", node));
+        assertEquals(false, getter.getValue(value, "false", node));
+        assertNull(getter.getValue(value, "null", node));
+        assertEquals(1L, getter.getValue(value, "object.nested", node));
+        assertSame(NonTerminalJsonValue.INSTANCE, getter.getValue(value, "object", node));
+        assertNull(getter.getValue(value, "missing", node));
+    }
+
     @Test
     public void testQueryObjectsWithDifferentPatterns() throws Exception {
         testRandomOrderObjectRepetitiveQuerying(100);
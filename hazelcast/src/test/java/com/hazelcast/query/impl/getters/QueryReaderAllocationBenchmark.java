@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestUtil;
+import com.hazelcast.json.internal.JsonSchemaHelper;
+import com.hazelcast.json.internal.JsonSchemaNode;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import example.serialization.EmployeeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.internal.serialization.impl.SerializationUtil.convertToInputStream;
+
+/**
+ * Measures the cost of extracting a single attribute from serialized
+ * Portable, Compact and JSON values, the way a predicate evaluated over
+ * every entry of a partition does. Run with the GC profiler to see the
+ * allocation rate per extracted attribute.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryReaderAllocationBenchmark {
+
+    private static final int FACTORY_ID = 1;
+    private static final int CLASS_ID = 1;
+
+    private InternalSerializationService serializationService;
+    private Extractors extractors;
+    private Data portableData;
+    private Data compactData;
+    private Data jsonData;
+    private JsonSchemaNode jsonMetadata;
+
+    @Setup
+    public void setup() throws IOException {
+        CompactSerializationConfig compactSerializationConfig = new CompactSerializationConfig();
+        compactSerializationConfig.setEnabled(true);
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(CompactTestUtil.createInMemorySchemaService())
+                .setConfig(new SerializationConfig().setCompactSerializationConfig(compactSerializationConfig))
+                .addPortableFactory(FACTORY_ID, classId -> new PortableEmployee())
+                .build();
+        extractors = Extractors.newBuilder(serializationService).build();
+
+        portableData = serializationService.toData(new PortableEmployee(30, 1L, "employee"));
+        compactData = serializationService.toData(new EmployeeDTO(30, 1L));
+        jsonData = serializationService.toData(new HazelcastJsonValue("{\"age\":30,\"id\":1,\"name\":\"employee\"}"));
+        jsonMetadata = JsonSchemaHelper.createSchema(new JsonFactory().createParser(
+                convertToInputStream(serializationService.createObjectDataInput(jsonData), 12)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Object portable() {
+        return extractors.extract(portableData, "age", null);
+    }
+
+    @Benchmark
+    public Object compact() {
+        return extractors.extract(compactData, "age", null);
+    }
+
+    @Benchmark
+    public Object jsonWithMetadata() {
+        return extractors.extract(jsonData, "age", jsonMetadata);
+    }
+
+    @Benchmark
+    public Object jsonWithoutMetadata() {
+        return extractors.extract(jsonData, "age", null);
+    }
+
+    public static class PortableEmployee implements Portable {
+
+        private int age;
+        private long id;
+        private String name;
+
+        public PortableEmployee() {
+        }
+
+        PortableEmployee(int age, long id, String name) {
+            this.age = age;
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("age", age);
+            writer.writeLong("id", id);
+            writer.writeString("name", name);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            age = reader.readInt("age");
+            id = reader.readLong("id");
+            name = reader.readString("name");
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(QueryReaderAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OperationPoolTest {
+
+    private final OperationPool pool = new OperationPool();
+
+    @Test
+    public void acquire_whenNotOnOperationThread_thenNewInstance() {
+        PooledOperation op1 = OperationPool.acquire(PooledOperation.class, PooledOperation::new);
+        PooledOperation op2 = OperationPool.acquire(PooledOperation.class, PooledOperation::new);
+
+        assertNotSame(op1, op2);
+        assertFalse(OperationPool.release(op1));
+    }
+
+    @Test
+    public void offer_whenTypeNotAcquiredBefore_thenRejected() {
+        assertFalse(pool.offer(new PooledOperation()));
+    }
+
+    @Test
+    public void offer_thenTakeReturnsSameInstance() {
+        assertNull(pool.take(PooledOperation.class));
+
+        PooledOperation op = new PooledOperation();
+        assertTrue(pool.offer(op));
+
+        assertSame(op, pool.take(PooledOperation.class));
+        assertNull(pool.take(PooledOperation.class));
+    }
+
+    @Test
+    public void offer_whenAlreadyOffered_thenRejected() {
+        pool.take(PooledOperation.class);
+
+        PooledOperation op = new PooledOperation();
+        assertTrue(pool.offer(op));
+        assertFalse(pool.offer(op));
+    }
+
+    @Test
+    public void offer_whenFull_thenRejected() {
+        pool.take(PooledOperation.class);
+
+        for (int k = 0; k < OperationPool.CAPACITY_PER_TYPE; k++) {
+            assertTrue(pool.offer(new PooledOperation()));
+        }
+        assertFalse(pool.offer(new PooledOperation()));
+    }
+
+    @Test
+    public void offer_thenStateCleared() {
+        pool.take(PooledOperation.class);
+
+        PooledOperation op = new PooledOperation();
+        op.setCallerUuid(UUID.randomUUID());
+        op.setPartitionId(10);
+        op.setReplicaIndex(1);
+        op.setWaitTimeout(100);
+        op.setServiceName("service");
+        op.value = "value";
+        pool.offer(op);
+
+        PooledOperation fresh = new PooledOperation();
+        assertNull(op.getCallerUuid());
+        assertEquals(fresh.getPartitionId(), op.getPartitionId());
+        assertEquals(fresh.getReplicaIndex(), op.getReplicaIndex());
+        assertEquals(fresh.getWaitTimeout(), op.getWaitTimeout());
+        assertEquals(fresh.getCallTimeout(), op.getCallTimeout());
+        assertEquals(fresh.validatesTarget(), op.validatesTarget());
+        assertNull(op.getServiceName());
+        assertNull(op.value);
+    }
+
+    static class PooledOperation extends Operation {
+        String value;
+
+        @Override
+        protected void clearForReuse() {
+            super.clearForReuse();
+            value = null;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+}
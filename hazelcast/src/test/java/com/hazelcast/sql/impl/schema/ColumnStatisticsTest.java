@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnStatisticsTest {
+
+    @Test
+    public void test_equalsSelectivity() {
+        assertEquals(0.25, new ColumnStatistics(4, null).getEqualsSelectivity(), 0);
+        assertEquals(1, new ColumnStatistics(0, null).getEqualsSelectivity(), 0);
+    }
+
+    @Test
+    public void when_noHistogram_then_rangeUnknown() {
+        assertNull(new ColumnStatistics(4, null).getRangeSelectivity(1d, 2d));
+    }
+
+    @Test
+    public void test_rangeSelectivity() {
+        // Four buckets with 25% of rows each: [0, 10), [10, 20), [20, 60), [60, 100].
+        ColumnStatistics statistics = new ColumnStatistics(100, new double[]{0, 10, 20, 60, 100});
+
+        assertEquals(1, statistics.getRangeSelectivity(null, null), 0);
+        assertEquals(0.5, statistics.getRangeSelectivity(null, 20d), 0);
+        assertEquals(0.125, statistics.getRangeSelectivity(40d, 60d), 0);
+        assertEquals(0.375, statistics.getRangeSelectivity(5d, 20d), 0);
+        assertEquals(0, statistics.getRangeSelectivity(null, -1d), 0);
+        assertEquals(0, statistics.getRangeSelectivity(100d, null), 0);
+        assertEquals(0, statistics.getRangeSelectivity(50d, 10d), 0);
+    }
+
+    @Test
+    public void test_rangeSelectivity_duplicateBounds() {
+        // A frequent value fills the two middle buckets.
+        ColumnStatistics statistics = new ColumnStatistics(3, new double[]{0, 5, 5, 5, 10});
+
+        assertEquals(0.75, statistics.getRangeSelectivity(null, 5d), 0);
+        assertEquals(0.25, statistics.getRangeSelectivity(null, 4.9d), 0.01);
+    }
+}
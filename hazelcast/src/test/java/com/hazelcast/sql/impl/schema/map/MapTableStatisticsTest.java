@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema.map;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.TableStatistics;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+import static com.hazelcast.sql.impl.extract.QueryPath.KEY;
+import static com.hazelcast.sql.impl.extract.QueryPath.VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapTableStatisticsTest extends MapSchemaTestSupport {
+
+    private static final List<TableField> FIELDS = Arrays.asList(
+        field(KEY, QueryDataType.INT, true),
+        field(VALUE, QueryDataType.INT, false),
+        field("missing", QueryDataType.INT, false)
+    );
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void before() {
+        instance = createHazelcastInstance();
+        map = instance.getMap(randomMapName());
+    }
+
+    @Test
+    public void test_key() {
+        putAll(0, 1000, i -> i % 10);
+
+        ColumnStatistics statistics = statistics().getColumnStatistics(0);
+
+        assertEquals(1000, statistics.getDistinctCount(), 0);
+    }
+
+    @Test
+    public void test_sample_lowCardinality() {
+        putAll(0, 1000, i -> i % 10);
+
+        ColumnStatistics statistics = statistics().getColumnStatistics(1);
+
+        assertEquals(10, statistics.getDistinctCount(), 1);
+        assertEquals(0.5, statistics.getRangeSelectivity(null, 4.5), 0.1);
+    }
+
+    @Test
+    public void test_sample_highCardinality() {
+        putAll(0, 1000, i -> i);
+
+        ColumnStatistics statistics = statistics().getColumnStatistics(1);
+
+        assertEquals(1000, statistics.getDistinctCount(), 50);
+        assertEquals(0.25, statistics.getRangeSelectivity(250d, 500d), 0.05);
+    }
+
+    @Test
+    public void test_sortedIndex() {
+        map.addIndex(IndexType.SORTED, VALUE);
+        putAll(0, 1000, i -> i % 100);
+
+        ColumnStatistics statistics = statistics().getColumnStatistics(1);
+
+        assertEquals(100, statistics.getDistinctCount(), 0);
+        assertEquals(0.1, statistics.getRangeSelectivity(90d, null), 0.05);
+    }
+
+    @Test
+    public void when_sortedIndexLargerThanSample_then_sampled() {
+        map.addIndex(IndexType.SORTED, VALUE);
+        putAll(0, MapTableStatistics.SAMPLE_SIZE + 1000, i -> i % 100);
+
+        ColumnStatistics statistics = statistics().getColumnStatistics(1);
+
+        assertEquals(100, statistics.getDistinctCount(), 5);
+        assertEquals(0.1, statistics.getRangeSelectivity(90d, null), 0.05);
+    }
+
+    @Test
+    public void when_attributeMissing_then_noStatistics() {
+        putAll(0, 100, i -> i);
+
+        assertNull(statistics().getColumnStatistics(2));
+    }
+
+    @Test
+    public void when_rowCountChangedSlightly_then_cached() {
+        putAll(0, 1000, i -> i % 10);
+        assertEquals(10, statistics().getColumnStatistics(1).getDistinctCount(), 1);
+
+        putAll(1000, 1050, i -> i);
+
+        assertEquals(10, statistics().getColumnStatistics(1).getDistinctCount(), 1);
+    }
+
+    @Test
+    public void when_rowCountChanged_then_refreshed() {
+        putAll(0, 1000, i -> i % 10);
+        assertEquals(10, statistics().getColumnStatistics(1).getDistinctCount(), 1);
+
+        putAll(1000, 2000, i -> i);
+
+        ColumnStatistics statistics = statistics().getColumnStatistics(1);
+        assertNotNull(statistics);
+        assertEquals(1010, statistics.getDistinctCount(), 100);
+    }
+
+    private void putAll(int from, int to, IntUnaryOperator valueFn) {
+        Map<Integer, Integer> entries = new HashMap<>();
+
+        for (int i = from; i < to; i++) {
+            entries.put(i, valueFn.applyAsInt(i));
+        }
+
+        map.putAll(entries);
+    }
+
+    private TableStatistics statistics() {
+        NodeEngine nodeEngine = getNodeEngineImpl(instance);
+        MapServiceContext context = ((MapService) nodeEngine.getService(MapService.SERVICE_NAME)).getMapServiceContext();
+
+        return MapTableStatistics.create(nodeEngine, context, map.getName(), FIELDS);
+    }
+}
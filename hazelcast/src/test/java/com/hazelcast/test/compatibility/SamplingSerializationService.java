@@ -24,6 +24,7 @@ import com.hazelcast.internal.serialization.DataType;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.portable.PortableContext;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -181,6 +182,21 @@ public class SamplingSerializationService implements InternalSerializationServic
         return delegate.readAsInternalGenericRecord(data);
     }
 
+    @Override
+    public Object readCompactPath(Data data, String fieldPath) throws IOException {
+        return delegate.readCompactPath(data, fieldPath);
+    }
+
+    @Override
+    public Object readPortablePath(Data data, String fieldPath) throws IOException {
+        return delegate.readPortablePath(data, fieldPath);
+    }
+
+    @Override
+    public BufferPool getBufferPool() {
+        return delegate.getBufferPool();
+    }
+
     @Override
     public boolean isCompactSerializable(Object object) {
         return delegate.isCompactSerializable(object);